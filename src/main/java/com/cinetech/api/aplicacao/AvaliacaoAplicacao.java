@@ -62,7 +62,7 @@ public class AvaliacaoAplicacao {
         // Validações de aplicação
         Cliente cliente = clienteRepositorio.buscarPorId(clienteId)
                 .orElseThrow(() -> new IllegalArgumentException("Cliente não encontrado: " + clienteId));
-        Filme filme = filmeRepositorio.buscarPorId(filmeId)
+        filmeRepositorio.buscarPorId(filmeId)
                 .orElseThrow(() -> new IllegalArgumentException("Filme não encontrado: " + filmeId));
 
         // Regra F8: "A avaliação ... só pode ser enviada se o cliente tiver um ingresso validado para aquele filme."
@@ -102,19 +102,19 @@ public class AvaliacaoAplicacao {
         // Se o statusSugeridoPeloFiltro for PENDENTE_MODERACAO, o status inicial da entidade já é esse.
 
 
-        Avaliacao avaliacaoSalva = avaliacaoRepositorio.salvar(novaAvaliacao);
-
-        // Recalcular e atualizar a nota média do filme (F8 - Source 22)
-        // Esta lógica pode ser um evento ou um processo separado também.
-        atualizarNotaMediaFilme(filme); // Passa a entidade Filme carregada
-
-        return avaliacaoSalva;
+        // Se a avaliação já entrou aprovada, a nota média do filme é recalculada pelo ManipuladorNotaMediaFilme, após o commit
+        return avaliacaoRepositorio.salvar(novaAvaliacao);
     }
 
     /**
-     * Método auxiliar para atualizar a nota média de um filme após nova avaliação.
+     * Recalcula e grava a nota média do filme a partir das avaliações aprovadas. (F8 - Source 22)
+     * Chamado pelo ManipuladorNotaMediaFilme quando uma avaliação entra ou sai de APROVADA.
      */
-    private void atualizarNotaMediaFilme(Filme filme) {
+    @Transactional
+    public void recalcularNotaMediaFilme(FilmeId filmeId) {
+        Objects.requireNonNull(filmeId, "ID do Filme não pode ser nulo.");
+        Filme filme = filmeRepositorio.buscarPorId(filmeId)
+                .orElseThrow(() -> new IllegalArgumentException("Filme não encontrado: " + filmeId));
         List<Avaliacao> avaliacoesAprovadas = avaliacaoRepositorio.buscarAvaliacoesAprovadasPorFilmeId(filme.getId());
         if (!avaliacoesAprovadas.isEmpty()) {
             double somaNotas = avaliacoesAprovadas.stream().mapToInt(Avaliacao::getNota).sum();
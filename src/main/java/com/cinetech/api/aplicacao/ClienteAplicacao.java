@@ -5,7 +5,7 @@ import com.cinetech.api.dominio.enums.StatusSessao;
 import com.cinetech.api.dominio.modelos.cliente.Cliente;
 import com.cinetech.api.dominio.modelos.cliente.ClienteId;
 import com.cinetech.api.dominio.modelos.credito.CreditoCompensacao;
-import com.cinetech.api.dominio.modelos.ingresso.Ingresso;
+import com.cinetech.api.dominio.modelos.ingresso.ValorPagoIngresso;
 import com.cinetech.api.dominio.modelos.sessao.Sessao;
 import com.cinetech.api.dominio.modelos.sessao.SessaoId;
 import com.cinetech.api.dominio.repositorios.ClienteRepositorio;
@@ -21,23 +21,32 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 public class ClienteAplicacao {
 
+    public static final String ROTINA_EXPIRACAO_PONTOS = "expiracao-pontos-fidelidade";
+    // Configuração: 500 clientes por transação, 4 chunks em paralelo (abaixo do pool de conexões)
+    private static final MotorLotes.ConfiguracaoLote CONFIGURACAO_EXPIRACAO_PONTOS = new MotorLotes.ConfiguracaoLote(500, 4);
+
     private final ClienteRepositorio clienteRepositorio;
     private final IngressoRepositorio ingressoRepositorio;
     private final SessaoRepositorio sessaoRepositorio;
     private final GestaoPontosFidelidadeServico gestaoPontosFidelidadeService;
+    private final MotorLotes motorLotes;
 
     public ClienteAplicacao(ClienteRepositorio clienteRepositorio,
                             IngressoRepositorio ingressoRepositorio,
                             SessaoRepositorio sessaoRepositorio,
-                            GestaoPontosFidelidadeServico gestaoPontosFidelidadeService) {
+                            GestaoPontosFidelidadeServico gestaoPontosFidelidadeService,
+                            MotorLotes motorLotes) {
         this.clienteRepositorio = clienteRepositorio;
         this.ingressoRepositorio = ingressoRepositorio;
         this.sessaoRepositorio = sessaoRepositorio;
         this.gestaoPontosFidelidadeService = gestaoPontosFidelidadeService;
+        this.motorLotes = motorLotes;
     }
 
     @Transactional
@@ -66,8 +75,15 @@ public class ClienteAplicacao {
         return clienteRepositorio.buscarPorCpf(cpf);
     }
 
+    /**
+     * Caso de Uso: Emitir um crédito de compensação para cada ingresso de uma sessão cancelada. (F4)
+     * Os pares (cliente, valor pago) vêm de uma única consulta, que já descarta os ingressos que receberam
+     * crédito desta sessão, e os créditos são inseridos em lote sem carregar os clientes.
+     * Pode ser repetido com segurança: uma nova chamada só emite os créditos que faltarem.
+     * @return Quantidade de créditos emitidos nesta chamada.
+     */
     @Transactional
-    public void emitirCreditosParaSessaoCancelada(SessaoId sessaoIdCancelada) {
+    public int emitirCreditosParaSessaoCancelada(SessaoId sessaoIdCancelada) {
         Objects.requireNonNull(sessaoIdCancelada, "ID da Sessão cancelada não pode ser nulo.");
         Sessao sessaoCancelada = sessaoRepositorio.buscarPorId(sessaoIdCancelada)
                 .orElseThrow(() -> new IllegalArgumentException("Sessão com ID " + sessaoIdCancelada + " não encontrada."));
@@ -76,59 +92,57 @@ public class ClienteAplicacao {
             throw new IllegalStateException("A sessão " + sessaoIdCancelada + " não está com status CANCELADA. Status atual: " + sessaoCancelada.getStatus());
         }
 
-        List<Ingresso> ingressosDaSessao = ingressoRepositorio.buscarPorSessaoId(sessaoIdCancelada);
-        if (ingressosDaSessao.isEmpty()) {
-            System.out.println("INFO APP: Nenhum ingresso encontrado para a sessão cancelada " + sessaoIdCancelada + ". Nenhum crédito a emitir.");
-            return;
+        List<ValorPagoIngresso> pendentes = ingressoRepositorio.buscarValoresPagosSemCreditoDaSessao(sessaoIdCancelada);
+        if (pendentes.isEmpty()) {
+            System.out.println("INFO APP: Nenhum ingresso sem crédito para a sessão cancelada " + sessaoIdCancelada + ". Nenhum crédito a emitir.");
+            return 0;
         }
 
-        for (Ingresso ingresso : ingressosDaSessao) {
-            // Carrega o cliente para garantir que estamos trabalhando com a instância mais recente
-            // e para que as alterações em sua lista de créditos sejam persistidas corretamente.
-            Cliente clienteDoIngresso = clienteRepositorio.buscarPorId(ingresso.getCliente().getId())
-                    .orElseThrow(() -> new IllegalStateException("Cliente do ingresso " + ingresso.getId() + " não encontrado."));
-
-            BigDecimal valorCredito = ingresso.getValorPago();
-            LocalDateTime dataValidadeCredito = LocalDateTime.now().plusYears(1); // Ex: validade de 1 ano
-            String motivo = "Crédito por cancelamento da sessão ID: " + sessaoCancelada.getId() +
-                    " (Filme: " + sessaoCancelada.getFilme().getTitulo() +
-                    ", Horário: " + sessaoCancelada.getDataHoraInicio() + ")";
-
-            CreditoCompensacao novoCredito = new CreditoCompensacao(
-                    clienteDoIngresso.getId(),
-                    valorCredito,
-                    dataValidadeCredito,
-                    motivo,
-                    sessaoCancelada.getId()
-            );
-            clienteDoIngresso.adicionarCreditoCompensacao(novoCredito); // Método na entidade Cliente
-            clienteRepositorio.salvar(clienteDoIngresso); // Salva o cliente com o novo crédito
-
-            System.out.println("INFO APP: Crédito de " + valorCredito + " emitido para cliente " + clienteDoIngresso.getId() +
-                    " devido ao cancelamento da sessão " + sessaoIdCancelada);
-            // Aqui poderia haver uma notificação ao cliente
-        }
+        LocalDateTime dataValidadeCredito = LocalDateTime.now().plusYears(1); // Ex: validade de 1 ano
+        String motivo = "Crédito por cancelamento da sessão ID: " + sessaoCancelada.getId() +
+                " (Filme: " + sessaoCancelada.getFilme().getTitulo() +
+                ", Horário: " + sessaoCancelada.getDataHoraInicio() + ")";
+        List<CreditoCompensacao> creditos = pendentes.stream()
+                .map(pendente -> new CreditoCompensacao(pendente.clienteId(), pendente.valorPago(), dataValidadeCredito,
+                        motivo, sessaoCancelada.getId(), pendente.ingressoId()))
+                .collect(Collectors.toList());
+        int emitidos = clienteRepositorio.adicionarCreditosCompensacao(creditos);
+
+        BigDecimal total = creditos.stream().map(CreditoCompensacao::getValorOriginal).reduce(BigDecimal.ZERO, BigDecimal::add);
+        System.out.println("INFO APP: " + emitidos + " créditos (total " + total + ") emitidos devido ao cancelamento da sessão "
+                + sessaoIdCancelada);
+        // Aqui poderia haver uma notificação aos clientes
+        return emitidos;
     }
 
-    @Transactional
-    public void processarExpiracaoPontosFidelidadeDeTodosClientes() {
+    /**
+     * Rotina: remove os lotes de pontos de fidelidade vencidos ou zerados de todos os clientes. (F6)
+     * Roda no MotorLotes: só os IDs dos clientes afetados são lidos, em ordem, e cada chunk de clientes
+     * é carregado, alterado e gravado na sua própria transação. Se for interrompida, a próxima chamada
+     * retoma do último checkpoint. Não deve ser chamada dentro de uma transação.
+     */
+    public MotorLotes.ResultadoLote processarExpiracaoPontosFidelidadeDeTodosClientes() {
         LocalDate hoje = LocalDate.now();
         System.out.println("INFO APP: Iniciando rotina de expiração de pontos de fidelidade em " + hoje);
+        return motorLotes.executar(ROTINA_EXPIRACAO_PONTOS, CONFIGURACAO_EXPIRACAO_PONTOS,
+                (cursor, quantidade) -> clienteRepositorio.buscarIdsComPontosFidelidadeObsoletos(
+                                cursor.map(ClienteId::de), hoje, quantidade).stream()
+                        .map(ClienteId::getValor)
+                        .collect(Collectors.toList()),
+                chaves -> expirarPontosObsoletos(chaves, hoje));
+    }
 
-        List<Cliente> todosClientes = clienteRepositorio.buscarTodos();
-        int totalClientesComPontosExpirados = 0;
-
-        for (Cliente cliente : todosClientes) {
-            int saldoAntes = cliente.getSaldoTotalPontosFidelidadeValidos(hoje);
+    // Idempotente: um cliente já sem pontos obsoletos não é alterado nem gravado
+    private int expirarPontosObsoletos(List<UUID> chaves, LocalDate hoje) {
+        int clientesAlterados = 0;
+        for (Cliente cliente : clienteRepositorio.buscarPorIds(chaves.stream().map(ClienteId::de).collect(Collectors.toList()))) {
+            int lotesAntes = cliente.getPontosFidelidade().size();
             gestaoPontosFidelidadeService.expirarPontosObsoletosParaCliente(cliente, hoje);
-            int saldoDepois = cliente.getSaldoTotalPontosFidelidadeValidos(hoje);
-
-            if (saldoAntes != saldoDepois) {
+            if (cliente.getPontosFidelidade().size() != lotesAntes) {
                 clienteRepositorio.salvar(cliente);
-                System.out.println("INFO APP: Pontos expirados para cliente " + cliente.getId() + ". Saldo anterior: " + saldoAntes + ", Saldo atual: " + saldoDepois);
-                totalClientesComPontosExpirados++;
+                clientesAlterados++;
             }
         }
-        System.out.println("INFO APP: Rotina de expiração de pontos concluída. " + totalClientesComPontosExpirados + " clientes tiveram pontos expirados.");
+        return clientesAlterados;
     }
 }
@@ -16,45 +16,59 @@ import com.cinetech.api.dominio.modelos.sessao.SessaoId;
 import com.cinetech.api.dominio.repositorios.*;
 import com.cinetech.api.dominio.servicos.GestaoPontosFidelidadeServico.GestaoPontosFidelidadeServico;
 import com.cinetech.api.dominio.servicos.PrecificacaoServico.PrecificacaoServico;
+import com.cinetech.api.infraestrutura.web.dto.compra.BlocoAssentosReservadoResponseDTO;
 import com.cinetech.api.infraestrutura.web.dto.compra.ConfirmarPagamentoRequestDTO;
 import com.cinetech.api.infraestrutura.web.dto.compra.IniciarCompraRequestDTO;
 import com.cinetech.api.infraestrutura.web.dto.compra.PrecoCalculadoResponseDTO;
+import com.cinetech.api.infraestrutura.web.dto.compra.ReservarBlocoAssentosRequestDTO;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Service
 public class CompraAplicacao {
 
     private final ClienteRepositorio clienteRepositorio;
     private final SessaoRepositorio sessaoRepositorio;
-    private final PromocaoRepositorio promocaoRepositorio;
+    private final RegrasPromocaoVigentes regrasPromocaoVigentes; // Promoções do dia já compiladas, sem ir ao banco
     private final IngressoRepositorio ingressoRepositorio;
     private final PagamentoRepositorio pagamentoRepositorio;
     private final PrecificacaoServico precificacaoService;
     private final GestaoPontosFidelidadeServico gestaoPontosFidelidadeService;
+    private final SessaoAplicacao sessaoAplicacao; // Reserva de assento (F1) compartilhada com o fluxo de sessão
+    private final RetentativaConcorrencia retentativa; // Transação + retentativa em conflito de versão da sessão
+    private final SessaoLockManager sessaoLockManager; // Mantém a trava da sessão até o commit da compra
+    private final ExpiracaoReservasAplicacao expiracaoReservas; // Remove da roda de expiração o assento confirmado (F1)
     // Mappers seriam injetados se esta camada retornasse DTOs diretamente,
     // mas vamos retornar entidades de domínio ou VOs simples, e o Controller faz o mapeamento para DTOs da API.
 
     public CompraAplicacao(ClienteRepositorio clienteRepositorio,
                            SessaoRepositorio sessaoRepositorio,
-                           PromocaoRepositorio promocaoRepositorio,
+                           RegrasPromocaoVigentes regrasPromocaoVigentes,
                            IngressoRepositorio ingressoRepositorio,
                            PagamentoRepositorio pagamentoRepositorio,
                            PrecificacaoServico precificacaoService,
-                           GestaoPontosFidelidadeServico gestaoPontosFidelidadeService) {
+                           GestaoPontosFidelidadeServico gestaoPontosFidelidadeService,
+                           SessaoAplicacao sessaoAplicacao,
+                           RetentativaConcorrencia retentativa,
+                           SessaoLockManager sessaoLockManager,
+                           ExpiracaoReservasAplicacao expiracaoReservas) {
         this.clienteRepositorio = clienteRepositorio;
         this.sessaoRepositorio = sessaoRepositorio;
-        this.promocaoRepositorio = promocaoRepositorio;
+        this.regrasPromocaoVigentes = regrasPromocaoVigentes;
         this.ingressoRepositorio = ingressoRepositorio;
         this.pagamentoRepositorio = pagamentoRepositorio;
         this.precificacaoService = precificacaoService;
         this.gestaoPontosFidelidadeService = gestaoPontosFidelidadeService;
+        this.sessaoAplicacao = sessaoAplicacao;
+        this.retentativa = retentativa;
+        this.sessaoLockManager = sessaoLockManager;
+        this.expiracaoReservas = expiracaoReservas;
     }
 
     /**
@@ -63,9 +77,15 @@ public class CompraAplicacao {
      * Também realiza o bloqueio temporário do assento.
      * (Combina F1 e F5 para o cálculo de preço)
      */
-    @Transactional // Envolve buscar dados e potencialmente bloquear um assento
     public PrecoCalculadoResponseDTO iniciarSelecaoIngressoECalcularPreco(IniciarCompraRequestDTO request) {
         Objects.requireNonNull(request, "Dados da requisição não podem ser nulos.");
+        // Envolve buscar dados e potencialmente bloquear um assento, em uma transação por tentativa.
+        // A trava da sessão (reentrante) cobre a transação inteira, não só a reserva em SessaoAplicacao.
+        return sessaoLockManager.executarComBloqueio(SessaoId.de(request.getSessaoId()),
+                () -> retentativa.executar("iniciarSelecaoIngressoECalcularPreco", () -> iniciarSelecaoEmTransacao(request)));
+    }
+
+    private PrecoCalculadoResponseDTO iniciarSelecaoEmTransacao(IniciarCompraRequestDTO request) {
         ClienteId clienteId = ClienteId.de(request.getClienteId());
         SessaoId sessaoId = SessaoId.de(request.getSessaoId());
         String identificadorAssento = request.getIdentificadorAssento();
@@ -74,25 +94,20 @@ public class CompraAplicacao {
         Cliente cliente = clienteRepositorio.buscarPorId(clienteId)
                 .orElseThrow(() -> new IllegalArgumentException("Cliente não encontrado: " + clienteId));
 
-        Sessao sessao = sessaoRepositorio.buscarPorId(sessaoId)
-                .orElseThrow(() -> new IllegalArgumentException("Sessão não encontrada: " + sessaoId));
-
         // F1: Bloqueio temporário do assento
-        // A entidade Sessao lida com a lógica de reserva e exceções se não for possível
-        Assento assentoReservado = sessao.reservarAssentoTemporariamente(identificadorAssento, clienteId, SessaoAplicacao.TEMPO_RESERVA_ASSENTO_MINUTOS);
-        sessaoRepositorio.salvar(sessao); // Salva a sessão com o assento atualizado
-
-        // Buscar promoções vigentes
-        List<Promocao> promocoesVigentes = promocaoRepositorio.buscarPromocoesVigentes(dataHoraCompra.toLocalDate());
+        // A entidade Sessao lida com a lógica de reserva; a gravação é um compare-and-set só deste assento.
+        // A sessão do assento é carregada sem o mapa de assentos (o preço só depende do cabeçalho).
+        Assento assentoReservado = sessaoAplicacao.tentarReservarAssento(sessaoId, identificadorAssento, clienteId);
+        Sessao sessao = assentoReservado.getSessao();
 
-        // Usar o Domain Service para calcular o preço
-        PrecificacaoServico.ResultadoPrecificacao resultadoPrecificacao =
-                precificacaoService.calcularPrecoFinalIngresso(cliente, sessao, promocoesVigentes, dataHoraCompra);
+        // Usar o Domain Service para calcular o preço, com as promoções vigentes já compiladas
+        PrecificacaoServico.ResultadoPrecificacao resultadoPrecificacao = precificacaoService.calcularPrecoFinalIngresso(
+                cliente, sessao, regrasPromocaoVigentes.obter(dataHoraCompra.toLocalDate()), dataHoraCompra);
 
         // Mensagem de comprovação para meia-entrada (F5 - Source 44)
         String mensagemAdicional = null;
         if (cliente.elegivelParaMeiaEntrada() &&
-                resultadoPrecificacao.descontoAplicado().compareTo(BigDecimal.ZERO) > 0) {
+                resultadoPrecificacao.descontoAplicado().ehPositivo()) {
             // Se um desconto foi aplicado E o cliente é elegível para meia, assume-se que a meia foi considerada.
             // Uma lógica mais precisa verificaria se a `promocaoAplicada` é do tipo MEIA_ENTRADA_PERFIL.
             if (resultadoPrecificacao.getPromocaoAplicada().isPresent() &&
@@ -106,21 +121,44 @@ public class CompraAplicacao {
         // e retornar um ID para ele, junto com o preço.
         // Por simplicidade, retornamos os detalhes do preço calculado.
         return new PrecoCalculadoResponseDTO(
-                resultadoPrecificacao.precoOriginal(),
-                resultadoPrecificacao.descontoAplicado(),
-                resultadoPrecificacao.precoFinal(),
+                resultadoPrecificacao.precoOriginal().paraBigDecimal(),
+                resultadoPrecificacao.descontoAplicado().paraBigDecimal(),
+                resultadoPrecificacao.precoFinal().paraBigDecimal(),
                 resultadoPrecificacao.getPromocaoAplicada().map(Promocao::getNomeDescritivo).orElse(mensagemAdicional != null ? "Meia-Entrada Aplicada" : null),
                 identificadorAssento, // Incluindo o assento reservado no DTO de resposta
                 mensagemAdicional
         );
     }
 
+    /**
+     * Caso de Uso: Cliente comprando para um grupo reserva de uma vez o melhor bloco de assentos adjacentes. (F1)
+     * Cada assento segue depois o fluxo normal de finalização (finalizarCompraIngresso).
+     */
+    public BlocoAssentosReservadoResponseDTO reservarBlocoAssentos(ReservarBlocoAssentosRequestDTO request) {
+        Objects.requireNonNull(request, "Dados da requisição não podem ser nulos.");
+        List<Assento> reservados = sessaoAplicacao.reservarMelhorBlocoContiguo(
+                SessaoId.de(request.getSessaoId()),
+                request.getQuantidade(),
+                request.getTipoAssento(),
+                ClienteId.de(request.getClienteId()));
+        return new BlocoAssentosReservadoResponseDTO(
+                reservados.stream().map(Assento::getIdentificadorPosicao).collect(Collectors.toList()),
+                reservados.get(0).getTimestampExpiracaoReserva());
+    }
+
     /**
      * Caso de Uso: Cliente confirma o pagamento e finaliza a compra do ingresso. (F1, F6)
      * Este é um exemplo SIMPLIFICADO. Um fluxo de pagamento real envolve gateways, etc.
+     * Em conflito de versão da sessão, a tentativa inteira (inclusive o pagamento simulado) é desfeita e refeita
+     * sobre a sessão relida. Com um gateway real, a cobrança deveria ficar fora da transação retentada.
      */
-    @Transactional
     public Ingresso finalizarCompraIngresso(ConfirmarPagamentoRequestDTO request) {
+        Objects.requireNonNull(request, "Dados da requisição não podem ser nulos.");
+        return sessaoLockManager.executarComBloqueio(SessaoId.de(request.getSessaoId()),
+                () -> retentativa.executar("finalizarCompraIngresso", () -> finalizarCompraEmTransacao(request)));
+    }
+
+    private Ingresso finalizarCompraEmTransacao(ConfirmarPagamentoRequestDTO request) {
         // ... (busca cliente, sessao, assento, calcula valorFinalAPagar, processa pagamento como antes) ...
         ClienteId clienteId = ClienteId.de(request.getClienteId());
         SessaoId sessaoId = SessaoId.de(request.getSessaoId());
@@ -134,10 +172,11 @@ public class CompraAplicacao {
                 .orElseThrow(() -> new IllegalArgumentException("Assento " + identificadorAssento + " não encontrado na sessão " + sessaoId));
 
         // Recalcular preço
-        List<Promocao> promocoesVigentes = promocaoRepositorio.buscarPromocoesVigentes(LocalDateTime.now().toLocalDate());
-        PrecificacaoServico.ResultadoPrecificacao resultadoPrecificacao =
-                precificacaoService.calcularPrecoFinalIngresso(cliente, sessao, promocoesVigentes, LocalDateTime.now());
-        BigDecimal valorFinalAPagar = resultadoPrecificacao.precoFinal();
+        LocalDateTime dataHoraCompra = LocalDateTime.now();
+        PrecificacaoServico.ResultadoPrecificacao resultadoPrecificacao = precificacaoService.calcularPrecoFinalIngresso(
+                cliente, sessao, regrasPromocaoVigentes.obter(dataHoraCompra.toLocalDate()), dataHoraCompra);
+        // Pagamento e Ingresso ainda guardam BigDecimal: a conversão é feita uma vez, aqui
+        BigDecimal valorFinalAPagar = resultadoPrecificacao.precoFinal().paraBigDecimal();
 
         // Simular pagamento
         IngressoId futuroIngressoId = IngressoId.novo(); // Gera o ID do ingresso antes para o pagamento
@@ -150,6 +189,7 @@ public class CompraAplicacao {
         if (pagamento.getStatus() == StatusPagamento.APROVADO) {
             sessao.confirmarOcupacaoAssento(identificadorAssento, clienteId);
             sessaoRepositorio.salvar(sessao);
+            expiracaoReservas.cancelarReservaTemporaria(sessaoId, assento.getIdentificadorPosicao()); // Confirmado: não expira mais
 
             boolean meiaAplicada = cliente.elegivelParaMeiaEntrada() &&
                     (resultadoPrecificacao.getPromocaoAplicada().isPresent() &&
@@ -169,13 +209,14 @@ public class CompraAplicacao {
             );
             ingressoRepositorio.salvar(novoIngresso);
 
-            gestaoPontosFidelidadeService.concederPontosPorCompra(cliente, valorFinalAPagar, novoIngresso.getId());
+            gestaoPontosFidelidadeService.concederPontosPorCompra(cliente, resultadoPrecificacao.precoFinal(), novoIngresso.getId());
             clienteRepositorio.salvar(cliente);
 
             return novoIngresso;
         } else {
             sessao.liberarAssentoPorCancelamentoOuExpiracao(identificadorAssento);
             sessaoRepositorio.salvar(sessao);
+            expiracaoReservas.cancelarReservaTemporaria(sessaoId, assento.getIdentificadorPosicao());
             throw new IllegalStateException("Pagamento falhou. Status: " + pagamento.getStatus());
         }
     }
@@ -0,0 +1,153 @@
+package com.cinetech.api.aplicacao;
+
+import com.cinetech.api.dominio.modelos.assento.ReservaTemporariaAssento;
+import com.cinetech.api.dominio.modelos.sessao.SessaoId;
+import com.cinetech.api.dominio.repositorios.SessaoRepositorio;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Libera automaticamente as reservas temporárias de assento quando expiram. (F1)
+ * Cada reserva bem-sucedida é registrada numa roda de temporização; a cada tick só as reservas
+ * que venceram são liberadas, agrupadas por sessão e em lotes, sem carregar as sessões.
+ * Na inicialização a roda é reconstruída a partir de timestampExpiracaoReserva.
+ * Um lote que falha ao liberar volta para a roda e é tentado de novo após ATRASO_RETENTATIVA_LIBERACAO_MILLIS.
+ * SessaoAplicacao.processarExpiracaoDeReservasTemporariasSessao continua disponível como varredura manual.
+ */
+@Service
+public class ExpiracaoReservasAplicacao {
+
+    public static final long DURACAO_TICK_MILLIS = 1_000; // Configuração
+    public static final int QUANTIDADE_SLOTS = 1_024;     // ~17 min por volta, acima do TEMPO_RESERVA_ASSENTO_MINUTOS
+    public static final int TAMANHO_LOTE_LIBERACAO = 500;
+    public static final long ATRASO_RETENTATIVA_LIBERACAO_MILLIS = 5_000; // Espera antes de tentar de novo um lote que falhou
+
+    /**
+     * Métricas do agendamento de expirações.
+     * @param reservasPendentes Reservas aguardando o prazo na roda.
+     * @param reservasLiberadas Total de assentos liberados desde a inicialização.
+     * @param atrasoUltimaLiberacaoMillis Atraso (agora - prazo) da liberação mais atrasada no último tick com vencimentos.
+     * @param atrasoMaximoLiberacaoMillis Maior atraso observado desde a inicialização.
+     * @param lotesComFalha Lotes de liberação que falharam e foram reagendados desde a inicialização.
+     */
+    public record MetricasExpiracaoReservas(int reservasPendentes, long reservasLiberadas,
+                                            long atrasoUltimaLiberacaoMillis, long atrasoMaximoLiberacaoMillis,
+                                            long lotesComFalha) {}
+
+    // Posição exatamente como gravada no assento (Assento.getIdentificadorPosicao)
+    private record ChaveAssento(SessaoId sessaoId, String identificadorPosicao) {}
+
+    private final SessaoRepositorio sessaoRepositorio;
+    private final Clock relogio;
+    private final RodaTemporizacao<ChaveAssento> roda;
+    private final AtomicLong reservasLiberadas = new AtomicLong();
+    private final AtomicLong atrasoUltimaLiberacaoMillis = new AtomicLong();
+    private final AtomicLong atrasoMaximoLiberacaoMillis = new AtomicLong();
+    private final AtomicLong lotesComFalha = new AtomicLong();
+
+    @Autowired
+    public ExpiracaoReservasAplicacao(SessaoRepositorio sessaoRepositorio) {
+        this(sessaoRepositorio, Clock.systemDefaultZone());
+    }
+
+    // Relógio injetável para testes
+    ExpiracaoReservasAplicacao(SessaoRepositorio sessaoRepositorio, Clock relogio) {
+        this.sessaoRepositorio = sessaoRepositorio;
+        this.relogio = relogio;
+        this.roda = new RodaTemporizacao<>(DURACAO_TICK_MILLIS, QUANTIDADE_SLOTS, relogio.millis());
+    }
+
+    /**
+     * Registra (ou reagenda) a expiração de uma reserva temporária recém-gravada.
+     */
+    public void registrarReservaTemporaria(SessaoId sessaoId, String identificadorPosicao, LocalDateTime timestampExpiracaoReserva) {
+        Objects.requireNonNull(sessaoId, "ID da Sessão não pode ser nulo.");
+        Objects.requireNonNull(identificadorPosicao, "Identificador do assento não pode ser nulo.");
+        Objects.requireNonNull(timestampExpiracaoReserva, "Expiração da reserva não pode ser nula.");
+        roda.agendar(new ChaveAssento(sessaoId, identificadorPosicao.trim()), paraMillis(timestampExpiracaoReserva));
+    }
+
+    /**
+     * Remove o agendamento de um assento que deixou de estar reservado (confirmado ou liberado antes do prazo).
+     * Opcional: se não for chamado, a liberação no prazo é apenas ignorada pelo filtro de status.
+     */
+    public void cancelarReservaTemporaria(SessaoId sessaoId, String identificadorPosicao) {
+        roda.cancelar(new ChaveAssento(sessaoId, identificadorPosicao.trim()));
+    }
+
+    /**
+     * Reconstrói a roda a partir das reservas temporárias gravadas, ao subir a aplicação.
+     * Reservas já vencidas entram no próximo tick.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruirAgendamentos() {
+        List<ReservaTemporariaAssento> pendentes = sessaoRepositorio.buscarReservasTemporariasPendentes();
+        pendentes.forEach(r -> registrarReservaTemporaria(r.sessaoId(), r.identificadorPosicao(), r.timestampExpiracaoReserva()));
+        System.out.println("INFO APP: " + pendentes.size() + " reservas temporárias de assento reagendadas para expiração.");
+    }
+
+    /**
+     * Avança a roda e libera, em lotes por sessão, exatamente os assentos cujo prazo venceu.
+     */
+    @Scheduled(fixedDelay = DURACAO_TICK_MILLIS)
+    public void processarVencimentos() {
+        LocalDateTime agora = LocalDateTime.now(relogio);
+        long agoraMillis = paraMillis(agora);
+        List<RodaTemporizacao.Vencimento<ChaveAssento>> vencidas = roda.avancarAte(agoraMillis);
+        if (vencidas.isEmpty()) {
+            return;
+        }
+
+        Map<SessaoId, List<String>> posicoesPorSessao = new LinkedHashMap<>();
+        long atrasoMaximoTick = 0;
+        for (RodaTemporizacao.Vencimento<ChaveAssento> vencimento : vencidas) {
+            ChaveAssento chave = vencimento.chave();
+            posicoesPorSessao.computeIfAbsent(chave.sessaoId(), id -> new ArrayList<>()).add(chave.identificadorPosicao());
+            atrasoMaximoTick = Math.max(atrasoMaximoTick, agoraMillis - vencimento.prazoMillis());
+        }
+
+        posicoesPorSessao.forEach((sessaoId, posicoes) -> {
+            for (int inicio = 0; inicio < posicoes.size(); inicio += TAMANHO_LOTE_LIBERACAO) {
+                List<String> lote = posicoes.subList(inicio, Math.min(posicoes.size(), inicio + TAMANHO_LOTE_LIBERACAO));
+                try {
+                    reservasLiberadas.addAndGet(sessaoRepositorio.liberarReservasTemporariasExpiradas(sessaoId, lote, agora));
+                } catch (RuntimeException e) {
+                    // O avanço já tirou o lote da roda: reagenda para não perder as reservas.
+                    // Uma posição reservada de novo nesse meio tempo mantém o prazo novo.
+                    lotesComFalha.incrementAndGet();
+                    long novaTentativaMillis = agoraMillis + ATRASO_RETENTATIVA_LIBERACAO_MILLIS;
+                    lote.forEach(posicao -> roda.agendarSeAusente(new ChaveAssento(sessaoId, posicao), novaTentativaMillis));
+                    System.out.println("ERRO APP: Falha ao liberar reservas expiradas da sessão " + sessaoId + " (" + lote.size()
+                            + " reagendadas em " + ATRASO_RETENTATIVA_LIBERACAO_MILLIS + " ms): " + e.getMessage());
+                }
+            }
+        });
+        atrasoUltimaLiberacaoMillis.set(atrasoMaximoTick);
+        atrasoMaximoLiberacaoMillis.accumulateAndGet(atrasoMaximoTick, Math::max);
+    }
+
+    public MetricasExpiracaoReservas obterMetricas() {
+        return new MetricasExpiracaoReservas(
+                roda.getQuantidadePendentes(),
+                reservasLiberadas.get(),
+                atrasoUltimaLiberacaoMillis.get(),
+                atrasoMaximoLiberacaoMillis.get(),
+                lotesComFalha.get());
+    }
+
+    private long paraMillis(LocalDateTime dataHora) {
+        return dataHora.atZone(relogio.getZone()).toInstant().toEpochMilli();
+    }
+}
@@ -2,7 +2,6 @@ package com.cinetech.api.aplicacao;
 
 import com.cinetech.api.dominio.modelos.filme.Filme;
 import com.cinetech.api.dominio.modelos.filme.FilmeId;
-import com.cinetech.api.dominio.modelos.sessao.Sessao;
 import com.cinetech.api.dominio.repositorios.FilmeRepositorio;
 import com.cinetech.api.dominio.repositorios.SessaoRepositorio;
 import org.springframework.stereotype.Service;
@@ -91,10 +90,10 @@ public class FilmeAplicacao {
 
         for (Filme filme : filmesExpirados) {
             // Regra de Negócio Adicional (Exemplo): Não remover se ainda tiver sessões futuras programadas (erro de dados)
-            List<Sessao> sessoesFuturas = sessaoRepositorio.buscarSessoesAtivasPorFilmeId(filme.getId());
-            if (!sessoesFuturas.isEmpty()) {
+            long sessoesFuturas = sessaoRepositorio.contarSessoesAtivasPorFilmeId(filme.getId());
+            if (sessoesFuturas > 0) {
                 System.err.println("ALERTA APP: Filme '" + filme.getTitulo() + "' (ID: " + filme.getId() +
-                        ") expirou mas ainda possui " + sessoesFuturas.size() +
+                        ") expirou mas ainda possui " + sessoesFuturas +
                         " sessões futuras ativas. Remoção da programação adiada para este filme.");
                 // Poderia lançar uma exceção, logar, ou notificar administradores.
                 continue;
@@ -121,10 +120,10 @@ public class FilmeAplicacao {
         for (Filme filme : todosOsFilmesAtivos) {
             if (filme.deveSerRemovidoPorNotaBaixa()) { // Método da entidade Filme
                 // Regra de Negócio Adicional: Verificar se há sessões futuras antes de remover
-                List<Sessao> sessoesFuturas = sessaoRepositorio.buscarSessoesAtivasPorFilmeId(filme.getId());
-                if (!sessoesFuturas.isEmpty()) {
+                long sessoesFuturas = sessaoRepositorio.contarSessoesAtivasPorFilmeId(filme.getId());
+                if (sessoesFuturas > 0) {
                     System.err.println("ALERTA APP: Filme '" + filme.getTitulo() + "' (ID: " + filme.getId() +
-                            ") tem nota baixa mas ainda possui " + sessoesFuturas.size() +
+                            ") tem nota baixa mas ainda possui " + sessoesFuturas +
                             " sessões futuras ativas. Remoção da programação adiada para este filme.");
                     continue;
                 }
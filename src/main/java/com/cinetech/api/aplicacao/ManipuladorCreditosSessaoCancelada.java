@@ -0,0 +1,30 @@
+package com.cinetech.api.aplicacao;
+
+import com.cinetech.api.dominio.enums.TipoEventoOutbox;
+import com.cinetech.api.dominio.modelos.outbox.EventoOutbox;
+import com.cinetech.api.dominio.modelos.sessao.SessaoId;
+import org.springframework.stereotype.Component;
+
+/**
+ * Emite os créditos de compensação de uma sessão cancelada. (F4)
+ * Idempotente: a emissão só cria os créditos dos ingressos que ainda não receberam.
+ */
+@Component
+public class ManipuladorCreditosSessaoCancelada implements ManipuladorEventoOutbox {
+
+    private final ClienteAplicacao clienteAplicacao;
+
+    public ManipuladorCreditosSessaoCancelada(ClienteAplicacao clienteAplicacao) {
+        this.clienteAplicacao = clienteAplicacao;
+    }
+
+    @Override
+    public TipoEventoOutbox tipo() {
+        return TipoEventoOutbox.SESSAO_CANCELADA;
+    }
+
+    @Override
+    public void tratar(EventoOutbox evento) {
+        clienteAplicacao.emitirCreditosParaSessaoCancelada(SessaoId.de(evento.agregadoId()));
+    }
+}
@@ -0,0 +1,16 @@
+package com.cinetech.api.aplicacao;
+
+import com.cinetech.api.dominio.enums.TipoEventoOutbox;
+import com.cinetech.api.dominio.modelos.outbox.EventoOutbox;
+
+/**
+ * Trata um tipo de evento do outbox, fora da transação que o registrou.
+ * A entrega é "ao menos uma vez" (um evento pode chegar de novo após uma falha ou uma queda entre o tratamento
+ * e a confirmação), por isso o tratamento deve ser idempotente. Lançar uma exceção agenda uma nova tentativa.
+ */
+public interface ManipuladorEventoOutbox {
+
+    TipoEventoOutbox tipo();
+
+    void tratar(EventoOutbox evento);
+}
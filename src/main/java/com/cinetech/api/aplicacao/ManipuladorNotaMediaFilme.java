@@ -0,0 +1,32 @@
+package com.cinetech.api.aplicacao;
+
+import com.cinetech.api.dominio.enums.StatusAvaliacao;
+import com.cinetech.api.dominio.eventos.ManipuladorEventoDominio;
+import com.cinetech.api.dominio.modelos.avaliacao.AvaliacaoVisibilidadeAlterada;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recalcula a nota média do filme quando uma avaliação entra ou sai de APROVADA, fora da requisição
+ * que submeteu ou moderou a avaliação. (F8)
+ */
+@Component
+public class ManipuladorNotaMediaFilme implements ManipuladorEventoDominio<AvaliacaoVisibilidadeAlterada> {
+
+    private final AvaliacaoAplicacao avaliacaoAplicacao;
+
+    public ManipuladorNotaMediaFilme(AvaliacaoAplicacao avaliacaoAplicacao) {
+        this.avaliacaoAplicacao = avaliacaoAplicacao;
+    }
+
+    @Override
+    public Class<AvaliacaoVisibilidadeAlterada> tipoEvento() {
+        return AvaliacaoVisibilidadeAlterada.class;
+    }
+
+    @Override
+    public void tratar(AvaliacaoVisibilidadeAlterada evento) {
+        if (evento.statusAnterior() == StatusAvaliacao.APROVADA || evento.statusNovo() == StatusAvaliacao.APROVADA) {
+            avaliacaoAplicacao.recalcularNotaMediaFilme(evento.filmeId());
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.cinetech.api.aplicacao;
+
+import com.cinetech.api.dominio.modelos.lote.CheckpointLote;
+import com.cinetech.api.dominio.repositorios.CheckpointLoteRepositorio;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executa rotinas que percorrem muitos registros (ex: todos os clientes) sem carregar a tabela inteira
+ * nem segurar uma transação longa.
+ * A thread chamadora lê as chaves em ordem, por cursor, e as divide em chunks; cada chunk é processado
+ * por uma das partições (threads do pool) na sua própria transação curta. O checkpoint da rotina avança
+ * até o último chunk confirmado sem lacunas antes dele, e uma execução interrompida (falha ou queda do processo)
+ * é retomada dali na próxima chamada.
+ * Entrega "ao menos uma vez": chunks confirmados depois de uma lacuna são reprocessados na retomada,
+ * por isso o processamento de um chunk deve ser idempotente.
+ */
+@Component
+public class MotorLotes {
+
+    private static final long ESPERA_MAXIMA_TERMINO_MINUTOS = 30;
+
+    /**
+     * @param tamanhoChunk Registros por chunk (e por transação).
+     * @param particoes Chunks processados em paralelo; limitado pelo pool de conexões.
+     */
+    public record ConfiguracaoLote(int tamanhoChunk, int particoes) {
+        public ConfiguracaoLote {
+            if (tamanhoChunk <= 0) {
+                throw new IllegalArgumentException("Tamanho do chunk deve ser positivo.");
+            }
+            if (particoes <= 0) {
+                throw new IllegalArgumentException("Quantidade de partições deve ser positiva.");
+            }
+        }
+    }
+
+    /**
+     * Resultado de uma execução (só o que foi feito nesta chamada; o acumulado das retomadas fica no checkpoint).
+     */
+    public record ResultadoLote(String rotina, boolean retomada, long chunksProcessados, long itensProcessados,
+                                long itensAlterados, Duration duracao) {
+        public double itensPorSegundo() {
+            return duracao.isZero() ? itensProcessados : itensProcessados * 1_000_000_000d / duracao.toNanos();
+        }
+    }
+
+    /** Lê as próximas chaves, em ordem crescente, depois do cursor (vazio para começar do início). */
+    @FunctionalInterface
+    public interface BuscaChaves {
+        List<UUID> buscarApos(Optional<UUID> cursor, int quantidade);
+    }
+
+    /** Processa um chunk dentro da transação aberta pelo motor e devolve quantos registros alterou. */
+    @FunctionalInterface
+    public interface ProcessadorChunk {
+        int processar(List<UUID> chaves);
+    }
+
+    private final CheckpointLoteRepositorio checkpointLoteRepositorio;
+    private final TransactionTemplate transactionTemplate;
+    private final Set<String> rotinasEmExecucao = ConcurrentHashMap.newKeySet();
+
+    public MotorLotes(CheckpointLoteRepositorio checkpointLoteRepositorio, PlatformTransactionManager transactionManager) {
+        this.checkpointLoteRepositorio = checkpointLoteRepositorio;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Executa (ou retoma) a rotina até o fim.
+     * @throws IllegalStateException Se chamada dentro de uma transação, se a rotina já estiver em execução
+     *                               ou se um chunk falhar (o checkpoint fica no último ponto sem lacunas).
+     */
+    public ResultadoLote executar(String rotina, ConfiguracaoLote configuracao, BuscaChaves buscaChaves,
+                                  ProcessadorChunk processador) {
+        Objects.requireNonNull(rotina, "Nome da rotina não pode ser nulo.");
+        Objects.requireNonNull(configuracao, "Configuração do lote não pode ser nula.");
+        Objects.requireNonNull(buscaChaves, "Busca de chaves não pode ser nula.");
+        Objects.requireNonNull(processador, "Processador de chunk não pode ser nulo.");
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Rotina em lote " + rotina + " deve rodar fora de transação: cada chunk abre a sua.");
+        }
+        if (!rotinasEmExecucao.add(rotina)) {
+            throw new IllegalStateException("Rotina em lote " + rotina + " já está em execução.");
+        }
+        try {
+            return executarComExclusividade(rotina, configuracao, buscaChaves, processador);
+        } finally {
+            rotinasEmExecucao.remove(rotina);
+        }
+    }
+
+    private ResultadoLote executarComExclusividade(String rotina, ConfiguracaoLote configuracao, BuscaChaves buscaChaves,
+                                                   ProcessadorChunk processador) {
+        long inicioNanos = System.nanoTime();
+        Optional<CheckpointLote> interrompido = checkpointLoteRepositorio.buscarPorRotina(rotina).filter(c -> !c.concluida());
+        CheckpointLote checkpointInicial = interrompido.orElseGet(() -> CheckpointLote.iniciar(rotina, LocalDateTime.now()));
+        if (interrompido.isPresent()) {
+            System.out.println("INFO APP: Retomando rotina em lote " + rotina + " após " + checkpointInicial.ultimoIdConcluido()
+                    + " (" + checkpointInicial.itensProcessados() + " itens já processados).");
+        } else {
+            checkpointLoteRepositorio.salvar(checkpointInicial);
+        }
+
+        Progresso progresso = new Progresso(checkpointInicial);
+        // No máximo duas levas de chunks em memória: a leitura espera as partições quando está à frente
+        Semaphore chunksPendentes = new Semaphore(configuracao.particoes() * 2);
+        ExecutorService particoes = Executors.newFixedThreadPool(configuracao.particoes(), fabricaDeThreads(rotina));
+        Optional<UUID> cursor = checkpointInicial.cursor();
+        long sequencia = 0;
+        try {
+            while (!progresso.falhou()) {
+                List<UUID> chaves = buscaChaves.buscarApos(cursor, configuracao.tamanhoChunk());
+                if (chaves.isEmpty()) {
+                    break;
+                }
+                chunksPendentes.acquire();
+                long sequenciaChunk = sequencia++;
+                particoes.execute(() -> {
+                    try {
+                        Integer alterados = transactionTemplate.execute(status -> processador.processar(chaves));
+                        progresso.confirmar(sequenciaChunk, chaves, alterados == null ? 0 : alterados);
+                    } catch (RuntimeException e) {
+                        progresso.registrarFalha(sequenciaChunk, e);
+                    } finally {
+                        chunksPendentes.release();
+                    }
+                });
+                cursor = Optional.of(chaves.get(chaves.size() - 1));
+                if (chaves.size() < configuracao.tamanhoChunk()) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            progresso.registrarFalha(sequencia, new IllegalStateException("Leitura de chaves interrompida.", e));
+        } catch (RuntimeException e) {
+            progresso.registrarFalha(sequencia, e);
+        } finally {
+            aguardarTermino(particoes);
+        }
+
+        if (progresso.falhou()) {
+            System.out.println("ERRO APP: Rotina em lote " + rotina + " interrompida no chunk " + progresso.sequenciaFalha
+                    + "; checkpoint em " + progresso.checkpoint.ultimoIdConcluido() + ". Será retomada na próxima execução.");
+            throw new IllegalStateException("Rotina em lote " + rotina + " interrompida; será retomada do último checkpoint.",
+                    progresso.falha);
+        }
+        checkpointLoteRepositorio.salvar(progresso.checkpoint.concluir(LocalDateTime.now()));
+        ResultadoLote resultado = new ResultadoLote(rotina, interrompido.isPresent(), progresso.chunksConfirmados,
+                progresso.itensProcessados, progresso.itensAlterados, Duration.ofNanos(System.nanoTime() - inicioNanos));
+        System.out.println("INFO APP: Rotina em lote " + rotina + " concluída: " + resultado.itensProcessados() + " itens em "
+                + resultado.chunksProcessados() + " chunks (" + resultado.itensAlterados() + " alterados), "
+                + resultado.duracao().toMillis() + " ms, " + Math.round(resultado.itensPorSegundo()) + " itens/s.");
+        return resultado;
+    }
+
+    private static void aguardarTermino(ExecutorService particoes) {
+        particoes.shutdown();
+        try {
+            if (!particoes.awaitTermination(ESPERA_MAXIMA_TERMINO_MINUTOS, TimeUnit.MINUTES)) {
+                particoes.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            particoes.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ThreadFactory fabricaDeThreads(String rotina) {
+        AtomicInteger contador = new AtomicInteger();
+        return tarefa -> {
+            Thread thread = new Thread(tarefa, "lote-" + rotina + "-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Chunks confirmados fora de ordem ficam pendentes até que todos os anteriores também estejam;
+     * só então o checkpoint avança e é gravado. Um chunk que falhou é uma lacuna: o checkpoint para antes dele.
+     */
+    private final class Progresso {
+        private final TreeMap<Long, ChunkConfirmado> confirmadosForaDeOrdem = new TreeMap<>();
+        private CheckpointLote checkpoint;
+        private long proximaSequencia;
+        private long chunksConfirmados;
+        private long itensProcessados;
+        private long itensAlterados;
+        private volatile RuntimeException falha;
+        private long sequenciaFalha;
+
+        private Progresso(CheckpointLote checkpoint) {
+            this.checkpoint = checkpoint;
+        }
+
+        private synchronized void confirmar(long sequencia, List<UUID> chaves, int alterados) {
+            chunksConfirmados++;
+            itensProcessados += chaves.size();
+            itensAlterados += alterados;
+            confirmadosForaDeOrdem.put(sequencia, new ChunkConfirmado(chaves.get(chaves.size() - 1), chaves.size(), alterados));
+            boolean avancou = false;
+            ChunkConfirmado proximo;
+            while ((proximo = confirmadosForaDeOrdem.remove(proximaSequencia)) != null) {
+                checkpoint = checkpoint.avancar(proximo.ultimaChave(), proximo.itens(), proximo.alterados(), LocalDateTime.now());
+                proximaSequencia++;
+                avancou = true;
+            }
+            if (avancou) {
+                checkpointLoteRepositorio.salvar(checkpoint);
+            }
+        }
+
+        private synchronized void registrarFalha(long sequencia, RuntimeException e) {
+            if (falha == null) {
+                falha = e;
+                sequenciaFalha = sequencia;
+            }
+        }
+
+        private boolean falhou() {
+            return falha != null;
+        }
+    }
+
+    private record ChunkConfirmado(UUID ultimaChave, int itens, int alterados) {}
+}
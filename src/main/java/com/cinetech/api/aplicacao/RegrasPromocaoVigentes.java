@@ -0,0 +1,98 @@
+package com.cinetech.api.aplicacao;
+
+import com.cinetech.api.dominio.eventos.ManipuladorEventoDominio;
+import com.cinetech.api.dominio.modelos.promocao.Promocao;
+import com.cinetech.api.dominio.modelos.promocao.PromocaoAlterada;
+import com.cinetech.api.dominio.repositorios.PromocaoRepositorio;
+import com.cinetech.api.dominio.servicos.PrecificacaoServico.RegrasPromocaoCompiladas;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Mantém as regras de promoção compiladas do dia, trocadas atomicamente: a precificação lê a referência atual
+ * sem consultar o banco. Uma alteração de promoção (evento PromocaoAlterada, após o commit) ou a virada do dia
+ * invalida as regras, recompiladas na próxima consulta por uma única thread.
+ */
+@Component
+public class RegrasPromocaoVigentes implements ManipuladorEventoDominio<PromocaoAlterada> {
+
+    /**
+     * @param compilacoes Vezes que as regras foram recompiladas.
+     * @param invalidacoes Alterações de promoção recebidas.
+     * @param promocoesIndexadas Promoções aplicáveis a ingressos nas regras atuais.
+     * @param faixasIndexadas Faixas de horário nas regras atuais (ao menos 7 dias x 24 horas).
+     * @param ultimaCompilacaoMicros Duração da última compilação, sem a consulta ao banco.
+     */
+    public record MetricasRegrasPromocao(long compilacoes, long invalidacoes, int promocoesIndexadas,
+                                         int faixasIndexadas, long ultimaCompilacaoMicros) {}
+
+    private record Instantaneo(RegrasPromocaoCompiladas regras, long versao) {}
+
+    private final PromocaoRepositorio promocaoRepositorio;
+    private final AtomicReference<Instantaneo> atual = new AtomicReference<>();
+    private final AtomicLong versao = new AtomicLong(); // Incrementada a cada alteração de promoção
+    private final AtomicLong compilacoes = new AtomicLong();
+    private volatile long ultimaCompilacaoMicros;
+
+    public RegrasPromocaoVigentes(PromocaoRepositorio promocaoRepositorio) {
+        this.promocaoRepositorio = promocaoRepositorio;
+    }
+
+    /**
+     * Regras compiladas para a data, recompiladas se a data mudou ou alguma promoção foi alterada desde a compilação.
+     */
+    public RegrasPromocaoCompiladas obter(LocalDate dataReferencia) {
+        Objects.requireNonNull(dataReferencia, "Data de referência não pode ser nula.");
+        Instantaneo instantaneo = atual.get();
+        if (valido(instantaneo, dataReferencia)) {
+            return instantaneo.regras();
+        }
+        synchronized (this) {
+            instantaneo = atual.get();
+            if (valido(instantaneo, dataReferencia)) {
+                return instantaneo.regras();
+            }
+            // Lida antes da consulta: uma alteração confirmada durante a compilação invalida o resultado de novo
+            long versaoCompilada = versao.get();
+            List<Promocao> promocoes = promocaoRepositorio.buscarPromocoesVigentes(dataReferencia);
+            long inicio = System.nanoTime();
+            RegrasPromocaoCompiladas regras = RegrasPromocaoCompiladas.compilar(promocoes, dataReferencia);
+            ultimaCompilacaoMicros = (System.nanoTime() - inicio) / 1_000;
+            compilacoes.incrementAndGet();
+            atual.set(new Instantaneo(regras, versaoCompilada));
+            return regras;
+        }
+    }
+
+    private boolean valido(Instantaneo instantaneo, LocalDate dataReferencia) {
+        return instantaneo != null && instantaneo.versao() == versao.get()
+                && instantaneo.regras().getDataReferencia().equals(dataReferencia);
+    }
+
+    @Override
+    public Class<PromocaoAlterada> tipoEvento() {
+        return PromocaoAlterada.class;
+    }
+
+    @Override
+    public boolean assincrono() {
+        return false; // A compra seguinte à alteração já deve ver a promoção nova
+    }
+
+    @Override
+    public void tratar(PromocaoAlterada evento) {
+        versao.incrementAndGet();
+    }
+
+    public MetricasRegrasPromocao obterMetricas() {
+        Instantaneo instantaneo = atual.get();
+        return new MetricasRegrasPromocao(compilacoes.get(), versao.get(),
+                instantaneo == null ? 0 : instantaneo.regras().getPromocoesIndexadas(),
+                instantaneo == null ? 0 : instantaneo.regras().getFaixasIndexadas(), ultimaCompilacaoMicros);
+    }
+}
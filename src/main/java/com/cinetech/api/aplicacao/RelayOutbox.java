@@ -0,0 +1,179 @@
+package com.cinetech.api.aplicacao;
+
+import com.cinetech.api.dominio.enums.TipoEventoOutbox;
+import com.cinetech.api.dominio.modelos.outbox.EventoOutbox;
+import com.cinetech.api.dominio.repositorios.EventoOutboxRepositorio;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Entrega os eventos do outbox aos seus manipuladores, fora da transação e da requisição que os registraram.
+ * A cada ciclo lê os pendentes em lotes, em ordem, e os entrega em paralelo num pool limitado; cada evento é
+ * confirmado (processadoEm) depois que todos os manipuladores do seu tipo terminam. Uma falha agenda nova tentativa
+ * com espera exponencial; uma queda entre o tratamento e a confirmação faz o evento ser entregue de novo.
+ * O ciclo agendado pode ser desligado (cinetech.outbox.relay-habilitado=false, como nos testes);
+ * despacharPendentes continua disponível para entrega sob demanda.
+ */
+@Component
+public class RelayOutbox {
+
+    // Configuração: cinetech.outbox.relay-habilitado (padrão true), cinetech.outbox.intervalo-relay-millis (padrão 500)
+    public static final int TAMANHO_LOTE = 100;
+    public static final int ENTREGAS_PARALELAS = 8;        // Limitado pelo pool de conexões
+    public static final Duration ESPERA_BASE_RETENTATIVA = Duration.ofSeconds(5);
+    public static final Duration ESPERA_MAXIMA_RETENTATIVA = Duration.ofMinutes(15);
+
+    /**
+     * Métricas do relay desde a inicialização.
+     * @param eventosPendentes Eventos ainda não entregues (disponíveis ou aguardando nova tentativa).
+     * @param eventosEntregues Eventos entregues com sucesso.
+     * @param falhasEntrega Entregas que falharam e foram reagendadas.
+     * @param atrasoUltimaEntregaMillis Atraso (entrega - registro) do último evento entregue.
+     * @param atrasoMaximoEntregaMillis Maior atraso observado.
+     */
+    public record MetricasOutbox(long eventosPendentes, long eventosEntregues, long falhasEntrega,
+                                 long atrasoUltimaEntregaMillis, long atrasoMaximoEntregaMillis) {}
+
+    private final EventoOutboxRepositorio eventoOutboxRepositorio;
+    private final boolean cicloAgendadoHabilitado;
+    private final Map<TipoEventoOutbox, List<ManipuladorEventoOutbox>> manipuladoresPorTipo = new EnumMap<>(TipoEventoOutbox.class);
+    private final ThreadPoolExecutor entregadores;
+    // Um ciclo por vez: o agendado e uma chamada direta não leem o mesmo lote
+    private final ReentrantLock cicloEmAndamento = new ReentrantLock();
+    private final AtomicLong eventosEntregues = new AtomicLong();
+    private final AtomicLong falhasEntrega = new AtomicLong();
+    private final AtomicLong atrasoUltimaEntregaMillis = new AtomicLong();
+    private final AtomicLong atrasoMaximoEntregaMillis = new AtomicLong();
+
+    public RelayOutbox(EventoOutboxRepositorio eventoOutboxRepositorio, List<ManipuladorEventoOutbox> manipuladores,
+                       @Value("${cinetech.outbox.relay-habilitado:true}") boolean cicloAgendadoHabilitado) {
+        this.eventoOutboxRepositorio = eventoOutboxRepositorio;
+        this.cicloAgendadoHabilitado = cicloAgendadoHabilitado;
+        manipuladores.forEach(m -> manipuladoresPorTipo.computeIfAbsent(m.tipo(), tipo -> new ArrayList<>()).add(m));
+        AtomicInteger contador = new AtomicInteger();
+        // A fila comporta um lote inteiro: o ciclo espera o lote terminar antes de ler o próximo
+        this.entregadores = new ThreadPoolExecutor(ENTREGAS_PARALELAS, ENTREGAS_PARALELAS, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(TAMANHO_LOTE), tarefa -> {
+            Thread thread = new Thread(tarefa, "relay-outbox-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Scheduled(initialDelayString = "${cinetech.outbox.intervalo-relay-millis:500}",
+            fixedDelayString = "${cinetech.outbox.intervalo-relay-millis:500}")
+    public void executarCiclo() {
+        if (!cicloAgendadoHabilitado) {
+            return;
+        }
+        try {
+            despacharPendentes();
+        } catch (RuntimeException e) {
+            // Os eventos continuam pendentes e são relidos no próximo ciclo
+            System.out.println("ERRO APP: Falha no ciclo do relay do outbox: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Entrega todos os eventos pendentes já disponíveis (espera um ciclo em andamento terminar).
+     * @return Quantidade de eventos entregues com sucesso nesta chamada.
+     */
+    public int despacharPendentes() {
+        cicloEmAndamento.lock();
+        try {
+            int entregues = 0;
+            List<EventoOutbox> lote;
+            do {
+                lote = eventoOutboxRepositorio.buscarPendentesDisponiveis(LocalDateTime.now(), TAMANHO_LOTE);
+                List<Future<Boolean>> entregas = new ArrayList<>(lote.size());
+                for (EventoOutbox evento : lote) {
+                    entregas.add(entregadores.submit(() -> entregar(evento)));
+                }
+                for (Future<Boolean> entrega : entregas) {
+                    if (aguardar(entrega)) {
+                        entregues++;
+                    }
+                }
+                // Eventos que falharam foram reagendados para depois de agora e não voltam no próximo lote
+            } while (lote.size() == TAMANHO_LOTE && !Thread.currentThread().isInterrupted());
+            return entregues;
+        } finally {
+            cicloEmAndamento.unlock();
+        }
+    }
+
+    private boolean entregar(EventoOutbox evento) {
+        try {
+            List<ManipuladorEventoOutbox> manipuladores = manipuladoresPorTipo.getOrDefault(evento.tipo(), List.of());
+            if (manipuladores.isEmpty()) {
+                System.out.println("WARN APP: Nenhum manipulador para o evento " + evento.tipo() + " " + evento.id() + "; marcado como entregue.");
+            }
+            for (ManipuladorEventoOutbox manipulador : manipuladores) {
+                manipulador.tratar(evento);
+            }
+        } catch (RuntimeException e) {
+            LocalDateTime proximaTentativa = LocalDateTime.now().plus(esperaRetentativa(evento.tentativas()));
+            eventoOutboxRepositorio.salvar(evento.registrarFalha(String.valueOf(e.getMessage()), proximaTentativa));
+            falhasEntrega.incrementAndGet();
+            System.out.println("ERRO APP: Falha ao entregar o evento " + evento.tipo() + " " + evento.id() + " (tentativa "
+                    + (evento.tentativas() + 1) + "): " + e.getMessage() + ". Nova tentativa em " + proximaTentativa + ".");
+            return false;
+        }
+        LocalDateTime agora = LocalDateTime.now();
+        eventoOutboxRepositorio.salvar(evento.concluir(agora));
+        long atrasoMillis = Duration.between(evento.registradoEm(), agora).toMillis();
+        eventosEntregues.incrementAndGet();
+        atrasoUltimaEntregaMillis.set(atrasoMillis);
+        atrasoMaximoEntregaMillis.accumulateAndGet(atrasoMillis, Math::max);
+        return true;
+    }
+
+    private static Duration esperaRetentativa(int tentativasAnteriores) {
+        Duration espera = ESPERA_BASE_RETENTATIVA.multipliedBy(1L << Math.min(tentativasAnteriores, 20));
+        return espera.compareTo(ESPERA_MAXIMA_RETENTATIVA) > 0 ? ESPERA_MAXIMA_RETENTATIVA : espera;
+    }
+
+    private static boolean aguardar(Future<Boolean> entrega) {
+        try {
+            return entrega.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            // Falha ao gravar o resultado: o evento segue pendente e será entregue de novo
+            System.out.println("ERRO APP: Falha ao confirmar a entrega de um evento do outbox: " + e.getCause().getMessage());
+            return false;
+        }
+    }
+
+    public MetricasOutbox obterMetricas() {
+        return new MetricasOutbox(
+                eventoOutboxRepositorio.contarPendentes(),
+                eventosEntregues.get(),
+                falhasEntrega.get(),
+                atrasoUltimaEntregaMillis.get(),
+                atrasoMaximoEntregaMillis.get());
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        entregadores.shutdown();
+    }
+}
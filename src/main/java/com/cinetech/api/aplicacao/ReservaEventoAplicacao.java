@@ -7,6 +7,7 @@ import com.cinetech.api.dominio.modelos.cliente.ClienteId;
 import com.cinetech.api.dominio.modelos.pagamento.Pagamento;
 import com.cinetech.api.dominio.modelos.reservaevento.ReservaEvento;
 import com.cinetech.api.dominio.modelos.reservaevento.ReservaEventoId;
+import com.cinetech.api.dominio.modelos.sala.PeriodoLivreSala;
 import com.cinetech.api.dominio.modelos.sala.Sala;
 import com.cinetech.api.dominio.modelos.sala.SalaId;
 import com.cinetech.api.dominio.repositorios.ClienteRepositorio;
@@ -14,14 +15,20 @@ import com.cinetech.api.dominio.repositorios.PagamentoRepositorio;
 import com.cinetech.api.dominio.repositorios.ReservaEventoRepositorio;
 import com.cinetech.api.dominio.repositorios.SalaRepositorio;
 import com.cinetech.api.dominio.servicos.AgendamentoServico.AgendamentoServico;
+import com.cinetech.api.dominio.servicos.AgendamentoServico.ConsultaJanelasLivres;
 import com.cinetech.api.infraestrutura.web.dto.reservaeventos.ConfirmarPagamentoReservaRequestDTO;
 import com.cinetech.api.infraestrutura.web.dto.reservaeventos.CriarReservaEventoRequestDTO;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
@@ -133,7 +140,7 @@ public class ReservaEventoAplicacao {
 
     /**
      * Caso de Uso: Listar salas disponíveis para eventos em um determinado período. (Source 50)
-     * Este método é mais complexo pois envolve verificar a disponibilidade de *cada* sala.
+     * Uma única consulta: salas para eventos sem sessão nem reserva de evento que cruze o período.
      */
     @Transactional(readOnly = true)
     public List<Sala> listarSalasDisponiveisParaEvento(LocalDateTime inicioProposto, LocalDateTime fimProposto) {
@@ -148,12 +155,90 @@ public class ReservaEventoAplicacao {
         }
 
 
-        List<Sala> todasSalasParaEventos = salaRepositorio.buscarSalasDisponiveisParaEventos();
+        return salaRepositorio.buscarSalasParaEventosLivresNoPeriodo(inicioProposto, fimProposto);
+    }
+
+    /**
+     * Janelas livres de uma sala para eventos.
+     * @param sala A sala.
+     * @param periodosLivres As janelas livres, em ordem de início.
+     */
+    public record DisponibilidadeSalaEvento(Sala sala, List<PeriodoLivreSala> periodosLivres) {}
+
+    /**
+     * Caso de Uso: Listar, por sala para eventos, as janelas livres dentro de uma faixa de datas mais longa. (F7)
+     * Janelas anteriores à antecedência mínima são desconsideradas (a faixa começa, no mínimo, em agora + 48h).
+     * Três consultas no total (salas, sessões e reservas da faixa), independente do número de salas.
+     *
+     * @param inicioFaixa Início da faixa de busca.
+     * @param fimFaixa Fim da faixa de busca.
+     * @param duracaoMinima Duração mínima de uma janela para o evento.
+     * @return As salas com ao menos uma janela livre, com suas janelas.
+     */
+    @Transactional(readOnly = true)
+    public List<DisponibilidadeSalaEvento> listarPeriodosLivresParaEvento(LocalDateTime inicioFaixa, LocalDateTime fimFaixa,
+                                                                          Duration duracaoMinima) {
+        Objects.requireNonNull(inicioFaixa, "Início da faixa não pode ser nulo.");
+        Objects.requireNonNull(fimFaixa, "Fim da faixa não pode ser nulo.");
+        Objects.requireNonNull(duracaoMinima, "Duração mínima não pode ser nula.");
+        if (!fimFaixa.isAfter(inicioFaixa)) {
+            throw new IllegalArgumentException("Fim da faixa deve ser após o início da faixa.");
+        }
+        LocalDateTime limiteAntecedencia = LocalDateTime.now().plusHours(ReservaEvento.ANTECEDENCIA_MINIMA_EM_HORAS);
+        LocalDateTime inicioEfetivo = inicioFaixa.isBefore(limiteAntecedencia) ? limiteAntecedencia : inicioFaixa;
+        if (!fimFaixa.isAfter(inicioEfetivo)) {
+            return List.of();
+        }
+
+        Map<SalaId, Sala> salasPorId = new LinkedHashMap<>();
+        salaRepositorio.buscarSalasDisponiveisParaEventos().forEach(sala -> salasPorId.put(sala.getId(), sala));
+        Map<SalaId, List<PeriodoLivreSala>> livresPorSala = new LinkedHashMap<>();
+        for (PeriodoLivreSala livre : agendamentoService.buscarPeriodosLivres(salasPorId.keySet(), inicioEfetivo, fimFaixa, duracaoMinima)) {
+            livresPorSala.computeIfAbsent(livre.salaId(), salaId -> new ArrayList<>()).add(livre);
+        }
+        return livresPorSala.entrySet().stream()
+                .map(entrada -> new DisponibilidadeSalaEvento(salasPorId.get(entrada.getKey()), entrada.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Janela livre de uma sala para evento.
+     */
+    public record JanelaLivreEvento(Sala sala, LocalDateTime dataHoraInicio, LocalDateTime dataHoraFim) {}
+
+    /**
+     * Caso de Uso: Encontrar as primeiras janelas livres, entre todas as salas para eventos, com uma duração mínima
+     * e dentro de um horário diário (ex: "4 horas numa noite do próximo mês" = 18:00 a 00:00, 4h). (F7)
+     * Responde pelos calendários de slots de 15 minutos do índice em memória (sem I/O além da lista de salas);
+     * fora do horizonte dos calendários, monta-os da agenda gravada. Janelas alinhadas aos slots.
+     * Janelas anteriores à antecedência mínima são desconsideradas.
+     *
+     * @param inicioFaixa Início da faixa de datas.
+     * @param fimFaixa Fim da faixa de datas.
+     * @param duracaoMinima Duração mínima da janela.
+     * @param inicioDiario Início do horário aceito em cada dia (null = dia inteiro).
+     * @param fimDiario Fim do horário aceito em cada dia (null = dia inteiro); antes do início, atravessa a meia-noite.
+     * @param quantidade Máximo de janelas.
+     * @return Até 'quantidade' janelas, em ordem de início.
+     */
+    @Transactional(readOnly = true)
+    public List<JanelaLivreEvento> buscarPrimeirasJanelasLivresParaEvento(LocalDateTime inicioFaixa, LocalDateTime fimFaixa,
+                                                                          Duration duracaoMinima, LocalTime inicioDiario,
+                                                                          LocalTime fimDiario, int quantidade) {
+        Objects.requireNonNull(inicioFaixa, "Início da faixa não pode ser nulo.");
+        Objects.requireNonNull(fimFaixa, "Fim da faixa não pode ser nulo.");
+        LocalDateTime limiteAntecedencia = LocalDateTime.now().plusHours(ReservaEvento.ANTECEDENCIA_MINIMA_EM_HORAS);
+        LocalDateTime inicioEfetivo = inicioFaixa.isBefore(limiteAntecedencia) ? limiteAntecedencia : inicioFaixa;
+        if (!fimFaixa.isAfter(inicioEfetivo)) {
+            return List.of();
+        }
+        ConsultaJanelasLivres consulta = new ConsultaJanelasLivres(inicioEfetivo, fimFaixa, duracaoMinima,
+                inicioDiario, fimDiario, quantidade);
 
-        return todasSalasParaEventos.stream()
-                .filter(sala -> !agendamentoService.verificarConflitoAgendamento(
-                        sala.getId(), inicioProposto, fimProposto, Optional.empty(), Optional.empty()
-                ))
+        Map<SalaId, Sala> salasPorId = new LinkedHashMap<>();
+        salaRepositorio.buscarSalasDisponiveisParaEventos().forEach(sala -> salasPorId.put(sala.getId(), sala));
+        return agendamentoService.buscarPrimeirasJanelasLivres(salasPorId.keySet(), consulta).stream()
+                .map(janela -> new JanelaLivreEvento(salasPorId.get(janela.salaId()), janela.dataHoraInicio(), janela.dataHoraFim()))
                 .collect(Collectors.toList());
     }
 }
@@ -0,0 +1,138 @@
+package com.cinetech.api.aplicacao;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Executa casos de uso de assento com retentativa em conflito de versão (controle otimista da Sessao/Assento). (F1)
+ * Cada tentativa roda em uma transação própria e relê o agregado, reaplicando a regra de domínio sobre o estado novo.
+ * Entre tentativas há espera exponencial com jitter total; um orçamento global de retentativas
+ * (proporcional ao número de execuções) evita que um pico de conflitos vire uma tempestade de retentativas.
+ * Se já houver transação ativa, executa uma única vez: quem abriu a transação é quem deve retentar.
+ */
+@Component
+public class RetentativaConcorrencia {
+
+    public static final int MAXIMO_TENTATIVAS = 5;         // Configuração
+    public static final long ESPERA_BASE_MILLIS = 5;
+    public static final long ESPERA_MAXIMA_MILLIS = 200;
+    // Orçamento em fichas: cada execução deposita 2 e cada retentativa custa 10 (~20% de retentativas no regime)
+    private static final int FICHAS_POR_EXECUCAO = 2;
+    private static final int FICHAS_POR_RETENTATIVA = 10;
+    private static final int FICHAS_MAXIMAS = 2_000;
+
+    /**
+     * Métricas acumuladas desde a inicialização.
+     * @param execucoes Execuções iniciadas (fora de transação).
+     * @param retentativas Tentativas extras feitas após conflito.
+     * @param conflitosNaoResolvidos Execuções que terminaram em conflito (tentativas ou orçamento esgotados).
+     * @param retentativasNegadasPeloOrcamento Conflitos que não foram retentados por falta de orçamento.
+     * @param saldoOrcamentoFichas Fichas disponíveis no momento.
+     */
+    public record MetricasRetentativa(long execucoes, long retentativas, long conflitosNaoResolvidos,
+                                      long retentativasNegadasPeloOrcamento, int saldoOrcamentoFichas) {}
+
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicInteger fichas = new AtomicInteger(FICHAS_MAXIMAS);
+    private final AtomicLong execucoes = new AtomicLong();
+    private final AtomicLong retentativas = new AtomicLong();
+    private final AtomicLong conflitosNaoResolvidos = new AtomicLong();
+    private final AtomicLong retentativasNegadasPeloOrcamento = new AtomicLong();
+
+    public RetentativaConcorrencia(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Executa a ação, retentando em nova transação enquanto houver conflito de versão.
+     * A ação deve reler tudo o que grava (não reaproveitar agregados de tentativas anteriores).
+     * @param operacao Nome da operação, para log.
+     * @param acao A ação transacional.
+     * @return O resultado da ação.
+     * @throws IllegalStateException Se o conflito persistir após as tentativas ou sem orçamento para retentar.
+     */
+    public <T> T executar(String operacao, Supplier<T> acao) {
+        Objects.requireNonNull(acao, "Ação não pode ser nula.");
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return acao.get();
+        }
+        execucoes.incrementAndGet();
+        depositar(FICHAS_POR_EXECUCAO);
+
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return transactionTemplate.execute(status -> acao.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (tentativa >= MAXIMO_TENTATIVAS) {
+                    conflitosNaoResolvidos.incrementAndGet();
+                    throw new IllegalStateException("Conflito de concorrência em " + operacao + " após "
+                            + tentativa + " tentativas. Tente novamente.", e);
+                }
+                if (!sacar(FICHAS_POR_RETENTATIVA)) {
+                    retentativasNegadasPeloOrcamento.incrementAndGet();
+                    conflitosNaoResolvidos.incrementAndGet();
+                    throw new IllegalStateException("Conflito de concorrência em " + operacao
+                            + " (orçamento de retentativas esgotado). Tente novamente.", e);
+                }
+                retentativas.incrementAndGet();
+                aguardar(tentativa);
+            }
+        }
+    }
+
+    public void executar(String operacao, Runnable acao) {
+        Objects.requireNonNull(acao, "Ação não pode ser nula.");
+        executar(operacao, () -> {
+            acao.run();
+            return null;
+        });
+    }
+
+    public MetricasRetentativa obterMetricas() {
+        return new MetricasRetentativa(
+                execucoes.get(),
+                retentativas.get(),
+                conflitosNaoResolvidos.get(),
+                retentativasNegadasPeloOrcamento.get(),
+                fichas.get());
+    }
+
+    private void depositar(int quantidade) {
+        fichas.accumulateAndGet(quantidade, (saldo, q) -> Math.min(FICHAS_MAXIMAS, saldo + q));
+    }
+
+    private boolean sacar(int quantidade) {
+        int saldo;
+        do {
+            saldo = fichas.get();
+            if (saldo < quantidade) {
+                return false;
+            }
+        } while (!fichas.compareAndSet(saldo, saldo - quantidade));
+        return true;
+    }
+
+    // Jitter total: espera uniforme em [0, min(máximo, base * 2^(tentativa-1))]
+    private static void aguardar(int tentativa) {
+        long teto = Math.min(ESPERA_MAXIMA_MILLIS, ESPERA_BASE_MILLIS << Math.min(tentativa - 1, 16));
+        long espera = ThreadLocalRandom.current().nextLong(teto + 1);
+        if (espera == 0) {
+            return;
+        }
+        try {
+            Thread.sleep(espera);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Retentativa interrompida.", e);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.cinetech.api.aplicacao;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Roda de temporização (hashed timing wheel) para prazos curtos, como as reservas temporárias de assento (F1).
+ * Cada prazo cai no slot do seu tick; a cada avanço só os slots dos ticks decorridos são visitados,
+ * e dentro deles só saem as entradas cujo tick absoluto já passou (as demais ficam para a próxima volta).
+ * Agendar a mesma chave de novo substitui o prazo anterior.
+ * Thread-safe por sincronização simples: as operações são O(1) amortizado por entrada.
+ *
+ * @param <K> Tipo da chave (deve implementar equals/hashCode).
+ */
+public class RodaTemporizacao<K> {
+
+    /** Entrada vencida devolvida pelo avanço da roda, com o prazo original para cálculo de atraso. */
+    public record Vencimento<K>(K chave, long prazoMillis) {}
+
+    private static final class Entrada<K> {
+        private final K chave;
+        private final long prazoMillis;
+        private final long tickVencimento;
+
+        private Entrada(K chave, long prazoMillis, long tickVencimento) {
+            this.chave = chave;
+            this.prazoMillis = prazoMillis;
+            this.tickVencimento = tickVencimento;
+        }
+    }
+
+    private final long duracaoTickMillis;
+    private final int mascaraSlots;
+    private final ArrayDeque<Entrada<K>>[] slots;
+    private final Map<K, Entrada<K>> pendentes = new HashMap<>();
+    private long proximoTick; // Próximo tick absoluto ainda não processado
+
+    @SuppressWarnings("unchecked")
+    public RodaTemporizacao(long duracaoTickMillis, int quantidadeSlots, long agoraMillis) {
+        if (duracaoTickMillis <= 0) {
+            throw new IllegalArgumentException("Duração do tick deve ser positiva.");
+        }
+        if (quantidadeSlots <= 0 || Integer.bitCount(quantidadeSlots) != 1) {
+            throw new IllegalArgumentException("Quantidade de slots deve ser uma potência de 2. Recebido: " + quantidadeSlots);
+        }
+        this.duracaoTickMillis = duracaoTickMillis;
+        this.mascaraSlots = quantidadeSlots - 1;
+        this.slots = new ArrayDeque[quantidadeSlots];
+        for (int i = 0; i < quantidadeSlots; i++) {
+            this.slots[i] = new ArrayDeque<>();
+        }
+        this.proximoTick = agoraMillis / duracaoTickMillis;
+    }
+
+    /**
+     * Agenda (ou reagenda) a chave para vencer estritamente depois de prazoMillis.
+     */
+    public synchronized void agendar(K chave, long prazoMillis) {
+        Objects.requireNonNull(chave, "Chave não pode ser nula.");
+        // +1 ms: a entrada só vence quando o relógio já passou do prazo (mesma regra de "isAfter" do domínio)
+        long tick = Math.max(proximoTick, Math.floorDiv(prazoMillis + 1 + duracaoTickMillis - 1, duracaoTickMillis));
+        Entrada<K> entrada = new Entrada<>(chave, prazoMillis, tick);
+        pendentes.put(chave, entrada); // A entrada antiga, se houver, fica órfã no slot e é descartada ao ser visitada
+        slots[(int) (tick & mascaraSlots)].addLast(entrada);
+    }
+
+    /**
+     * Agenda a chave apenas se ela não estiver na roda; um prazo já agendado (ex: reserva refeita) prevalece.
+     * @return true se agendou.
+     */
+    public synchronized boolean agendarSeAusente(K chave, long prazoMillis) {
+        if (pendentes.containsKey(chave)) {
+            return false;
+        }
+        agendar(chave, prazoMillis);
+        return true;
+    }
+
+    /**
+     * Remove a chave da roda, se estiver agendada.
+     */
+    public synchronized void cancelar(K chave) {
+        pendentes.remove(chave);
+    }
+
+    /**
+     * Avança a roda até o instante informado e devolve as entradas vencidas, na ordem dos ticks.
+     */
+    public synchronized List<Vencimento<K>> avancarAte(long agoraMillis) {
+        long tickAtual = agoraMillis / duracaoTickMillis;
+        if (tickAtual < proximoTick) {
+            return List.of();
+        }
+        List<Vencimento<K>> vencidas = new ArrayList<>();
+        // Mais de uma volta sem avançar (ex: pausa longa): basta visitar cada slot uma vez
+        long ultimoTick = Math.min(tickAtual, proximoTick + mascaraSlots);
+        for (long tick = proximoTick; tick <= ultimoTick; tick++) {
+            Iterator<Entrada<K>> it = slots[(int) (tick & mascaraSlots)].iterator();
+            while (it.hasNext()) {
+                Entrada<K> entrada = it.next();
+                if (pendentes.get(entrada.chave) != entrada) {
+                    it.remove(); // Cancelada ou reagendada
+                } else if (entrada.tickVencimento <= tickAtual) {
+                    it.remove();
+                    pendentes.remove(entrada.chave);
+                    vencidas.add(new Vencimento<>(entrada.chave, entrada.prazoMillis));
+                }
+            }
+        }
+        proximoTick = tickAtual + 1;
+        return vencidas;
+    }
+
+    public synchronized int getQuantidadePendentes() {
+        return pendentes.size();
+    }
+}
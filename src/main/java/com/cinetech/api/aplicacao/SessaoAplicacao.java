@@ -2,15 +2,22 @@ package com.cinetech.api.aplicacao;
 
 import com.cinetech.api.dominio.enums.StatusAssento;
 import com.cinetech.api.dominio.enums.StatusSessao;
+import com.cinetech.api.dominio.enums.TipoAssento;
+import com.cinetech.api.dominio.enums.TipoEventoOutbox;
 import com.cinetech.api.dominio.enums.TipoExibicao;
 import com.cinetech.api.dominio.modelos.assento.Assento;
+import com.cinetech.api.dominio.modelos.assento.AssentoIndisponivelException;
 import com.cinetech.api.dominio.modelos.cliente.ClienteId;
 import com.cinetech.api.dominio.modelos.filme.Filme;
 import com.cinetech.api.dominio.modelos.filme.FilmeId;
+import com.cinetech.api.dominio.modelos.outbox.EventoOutbox;
+import com.cinetech.api.dominio.modelos.sala.PeriodoOcupacaoSala;
 import com.cinetech.api.dominio.modelos.sala.Sala;
 import com.cinetech.api.dominio.modelos.sala.SalaId;
+import com.cinetech.api.dominio.modelos.sessao.ContagemAssentos;
 import com.cinetech.api.dominio.modelos.sessao.Sessao;
 import com.cinetech.api.dominio.modelos.sessao.SessaoId;
+import com.cinetech.api.dominio.modelos.sessao.SessaoResumo;
 import com.cinetech.api.dominio.repositorios.*;
 import com.cinetech.api.dominio.servicos.AgendamentoServico.AgendamentoServico;
 import org.springframework.stereotype.Service;
@@ -18,9 +25,15 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,24 +45,34 @@ public class SessaoAplicacao {
     private final ClienteRepositorio clienteRepositorio;
     private final AgendamentoServico agendamentoService;
     private final IngressoRepositorio ingressoRepositorio; // Para F4
-    // private final CreditoAplicacao creditoAplicacao; // Para F4
+    private final ExpiracaoReservasAplicacao expiracaoReservas; // Agenda a liberação das reservas temporárias (F1)
+    private final RetentativaConcorrencia retentativa; // Transação + retentativa em conflito de versão nos casos de uso de assento
+    private final SessaoLockManager sessaoLockManager; // Enfileira em memória as operações de assento da mesma sessão
+    private final EventoOutboxRepositorio eventoOutboxRepositorio; // Evento de cancelamento para a emissão de créditos (F4)
 
     public static final int TEMPO_RESERVA_ASSENTO_MINUTOS = 10; // Configuração
+    public static final int MAXIMO_ASSENTOS_POR_BLOCO = 10;      // Configuração (compra em grupo)
 
     public SessaoAplicacao(SessaoRepositorio sessaoRepositorio,
                            FilmeRepositorio filmeRepositorio,
                            SalaRepositorio salaRepositorio,
                            ClienteRepositorio clienteRepositorio,
                            AgendamentoServico agendamentoService,
-                           IngressoRepositorio ingressoRepositorio
-            /*, CreditoAplicacao creditoAplicacao */) {
+                           IngressoRepositorio ingressoRepositorio,
+                           ExpiracaoReservasAplicacao expiracaoReservas,
+                           RetentativaConcorrencia retentativa,
+                           SessaoLockManager sessaoLockManager,
+                           EventoOutboxRepositorio eventoOutboxRepositorio) {
         this.sessaoRepositorio = sessaoRepositorio;
         this.filmeRepositorio = filmeRepositorio;
         this.salaRepositorio = salaRepositorio;
         this.clienteRepositorio = clienteRepositorio;
         this.agendamentoService = agendamentoService;
         this.ingressoRepositorio = ingressoRepositorio;
-        // this.creditoAplicacao = creditoAplicacao;
+        this.expiracaoReservas = expiracaoReservas;
+        this.retentativa = retentativa;
+        this.sessaoLockManager = sessaoLockManager;
+        this.eventoOutboxRepositorio = eventoOutboxRepositorio;
     }
 
     /**
@@ -72,16 +95,187 @@ public class SessaoAplicacao {
         // Outras validações de dataHoraInicio, tipoExibicao, precoBaseIngresso já são feitas
         // no construtor da entidade Sessao.
 
-        Filme filme = filmeRepositorio.buscarPorId(filmeId)
+        Filme filme = buscarFilmeObrigatorio(filmeId);
+        Sala sala = buscarSalaObrigatoria(salaId);
+        Sessao novaSessao = criarSessaoSemConflito(filme, sala, dataHoraInicio, tipoExibicao, precoBaseIngresso);
+        // O construtor da Sessao já chama gerarAssentosComBaseNaSala()
+        return sessaoRepositorio.salvar(novaSessao);
+    }
+
+    /**
+     * Dados de uma sessão a agendar em lote (mesmos parâmetros de agendarNovaSessao).
+     */
+    public record NovaSessao(FilmeId filmeId, SalaId salaId, LocalDateTime dataHoraInicio,
+                             TipoExibicao tipoExibicao, BigDecimal precoBaseIngresso) {}
+
+    /**
+     * Caso de Uso: Agendar várias sessões de uma vez (ex: a programação da semana de todas as salas).
+     * Tudo ou nada, em uma única transação: filmes e salas são lidos uma vez cada, os conflitos são apurados
+     * como em agendarGrade (duas consultas para o lote todo), e as sessões são gravadas com inserts JDBC em lote
+     * (os assentos, ainda todos no estado padrão da planta, não geram linhas).
+     *
+     * @param novasSessoes As sessões a agendar.
+     * @return Os IDs das sessões criadas, na ordem recebida.
+     * @throws IllegalArgumentException Se algum filme ou sala não for encontrado, ou dados inválidos.
+     * @throws IllegalStateException Se houver conflito de horário com a agenda gravada ou entre sessões do próprio lote.
+     */
+    @Transactional
+    public List<SessaoId> agendarSessoes(List<NovaSessao> novasSessoes) {
+        Objects.requireNonNull(novasSessoes, "Lista de sessões não pode ser nula.");
+        Map<FilmeId, Optional<Filme>> filmes = new HashMap<>();
+        Map<SalaId, Optional<Sala>> salas = new HashMap<>();
+        List<Sessao> sessoes = new ArrayList<>(novasSessoes.size());
+        for (NovaSessao novaSessao : novasSessoes) {
+            sessoes.add(montarSessaoDoLote(novaSessao, filmes, salas));
+        }
+        Map<Integer, String> conflitos = verificarConflitosDoLote(sessoes);
+        if (!conflitos.isEmpty()) {
+            Map.Entry<Integer, String> primeiro = conflitos.entrySet().iterator().next();
+            throw new IllegalStateException("Conflito de horário na sessão " + primeiro.getKey() + " do lote. " + primeiro.getValue());
+        }
+
+        long inicio = System.nanoTime();
+        sessaoRepositorio.salvarNovas(sessoes);
+        long duracaoMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+        int totalAssentos = sessoes.stream().mapToInt(sessao -> sessao.getAssentos().size()).sum();
+        System.out.println("INFO APP: " + sessoes.size() + " sessões agendadas (" + totalAssentos
+                + " assentos) gravadas em " + duracaoMillis + " ms.");
+        return sessoes.stream().map(Sessao::getId).collect(Collectors.toList());
+    }
+
+    /**
+     * Linha recusada de uma grade.
+     * @param linha Posição da linha na lista recebida (a partir de 0).
+     * @param sessao Os dados recebidos na linha.
+     * @param motivo Por que a linha não foi agendada.
+     */
+    public record RejeicaoGrade(int linha, NovaSessao sessao, String motivo) {}
+
+    /**
+     * Resultado de agendarGrade.
+     * @param sessoesCriadas IDs das sessões agendadas, na ordem das linhas.
+     * @param rejeicoes Linhas recusadas, em ordem de linha.
+     */
+    public record ResultadoAgendamentoGrade(List<SessaoId> sessoesCriadas, List<RejeicaoGrade> rejeicoes) {}
+
+    // Sessão montada a partir de uma linha válida da grade, ainda sem verificação de conflito
+    private record CandidataGrade(int linha, Sessao sessao) {}
+
+    /**
+     * Caso de Uso: Importar a grade (ex: a semana de todas as salas) validando tudo numa passada.
+     * Diferente de agendarSessoes, não para no primeiro problema: cada linha inválida (filme ou sala inexistente,
+     * filme fora de exibição, dados inválidos) ou em conflito (com a agenda gravada ou com outra linha da grade)
+     * é recusada com o motivo, e as demais são agendadas numa única transação, com inserts em lote.
+     * Os conflitos são apurados de uma vez pelo AgendamentoServico (linha de varredura por sala),
+     * com duas consultas à agenda gravada para a grade toda.
+     *
+     * @param grade As sessões a agendar.
+     * @return As sessões criadas e as linhas recusadas.
+     */
+    @Transactional
+    public ResultadoAgendamentoGrade agendarGrade(List<NovaSessao> grade) {
+        Objects.requireNonNull(grade, "Grade não pode ser nula.");
+        long inicio = System.nanoTime();
+        Map<FilmeId, Optional<Filme>> filmes = new HashMap<>();
+        Map<SalaId, Optional<Sala>> salas = new HashMap<>();
+        List<RejeicaoGrade> rejeicoes = new ArrayList<>();
+        List<CandidataGrade> candidatas = new ArrayList<>(grade.size());
+        for (int linha = 0; linha < grade.size(); linha++) {
+            NovaSessao novaSessao = grade.get(linha);
+            try {
+                candidatas.add(new CandidataGrade(linha, montarSessaoDoLote(novaSessao, filmes, salas)));
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                rejeicoes.add(new RejeicaoGrade(linha, novaSessao, e.getMessage()));
+            }
+        }
+
+        Map<Integer, String> conflitos = verificarConflitosDoLote(candidatas.stream().map(CandidataGrade::sessao).toList());
+        List<Sessao> sessoesValidas = new ArrayList<>(candidatas.size() - conflitos.size());
+        for (int i = 0; i < candidatas.size(); i++) {
+            CandidataGrade candidata = candidatas.get(i);
+            String conflito = conflitos.get(i);
+            if (conflito == null) {
+                sessoesValidas.add(candidata.sessao());
+            } else {
+                rejeicoes.add(new RejeicaoGrade(candidata.linha(), grade.get(candidata.linha()), conflito));
+            }
+        }
+        rejeicoes.sort(Comparator.comparingInt(RejeicaoGrade::linha));
+
+        sessaoRepositorio.salvarNovas(sessoesValidas);
+        System.out.println("INFO APP: Grade importada: " + sessoesValidas.size() + " sessões agendadas, "
+                + rejeicoes.size() + " linhas recusadas, em " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio) + " ms.");
+        return new ResultadoAgendamentoGrade(
+                sessoesValidas.stream().map(Sessao::getId).collect(Collectors.toList()),
+                rejeicoes);
+    }
+
+    // Campos ausentes numa linha são dado inválido (recusa da linha), não erro de programação
+    private static void validarCamposObrigatorios(NovaSessao novaSessao) {
+        if (novaSessao == null) {
+            throw new IllegalArgumentException("Sessão a agendar não pode ser nula.");
+        }
+        if (novaSessao.filmeId() == null) {
+            throw new IllegalArgumentException("ID do Filme não pode ser nulo.");
+        }
+        if (novaSessao.salaId() == null) {
+            throw new IllegalArgumentException("ID da Sala não pode ser nulo.");
+        }
+        if (novaSessao.dataHoraInicio() == null) {
+            throw new IllegalArgumentException("Data e hora de início não podem ser nulas.");
+        }
+        if (novaSessao.tipoExibicao() == null) {
+            throw new IllegalArgumentException("Tipo de exibição não pode ser nulo.");
+        }
+        if (novaSessao.precoBaseIngresso() == null) {
+            throw new IllegalArgumentException("Preço base do ingresso não pode ser nulo.");
+        }
+    }
+
+    // Monta a Sessao de uma linha de lote (filmes e salas lidos uma vez por lote), ainda sem verificação de conflito
+    private Sessao montarSessaoDoLote(NovaSessao novaSessao, Map<FilmeId, Optional<Filme>> filmes, Map<SalaId, Optional<Sala>> salas) {
+        validarCamposObrigatorios(novaSessao);
+        Filme filme = filmes.computeIfAbsent(novaSessao.filmeId(), filmeRepositorio::buscarPorId)
+                .orElseThrow(() -> new IllegalArgumentException("Filme com ID " + novaSessao.filmeId() + " não encontrado."));
+        Sala sala = salas.computeIfAbsent(novaSessao.salaId(), salaRepositorio::buscarPorId)
+                .orElseThrow(() -> new IllegalArgumentException("Sala com ID " + novaSessao.salaId() + " não encontrada."));
+        if (!filme.estaEmExibicao(novaSessao.dataHoraInicio().toLocalDate())) {
+            throw new IllegalStateException("Filme '" + filme.getTitulo() + "' não está em período de exibição na data "
+                    + novaSessao.dataHoraInicio().toLocalDate());
+        }
+        return new Sessao(filme, sala, novaSessao.dataHoraInicio(), novaSessao.tipoExibicao(), novaSessao.precoBaseIngresso());
+    }
+
+    // Conflitos do lote com a agenda gravada e entre si (AgendamentoServico, duas consultas): índice -> motivo, em ordem de índice
+    private Map<Integer, String> verificarConflitosDoLote(List<Sessao> sessoes) {
+        List<PeriodoOcupacaoSala> periodos = sessoes.stream()
+                .map(sessao -> new PeriodoOcupacaoSala(sessao.getSala().getId(), sessao.getDataHoraInicio(), sessao.getDataHoraFim()))
+                .collect(Collectors.toList());
+        Map<Integer, String> conflitos = new TreeMap<>();
+        agendamentoService.verificarConflitosEmLote(periodos).forEach((indice, motivo) ->
+                conflitos.put(indice, "Sala " + sessoes.get(indice).getSala().getNome() + ": " + motivo));
+        return conflitos;
+    }
+
+    private Filme buscarFilmeObrigatorio(FilmeId filmeId) {
+        return filmeRepositorio.buscarPorId(filmeId)
                 .orElseThrow(() -> new IllegalArgumentException("Filme com ID " + filmeId + " não encontrado."));
-        Sala sala = salaRepositorio.buscarPorId(salaId)
+    }
+
+    private Sala buscarSalaObrigatoria(SalaId salaId) {
+        return salaRepositorio.buscarPorId(salaId)
                 .orElseThrow(() -> new IllegalArgumentException("Sala com ID " + salaId + " não encontrada."));
+    }
 
+    // Valida agenda e período de exibição e cria a Sessao (com assentos gerados), ainda sem gravar
+    private Sessao criarSessaoSemConflito(Filme filme, Sala sala, LocalDateTime dataHoraInicio,
+                                          TipoExibicao tipoExibicao, BigDecimal precoBaseIngresso) {
+        Objects.requireNonNull(dataHoraInicio, "Data e hora de início não podem ser nulas.");
         // Calcula o horário de término estimado da sessão
         LocalDateTime dataHoraFimEstimada = dataHoraInicio.plusMinutes(filme.getDuracaoMinutos());
 
         // Verificar conflito usando o Domain Service (Source 28, BDD Source 36)
-        if (agendamentoService.verificarConflitoAgendamento(salaId, dataHoraInicio, dataHoraFimEstimada, Optional.empty(), Optional.empty())) {
+        if (agendamentoService.verificarConflitoAgendamento(sala.getId(), dataHoraInicio, dataHoraFimEstimada, Optional.empty(), Optional.empty())) {
             throw new IllegalStateException("Conflito de horário para a sala " + sala.getNome() +
                     " no período de " + dataHoraInicio + " a " + dataHoraFimEstimada);
         }
@@ -91,10 +285,7 @@ public class SessaoAplicacao {
             throw new IllegalStateException("Filme '" + filme.getTitulo() + "' não está em período de exibição na data " + dataHoraInicio.toLocalDate());
         }
 
-
-        Sessao novaSessao = new Sessao(filme, sala, dataHoraInicio, tipoExibicao, precoBaseIngresso);
-        // O construtor da Sessao já chama gerarAssentosComBaseNaSala()
-        return sessaoRepositorio.salvar(novaSessao);
+        return new Sessao(filme, sala, dataHoraInicio, tipoExibicao, precoBaseIngresso);
     }
 
     /**
@@ -118,83 +309,156 @@ public class SessaoAplicacao {
         return sessao.getAssentos(); // Retorna a cópia imutável da lista de assentos da entidade Sessao
     }
 
+    /**
+     * Caso de Uso: Consultar quantos assentos estão disponíveis, reservados, ocupados e bloqueados (F1, F2).
+     * Lê apenas os totais do cabeçalho da sessão, sem carregar o mapa de assentos.
+     */
+    @Transactional(readOnly = true)
+    public ContagemAssentos buscarContagemAssentosDaSessao(SessaoId sessaoId) {
+        Objects.requireNonNull(sessaoId, "ID da Sessão não pode ser nulo.");
+        return sessaoRepositorio.buscarContagemAssentos(sessaoId)
+                .orElseThrow(() -> new IllegalArgumentException("Sessão com ID " + sessaoId + " não encontrada."));
+    }
+
     /**
      * Caso de Uso: Cliente tenta selecionar e reservar temporariamente um assento. (F1)
+     * Executa com a trava da sessão; a transação é aberta pela RetentativaConcorrencia
+     * (ou reaproveitada, se o chamador já tiver uma).
      */
-    @Transactional
     public Assento tentarReservarAssento(SessaoId sessaoId, String identificadorAssento, ClienteId clienteId) {
         Objects.requireNonNull(sessaoId, "ID da Sessão não pode ser nulo.");
         Objects.requireNonNull(identificadorAssento, "Identificador do assento não pode ser nulo.");
         Objects.requireNonNull(clienteId, "ID do Cliente não pode ser nulo.");
 
-        if (!clienteRepositorio.existePorIdValorPrimitivo(clienteId.getValor())) { // Assume que existePorId recebe o UUID
-            throw new IllegalArgumentException("Cliente com ID " + clienteId + " não encontrado.");
+        return sessaoLockManager.executarComBloqueio(sessaoId, () -> retentativa.executar("tentarReservarAssento", () -> {
+            if (!clienteRepositorio.existePorIdValorPrimitivo(clienteId.getValor())) { // Assume que existePorId recebe o UUID
+                throw new IllegalArgumentException("Cliente com ID " + clienteId + " não encontrado.");
+            }
+
+            // Carrega só o cabeçalho da sessão e o assento pedido, em vez do mapa completo de assentos.
+            Sessao sessao = sessaoRepositorio.buscarPorIdComAssento(sessaoId, identificadorAssento)
+                    .orElseThrow(() -> new IllegalArgumentException("Sessão com ID " + sessaoId + " não encontrada."));
+
+            return reservarAssentoComGuardaDeEstado(sessao, identificadorAssento, clienteId);
+        }));
+    }
+
+    /**
+     * Caso de Uso: Cliente reserva de uma vez o melhor bloco de assentos adjacentes para um grupo. (F1)
+     * Todos os assentos são reservados na mesma transação, com a trava da sessão.
+     * @param tipoAssento Tipo desejado, ou null para qualquer tipo exceto PCD.
+     * @return Os assentos reservados, da esquerda para a direita.
+     * @throws IllegalStateException Se não houver bloco disponível ou a sessão não aceitar reservas.
+     */
+    public List<Assento> reservarMelhorBlocoContiguo(SessaoId sessaoId, int quantidade, TipoAssento tipoAssento, ClienteId clienteId) {
+        Objects.requireNonNull(sessaoId, "ID da Sessão não pode ser nulo.");
+        Objects.requireNonNull(clienteId, "ID do Cliente não pode ser nulo.");
+        if (quantidade <= 0 || quantidade > MAXIMO_ASSENTOS_POR_BLOCO) {
+            throw new IllegalArgumentException("Quantidade de assentos deve estar entre 1 e " + MAXIMO_ASSENTOS_POR_BLOCO + ".");
         }
 
-        Sessao sessao = sessaoRepositorio.buscarPorId(sessaoId)
-                .orElseThrow(() -> new IllegalArgumentException("Sessão com ID " + sessaoId + " não encontrada."));
+        List<Assento> bloco = sessaoLockManager.executarComBloqueio(sessaoId, () -> retentativa.executar("reservarMelhorBlocoContiguo", () -> {
+            if (!clienteRepositorio.existePorIdValorPrimitivo(clienteId.getValor())) {
+                throw new IllegalArgumentException("Cliente com ID " + clienteId + " não encontrado.");
+            }
+            // O bloco depende das fileiras inteiras: carrega o agregado completo
+            Sessao sessao = sessaoRepositorio.buscarPorId(sessaoId)
+                    .orElseThrow(() -> new IllegalArgumentException("Sessão com ID " + sessaoId + " não encontrada."));
+            List<Assento> reservados = sessao.reservarMelhorBlocoContiguo(quantidade, tipoAssento, clienteId, TEMPO_RESERVA_ASSENTO_MINUTOS);
+            sessaoRepositorio.salvar(sessao);
+            return reservados;
+        }));
+        bloco.forEach(assento -> expiracaoReservas.registrarReservaTemporaria(sessaoId, assento.getIdentificadorPosicao(),
+                assento.getTimestampExpiracaoReserva()));
+        return bloco;
+    }
+
+    /**
+     * Aplica a regra de domínio da reserva temporária (F1) sobre uma sessão carregada com
+     * buscarPorIdComAssento e grava apenas aquele assento, com compare-and-set pelo estado lido.
+     * Se gravar, agenda a expiração da reserva.
+     * @throws AssentoIndisponivelException Se o assento já estiver tomado, inclusive por uma requisição concorrente.
+     */
+    private Assento reservarAssentoComGuardaDeEstado(Sessao sessao, String identificadorAssento, ClienteId clienteId) {
+        Assento assento = sessao.buscarAssentoPorIdentificador(identificadorAssento)
+                .orElseThrow(() -> new IllegalArgumentException("Assento '" + identificadorAssento + "' não encontrado nesta sessão."));
+        StatusAssento statusLido = assento.getStatus();
+        LocalDateTime expiracaoLida = assento.getTimestampExpiracaoReserva();
 
         Assento assentoReservado = sessao.reservarAssentoTemporariamente(identificadorAssento, clienteId, TEMPO_RESERVA_ASSENTO_MINUTOS);
-        sessaoRepositorio.salvar(sessao); // Salva a sessão com o estado do assento atualizado
+        if (!sessaoRepositorio.salvarEstadoAssentoSeInalterado(assentoReservado, statusLido, expiracaoLida)) {
+            throw new AssentoIndisponivelException(assentoReservado.getIdentificadorPosicao(),
+                    "Assento '" + assentoReservado.getIdentificadorPosicao() + "' acabou de ser reservado por outro cliente.");
+        }
+        expiracaoReservas.registrarReservaTemporaria(sessao.getId(), assentoReservado.getIdentificadorPosicao(),
+                assentoReservado.getTimestampExpiracaoReserva());
         return assentoReservado;
     }
 
     /**
      * Caso de Uso: Confirma a ocupação de um assento após o pagamento. (F1)
      * Este método seria chamado pelo fluxo de conclusão de compra de ingresso.
+     * Executa com a trava da sessão; em conflito de versão com outra gravação (ex: outra instância),
+     * relê a sessão e reaplica a confirmação.
      */
-    @Transactional
     public Assento confirmarOcupacaoAssentoAposPagamento(SessaoId sessaoId, String identificadorAssento, ClienteId clienteId) {
         Objects.requireNonNull(sessaoId, "ID da Sessão não pode ser nulo.");
         Objects.requireNonNull(identificadorAssento, "Identificador do assento não pode ser nulo.");
         Objects.requireNonNull(clienteId, "ID do Cliente não pode ser nulo.");
 
-        Sessao sessao = sessaoRepositorio.buscarPorId(sessaoId)
-                .orElseThrow(() -> new IllegalArgumentException("Sessão com ID " + sessaoId + " não encontrada."));
+        Assento assentoConfirmado = sessaoLockManager.executarComBloqueio(sessaoId, () -> retentativa.executar("confirmarOcupacaoAssentoAposPagamento", () -> {
+            Sessao sessao = sessaoRepositorio.buscarPorId(sessaoId)
+                    .orElseThrow(() -> new IllegalArgumentException("Sessão com ID " + sessaoId + " não encontrada."));
 
-        // O método confirmarOcupacaoAssento da Sessao já chama verificarEAtualizarStatusLotacao
-        Assento assentoConfirmado = sessao.confirmarOcupacaoAssento(identificadorAssento, clienteId);
-        sessaoRepositorio.salvar(sessao);
+            // O método confirmarOcupacaoAssento da Sessao já chama verificarEAtualizarStatusLotacao
+            Assento confirmado = sessao.confirmarOcupacaoAssento(identificadorAssento, clienteId);
+            sessaoRepositorio.salvar(sessao);
+            return confirmado;
+        }));
+        expiracaoReservas.cancelarReservaTemporaria(sessaoId, assentoConfirmado.getIdentificadorPosicao());
         return assentoConfirmado;
     }
 
     /**
      * Caso de Uso: Libera um assento que estava temporariamente reservado (ex: cliente desistiu, pagamento falhou). (F1)
      */
-    @Transactional
     public void liberarReservaTemporariaAssento(SessaoId sessaoId, String identificadorAssento) {
         Objects.requireNonNull(sessaoId, "ID da Sessão não pode ser nulo.");
         Objects.requireNonNull(identificadorAssento, "Identificador do assento não pode ser nulo.");
 
-        Sessao sessao = sessaoRepositorio.buscarPorId(sessaoId)
-                .orElseThrow(() -> new IllegalArgumentException("Sessão com ID " + sessaoId + " não encontrada."));
-
-        // Encontra o assento específico. A lógica de só liberar se estava RESERVADO_TEMP está no Assento.
-        Assento assentoParaLiberar = sessao.buscarAssentoPorIdentificador(identificadorAssento)
-                .orElseThrow(() -> new IllegalArgumentException("Assento '" + identificadorAssento + "' não encontrado na sessão."));
-
-        // Verifica se realmente estava reservado temporariamente antes de tentar liberar,
-        // ou deixa a entidade Assento lidar com isso.
-        if (assentoParaLiberar.getStatus() == StatusAssento.RESERVADO_TEMP) {
-            sessao.liberarAssentoPorCancelamentoOuExpiracao(identificadorAssento); // Método da entidade Sessao que chama assento.liberar()
-            sessaoRepositorio.salvar(sessao);
-        } else {
-            System.out.println("WARN APP: Tentativa de liberar assento " + identificadorAssento + " que não estava em reserva temporária. Status: " + assentoParaLiberar.getStatus());
-        }
+        sessaoLockManager.executarComBloqueio(sessaoId, () -> retentativa.executar("liberarReservaTemporariaAssento", () -> {
+            Sessao sessao = sessaoRepositorio.buscarPorId(sessaoId)
+                    .orElseThrow(() -> new IllegalArgumentException("Sessão com ID " + sessaoId + " não encontrada."));
+
+            // Encontra o assento específico. A lógica de só liberar se estava RESERVADO_TEMP está no Assento.
+            Assento assentoParaLiberar = sessao.buscarAssentoPorIdentificador(identificadorAssento)
+                    .orElseThrow(() -> new IllegalArgumentException("Assento '" + identificadorAssento + "' não encontrado na sessão."));
+
+            // Verifica se realmente estava reservado temporariamente antes de tentar liberar,
+            // ou deixa a entidade Assento lidar com isso.
+            if (assentoParaLiberar.getStatus() == StatusAssento.RESERVADO_TEMP) {
+                sessao.liberarAssentoPorCancelamentoOuExpiracao(identificadorAssento); // Método da entidade Sessao que chama assento.liberar()
+                sessaoRepositorio.salvar(sessao);
+                expiracaoReservas.cancelarReservaTemporaria(sessaoId, assentoParaLiberar.getIdentificadorPosicao());
+            } else {
+                System.out.println("WARN APP: Tentativa de liberar assento " + identificadorAssento + " que não estava em reserva temporária. Status: " + assentoParaLiberar.getStatus());
+            }
+        }));
     }
 
 
     /**
      * Caso de Uso: Rotina para processar expiração de todas as reservas temporárias de assentos em uma sessão. (F1)
      */
-    @Transactional
     public void processarExpiracaoDeReservasTemporariasSessao(SessaoId sessaoId) {
         Objects.requireNonNull(sessaoId, "ID da Sessão não pode ser nulo.");
-        Sessao sessao = sessaoRepositorio.buscarPorId(sessaoId)
-                .orElseThrow(() -> new IllegalArgumentException("Sessão com ID " + sessaoId + " não encontrada."));
+        retentativa.executar("processarExpiracaoDeReservasTemporariasSessao", () -> {
+            Sessao sessao = sessaoRepositorio.buscarPorId(sessaoId)
+                    .orElseThrow(() -> new IllegalArgumentException("Sessão com ID " + sessaoId + " não encontrada."));
 
-        sessao.processarExpiracaoDeTodasAsReservasTemporarias(LocalDateTime.now());
-        sessaoRepositorio.salvar(sessao);
+            sessao.processarExpiracaoDeTodasAsReservasTemporarias(LocalDateTime.now());
+            sessaoRepositorio.salvar(sessao);
+        });
     }
 
     /**
@@ -226,7 +490,8 @@ public class SessaoAplicacao {
 
     /**
      * Caso de Uso: Cancelar uma sessão (ação administrativa). (F4)
-     * Isto também deve disparar a lógica de emissão de créditos para clientes impactados.
+     * Registra o evento SESSAO_CANCELADA no outbox, na mesma transação do cancelamento; a emissão de créditos
+     * para os clientes impactados roda depois, pelo RelayOutbox, sem segurar esta requisição.
      */
     @Transactional
     public void cancelarSessaoAdministrativamente(SessaoId sessaoId) {
@@ -234,37 +499,22 @@ public class SessaoAplicacao {
         Sessao sessao = sessaoRepositorio.buscarPorId(sessaoId)
                 .orElseThrow(() -> new IllegalArgumentException("Sessão com ID " + sessaoId + " não encontrada."));
 
-        // Antes de cancelar, precisamos dos ingressos vendidos para esta sessão para F4.
-        // A lógica de buscar ingressos e chamar o CreditoAplicacao ocorreria aqui.
-        // List<Ingresso> ingressosVendidos = ingressoRepositorio.buscarPorSessaoId(sessaoId);
-
         sessao.cancelar(); // Muda o status da sessão e libera assentos internamente.
         sessaoRepositorio.salvar(sessao);
-
-        // TODO: Lógica para F4 - Emissão Automática de Crédito
-        // Esta parte é complexa e provavelmente chamaria outro Application Service (ex: CreditoAplicacao)
-        // ou um Domain Service.
-        // Ex: creditoAplicacao.emitirCreditosParaSessaoCancelada(sessao, ingressosVendidos);
-        System.out.println("INFO APP: Sessão " + sessaoId + " cancelada. Próximo passo seria emitir créditos para clientes.");
+        eventoOutboxRepositorio.salvar(EventoOutbox.registrar(TipoEventoOutbox.SESSAO_CANCELADA, sessaoId.getValor(), LocalDateTime.now()));
+        System.out.println("INFO APP: Sessão " + sessaoId + " cancelada. Emissão de créditos registrada no outbox.");
     }
 
     /**
-     * Caso de Uso: Listar sessões ativas (PROGRAMADA ou ABERTA) para um filme.
+     * Caso de Uso: Listar sessões ativas (PROGRAMADA ou ABERTA) e futuras para um filme.
+     * Devolve resumos de leitura montados direto da consulta, sem carregar os assentos das sessões.
      */
     @Transactional(readOnly = true)
-    public List<Sessao> listarSessoesAtivasParaFilme(FilmeId filmeId) {
+    public List<SessaoResumo> listarSessoesAtivasParaFilme(FilmeId filmeId) {
         Objects.requireNonNull(filmeId, "ID do Filme não pode ser nulo.");
-        // O FilmeRepositorio poderia ter um método para validar se o filme existe.
         if (!filmeRepositorio.buscarPorId(filmeId).isPresent()) {
             throw new IllegalArgumentException("Filme com ID " + filmeId + " não encontrado.");
         }
-        // O SessaoRepositorio precisaria de um método para buscar por filme e status.
-        // Ex: return sessaoRepositorio.buscarPorFilmeIdEStatusIn(filmeId, List.of(StatusSessao.PROGRAMADA, StatusSessao.ABERTA));
-        // Por ora, uma simulação filtrando em memória (NÃO FAZER EM PRODUÇÃO com muitos dados):
-        return sessaoRepositorio.buscarTodas().stream()
-                .filter(s -> s.getFilme().getId().equals(filmeId) &&
-                        (s.getStatus() == StatusSessao.PROGRAMADA || s.getStatus() == StatusSessao.ABERTA) &&
-                        s.getDataHoraInicio().isAfter(LocalDateTime.now())) // Apenas futuras
-                .collect(Collectors.toList());
+        return sessaoRepositorio.buscarResumosSessoesAtivasPorFilmeId(filmeId);
     }
 }
@@ -0,0 +1,127 @@
+package com.cinetech.api.aplicacao;
+
+import com.cinetech.api.dominio.modelos.sessao.SessaoId;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializa em memória as operações de assento de uma mesma sessão, antes de qualquer I/O. (F1)
+ * Usa um conjunto fixo de travas (faixas) escolhidas pelo hash do SessaoId: sessões diferentes raramente
+ * disputam a mesma faixa, e uma sessão concorrida enfileira as requisições aqui em vez de falharem no banco.
+ * A trava deve envolver a transação inteira (adquirida antes de abrir, liberada após o commit).
+ * Vale só dentro desta JVM: entre instâncias, a consistência continua garantida pelo versionamento e pelo compare-and-set.
+ * As travas são reentrantes, então um caso de uso pode chamar outro da mesma sessão.
+ */
+@Component
+public class SessaoLockManager {
+
+    public static final int QUANTIDADE_FAIXAS = 256;            // Configuração (potência de 2)
+    public static final long TEMPO_MAXIMO_ESPERA_MILLIS = 2_000;
+
+    /**
+     * Métricas de disputa de uma faixa, acumuladas desde a inicialização.
+     * @param faixa Índice da faixa.
+     * @param aquisicoes Total de travas obtidas.
+     * @param aquisicoesComEspera Travas que não estavam livres na chegada (disputa).
+     * @param esperasEsgotadas Pedidos desistidos por atingir TEMPO_MAXIMO_ESPERA_MILLIS.
+     * @param tempoMedioEsperaMicros Espera média das aquisições com espera.
+     * @param maiorEsperaMicros Maior espera observada.
+     * @param aguardandoAgora Threads na fila da faixa no momento da leitura (estimativa).
+     */
+    public record MetricasFaixaBloqueio(int faixa, long aquisicoes, long aquisicoesComEspera, long esperasEsgotadas,
+                                        long tempoMedioEsperaMicros, long maiorEsperaMicros, int aguardandoAgora) {}
+
+    private final ReentrantLock[] faixas = new ReentrantLock[QUANTIDADE_FAIXAS];
+    private final AtomicLongArray aquisicoes = new AtomicLongArray(QUANTIDADE_FAIXAS);
+    private final AtomicLongArray aquisicoesComEspera = new AtomicLongArray(QUANTIDADE_FAIXAS);
+    private final AtomicLongArray esperasEsgotadas = new AtomicLongArray(QUANTIDADE_FAIXAS);
+    private final AtomicLongArray tempoEsperaNanos = new AtomicLongArray(QUANTIDADE_FAIXAS);
+    private final AtomicLongArray maiorEsperaNanos = new AtomicLongArray(QUANTIDADE_FAIXAS);
+
+    public SessaoLockManager() {
+        for (int i = 0; i < QUANTIDADE_FAIXAS; i++) {
+            faixas[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Executa a ação com a trava da sessão.
+     * @throws IllegalStateException Se a trava não for obtida em TEMPO_MAXIMO_ESPERA_MILLIS (sessão muito disputada).
+     */
+    public <T> T executarComBloqueio(SessaoId sessaoId, Supplier<T> acao) {
+        Objects.requireNonNull(sessaoId, "ID da Sessão não pode ser nulo.");
+        Objects.requireNonNull(acao, "Ação não pode ser nula.");
+        int faixa = faixaDe(sessaoId);
+        ReentrantLock trava = faixas[faixa];
+        adquirir(faixa, trava, sessaoId);
+        try {
+            return acao.get();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    public void executarComBloqueio(SessaoId sessaoId, Runnable acao) {
+        Objects.requireNonNull(acao, "Ação não pode ser nula.");
+        executarComBloqueio(sessaoId, () -> {
+            acao.run();
+            return null;
+        });
+    }
+
+    /**
+     * Métricas das faixas já utilizadas (faixas nunca travadas são omitidas).
+     */
+    public List<MetricasFaixaBloqueio> obterMetricas() {
+        List<MetricasFaixaBloqueio> metricas = new ArrayList<>();
+        for (int i = 0; i < QUANTIDADE_FAIXAS; i++) {
+            long totalAquisicoes = aquisicoes.get(i);
+            long comEspera = aquisicoesComEspera.get(i);
+            long esgotadas = esperasEsgotadas.get(i);
+            if (totalAquisicoes == 0 && esgotadas == 0) {
+                continue;
+            }
+            long medioMicros = comEspera == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(tempoEsperaNanos.get(i) / comEspera);
+            metricas.add(new MetricasFaixaBloqueio(i, totalAquisicoes, comEspera, esgotadas, medioMicros,
+                    TimeUnit.NANOSECONDS.toMicros(maiorEsperaNanos.get(i)), faixas[i].getQueueLength()));
+        }
+        return metricas;
+    }
+
+    private void adquirir(int faixa, ReentrantLock trava, SessaoId sessaoId) {
+        if (trava.tryLock()) { // Caminho sem disputa (ou reentrada)
+            aquisicoes.incrementAndGet(faixa);
+            return;
+        }
+        long inicio = System.nanoTime();
+        boolean obtida;
+        try {
+            obtida = trava.tryLock(TEMPO_MAXIMO_ESPERA_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Espera pela sessão " + sessaoId + " interrompida.", e);
+        }
+        long espera = System.nanoTime() - inicio;
+        if (!obtida) {
+            esperasEsgotadas.incrementAndGet(faixa);
+            throw new IllegalStateException("Sessão " + sessaoId + " está com muitas requisições simultâneas. Tente novamente.");
+        }
+        aquisicoes.incrementAndGet(faixa);
+        aquisicoesComEspera.incrementAndGet(faixa);
+        tempoEsperaNanos.addAndGet(faixa, espera);
+        maiorEsperaNanos.accumulateAndGet(faixa, espera, Math::max);
+    }
+
+    // Espalha os bits altos do hash (mesma ideia do HashMap) antes de aplicar a máscara
+    private static int faixaDe(SessaoId sessaoId) {
+        int h = sessaoId.hashCode();
+        return (h ^ (h >>> 16)) & (QUANTIDADE_FAIXAS - 1);
+    }
+}
@@ -0,0 +1,5 @@
+package com.cinetech.api.dominio.enums;
+
+public enum TipoEventoOutbox {
+    SESSAO_CANCELADA       // agregadoId = ID da sessão; dispara a emissão de créditos (F4)
+}
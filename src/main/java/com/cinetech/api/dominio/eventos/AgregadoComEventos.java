@@ -0,0 +1,26 @@
+package com.cinetech.api.dominio.eventos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base dos agregados que registram eventos de domínio. Os eventos ficam pendentes no agregado até que
+ * o repositório os retire ao gravá-lo; um agregado descartado (ex: retentativa por conflito de versão) leva os seus junto.
+ */
+public abstract class AgregadoComEventos {
+
+    private final List<EventoDominio> eventosPendentes = new ArrayList<>();
+
+    protected void registrarEvento(EventoDominio evento) {
+        eventosPendentes.add(evento);
+    }
+
+    /**
+     * Devolve e esvazia os eventos pendentes, para que uma nova gravação não os publique de novo.
+     */
+    public List<EventoDominio> retirarEventos() {
+        List<EventoDominio> eventos = List.copyOf(eventosPendentes);
+        eventosPendentes.clear();
+        return eventos;
+    }
+}
@@ -0,0 +1,11 @@
+package com.cinetech.api.dominio.eventos;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fato ocorrido em um agregado, registrado por ele e publicado pelo repositório depois que a gravação é confirmada.
+ */
+public interface EventoDominio {
+
+    LocalDateTime ocorridoEm();
+}
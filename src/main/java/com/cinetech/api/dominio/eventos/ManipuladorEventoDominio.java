@@ -0,0 +1,19 @@
+package com.cinetech.api.dominio.eventos;
+
+/**
+ * Reage a um tipo de evento de domínio, sempre depois do commit que o originou.
+ * Síncrono: roda na thread que confirmou a transação, antes de ela seguir. Assíncrono: roda na thread própria
+ * do manipulador, na ordem de publicação. A entrega é em memória e "no máximo uma vez" (perdida se o processo cair);
+ * efeitos que não podem se perder usam o outbox (RelayOutbox). Um manipulador síncrono que grava precisa de
+ * transação própria (REQUIRES_NEW): a transação que disparou o evento já foi confirmada.
+ */
+public interface ManipuladorEventoDominio<E extends EventoDominio> {
+
+    Class<E> tipoEvento();
+
+    default boolean assincrono() {
+        return true;
+    }
+
+    void tratar(E evento);
+}
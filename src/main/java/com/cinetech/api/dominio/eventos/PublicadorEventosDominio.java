@@ -0,0 +1,13 @@
+package com.cinetech.api.dominio.eventos;
+
+import java.util.List;
+
+public interface PublicadorEventosDominio {
+
+    /**
+     * Publica os eventos depois que a transação atual for confirmada (descartados se ela for desfeita),
+     * ou imediatamente se não houver transação ativa.
+     * @param eventos Eventos retirados de um agregado gravado; lista vazia não faz nada.
+     */
+    void publicarAposCommit(List<EventoDominio> eventos);
+}
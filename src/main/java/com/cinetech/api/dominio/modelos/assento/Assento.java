@@ -16,6 +16,7 @@ public class Assento {
     private StatusAssento status;
     private ClienteId clienteIdReservaTemporaria;
     private LocalDateTime timestampExpiracaoReserva;
+    private final Long versao; // Controle de concorrência otimista (null enquanto o assento não foi gravado)
 
     // Construtor usado pela Sessao ao criar seus assentos
     public Assento(Sessao sessao, String identificadorPosicao, TipoAssento tipo) {
@@ -25,6 +26,12 @@ public class Assento {
     // Construtor completo para reconstituição
     public Assento(AssentoId id, Sessao sessao, String identificadorPosicao, TipoAssento tipo, StatusAssento status,
                    ClienteId clienteIdReservaTemporaria, LocalDateTime timestampExpiracaoReserva) {
+        this(id, sessao, identificadorPosicao, tipo, status, clienteIdReservaTemporaria, timestampExpiracaoReserva, null);
+    }
+
+    // Reconstituição com a versão lida do repositório
+    public Assento(AssentoId id, Sessao sessao, String identificadorPosicao, TipoAssento tipo, StatusAssento status,
+                   ClienteId clienteIdReservaTemporaria, LocalDateTime timestampExpiracaoReserva, Long versao) {
         this.id = Objects.requireNonNull(id, "ID do Assento não pode ser nulo.");
         this.sessao = Objects.requireNonNull(sessao, "Sessão do assento não pode ser nula.");
         if (identificadorPosicao == null || identificadorPosicao.trim().isEmpty()) {
@@ -35,6 +42,7 @@ public class Assento {
         this.status = Objects.requireNonNull(status, "Status do assento não pode ser nulo.");
         this.clienteIdReservaTemporaria = clienteIdReservaTemporaria;
         this.timestampExpiracaoReserva = timestampExpiracaoReserva;
+        this.versao = versao;
     }
 
     // Getters
@@ -45,6 +53,7 @@ public class Assento {
     public StatusAssento getStatus() { return status; }
     public ClienteId getClienteIdReservaTemporaria() { return clienteIdReservaTemporaria; }
     public LocalDateTime getTimestampExpiracaoReserva() { return timestampExpiracaoReserva; }
+    public Long getVersao() { return versao; }
 
     // Métodos de Negócio
 
@@ -76,7 +85,7 @@ public class Assento {
         }
 
         if (!estaDisponivelParaReservaLogica(LocalDateTime.now())) {
-            throw new IllegalStateException("Assento '" + identificadorPosicao + "' na sessão " + sessao.getId() +
+            throw new AssentoIndisponivelException(identificadorPosicao, "Assento '" + identificadorPosicao + "' na sessão " + sessao.getId() +
                     " não está disponível para reserva (status atual: " + this.status + ").");
         }
 
@@ -86,7 +95,7 @@ public class Assento {
         // Esta lógica é mais complexa e provavelmente melhor gerenciada no Application Service
         // que tem acesso ao perfil do Cliente. A entidade Assento só sabe seu tipo.
 
-        this.status = StatusAssento.RESERVADO_TEMP;
+        alterarStatus(StatusAssento.RESERVADO_TEMP);
         this.clienteIdReservaTemporaria = clienteId;
         this.timestampExpiracaoReserva = LocalDateTime.now().plusMinutes(minutosParaExpirar);
     }
@@ -106,7 +115,7 @@ public class Assento {
         }
         // A validação se o clienteIdReservaTemporaria corresponde ao cliente que pagou
         // é responsabilidade do Application Service, que tem ambos os contextos.
-        this.status = StatusAssento.OCUPADO_FINAL;
+        alterarStatus(StatusAssento.OCUPADO_FINAL);
         this.clienteIdReservaTemporaria = null; // Limpa dados da reserva temporária
         this.timestampExpiracaoReserva = null;
     }
@@ -120,7 +129,7 @@ public class Assento {
         // Apenas assentos RESERVADO_TEMP ou OCUPADO_FINAL (em caso de cancelamento de ingresso com reembolso)
         // podem voltar a ser DISPONIVEL.
         if (this.status == StatusAssento.RESERVADO_TEMP || this.status == StatusAssento.OCUPADO_FINAL) {
-            this.status = StatusAssento.DISPONIVEL;
+            alterarStatus(StatusAssento.DISPONIVEL);
             this.clienteIdReservaTemporaria = null;
             this.timestampExpiracaoReserva = null;
         } else if (this.status == StatusAssento.DISPONIVEL) {
@@ -144,12 +153,20 @@ public class Assento {
         return false;
     }
 
+    /**
+     * Troca o status e avisa a Sessao (raiz do agregado) para manter seus índices internos coerentes.
+     */
+    private void alterarStatus(StatusAssento novoStatus) {
+        this.status = novoStatus;
+        this.sessao.registrarMudancaStatusAssento(this);
+    }
+
     /**
      * Bloqueia o assento por motivos administrativos.
      */
     public void bloquearAdministrativamente() {
         // Adicionar regras se necessário (ex: não pode bloquear se estiver OCUPADO_FINAL com ingresso vendido e sessão próxima?)
-        this.status = StatusAssento.BLOQUEADO;
+        alterarStatus(StatusAssento.BLOQUEADO);
         this.clienteIdReservaTemporaria = null;
         this.timestampExpiracaoReserva = null;
     }
@@ -1,12 +1,17 @@
 package com.cinetech.api.dominio.modelos.assento;
 
+import com.cinetech.api.dominio.modelos.comum.UuidOrdenadoPorTempo;
+import com.cinetech.api.dominio.modelos.sessao.SessaoId;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.UUID;
 
 public final class AssentoId {
     private final UUID valor;
     private AssentoId(UUID valor) { this.valor = Objects.requireNonNull(valor, "Valor do ID do Assento não pode ser nulo."); }
-    public static AssentoId novo() { return new AssentoId(UUID.randomUUID()); }
+    public static AssentoId novo() { return new AssentoId(UuidOrdenadoPorTempo.novo()); }
     public static AssentoId de(String valorStr) {
         Objects.requireNonNull(valorStr, "String de ID do Assento não pode ser nula.");
         try { return new AssentoId(UUID.fromString(valorStr)); }
@@ -17,6 +22,17 @@ public final class AssentoId {
         return new AssentoId(valorUuid); // Usa o construtor privado
     }
 
+    /**
+     * ID determinístico do assento de uma posição da sessão (UUID por nome): é o mesmo sempre que o assento
+     * for materializado da planta, tenha ele registro gravado ou não.
+     */
+    public static AssentoId daPosicao(SessaoId sessaoId, String identificadorPosicao) {
+        Objects.requireNonNull(sessaoId, "ID da Sessão não pode ser nulo.");
+        Objects.requireNonNull(identificadorPosicao, "Identificador de posição não pode ser nulo.");
+        String chave = sessaoId.getValor() + "/" + identificadorPosicao.trim().toUpperCase(Locale.ROOT);
+        return new AssentoId(UUID.nameUUIDFromBytes(chave.getBytes(StandardCharsets.UTF_8)));
+    }
+
     public UUID getValor() { return valor; }
     @Override public boolean equals(Object o) { if (this == o) return true; if (o == null || getClass() != o.getClass()) return false; AssentoId assentoId = (AssentoId) o; return valor.equals(assentoId.valor); }
     @Override public int hashCode() { return Objects.hash(valor); }
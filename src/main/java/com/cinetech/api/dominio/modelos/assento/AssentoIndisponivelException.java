@@ -0,0 +1,19 @@
+package com.cinetech.api.dominio.modelos.assento;
+
+/**
+ * Sinaliza que o assento não pode ser reservado porque já está tomado
+ * (reservado por outro cliente, ocupado ou bloqueado), seja pela regra de domínio
+ * ou porque outra requisição alterou o assento antes da gravação. (F1)
+ * Estende IllegalStateException para manter o tratamento existente (HTTP 409) nos controllers.
+ */
+public class AssentoIndisponivelException extends IllegalStateException {
+
+    private final String identificadorPosicao;
+
+    public AssentoIndisponivelException(String identificadorPosicao, String mensagem) {
+        super(mensagem);
+        this.identificadorPosicao = identificadorPosicao;
+    }
+
+    public String getIdentificadorPosicao() { return identificadorPosicao; }
+}
@@ -0,0 +1,19 @@
+package com.cinetech.api.dominio.modelos.assento;
+
+import com.cinetech.api.dominio.modelos.sessao.SessaoId;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Referência leve a um assento em RESERVADO_TEMP e ao prazo da sua reserva (F1).
+ * Usada para agendar a expiração sem carregar a Sessao inteira.
+ */
+public record ReservaTemporariaAssento(SessaoId sessaoId, String identificadorPosicao, LocalDateTime timestampExpiracaoReserva) {
+
+    public ReservaTemporariaAssento {
+        Objects.requireNonNull(sessaoId, "ID da Sessão não pode ser nulo.");
+        Objects.requireNonNull(identificadorPosicao, "Identificador do assento não pode ser nulo.");
+        Objects.requireNonNull(timestampExpiracaoReserva, "Expiração da reserva não pode ser nula.");
+    }
+}
@@ -1,13 +1,14 @@
 package com.cinetech.api.dominio.modelos.avaliacao;
 
 import com.cinetech.api.dominio.enums.StatusAvaliacao;
+import com.cinetech.api.dominio.eventos.AgregadoComEventos;
 import com.cinetech.api.dominio.modelos.cliente.ClienteId;
 import com.cinetech.api.dominio.modelos.filme.FilmeId;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
 
-public class Avaliacao {
+public class Avaliacao extends AgregadoComEventos {
     private final AvaliacaoId id;
     private final FilmeId filmeId;
     private final ClienteId clienteId; // Cliente que fez a avaliação
@@ -64,24 +65,32 @@ public class Avaliacao {
         if (this.statusVisibilidade != StatusAvaliacao.PENDENTE_MODERACAO) {
             throw new IllegalStateException("Avaliação com ID " + this.id + " não pode ser aprovada pois seu status é " + this.statusVisibilidade);
         }
-        this.statusVisibilidade = StatusAvaliacao.APROVADA;
+        alterarStatusVisibilidade(StatusAvaliacao.APROVADA);
     }
 
     public void marcarComoConteudoOfensivo() { // [cite: 21]
         // Pode ser chamada após análise externa (manual ou por um Domain Service de filtro)
-        this.statusVisibilidade = StatusAvaliacao.REPROVADA_OFENSIVA;
+        alterarStatusVisibilidade(StatusAvaliacao.REPROVADA_OFENSIVA);
     }
 
     public void ocultarPeloAutor() {
         // Permite ao próprio usuário que fez a avaliação ocultá-la (se visível)
         if (this.statusVisibilidade == StatusAvaliacao.APROVADA) {
-            this.statusVisibilidade = StatusAvaliacao.OCULTA_PELO_AUTOR;
+            alterarStatusVisibilidade(StatusAvaliacao.OCULTA_PELO_AUTOR);
         } else {
             // Não se pode ocultar o que não está aprovado ou já está oculto de outra forma
             throw new IllegalStateException("Avaliação com ID " + this.id + " não pode ser ocultada pelo autor pois seu status é " + this.statusVisibilidade);
         }
     }
 
+    private void alterarStatusVisibilidade(StatusAvaliacao novoStatus) {
+        StatusAvaliacao statusAnterior = this.statusVisibilidade;
+        this.statusVisibilidade = novoStatus;
+        if (statusAnterior != novoStatus) {
+            registrarEvento(new AvaliacaoVisibilidadeAlterada(id, filmeId, statusAnterior, novoStatus, LocalDateTime.now()));
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -1,5 +1,7 @@
 package com.cinetech.api.dominio.modelos.avaliacao;
 
+import com.cinetech.api.dominio.modelos.comum.UuidOrdenadoPorTempo;
+
 import java.util.Objects;
 import java.util.UUID;
 
@@ -11,7 +13,7 @@ public final class AvaliacaoId {
     }
 
     public static AvaliacaoId novo() {
-        return new AvaliacaoId(UUID.randomUUID());
+        return new AvaliacaoId(UuidOrdenadoPorTempo.novo());
     }
 
     public static AvaliacaoId de(String valorStr) {
@@ -0,0 +1,13 @@
+package com.cinetech.api.dominio.modelos.avaliacao;
+
+import com.cinetech.api.dominio.enums.StatusAvaliacao;
+import com.cinetech.api.dominio.eventos.EventoDominio;
+import com.cinetech.api.dominio.modelos.filme.FilmeId;
+
+import java.time.LocalDateTime;
+
+/**
+ * Mudança de status de visibilidade: entrar ou sair de APROVADA muda a nota média do filme. (F8)
+ */
+public record AvaliacaoVisibilidadeAlterada(AvaliacaoId avaliacaoId, FilmeId filmeId, StatusAvaliacao statusAnterior,
+                                            StatusAvaliacao statusNovo, LocalDateTime ocorridoEm) implements EventoDominio {}
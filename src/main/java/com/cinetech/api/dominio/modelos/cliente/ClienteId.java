@@ -1,5 +1,7 @@
 package com.cinetech.api.dominio.modelos.cliente;
 
+import com.cinetech.api.dominio.modelos.comum.UuidOrdenadoPorTempo;
+
 import java.util.Objects;
 import java.util.UUID;
 
@@ -9,7 +11,7 @@ public final class ClienteId {
     private ClienteId(UUID valor) {
         this.valor = Objects.requireNonNull(valor, "Valor do ID do Cliente não pode ser nulo.");
     }
-    public static ClienteId novo() { return new ClienteId(UUID.randomUUID()); }
+    public static ClienteId novo() { return new ClienteId(UuidOrdenadoPorTempo.novo()); }
     public static ClienteId de(String valorStr) {
         Objects.requireNonNull(valorStr, "String de ID do Cliente não pode ser nula.");
         try { return new ClienteId(UUID.fromString(valorStr)); }
@@ -0,0 +1,77 @@
+package com.cinetech.api.dominio.modelos.comum;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * Valor em reais guardado como centavos em um long: as contas de preço, desconto e pontos são aritmética inteira,
+ * sem os BigDecimal intermediários (e suas alocações) de cada multiply/setScale.
+ * A conversão para BigDecimal (escala 2) fica na fronteira: entidades JPA, DTOs e entidades ainda em BigDecimal.
+ */
+public record Dinheiro(long centavos) implements Comparable<Dinheiro> {
+
+    public static final Dinheiro ZERO = new Dinheiro(0);
+
+    public static Dinheiro deCentavos(long centavos) {
+        return centavos == 0 ? ZERO : new Dinheiro(centavos);
+    }
+
+    /**
+     * Converte um valor em reais, arredondando para o centavo (HALF_UP) se tiver mais de duas casas.
+     * @throws ArithmeticException Se o valor não couber em um long de centavos.
+     */
+    public static Dinheiro de(BigDecimal valor) {
+        Objects.requireNonNull(valor, "Valor não pode ser nulo.");
+        return deCentavos(valor.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    public BigDecimal paraBigDecimal() {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    public Dinheiro somar(Dinheiro outro) {
+        return deCentavos(Math.addExact(centavos, outro.centavos));
+    }
+
+    public Dinheiro subtrair(Dinheiro outro) {
+        return deCentavos(Math.subtractExact(centavos, outro.centavos));
+    }
+
+    /**
+     * Fração do valor, arredondada para o centavo (HALF_UP), exata para qualquer fração decimal.
+     */
+    public Dinheiro multiplicar(Percentual percentual) {
+        return deCentavos(percentual.aplicarACentavos(centavos));
+    }
+
+    public Dinheiro min(Dinheiro outro) {
+        return centavos <= outro.centavos ? this : outro;
+    }
+
+    public Dinheiro max(Dinheiro outro) {
+        return centavos >= outro.centavos ? this : outro;
+    }
+
+    public boolean ehPositivo() {
+        return centavos > 0;
+    }
+
+    public boolean ehNegativo() {
+        return centavos < 0;
+    }
+
+    public boolean maiorQue(Dinheiro outro) {
+        return centavos > outro.centavos;
+    }
+
+    @Override
+    public int compareTo(Dinheiro outro) {
+        return Long.compare(centavos, outro.centavos);
+    }
+
+    @Override
+    public String toString() {
+        return "R$ " + paraBigDecimal().toPlainString();
+    }
+}
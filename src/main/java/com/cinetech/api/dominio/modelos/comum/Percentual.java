@@ -0,0 +1,51 @@
+package com.cinetech.api.dominio.modelos.comum;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Fração a aplicar sobre um valor (0,5 = 50%), guardada como numerador / denominador inteiros para que
+ * Dinheiro.multiplicar arredonde como BigDecimal.multiply(...).setScale(2, HALF_UP), sem criar BigDecimal.
+ */
+public record Percentual(long numerador, long denominador) {
+
+    private static final int ESCALA_MAXIMA = 18; // 10^18 ainda cabe em um long
+
+    public static final Percentual METADE = new Percentual(1, 2);
+
+    public Percentual {
+        if (denominador <= 0) {
+            throw new IllegalArgumentException("Denominador do percentual deve ser positivo. Recebido: " + denominador);
+        }
+    }
+
+    /**
+     * @param fracao Fração decimal (ex: 0.25 para 25%).
+     * @throws IllegalArgumentException Se a fração tiver mais de 18 casas decimais.
+     */
+    public static Percentual de(BigDecimal fracao) {
+        Objects.requireNonNull(fracao, "Fração não pode ser nula.");
+        BigDecimal normalizada = fracao.stripTrailingZeros();
+        if (normalizada.scale() > ESCALA_MAXIMA) {
+            throw new IllegalArgumentException("Percentual com mais de " + ESCALA_MAXIMA + " casas decimais: " + fracao);
+        }
+        if (normalizada.scale() <= 0) {
+            return new Percentual(normalizada.longValueExact(), 1);
+        }
+        return new Percentual(normalizada.unscaledValue().longValueExact(), BigDecimal.TEN.pow(normalizada.scale()).longValueExact());
+    }
+
+    /**
+     * centavos * numerador / denominador, arredondado HALF_UP (empate se afasta do zero).
+     * @throws ArithmeticException Se o produto intermediário não couber em um long.
+     */
+    long aplicarACentavos(long centavos) {
+        long produto = Math.multiplyExact(centavos, numerador);
+        long quociente = produto / denominador;
+        long resto = Math.abs(produto % denominador);
+        if (resto >= denominador - resto) { // resto >= denominador / 2, sem perder a metade em denominador ímpar
+            quociente += Long.signum(produto);
+        }
+        return quociente;
+    }
+}
@@ -0,0 +1,31 @@
+package com.cinetech.api.dominio.modelos.comum;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gera UUIDs versão 7 (RFC 9562): os 48 bits mais altos são o instante em milissegundos,
+ * seguidos de um contador de 12 bits, e o restante é aleatório.
+ * IDs gerados depois são sempre maiores, o que dá às listagens paginadas por ID uma ordem
+ * estável próxima à de criação e mantém as inserções no fim do índice da chave primária.
+ */
+public final class UuidOrdenadoPorTempo {
+
+    private static final SecureRandom ALEATORIO = new SecureRandom();
+    // (milissegundos << 12) | contador do último ID gerado: garante IDs crescentes no mesmo milissegundo
+    private static final AtomicLong ULTIMO_INSTANTE_E_CONTADOR = new AtomicLong();
+
+    private UuidOrdenadoPorTempo() {
+    }
+
+    public static UUID novo() {
+        long atual = System.currentTimeMillis() << 12;
+        long instanteEContador = ULTIMO_INSTANTE_E_CONTADOR.updateAndGet(ultimo -> Math.max(ultimo + 1, atual));
+        long bitsAltos = ((instanteEContador >>> 12) << 16) // unix_ts_ms (48 bits)
+                | 0x7000L                                    // versão 7
+                | (instanteEContador & 0x0FFFL);             // contador (rand_a)
+        long bitsBaixos = (ALEATORIO.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L; // variante IETF
+        return new UUID(bitsAltos, bitsBaixos);
+    }
+}
@@ -1,6 +1,7 @@
 package com.cinetech.api.dominio.modelos.credito;
 
 import com.cinetech.api.dominio.modelos.cliente.ClienteId;
+import com.cinetech.api.dominio.modelos.ingresso.IngressoId;
 import com.cinetech.api.dominio.modelos.sessao.SessaoId;
 
 import java.math.BigDecimal;
@@ -22,14 +23,27 @@ public class CreditoCompensacao {
     private boolean ativo;
     private final String motivo; // Ex: "Cancelamento Sessão ID XYZ"
     private final SessaoId sessaoOrigemId; // Sessão que originou o cancelamento e este crédito
+    private final IngressoId ingressoOrigemId; // Ingresso reembolsado por este crédito (pode ser nulo); no máximo um crédito por ingresso e sessão
 
     public CreditoCompensacao(ClienteId clienteId, BigDecimal valorOriginal, LocalDateTime dataValidade, String motivo, SessaoId sessaoOrigemId) {
-        this(CreditoId.novo(), clienteId, valorOriginal, BigDecimal.ZERO, LocalDateTime.now(), dataValidade, true, motivo, sessaoOrigemId);
+        this(clienteId, valorOriginal, dataValidade, motivo, sessaoOrigemId, null);
+    }
+
+    public CreditoCompensacao(ClienteId clienteId, BigDecimal valorOriginal, LocalDateTime dataValidade, String motivo,
+                              SessaoId sessaoOrigemId, IngressoId ingressoOrigemId) {
+        this(CreditoId.novo(), clienteId, valorOriginal, BigDecimal.ZERO, LocalDateTime.now(), dataValidade, true, motivo,
+                sessaoOrigemId, ingressoOrigemId);
     }
 
     public CreditoCompensacao(CreditoId id, ClienteId clienteId, BigDecimal valorOriginal, BigDecimal valorUtilizado,
                               LocalDateTime dataEmissao, LocalDateTime dataValidade, boolean ativo,
                               String motivo, SessaoId sessaoOrigemId) {
+        this(id, clienteId, valorOriginal, valorUtilizado, dataEmissao, dataValidade, ativo, motivo, sessaoOrigemId, null);
+    }
+
+    public CreditoCompensacao(CreditoId id, ClienteId clienteId, BigDecimal valorOriginal, BigDecimal valorUtilizado,
+                              LocalDateTime dataEmissao, LocalDateTime dataValidade, boolean ativo,
+                              String motivo, SessaoId sessaoOrigemId, IngressoId ingressoOrigemId) {
         this.id = Objects.requireNonNull(id, "ID do Crédito de Compensação não pode ser nulo.");
         this.clienteId = Objects.requireNonNull(clienteId, "ID do Cliente não pode ser nulo.");
         if (valorOriginal == null || valorOriginal.compareTo(BigDecimal.ZERO) <= 0) {
@@ -48,6 +62,7 @@ public class CreditoCompensacao {
         this.ativo = ativo;
         this.motivo = Objects.requireNonNull(motivo, "Motivo do crédito de compensação não pode ser nulo.");
         this.sessaoOrigemId = Objects.requireNonNull(sessaoOrigemId, "ID da Sessão de origem não pode ser nulo.");
+        this.ingressoOrigemId = ingressoOrigemId;
     }
 
     // Getters
@@ -60,6 +75,7 @@ public class CreditoCompensacao {
     public boolean isAtivo() { return ativo; }
     public String getMotivo() { return motivo; }
     public SessaoId getSessaoOrigemId() { return sessaoOrigemId; }
+    public IngressoId getIngressoOrigemId() { return ingressoOrigemId; }
 
 
     public BigDecimal getValorDisponivel() {
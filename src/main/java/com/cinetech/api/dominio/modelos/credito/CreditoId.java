@@ -1,5 +1,7 @@
 package com.cinetech.api.dominio.modelos.credito;
 
+import com.cinetech.api.dominio.modelos.comum.UuidOrdenadoPorTempo;
+
 import java.util.Objects;
 import java.util.UUID;
 
@@ -11,7 +13,7 @@ public final class CreditoId {
     }
 
     public static CreditoId novo() {
-        return new CreditoId(UUID.randomUUID());
+        return new CreditoId(UuidOrdenadoPorTempo.novo());
     }
 
     public static CreditoId de(String valorStr) {
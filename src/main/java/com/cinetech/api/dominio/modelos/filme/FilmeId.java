@@ -1,5 +1,7 @@
 package com.cinetech.api.dominio.modelos.filme; // Ajuste o pacote para cada XxxxId
 
+import com.cinetech.api.dominio.modelos.comum.UuidOrdenadoPorTempo;
+
 import java.util.Objects;
 import java.util.UUID;
 
@@ -11,7 +13,7 @@ public final class FilmeId { // Mude "FilmeId" para "SessaoId", "ClienteId", etc
     }
 
     public static FilmeId novo() {
-        return new FilmeId(UUID.randomUUID());
+        return new FilmeId(UuidOrdenadoPorTempo.novo());
     }
 
     public static FilmeId de(String valorStr) {
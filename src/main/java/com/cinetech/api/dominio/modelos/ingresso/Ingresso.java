@@ -2,6 +2,7 @@ package com.cinetech.api.dominio.modelos.ingresso;
 
 
 import com.cinetech.api.dominio.enums.StatusSessao;
+import com.cinetech.api.dominio.eventos.AgregadoComEventos;
 import com.cinetech.api.dominio.modelos.assento.Assento;
 import com.cinetech.api.dominio.modelos.cliente.Cliente;
 import com.cinetech.api.dominio.modelos.filme.FilmeId;
@@ -13,7 +14,7 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.UUID;
 
-public class Ingresso {
+public class Ingresso extends AgregadoComEventos {
     // ... (atributos como antes) ...
     private final IngressoId id;
     private final Cliente cliente;
@@ -34,6 +35,7 @@ public class Ingresso {
                 meiaEntradaAplicada, promocaoAplicadaId,
                 gerarCodigoValidacaoUnicoInterno(), // Chama o método interno para gerar o código
                 false); // validadoNaEntrada
+        registrarEmissao();
     }
 
     // Construtor para NOVO ingresso com ID PRÉ-DEFINIDO (código de validação ainda é gerado aqui)
@@ -45,6 +47,12 @@ public class Ingresso {
                 meiaEntradaAplicada, promocaoAplicadaId,
                 gerarCodigoValidacaoUnicoInterno(), // Gera novo código de validação
                 false); // validadoNaEntrada
+        registrarEmissao();
+    }
+
+    // Só os construtores de ingresso novo: a reconstituição não emite de novo
+    private void registrarEmissao() {
+        registrarEvento(new IngressoEmitido(id, cliente.getId(), sessao.getId(), valorPago, dataCompra));
     }
 
 
@@ -0,0 +1,11 @@
+package com.cinetech.api.dominio.modelos.ingresso;
+
+import com.cinetech.api.dominio.eventos.EventoDominio;
+import com.cinetech.api.dominio.modelos.cliente.ClienteId;
+import com.cinetech.api.dominio.modelos.sessao.SessaoId;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record IngressoEmitido(IngressoId ingressoId, ClienteId clienteId, SessaoId sessaoId, BigDecimal valorPago,
+                              LocalDateTime ocorridoEm) implements EventoDominio {}
@@ -1,5 +1,7 @@
 package com.cinetech.api.dominio.modelos.ingresso;
 
+import com.cinetech.api.dominio.modelos.comum.UuidOrdenadoPorTempo;
+
 import java.util.Objects;
 import java.util.UUID;
 
@@ -11,7 +13,7 @@ public final class IngressoId {
     }
 
     public static IngressoId novo() {
-        return new IngressoId(UUID.randomUUID());
+        return new IngressoId(UuidOrdenadoPorTempo.novo());
     }
 
     public static IngressoId de(String valorStr) {
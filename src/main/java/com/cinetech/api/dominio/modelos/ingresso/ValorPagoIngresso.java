@@ -0,0 +1,25 @@
+package com.cinetech.api.dominio.modelos.ingresso;
+
+import com.cinetech.api.dominio.modelos.cliente.ClienteId;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Quem pagou quanto por um ingresso, lido sem carregar o ingresso, a sessão ou o cliente.
+ * Base para reembolsar os ingressos de uma sessão cancelada em lote.
+ */
+public record ValorPagoIngresso(IngressoId ingressoId, ClienteId clienteId, BigDecimal valorPago) {
+
+    public ValorPagoIngresso {
+        Objects.requireNonNull(ingressoId, "ID do ingresso não pode ser nulo.");
+        Objects.requireNonNull(clienteId, "ID do cliente não pode ser nulo.");
+        Objects.requireNonNull(valorPago, "Valor pago não pode ser nulo.");
+    }
+
+    // Usado pela expressão construtora da consulta JPQL, que devolve as chaves primitivas
+    public ValorPagoIngresso(UUID ingressoId, UUID clienteId, BigDecimal valorPago) {
+        this(IngressoId.de(ingressoId), ClienteId.de(clienteId), valorPago);
+    }
+}
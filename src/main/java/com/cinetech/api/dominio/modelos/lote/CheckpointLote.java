@@ -0,0 +1,55 @@
+package com.cinetech.api.dominio.modelos.lote;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Progresso gravado de uma rotina em lote que percorre registros em ordem de ID.
+ * Tudo até ultimoIdConcluido (inclusive) já foi processado e confirmado; uma execução interrompida
+ * recomeça logo depois dele.
+ * @param rotina Nome da rotina (uma linha por rotina).
+ * @param ultimoIdConcluido ID do último registro processado, ou null se nenhum chunk foi concluído ainda.
+ * @param itensProcessados Registros processados na execução (somando as retomadas).
+ * @param itensAlterados Registros efetivamente alterados na execução.
+ * @param concluida true se a execução chegou ao fim; a próxima começa do zero.
+ * @param iniciadaEm Início da execução (a primeira, se houve retomadas).
+ * @param atualizadaEm Última gravação do checkpoint.
+ */
+public record CheckpointLote(
+        String rotina,
+        UUID ultimoIdConcluido,
+        long itensProcessados,
+        long itensAlterados,
+        boolean concluida,
+        LocalDateTime iniciadaEm,
+        LocalDateTime atualizadaEm
+) {
+
+    public CheckpointLote {
+        Objects.requireNonNull(rotina, "Nome da rotina não pode ser nulo.");
+        Objects.requireNonNull(iniciadaEm, "Início da execução não pode ser nulo.");
+        Objects.requireNonNull(atualizadaEm, "Data de atualização não pode ser nula.");
+        if (itensProcessados < 0 || itensAlterados < 0) {
+            throw new IllegalArgumentException("Contagens do checkpoint não podem ser negativas.");
+        }
+    }
+
+    public static CheckpointLote iniciar(String rotina, LocalDateTime agora) {
+        return new CheckpointLote(rotina, null, 0, 0, false, agora, agora);
+    }
+
+    public Optional<UUID> cursor() {
+        return Optional.ofNullable(ultimoIdConcluido);
+    }
+
+    public CheckpointLote avancar(UUID ultimoId, long processados, long alterados, LocalDateTime agora) {
+        return new CheckpointLote(rotina, ultimoId, itensProcessados + processados, itensAlterados + alterados,
+                false, iniciadaEm, agora);
+    }
+
+    public CheckpointLote concluir(LocalDateTime agora) {
+        return new CheckpointLote(rotina, ultimoIdConcluido, itensProcessados, itensAlterados, true, iniciadaEm, agora);
+    }
+}
@@ -0,0 +1,62 @@
+package com.cinetech.api.dominio.modelos.outbox;
+
+import com.cinetech.api.dominio.enums.TipoEventoOutbox;
+import com.cinetech.api.dominio.modelos.comum.UuidOrdenadoPorTempo;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Evento gravado na mesma transação da mudança que o originou (outbox transacional) e entregue depois,
+ * de forma assíncrona, aos manipuladores do seu tipo. A entrega é "ao menos uma vez".
+ * @param id ID ordenado por tempo: a ordem de ID é a ordem de registro.
+ * @param tipo Tipo do evento, que define os manipuladores.
+ * @param agregadoId ID do agregado de origem (ex: a sessão cancelada).
+ * @param registradoEm Momento do registro, junto com a mudança de origem.
+ * @param tentativas Entregas que falharam até agora.
+ * @param disponivelEm A partir de quando o evento pode ser (re)entregue.
+ * @param processadoEm Momento da entrega bem-sucedida, ou null se pendente.
+ * @param ultimoErro Mensagem da última falha, ou null.
+ */
+public record EventoOutbox(
+        UUID id,
+        TipoEventoOutbox tipo,
+        UUID agregadoId,
+        LocalDateTime registradoEm,
+        int tentativas,
+        LocalDateTime disponivelEm,
+        LocalDateTime processadoEm,
+        String ultimoErro
+) {
+
+    public EventoOutbox {
+        Objects.requireNonNull(id, "ID do evento não pode ser nulo.");
+        Objects.requireNonNull(tipo, "Tipo do evento não pode ser nulo.");
+        Objects.requireNonNull(agregadoId, "ID do agregado de origem não pode ser nulo.");
+        Objects.requireNonNull(registradoEm, "Data de registro não pode ser nula.");
+        Objects.requireNonNull(disponivelEm, "Data de disponibilidade não pode ser nula.");
+        if (tentativas < 0) {
+            throw new IllegalArgumentException("Tentativas não podem ser negativas.");
+        }
+    }
+
+    public static EventoOutbox registrar(TipoEventoOutbox tipo, UUID agregadoId, LocalDateTime agora) {
+        return new EventoOutbox(UuidOrdenadoPorTempo.novo(), tipo, agregadoId, agora, 0, agora, null, null);
+    }
+
+    public boolean pendente() {
+        return processadoEm == null;
+    }
+
+    public EventoOutbox concluir(LocalDateTime agora) {
+        return new EventoOutbox(id, tipo, agregadoId, registradoEm, tentativas, disponivelEm, agora, null);
+    }
+
+    /**
+     * Registra uma entrega que falhou; o evento volta a ficar disponível em proximaTentativa.
+     */
+    public EventoOutbox registrarFalha(String erro, LocalDateTime proximaTentativa) {
+        return new EventoOutbox(id, tipo, agregadoId, registradoEm, tentativas + 1, proximaTentativa, null, erro);
+    }
+}
@@ -1,12 +1,14 @@
 package com.cinetech.api.dominio.modelos.pagamento;
 
+import com.cinetech.api.dominio.modelos.comum.UuidOrdenadoPorTempo;
+
 import java.util.Objects;
 import java.util.UUID;
 
 public final class PagamentoId {
     private final UUID valor;
     private PagamentoId(UUID valor) { this.valor = Objects.requireNonNull(valor, "Valor do ID do Pagamento não pode ser nulo.");}
-    public static PagamentoId novo() { return new PagamentoId(UUID.randomUUID()); }
+    public static PagamentoId novo() { return new PagamentoId(UuidOrdenadoPorTempo.novo()); }
     public static PagamentoId de(String valorStr) {
         Objects.requireNonNull(valorStr, "String de ID do Pagamento não pode ser nula.");
         try { return new PagamentoId(UUID.fromString(valorStr)); }
@@ -1,5 +1,7 @@
 package com.cinetech.api.dominio.modelos.pontofidelidade;
 
+import com.cinetech.api.dominio.modelos.comum.UuidOrdenadoPorTempo;
+
 import java.util.Objects;
 import java.util.UUID;
 
@@ -11,7 +13,7 @@ public final class PontoFidelidadeId {
     }
 
     public static PontoFidelidadeId novo() {
-        return new PontoFidelidadeId(UUID.randomUUID());
+        return new PontoFidelidadeId(UuidOrdenadoPorTempo.novo());
     }
 
     public static PontoFidelidadeId de(String valorStr) {
@@ -3,10 +3,11 @@ package com.cinetech.api.dominio.modelos.promocao;
 import com.cinetech.api.dominio.enums.PerfilCliente;
 import com.cinetech.api.dominio.enums.TipoPromocao;
 import com.cinetech.api.dominio.modelos.cliente.Cliente;
+import com.cinetech.api.dominio.modelos.comum.Dinheiro;
+import com.cinetech.api.dominio.modelos.comum.Percentual;
 import com.cinetech.api.dominio.modelos.sessao.Sessao;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -20,6 +21,9 @@ public class Promocao {
     private TipoPromocao tipoPromocao;
     private BigDecimal percentualDesconto;
     private BigDecimal valorDescontoFixo;
+    // Os mesmos descontos já convertidos, para o cálculo em centavos (um dos dois é nulo)
+    private final Percentual percentual;
+    private final Dinheiro descontoFixo;
 
     // Campos para promoções de horário
     private Set<DayOfWeek> diasDaSemanaAplicaveis;
@@ -78,6 +82,8 @@ public class Promocao {
         }
         this.percentualDesconto = percentualDesconto;
         this.valorDescontoFixo = valorDescontoFixo;
+        this.percentual = percentualDesconto != null ? Percentual.de(percentualDesconto) : null;
+        this.descontoFixo = valorDescontoFixo != null ? Dinheiro.de(valorDescontoFixo) : null;
 
         this.diasDaSemanaAplicaveis = diasDaSemanaAplicaveis == null ? Set.of() : Set.copyOf(diasDaSemanaAplicaveis);
         this.horarioInicioAplicavel = horarioInicioAplicavel;
@@ -162,20 +168,25 @@ public class Promocao {
 
     public BigDecimal calcularDesconto(BigDecimal precoBase) {
         Objects.requireNonNull(precoBase, "Preço base não pode ser nulo para calcular desconto.");
-        if (precoBase.compareTo(BigDecimal.ZERO) < 0) { // Permite preço base zero, mas não negativo
+        return calcularDesconto(Dinheiro.de(precoBase)).paraBigDecimal();
+    }
+
+    public Dinheiro calcularDesconto(Dinheiro precoBase) {
+        Objects.requireNonNull(precoBase, "Preço base não pode ser nulo para calcular desconto.");
+        if (precoBase.ehNegativo()) { // Permite preço base zero, mas não negativo
             throw new IllegalArgumentException("Preço base para cálculo de desconto não pode ser negativo. Recebido: " + precoBase);
         }
 
         // A verificação de estaVigente e aplicavel deve ser feita ANTES de chamar calcularDesconto.
         // No entanto, uma verificação de segurança aqui para o flag 'ativa' não faz mal.
-        if (!this.ativa) return BigDecimal.ZERO;
+        if (!this.ativa) return Dinheiro.ZERO;
 
-        if (this.percentualDesconto != null) {
-            return precoBase.multiply(this.percentualDesconto).setScale(2, RoundingMode.HALF_UP);
-        } else if (this.valorDescontoFixo != null) {
-            return this.valorDescontoFixo.min(precoBase); // Desconto não pode ser maior que o preço base
+        if (this.percentual != null) {
+            return precoBase.multiplicar(this.percentual);
+        } else if (this.descontoFixo != null) {
+            return this.descontoFixo.min(precoBase); // Desconto não pode ser maior que o preço base
         }
-        return BigDecimal.ZERO;
+        return Dinheiro.ZERO;
     }
 
     public boolean aplicavel(Cliente cliente, Sessao sessao, LocalDateTime dataHoraCompra) {
@@ -0,0 +1,10 @@
+package com.cinetech.api.dominio.modelos.promocao;
+
+import com.cinetech.api.dominio.eventos.EventoDominio;
+
+import java.time.LocalDateTime;
+
+/**
+ * Uma promoção foi criada ou alterada (inclusive ativada/desativada): as regras de preço compiladas ficam obsoletas.
+ */
+public record PromocaoAlterada(PromocaoId promocaoId, LocalDateTime ocorridoEm) implements EventoDominio {}
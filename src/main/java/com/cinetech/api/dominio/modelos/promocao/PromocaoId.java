@@ -1,12 +1,14 @@
 package com.cinetech.api.dominio.modelos.promocao;
 
+import com.cinetech.api.dominio.modelos.comum.UuidOrdenadoPorTempo;
+
 import java.util.Objects;
 import java.util.UUID;
 
 public final class PromocaoId {
     private final UUID valor;
     private PromocaoId(UUID valor) { this.valor = Objects.requireNonNull(valor); }
-    public static PromocaoId novo() { return new PromocaoId(UUID.randomUUID()); }
+    public static PromocaoId novo() { return new PromocaoId(UuidOrdenadoPorTempo.novo()); }
     public static PromocaoId de(String valorStr) { /* ... (implementação padrão) ... */
         Objects.requireNonNull(valorStr);
         try { return new PromocaoId(UUID.fromString(valorStr)); }
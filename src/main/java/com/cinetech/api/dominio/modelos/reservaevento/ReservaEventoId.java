@@ -1,5 +1,7 @@
 package com.cinetech.api.dominio.modelos.reservaevento;
 
+import com.cinetech.api.dominio.modelos.comum.UuidOrdenadoPorTempo;
+
 import java.util.Objects;
 import java.util.UUID;
 
@@ -11,7 +13,7 @@ public final class ReservaEventoId {
     }
 
     public static ReservaEventoId novo() {
-        return new ReservaEventoId(UUID.randomUUID());
+        return new ReservaEventoId(UuidOrdenadoPorTempo.novo());
     }
 
     public static ReservaEventoId de(String valorStr) {
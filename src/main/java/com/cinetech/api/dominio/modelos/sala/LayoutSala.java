@@ -0,0 +1,257 @@
+package com.cinetech.api.dominio.modelos.sala;
+
+import com.cinetech.api.dominio.enums.TipoAssento;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Planta de assentos de uma Sala (F1, [cite: 4, 13]): grade de fileiras x colunas, com um byte por célula.
+ * Código da célula: 0 = sem assento (corredor, vão), 1 + TipoAssento.ordinal() = assento daquele tipo.
+ * As fileiras são nomeadas a partir da frente (A..Z, AA..AZ) e as colunas numeradas a partir de 1 pela posição física,
+ * de modo que um corredor "pula" números e quebra a adjacência ("C12" e "C14" com corredor na coluna 13).
+ * Imutável: as alterações devolvem uma nova planta. O modelo de geração (identificadores e tipos na ordem
+ * fileira/coluna) só é calculado no primeiro uso: uma planta reconstituída só para leitura nunca o monta.
+ */
+public final class LayoutSala {
+
+    public static final int MAXIMO_FILEIRAS = 52;  // A..Z, AA..AZ
+    public static final int MAXIMO_COLUNAS = 99;
+    public static final int COLUNAS_PADRAO = 20;   // Planta padrão quando só a capacidade é informada
+    private static final byte SEM_ASSENTO = 0;
+
+    private final int fileiras;
+    private final int colunas;
+    private final byte[] celulas; // fileira * colunas + coluna
+    private final int quantidadeAssentos;
+
+    // Modelo de geração, na ordem fileira/coluna (apenas células com assento); montado no primeiro uso
+    private record ModeloGeracao(String[] identificadores, TipoAssento[] tipos, int[] assentoPorCelula) {}
+    private volatile ModeloGeracao modelo;
+
+    private LayoutSala(int fileiras, int colunas, byte[] celulas) {
+        if (fileiras <= 0 || fileiras > MAXIMO_FILEIRAS) {
+            throw new IllegalArgumentException("Quantidade de fileiras deve estar entre 1 e " + MAXIMO_FILEIRAS + ". Recebido: " + fileiras);
+        }
+        if (colunas <= 0 || colunas > MAXIMO_COLUNAS) {
+            throw new IllegalArgumentException("Quantidade de colunas deve estar entre 1 e " + MAXIMO_COLUNAS + ". Recebido: " + colunas);
+        }
+        Objects.requireNonNull(celulas, "Células da planta não podem ser nulas.");
+        if (celulas.length != fileiras * colunas) {
+            throw new IllegalArgumentException("Planta com " + celulas.length + " células não corresponde a " + fileiras + "x" + colunas + ".");
+        }
+        TipoAssento[] valoresTipo = TipoAssento.values();
+        int quantidadeAssentos = 0;
+        for (byte codigo : celulas) {
+            if (codigo < SEM_ASSENTO || codigo > valoresTipo.length) {
+                throw new IllegalArgumentException("Código de célula inválido na planta: " + codigo);
+            }
+            if (codigo != SEM_ASSENTO) quantidadeAssentos++;
+        }
+        if (quantidadeAssentos == 0) {
+            throw new IllegalArgumentException("Planta da sala deve ter ao menos um assento.");
+        }
+        this.fileiras = fileiras;
+        this.colunas = colunas;
+        this.celulas = celulas;
+        this.quantidadeAssentos = quantidadeAssentos;
+    }
+
+    private ModeloGeracao modelo() {
+        ModeloGeracao atual = this.modelo;
+        if (atual == null) {
+            // Corrida benigna: duas threads podem montar modelos iguais; qualquer um serve
+            atual = montarModelo();
+            this.modelo = atual;
+        }
+        return atual;
+    }
+
+    private ModeloGeracao montarModelo() {
+        TipoAssento[] valoresTipo = TipoAssento.values();
+        String[] identificadores = new String[quantidadeAssentos];
+        TipoAssento[] tipos = new TipoAssento[quantidadeAssentos];
+        int[] assentoPorCelula = new int[celulas.length];
+        int assento = 0;
+        for (int f = 0; f < fileiras; f++) {
+            String nomeFileira = nomeFileira(f);
+            for (int c = 0; c < colunas; c++) {
+                int celula = f * colunas + c;
+                byte codigo = celulas[celula];
+                if (codigo == SEM_ASSENTO) {
+                    assentoPorCelula[celula] = -1;
+                } else {
+                    identificadores[assento] = nomeFileira + (c + 1);
+                    tipos[assento] = valoresTipo[codigo - 1];
+                    assentoPorCelula[celula] = assento++;
+                }
+            }
+        }
+        return new ModeloGeracao(identificadores, tipos, assentoPorCelula);
+    }
+
+    /**
+     * Reconstitui uma planta a partir da grade compactada (ex: lida do banco).
+     */
+    public static LayoutSala de(int fileiras, int colunas, byte[] celulasCompactadas) {
+        Objects.requireNonNull(celulasCompactadas, "Células da planta não podem ser nulas.");
+        return new LayoutSala(fileiras, colunas, celulasCompactadas.clone());
+    }
+
+    /**
+     * Grade cheia de assentos COMUM.
+     */
+    public static LayoutSala retangular(int fileiras, int colunas) {
+        byte[] celulas = new byte[Math.max(0, fileiras) * Math.max(0, colunas)];
+        Arrays.fill(celulas, codigo(TipoAssento.COMUM));
+        return new LayoutSala(fileiras, colunas, celulas);
+    }
+
+    /**
+     * Planta padrão com exatamente 'capacidade' assentos COMUM, em fileiras de COLUNAS_PADRAO
+     * (mais largas se a sala não couber em MAXIMO_FILEIRAS); a última fileira pode ficar incompleta.
+     */
+    public static LayoutSala padraoParaCapacidade(int capacidade) {
+        if (capacidade <= 0 || capacidade > MAXIMO_FILEIRAS * MAXIMO_COLUNAS) {
+            throw new IllegalArgumentException("Capacidade deve estar entre 1 e " + (MAXIMO_FILEIRAS * MAXIMO_COLUNAS) + ". Recebido: " + capacidade);
+        }
+        int colunas = Math.min(capacidade, Math.max(COLUNAS_PADRAO, (capacidade + MAXIMO_FILEIRAS - 1) / MAXIMO_FILEIRAS));
+        int fileiras = (capacidade + colunas - 1) / colunas;
+        byte[] celulas = new byte[fileiras * colunas];
+        Arrays.fill(celulas, 0, capacidade, codigo(TipoAssento.COMUM));
+        return new LayoutSala(fileiras, colunas, celulas);
+    }
+
+    /**
+     * Nova planta com a coluna (1..colunas) inteira sem assentos, como um corredor.
+     */
+    public LayoutSala comCorredorNaColuna(int coluna) {
+        validarColuna(coluna);
+        byte[] novas = celulas.clone();
+        for (int f = 0; f < fileiras; f++) {
+            novas[f * colunas + coluna - 1] = SEM_ASSENTO;
+        }
+        return new LayoutSala(fileiras, colunas, novas);
+    }
+
+    /**
+     * Nova planta com o tipo informado na posição (ex: "A5"); null remove o assento da posição.
+     */
+    public LayoutSala comTipoAssento(String identificadorPosicao, TipoAssento tipo) {
+        int celula = celulaDaPosicao(identificadorPosicao);
+        byte[] novas = celulas.clone();
+        novas[celula] = tipo == null ? SEM_ASSENTO : codigo(tipo);
+        return new LayoutSala(fileiras, colunas, novas);
+    }
+
+    // Getters
+    public int getFileiras() { return fileiras; }
+    public int getColunas() { return colunas; }
+    public int getQuantidadeAssentos() { return quantidadeAssentos; }
+    public byte[] getCelulasCompactadas() { return celulas.clone(); }
+
+    /**
+     * Identificadores dos assentos na ordem fileira/coluna (modelo de geração).
+     */
+    public List<String> getIdentificadoresAssentos() {
+        return Collections.unmodifiableList(Arrays.asList(modelo().identificadores()));
+    }
+
+    /**
+     * Tipo do assento de índice 'assento' no modelo (mesma ordem de getIdentificadoresAssentos).
+     */
+    public TipoAssento getTipoAssento(int assento) {
+        return modelo().tipos()[assento];
+    }
+
+    /**
+     * Índice no modelo do assento na célula (fileira e coluna a partir de 0), ou -1 se a célula não tiver assento.
+     */
+    public int indiceAssentoNaCelula(int fileira, int coluna) {
+        return modelo().assentoPorCelula()[fileira * colunas + coluna];
+    }
+
+    /**
+     * Nome da fileira de índice 'fileira' (0 = "A", 25 = "Z", 26 = "AA").
+     */
+    public static String nomeFileira(int fileira) {
+        if (fileira < 26) {
+            return String.valueOf((char) ('A' + fileira));
+        }
+        return "A" + (char) ('A' + fileira - 26);
+    }
+
+    /**
+     * Índice no modelo do assento da posição (ex: "C12"), ou -1 se a posição não existir na planta ou for um vão.
+     */
+    public int indiceAssentoDaPosicao(String identificadorPosicao) {
+        if (identificadorPosicao == null) {
+            return -1;
+        }
+        int celula = localizarCelula(identificadorPosicao);
+        return celula < 0 ? -1 : modelo().assentoPorCelula()[celula];
+    }
+
+    private int celulaDaPosicao(String identificadorPosicao) {
+        if (identificadorPosicao == null || identificadorPosicao.trim().isEmpty()) {
+            throw new IllegalArgumentException("Identificador de posição não pode ser vazio.");
+        }
+        int celula = localizarCelula(identificadorPosicao);
+        if (celula < 0) {
+            throw new IllegalArgumentException("Posição '" + identificadorPosicao + "' fora da planta da sala.");
+        }
+        return celula;
+    }
+
+    // Célula da posição, ou -1 se o identificador não corresponder a uma célula da planta
+    private int localizarCelula(String identificadorPosicao) {
+        String posicao = identificadorPosicao.trim().toUpperCase(Locale.ROOT);
+        int inicioNumero = 0;
+        while (inicioNumero < posicao.length() && !Character.isDigit(posicao.charAt(inicioNumero))) {
+            inicioNumero++;
+        }
+        String nome = posicao.substring(0, inicioNumero);
+        int fileira = nome.length() == 1 ? nome.charAt(0) - 'A'
+                : nome.length() == 2 && nome.charAt(0) == 'A' ? 26 + nome.charAt(1) - 'A' : -1;
+        int digitos = posicao.length() - inicioNumero;
+        if (fileira < 0 || fileira >= fileiras || digitos == 0 || digitos > 2 || !Character.isDigit(posicao.charAt(posicao.length() - 1))) {
+            return -1;
+        }
+        int coluna = Integer.parseInt(posicao.substring(inicioNumero));
+        if (coluna < 1 || coluna > colunas) {
+            return -1;
+        }
+        return fileira * colunas + coluna - 1;
+    }
+
+    private void validarColuna(int coluna) {
+        if (coluna < 1 || coluna > colunas) {
+            throw new IllegalArgumentException("Coluna " + coluna + " fora da planta da sala (1.." + colunas + ").");
+        }
+    }
+
+    private static byte codigo(TipoAssento tipo) {
+        return (byte) (tipo.ordinal() + 1);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        LayoutSala that = (LayoutSala) o;
+        return fileiras == that.fileiras && colunas == that.colunas && Arrays.equals(celulas, that.celulas);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hash(fileiras, colunas) + Arrays.hashCode(celulas);
+    }
+
+    @Override
+    public String toString() {
+        return "LayoutSala{" + fileiras + "x" + colunas + ", assentos=" + quantidadeAssentos + '}';
+    }
+}
@@ -0,0 +1,16 @@
+package com.cinetech.api.dominio.modelos.sala;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Janela em que uma sala não tem sessão nem reserva de evento (F7, busca de horários para eventos).
+ */
+public record PeriodoLivreSala(SalaId salaId, LocalDateTime dataHoraInicio, LocalDateTime dataHoraFim) {
+
+    public PeriodoLivreSala {
+        Objects.requireNonNull(salaId, "ID da Sala não pode ser nulo.");
+        Objects.requireNonNull(dataHoraInicio, "Início do período não pode ser nulo.");
+        Objects.requireNonNull(dataHoraFim, "Fim do período não pode ser nulo.");
+    }
+}
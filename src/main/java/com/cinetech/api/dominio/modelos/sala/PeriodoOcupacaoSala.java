@@ -0,0 +1,17 @@
+package com.cinetech.api.dominio.modelos.sala;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Período em que uma sala está ocupada (por uma sessão ou reserva de evento), sem a entidade que o ocupa.
+ * Usado para validar agendamentos em lote contra a agenda gravada.
+ */
+public record PeriodoOcupacaoSala(SalaId salaId, LocalDateTime dataHoraInicio, LocalDateTime dataHoraFim) {
+
+    public PeriodoOcupacaoSala {
+        Objects.requireNonNull(salaId, "ID da Sala não pode ser nulo.");
+        Objects.requireNonNull(dataHoraInicio, "Início do período não pode ser nulo.");
+        Objects.requireNonNull(dataHoraFim, "Fim do período não pode ser nulo.");
+    }
+}
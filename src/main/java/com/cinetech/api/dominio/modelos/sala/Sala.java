@@ -10,15 +10,21 @@ public class Sala {
     private int capacidadeTotal; // [cite: 13]
     private TipoSala tipo; // 2D ou 3D [cite: 4, 13]
     private boolean disponivelParaEventos; // [cite: 25] (implícito)
-    // A descrição de "possuir assentos comuns, VIP ou PCD" [cite: 4, 13]
-    // será refletida na configuração dos Assentos dentro de uma Sessao nesta Sala,
-    // ou em um layout padrão da sala. Para o modelo da Sala em si, a capacidade é o principal.
+    // A descrição de "possuir assentos comuns, VIP ou PCD" [cite: 4, 13] fica na planta da sala:
+    // fileiras, colunas, corredores e o tipo de cada assento. As sessões geram seus assentos a partir dela.
+    // A capacidade total é sempre a quantidade de assentos da planta.
+    private LayoutSala layout;
 
-    // Construtor para nova sala
+    // Construtor para nova sala (planta padrão de fileiras COMUM para a capacidade)
     public Sala(String nome, int capacidadeTotal, TipoSala tipo, boolean disponivelParaEventos) {
         this(SalaId.novo(), nome, capacidadeTotal, tipo, disponivelParaEventos);
     }
 
+    // Construtor para nova sala com planta definida
+    public Sala(String nome, TipoSala tipo, boolean disponivelParaEventos, LayoutSala layout) {
+        this(SalaId.novo(), nome, tipo, disponivelParaEventos, layout);
+    }
+
     // Construtor principal para criação/reconstituição
     public Sala(SalaId id, String nome, int capacidadeTotal, TipoSala tipo, boolean disponivelParaEventos) {
         this.id = Objects.requireNonNull(id, "ID da Sala não pode ser nulo.");
@@ -28,12 +34,22 @@ public class Sala {
         this.disponivelParaEventos = disponivelParaEventos;
     }
 
+    // Reconstituição com planta
+    public Sala(SalaId id, String nome, TipoSala tipo, boolean disponivelParaEventos, LayoutSala layout) {
+        this.id = Objects.requireNonNull(id, "ID da Sala não pode ser nulo.");
+        setNome(nome);
+        definirLayout(layout);
+        setTipo(tipo);
+        this.disponivelParaEventos = disponivelParaEventos;
+    }
+
     // Getters
     public SalaId getId() { return id; }
     public String getNome() { return nome; }
     public int getCapacidadeTotal() { return capacidadeTotal; }
     public TipoSala getTipo() { return tipo; }
     public boolean isDisponivelParaEventos() { return disponivelParaEventos; }
+    public LayoutSala getLayout() { return layout; }
 
     // Setters com validação
     public void setNome(String nome) {
@@ -43,13 +59,28 @@ public class Sala {
         this.nome = nome.trim();
     }
 
+    /**
+     * Altera a capacidade; se a planta atual tiver outra quantidade de assentos, é trocada pela planta padrão.
+     */
     public void setCapacidadeTotal(int capacidadeTotal) {
         if (capacidadeTotal <= 0) {
             throw new IllegalArgumentException("Capacidade total da sala deve ser um valor positivo. Recebido: " + capacidadeTotal);
         }
+        if (this.layout == null || this.layout.getQuantidadeAssentos() != capacidadeTotal) {
+            this.layout = LayoutSala.padraoParaCapacidade(capacidadeTotal);
+        }
         this.capacidadeTotal = capacidadeTotal;
     }
 
+    /**
+     * Define a planta de assentos da sala; a capacidade passa a ser a quantidade de assentos da planta.
+     * Sessões já agendadas mantêm os assentos com que foram criadas.
+     */
+    public void definirLayout(LayoutSala layout) {
+        this.layout = Objects.requireNonNull(layout, "Planta da sala não pode ser nula.");
+        this.capacidadeTotal = layout.getQuantidadeAssentos();
+    }
+
     public void setTipo(TipoSala tipo) {
         this.tipo = Objects.requireNonNull(tipo, "Tipo da sala não pode ser nulo.");
     }
@@ -79,6 +110,7 @@ public class Sala {
                 ", capacidadeTotal=" + capacidadeTotal +
                 ", tipo=" + tipo +
                 ", disponivelParaEventos=" + disponivelParaEventos +
+                ", layout=" + layout +
                 '}';
     }
 }
\ No newline at end of file
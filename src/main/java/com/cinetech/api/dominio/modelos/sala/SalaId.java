@@ -1,5 +1,7 @@
 package com.cinetech.api.dominio.modelos.sala;
 
+import com.cinetech.api.dominio.modelos.comum.UuidOrdenadoPorTempo;
+
 import java.util.Objects;
 import java.util.UUID;
 
@@ -11,7 +13,7 @@ public final class SalaId {
     }
 
     public static SalaId novo() {
-        return new SalaId(UUID.randomUUID());
+        return new SalaId(UuidOrdenadoPorTempo.novo());
     }
 
     public static SalaId de(String valorStr) {
@@ -0,0 +1,19 @@
+package com.cinetech.api.dominio.modelos.sessao;
+
+/**
+ * Totais de assentos de uma sessão por status (F1, F2).
+ * Mantidos incrementalmente pela Sessao e persistidos junto ao cabeçalho,
+ * para que a disponibilidade possa ser consultada sem carregar os assentos.
+ */
+public record ContagemAssentos(int disponiveis, int reservados, int ocupados, int bloqueados) {
+
+    public ContagemAssentos {
+        if (disponiveis < 0 || reservados < 0 || ocupados < 0 || bloqueados < 0) {
+            throw new IllegalArgumentException("Contagem de assentos não pode ser negativa.");
+        }
+    }
+
+    public int total() {
+        return disponiveis + reservados + ocupados + bloqueados;
+    }
+}
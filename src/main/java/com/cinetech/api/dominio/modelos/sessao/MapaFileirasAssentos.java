@@ -0,0 +1,202 @@
+package com.cinetech.api.dominio.modelos.sessao;
+
+import com.cinetech.api.dominio.enums.StatusAssento;
+import com.cinetech.api.dominio.enums.TipoAssento;
+import com.cinetech.api.dominio.modelos.assento.Assento;
+import com.cinetech.api.dominio.modelos.sala.LayoutSala;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Disposição em fileiras dos assentos de uma Sessao, usada na busca de blocos contíguos (F1, compra em grupo).
+ * Vem da planta da sala (LayoutSala) quando os assentos da sessão correspondem a ela; caso contrário
+ * (ex: sessão antiga com outra numeração) é derivada dos identificadores de posição: o prefixo antes dos
+ * dígitos finais é a fileira e o número final é a coluna ("C12" -> fileira "C", coluna 12).
+ * Colunas sem assento (corredor, numeração pulada) quebram a contiguidade.
+ * Depende só das posições (imutáveis), então a Sessao a calcula uma vez e reaproveita;
+ * o estado livre/ocupado é lido a cada busca do array compacto da Sessao, montando um bitmap por fileira.
+ */
+final class MapaFileirasAssentos {
+
+    // Uma fileira de distância da ideal pesa o mesmo que 2 assentos de distância do centro da fileira
+    private static final int PESO_FILEIRA = 4;
+    private static final int SEM_ASSENTO = -1;
+
+    private final int[] inicioFileira; // Início de cada fileira em 'celulas' (tamanho = fileiras + 1)
+    private final int[] celulas;       // Índice do assento na lista da Sessao por (fileira, coluna), ou SEM_ASSENTO
+    private final int larguraMaxima;
+
+    private MapaFileirasAssentos(int[] inicioFileira, int[] celulas, int larguraMaxima) {
+        this.inicioFileira = inicioFileira;
+        this.celulas = celulas;
+        this.larguraMaxima = larguraMaxima;
+    }
+
+    /**
+     * @param layout Planta da sala da sessão.
+     * @param indicePorPosicao Posição normalizada -> índice do assento na lista da Sessao.
+     * @param assentos Assentos da Sessao.
+     */
+    static MapaFileirasAssentos construir(LayoutSala layout, Map<String, Integer> indicePorPosicao, List<Assento> assentos) {
+        if (layout != null && layout.getQuantidadeAssentos() == assentos.size()) {
+            int colunas = layout.getColunas();
+            int[] inicioFileira = new int[layout.getFileiras() + 1];
+            int[] celulas = new int[layout.getFileiras() * colunas];
+            List<String> identificadores = layout.getIdentificadoresAssentos();
+            boolean correspondeAPlanta = true;
+            for (int f = 0; f < layout.getFileiras() && correspondeAPlanta; f++) {
+                inicioFileira[f] = f * colunas;
+                for (int c = 0; c < colunas; c++) {
+                    int assentoPlanta = layout.indiceAssentoNaCelula(f, c);
+                    Integer indice = assentoPlanta < 0 ? null : indicePorPosicao.get(identificadores.get(assentoPlanta));
+                    if (assentoPlanta >= 0 && indice == null) {
+                        correspondeAPlanta = false; // Assento da planta ausente na sessão
+                        break;
+                    }
+                    celulas[f * colunas + c] = indice == null ? SEM_ASSENTO : indice;
+                }
+            }
+            if (correspondeAPlanta) {
+                inicioFileira[layout.getFileiras()] = celulas.length;
+                return new MapaFileirasAssentos(inicioFileira, celulas, colunas);
+            }
+        }
+        return construirPelosIdentificadores(assentos);
+    }
+
+    private static MapaFileirasAssentos construirPelosIdentificadores(List<Assento> assentos) {
+        // Ordem das fileiras: mais curtas primeiro, depois alfabética ("A".."Z", "AA"...)
+        Map<String, List<int[]>> colunasPorFileira = new TreeMap<>(
+                Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder()));
+        for (int i = 0; i < assentos.size(); i++) {
+            String posicao = assentos.get(i).getIdentificadorPosicao().trim().toUpperCase(Locale.ROOT);
+            int inicioNumero = posicao.length();
+            while (inicioNumero > 0 && Character.isDigit(posicao.charAt(inicioNumero - 1))) {
+                inicioNumero--;
+            }
+            int digitos = posicao.length() - inicioNumero;
+            if (digitos == 0 || digitos > 6) {
+                continue; // Sem coluna numérica reconhecível: o assento não participa de blocos
+            }
+            int coluna = Integer.parseInt(posicao.substring(inicioNumero));
+            colunasPorFileira.computeIfAbsent(posicao.substring(0, inicioNumero), f -> new ArrayList<>())
+                    .add(new int[]{coluna, i});
+        }
+
+        int[] inicioFileira = new int[colunasPorFileira.size() + 1];
+        List<int[]> faixas = new ArrayList<>(colunasPorFileira.size());
+        int totalCelulas = 0;
+        int larguraMaxima = 0;
+        int fileira = 0;
+        for (List<int[]> colunas : colunasPorFileira.values()) {
+            int minima = Integer.MAX_VALUE;
+            int maxima = Integer.MIN_VALUE;
+            for (int[] coluna : colunas) {
+                minima = Math.min(minima, coluna[0]);
+                maxima = Math.max(maxima, coluna[0]);
+            }
+            int largura = maxima - minima + 1;
+            inicioFileira[fileira++] = totalCelulas;
+            faixas.add(new int[]{minima, largura});
+            totalCelulas += largura;
+            larguraMaxima = Math.max(larguraMaxima, largura);
+        }
+        inicioFileira[fileira] = totalCelulas;
+
+        int[] celulas = new int[totalCelulas];
+        Arrays.fill(celulas, SEM_ASSENTO);
+        fileira = 0;
+        for (List<int[]> colunas : colunasPorFileira.values()) {
+            int minima = faixas.get(fileira)[0];
+            for (int[] coluna : colunas) {
+                celulas[inicioFileira[fileira] + coluna[0] - minima] = coluna[1];
+            }
+            fileira++;
+        }
+        return new MapaFileirasAssentos(inicioFileira, celulas, larguraMaxima);
+    }
+
+    /**
+     * Procura o melhor bloco de assentos adjacentes livres, numa passada pelo bitmap de cada fileira.
+     * "Melhor" = fileira mais próxima de 2/3 da sala (a partir da frente) e, nela, bloco mais próximo do centro.
+     * @param estadoCompacto Estado (tipo << 4 | status) de cada assento, na ordem da lista da Sessao.
+     * @param quantidade Tamanho do bloco.
+     * @param tipoAssento Tipo exigido; null aceita qualquer tipo exceto PCD (reservados a quem precisa).
+     * @return Índices (na lista da Sessao) dos assentos do bloco, da esquerda para a direita; null se não houver.
+     */
+    int[] buscarMelhorBloco(byte[] estadoCompacto, int quantidade, TipoAssento tipoAssento) {
+        int fileiras = inicioFileira.length - 1;
+        if (quantidade <= 0 || quantidade > larguraMaxima) {
+            return null;
+        }
+        int fileiraIdealDobrada = (fileiras - 1) * 4 / 3; // 2 * (2/3 da última fileira), em inteiros
+        long[] livres = new long[(larguraMaxima + 63) >>> 6];
+        int melhorPontuacao = Integer.MAX_VALUE;
+        int melhorBase = -1;
+
+        for (int fileira = 0; fileira < fileiras; fileira++) {
+            int base = inicioFileira[fileira];
+            int largura = inicioFileira[fileira + 1] - base;
+            int pontuacaoFileira = PESO_FILEIRA * Math.abs(2 * fileira - fileiraIdealDobrada);
+            if (largura < quantidade || pontuacaoFileira >= melhorPontuacao) {
+                continue;
+            }
+            Arrays.fill(livres, 0, (largura + 63) >>> 6, 0L);
+            for (int coluna = 0; coluna < largura; coluna++) {
+                int indice = celulas[base + coluna];
+                if (indice != SEM_ASSENTO && atende(estadoCompacto[indice], tipoAssento)) {
+                    livres[coluna >>> 6] |= 1L << coluna;
+                }
+            }
+
+            int inicioIdeal = (largura - quantidade) / 2;
+            int inicioCorrida = proximoBit(livres, 0, largura, true);
+            while (inicioCorrida < largura) {
+                int fimCorrida = proximoBit(livres, inicioCorrida, largura, false);
+                if (fimCorrida - inicioCorrida >= quantidade) {
+                    // Dentro da corrida livre, encosta o bloco o mais perto possível do centro da fileira
+                    int inicio = Math.max(inicioCorrida, Math.min(inicioIdeal, fimCorrida - quantidade));
+                    int pontuacao = pontuacaoFileira + Math.abs(2 * inicio + quantidade - largura);
+                    if (pontuacao < melhorPontuacao) {
+                        melhorPontuacao = pontuacao;
+                        melhorBase = base + inicio;
+                    }
+                }
+                inicioCorrida = proximoBit(livres, fimCorrida, largura, true);
+            }
+        }
+        return melhorBase < 0 ? null : Arrays.copyOfRange(celulas, melhorBase, melhorBase + quantidade);
+    }
+
+    private static boolean atende(byte estado, TipoAssento tipoAssento) {
+        if ((estado & 0x0F) != StatusAssento.DISPONIVEL.ordinal()) {
+            return false;
+        }
+        int tipo = estado >>> 4;
+        return tipoAssento == null ? tipo != TipoAssento.PCD.ordinal() : tipo == tipoAssento.ordinal();
+    }
+
+    // Primeira coluna >= inicio cujo bit vale 'valor' (ou 'limite' se não houver)
+    private static int proximoBit(long[] bits, int inicio, int limite, boolean valor) {
+        int palavra = inicio >>> 6;
+        if (palavra >= bits.length) {
+            return limite;
+        }
+        long atual = (valor ? bits[palavra] : ~bits[palavra]) & (-1L << inicio);
+        while (true) {
+            if (atual != 0) {
+                return Math.min(limite, (palavra << 6) + Long.numberOfTrailingZeros(atual));
+            }
+            if (++palavra >= bits.length || (palavra << 6) >= limite) {
+                return limite;
+            }
+            atual = valor ? bits[palavra] : ~bits[palavra];
+        }
+    }
+}
@@ -6,29 +6,54 @@ import com.cinetech.api.dominio.modelos.assento.Assento;
 import com.cinetech.api.dominio.modelos.assento.AssentoId;
 import com.cinetech.api.dominio.modelos.cliente.Cliente;
 import com.cinetech.api.dominio.modelos.cliente.ClienteId;
+import com.cinetech.api.dominio.modelos.comum.Dinheiro;
+import com.cinetech.api.dominio.modelos.comum.Percentual;
 import com.cinetech.api.dominio.enums.StatusAssento;
 import com.cinetech.api.dominio.enums.StatusSessao;
+import com.cinetech.api.dominio.eventos.AgregadoComEventos;
 import com.cinetech.api.dominio.modelos.filme.Filme;
+import com.cinetech.api.dominio.modelos.sala.LayoutSala;
 import com.cinetech.api.dominio.modelos.sala.Sala;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
-public class Sessao {
+public class Sessao extends AgregadoComEventos {
     private final SessaoId id;
     private Filme filme;
     private Sala sala;
     private LocalDateTime dataHoraInicio;
     private TipoExibicao tipoExibicao; // "2D/3D" [cite: 4]
     private BigDecimal precoIngressoBase;
+    private Dinheiro precoBase; // O mesmo preço em centavos, usado nos cálculos
     private StatusSessao status;
     private final List<Assento> assentos;
+    // Índices internos mantidos junto à lista de assentos:
+    // posição normalizada (trim + maiúsculas) -> posição na lista, para buscas O(1);
+    // e um byte por assento com (tipo << 4 | status), para varreduras de lotação sem percorrer objetos.
+    private final Map<String, Integer> indicePorPosicao;
+    private byte[] estadoCompactoAssentos;
+    // Contadores vivos por StatusAssento (índice = ordinal), atualizados a cada mudança de estado de um Assento.
+    // Assentos PCD bloqueados são contados à parte por não serem considerados "vendáveis" na lotação (F2).
+    private final int[] contagemPorStatus = new int[StatusAssento.values().length];
+    private int assentosPcdBloqueados;
+    // Disposição em fileiras para busca de blocos contíguos; calculada sob demanda e descartada quando a lista muda
+    private MapaFileirasAssentos mapaFileiras;
+    // Versão do registro persistido, para controle de concorrência otimista (null enquanto a sessão não foi gravada)
+    private final Long versao;
+    // Planta da sala no momento do agendamento. Com ela a sessão é "esparsa": só os assentos que já mudaram de estado
+    // têm registro gravado, e os demais são materializados daqui como DISPONIVEIS. Null = todos os assentos gravados.
+    private LayoutSala plantaAssentos;
 
     // Construtor para nova sessão
     public Sessao(Filme filme, Sala sala, LocalDateTime dataHoraInicio, TipoExibicao tipoExibicao, BigDecimal precoIngressoBase) {
@@ -46,13 +71,30 @@ public class Sessao {
         setTipoExibicao(tipoExibicao);
         setPrecoIngressoBase(precoIngressoBase);
         this.status = Objects.requireNonNull(status, "Status da Sessão não pode ser nulo.");
-        this.assentos = new ArrayList<>(Objects.requireNonNull(assentosExistentes, "Lista de assentos não pode ser nula."));
+        this.versao = null;
+        Objects.requireNonNull(assentosExistentes, "Lista de assentos não pode ser nula.");
+        int capacidadeInicial = Math.max(assentosExistentes.size(), this.sala.getCapacidadeTotal());
+        this.assentos = new ArrayList<>(capacidadeInicial);
+        this.indicePorPosicao = new HashMap<>(capacidadeInicial * 4 / 3 + 1);
+        this.estadoCompactoAssentos = new byte[capacidadeInicial];
+        assentosExistentes.forEach(this::indexarNovoAssento);
         // Valida se os assentos existentes realmente pertencem a esta sessão (se Assento tiver back-reference)
         // Como Assento tem `final Sessao sessao`, o construtor de Assento já faria essa ligação.
     }
 
     public Sessao(SessaoId id, Filme filme, Sala sala, LocalDateTime dataHoraInicio,
                   TipoExibicao tipoExibicao, BigDecimal precoIngressoBase, StatusSessao status) {
+        this(id, filme, sala, dataHoraInicio, tipoExibicao, precoIngressoBase, status, (Long) null);
+    }
+
+    public Sessao(SessaoId id, Filme filme, Sala sala, LocalDateTime dataHoraInicio,
+                  TipoExibicao tipoExibicao, BigDecimal precoIngressoBase, StatusSessao status, Long versao) {
+        this(id, filme, sala, dataHoraInicio, tipoExibicao, precoIngressoBase, status, versao, null);
+    }
+
+    // Reconstituição do cabeçalho com a versão e a planta lidas do repositório (assentos via reconstituirAssentos)
+    public Sessao(SessaoId id, Filme filme, Sala sala, LocalDateTime dataHoraInicio, TipoExibicao tipoExibicao,
+                  BigDecimal precoIngressoBase, StatusSessao status, Long versao, LayoutSala plantaAssentos) {
         this.id = Objects.requireNonNull(id, "ID da Sessão não pode ser nulo.");
         // Validações internas via setters
         setFilme(filme);
@@ -61,7 +103,12 @@ public class Sessao {
         setTipoExibicao(tipoExibicao);
         setPrecoIngressoBase(precoIngressoBase);
         this.status = Objects.requireNonNull(status, "Status da Sessão não pode ser nulo.");
-        this.assentos = new ArrayList<>(); // Inicializa a lista de assentos vazia
+        this.versao = versao;
+        this.plantaAssentos = plantaAssentos;
+        int capacidadeInicial = plantaAssentos != null ? plantaAssentos.getQuantidadeAssentos() : this.sala.getCapacidadeTotal();
+        this.assentos = new ArrayList<>(capacidadeInicial); // Inicializa a lista de assentos vazia
+        this.indicePorPosicao = new HashMap<>(capacidadeInicial * 4 / 3 + 1);
+        this.estadoCompactoAssentos = new byte[capacidadeInicial];
     }
 
     // Getters
@@ -69,10 +116,26 @@ public class Sessao {
     public Filme getFilme() { return filme; }
     public Sala getSala() { return sala; }
     public LocalDateTime getDataHoraInicio() { return dataHoraInicio; }
+    // Término estimado: início + duração do filme (é o período usado na verificação de conflito da sala)
+    public LocalDateTime getDataHoraFim() { return dataHoraInicio.plusMinutes(filme.getDuracaoMinutos()); }
     public TipoExibicao getTipoExibicao() { return tipoExibicao; }
     public BigDecimal getPrecoIngressoBase() { return precoIngressoBase; }
+    public Dinheiro getPrecoBase() { return precoBase; }
     public StatusSessao getStatus() { return status; }
     public List<Assento> getAssentos() { return Collections.unmodifiableList(assentos); }
+    public Long getVersao() { return versao; }
+    public LayoutSala getPlantaAssentos() { return plantaAssentos; }
+
+    /**
+     * Totais por status dos assentos carregados neste agregado, mantidos incrementalmente (O(1)).
+     */
+    public ContagemAssentos getContagemAssentos() {
+        return new ContagemAssentos(
+                contagemPorStatus[StatusAssento.DISPONIVEL.ordinal()],
+                contagemPorStatus[StatusAssento.RESERVADO_TEMP.ordinal()],
+                contagemPorStatus[StatusAssento.OCUPADO_FINAL.ordinal()],
+                contagemPorStatus[StatusAssento.BLOQUEADO.ordinal()]);
+    }
 
     // Setters (controlados)
     public void setFilme(Filme filme) {
@@ -106,6 +169,7 @@ public class Sessao {
             throw new IllegalArgumentException("Preço base do ingresso não pode ser nulo ou negativo.");
         }
         this.precoIngressoBase = precoIngressoBase;
+        this.precoBase = Dinheiro.de(precoIngressoBase);
     }
 
 
@@ -113,21 +177,31 @@ public class Sessao {
 
     private void gerarAssentosComBaseNaSala() {
         this.assentos.clear(); // Limpa assentos existentes se houver (cuidado se já houve vendas)
+        this.indicePorPosicao.clear();
+        Arrays.fill(this.contagemPorStatus, 0);
+        this.assentosPcdBloqueados = 0;
+        this.mapaFileiras = null;
         if (this.sala == null) {
             throw new IllegalStateException("Sala não definida para gerar assentos.");
         }
-        // Lógica simplificada de geração de assentos. Uma sala real teria um layout.
-        // Ex: 10 fileiras (A-J) de 10 cadeiras (1-10) = 100 assentos
-        // A informação de quais são COMUM, VIP, PCD viria do layout da Sala [cite: 4, 13]
-        // Aqui, vamos criar todos como COMUM por simplicidade.
-        int capacidade = this.sala.getCapacidadeTotal();
-        for (int i = 0; i < capacidade; i++) {
-            // Lógica para gerar identificador (ex: "A1", "A2", ...)
-            String identificador = "Assento-" + (i + 1);
-            // Tipo de assento viria do layout da sala.
-            this.assentos.add(new Assento(this, identificador, TipoAssento.COMUM));
+        // Cópia do modelo da planta da sala [cite: 4, 13]: identificadores e tipos já calculados,
+        // todos os assentos começam DISPONIVEIS, então os contadores são definidos de uma vez.
+        LayoutSala layout = this.sala.getLayout();
+        this.plantaAssentos = layout;
+        List<String> identificadores = layout.getIdentificadoresAssentos();
+        int quantidade = identificadores.size();
+        if (this.estadoCompactoAssentos.length < quantidade) {
+            this.estadoCompactoAssentos = new byte[quantidade];
         }
-        System.out.println("INFO DOMINIO: " + this.assentos.size() + " assentos gerados para sessão " + this.id + " na sala " + this.sala.getNome());
+        for (int i = 0; i < quantidade; i++) {
+            TipoAssento tipo = layout.getTipoAssento(i);
+            String identificador = identificadores.get(i);
+            this.assentos.add(new Assento(AssentoId.daPosicao(this.id, identificador), this, identificador, tipo,
+                    StatusAssento.DISPONIVEL, null, null));
+            this.indicePorPosicao.put(identificador, i); // Identificadores da planta já estão normalizados
+            this.estadoCompactoAssentos[i] = (byte) (tipo.ordinal() << 4 | StatusAssento.DISPONIVEL.ordinal());
+        }
+        this.contagemPorStatus[StatusAssento.DISPONIVEL.ordinal()] = quantidade;
     }
 
     /**
@@ -142,27 +216,122 @@ public class Sessao {
             throw new IllegalArgumentException("Tentativa de adicionar assento (ID: " + assento.getId() +
                     ") que não pertence a esta sessão (ID: " + this.id + ").");
         }
-        // Verifica se já existe um assento com o mesmo identificador de posição
-        if (this.assentos.stream().anyMatch(a -> a.getIdentificadorPosicao().equalsIgnoreCase(assento.getIdentificadorPosicao()))) {
+        // Verifica se já existe um assento com o mesmo identificador de posição (busca O(1) no índice)
+        Integer indiceExistente = this.indicePorPosicao.get(normalizarPosicao(assento.getIdentificadorPosicao()));
+        if (indiceExistente != null) {
             // Se for durante a reconstituição e o assento já estiver lá, não precisa adicionar de novo.
             // Se for uma tentativa de adicionar um novo com mesmo identificador, é um erro.
-            // Vamos assumir que esta verificação é para evitar duplicatas durante a montagem.
-            boolean jaExisteComMesmoId = this.assentos.stream().anyMatch(a -> a.getId().equals(assento.getId()));
-            if (!jaExisteComMesmoId) {
+            if (!this.assentos.get(indiceExistente).getId().equals(assento.getId())) {
                 throw new IllegalStateException("Assento com identificador de posição '" + assento.getIdentificadorPosicao() + "' já existe nesta sessão.");
             } // Se já existe com mesmo ID, não precisa adicionar novamente.
         } else {
-            this.assentos.add(assento);
+            indexarNovoAssento(assento);
+        }
+    }
+
+    /**
+     * Reconstitui os assentos da sessão a partir dos registros gravados (agregado completo).
+     * Em sessão esparsa, os assentos sem registro são materializados da planta, DISPONIVEIS e com o mesmo ID
+     * de sempre (AssentoId.daPosicao), na ordem da planta; sem planta, só os registros são usados.
+     * @param assentosGravados Os assentos lidos do repositório, já ligados a esta sessão.
+     */
+    public void reconstituirAssentos(Collection<Assento> assentosGravados) {
+        Objects.requireNonNull(assentosGravados, "Lista de assentos não pode ser nula.");
+        if (!this.assentos.isEmpty()) {
+            throw new IllegalStateException("Assentos da sessão " + this.id + " já foram carregados.");
+        }
+        if (this.plantaAssentos == null) {
+            assentosGravados.forEach(this::adicionarAssento);
+            return;
+        }
+        Map<String, Assento> gravadosPorPosicao = new HashMap<>(assentosGravados.size() * 4 / 3 + 1);
+        assentosGravados.forEach(assento -> gravadosPorPosicao.put(normalizarPosicao(assento.getIdentificadorPosicao()), assento));
+        int quantidade = this.plantaAssentos.getQuantidadeAssentos();
+        if (this.estadoCompactoAssentos.length < quantidade) {
+            this.estadoCompactoAssentos = new byte[quantidade];
+        }
+        List<String> identificadores = this.plantaAssentos.getIdentificadoresAssentos();
+        for (int i = 0; i < quantidade; i++) {
+            Assento gravado = gravadosPorPosicao.remove(identificadores.get(i));
+            if (gravado != null) {
+                adicionarAssento(gravado); // Valida que o registro pertence a esta sessão
+            } else {
+                indexarNovoAssento(assentoPadraoDaPlanta(i));
+            }
         }
+        gravadosPorPosicao.values().forEach(this::adicionarAssento); // Registro fora da planta: mantido como está
+    }
+
+    /**
+     * Materializa da planta um único assento que ainda não tem registro (leitura parcial de buscarPorIdComAssento).
+     * Não faz nada se a posição já estiver carregada, não existir na planta ou a sessão não for esparsa.
+     */
+    public void materializarAssentoDaPlanta(String identificadorPosicao) {
+        if (this.plantaAssentos == null || identificadorPosicao == null || identificadorPosicao.trim().isEmpty()
+                || this.indicePorPosicao.containsKey(normalizarPosicao(identificadorPosicao))) {
+            return;
+        }
+        int indice = this.plantaAssentos.indiceAssentoDaPosicao(identificadorPosicao);
+        if (indice >= 0) {
+            indexarNovoAssento(assentoPadraoDaPlanta(indice));
+        }
+    }
+
+    private Assento assentoPadraoDaPlanta(int indice) {
+        String identificador = this.plantaAssentos.getIdentificadoresAssentos().get(indice);
+        return new Assento(AssentoId.daPosicao(this.id, identificador), this, identificador,
+                this.plantaAssentos.getTipoAssento(indice), StatusAssento.DISPONIVEL, null, null);
     }
 
     public Optional<Assento> buscarAssentoPorIdentificador(String identificadorAssento) {
         if (identificadorAssento == null || identificadorAssento.trim().isEmpty()) {
             throw new IllegalArgumentException("Identificador do assento não pode ser vazio.");
         }
-        return this.assentos.stream()
-                .filter(a -> a.getIdentificadorPosicao().equalsIgnoreCase(identificadorAssento.trim()))
-                .findFirst();
+        Integer indice = this.indicePorPosicao.get(normalizarPosicao(identificadorAssento));
+        return indice == null ? Optional.empty() : Optional.of(this.assentos.get(indice));
+    }
+
+    /**
+     * Atualiza o estado compacto de um assento deste agregado após uma mudança de status.
+     * Chamado pelo próprio Assento; não deve ser usado fora do agregado.
+     * Assentos ainda não adicionados à sessão (ex: durante a reconstituição) são ignorados.
+     */
+    public void registrarMudancaStatusAssento(Assento assento) {
+        Integer indice = this.indicePorPosicao.get(normalizarPosicao(assento.getIdentificadorPosicao()));
+        if (indice != null && this.assentos.get(indice) == assento) {
+            contabilizar(this.estadoCompactoAssentos[indice], -1);
+            this.estadoCompactoAssentos[indice] = compactarEstado(assento);
+            contabilizar(this.estadoCompactoAssentos[indice], +1);
+        }
+    }
+
+    private void indexarNovoAssento(Assento assento) {
+        int indice = this.assentos.size();
+        this.assentos.add(assento);
+        this.indicePorPosicao.put(normalizarPosicao(assento.getIdentificadorPosicao()), indice);
+        if (indice == this.estadoCompactoAssentos.length) {
+            this.estadoCompactoAssentos = Arrays.copyOf(this.estadoCompactoAssentos, Math.max(16, indice * 2));
+        }
+        this.estadoCompactoAssentos[indice] = compactarEstado(assento);
+        contabilizar(this.estadoCompactoAssentos[indice], +1);
+        this.mapaFileiras = null;
+    }
+
+    private void contabilizar(byte estadoCompacto, int delta) {
+        int statusAssento = estadoCompacto & 0x0F;
+        this.contagemPorStatus[statusAssento] += delta;
+        if (statusAssento == StatusAssento.BLOQUEADO.ordinal() && (estadoCompacto >>> 4) == TipoAssento.PCD.ordinal()) {
+            this.assentosPcdBloqueados += delta;
+        }
+    }
+
+    private static String normalizarPosicao(String identificadorPosicao) {
+        // Equivalente ao equalsIgnoreCase(trim()) usado antes na busca linear
+        return identificadorPosicao.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static byte compactarEstado(Assento assento) {
+        return (byte) ((assento.getTipo().ordinal() << 4) | assento.getStatus().ordinal());
     }
 
     public Assento reservarAssentoTemporariamente(String identificadorAssento, ClienteId clienteId, int minutosParaExpirar) { // F1
@@ -179,6 +348,51 @@ public class Sessao {
         return assento;
     }
 
+    /**
+     * Encontra o melhor bloco de 'quantidade' assentos adjacentes e DISPONIVEIS na mesma fileira (compra em grupo).
+     * Exige o agregado completo (buscarPorId), não a Sessao parcial de buscarPorIdComAssento.
+     * @param quantidade Número de assentos do grupo.
+     * @param tipoAssento Tipo exigido, ou null para qualquer tipo exceto PCD.
+     * @return Os assentos do bloco, da esquerda para a direita; lista vazia se não houver bloco.
+     */
+    public List<Assento> buscarMelhorBlocoContiguo(int quantidade, TipoAssento tipoAssento) {
+        if (quantidade <= 0) {
+            throw new IllegalArgumentException("Quantidade de assentos do bloco deve ser positiva.");
+        }
+        if (this.mapaFileiras == null) {
+            LayoutSala layout = this.plantaAssentos != null ? this.plantaAssentos : this.sala.getLayout();
+            this.mapaFileiras = MapaFileirasAssentos.construir(layout, this.indicePorPosicao, this.assentos);
+        }
+        int[] indices = this.mapaFileiras.buscarMelhorBloco(this.estadoCompactoAssentos, quantidade, tipoAssento);
+        if (indices == null) {
+            return List.of();
+        }
+        List<Assento> bloco = new ArrayList<>(indices.length);
+        for (int indice : indices) {
+            bloco.add(this.assentos.get(indice));
+        }
+        return bloco;
+    }
+
+    /**
+     * Reserva temporariamente, de uma vez, o melhor bloco contíguo de assentos para um cliente. (F1)
+     * Ou todos os assentos do bloco são reservados, ou nenhum.
+     * @throws IllegalStateException Se a sessão não aceitar reservas ou não houver bloco disponível.
+     */
+    public List<Assento> reservarMelhorBlocoContiguo(int quantidade, TipoAssento tipoAssento, ClienteId clienteId, int minutosParaExpirar) { // F1
+        if (!permiteNovasComprasOuReservas()) {
+            throw new IllegalStateException("Sessão ID " + this.id + " não está aberta para novas reservas (status: " + this.status + ").");
+        }
+        List<Assento> bloco = buscarMelhorBlocoContiguo(quantidade, tipoAssento);
+        if (bloco.isEmpty()) {
+            throw new IllegalStateException("Não há " + quantidade + " assentos contíguos disponíveis" +
+                    (tipoAssento != null ? " do tipo " + tipoAssento : "") + " na sessão " + this.id + ".");
+        }
+        // Todos os assentos do bloco estão DISPONIVEIS (lidos do estado compacto), então nenhuma reserva falha no meio
+        bloco.forEach(assento -> assento.reservarTemporariamente(clienteId, minutosParaExpirar));
+        return bloco;
+    }
+
     public Assento confirmarOcupacaoAssento(String identificadorAssento, ClienteId clienteIdQueReservou) { // F1
         if (this.status == StatusSessao.CANCELADA || this.status == StatusSessao.FINALIZADA || this.status == StatusSessao.LOTADA) {
             throw new IllegalStateException("Não é possível confirmar assento em sessão com status: " + this.status);
@@ -225,19 +439,21 @@ public class Sessao {
      * Considera um assento como "vendável" se não for BLOQUEADO.
      * A sessão é LOTADA se todos os assentos vendáveis estão OCUPADO_FINAL.
      * Reservas temporárias não contam para lotação total final, mas impedem seleção.
+     * Usa os contadores incrementais, portanto é O(1). Em uma Sessao carregada parcialmente
+     * (buscarPorIdComAssento) os contadores cobrem só os assentos carregados: não chame este método nela.
      */
     public void verificarEAtualizarStatusLotacao() {
         if (!podeTerStatusLotacaoAlterado()) return;
 
-        boolean todosVendaveisOcupados = this.assentos.stream()
-                .filter(a -> a.getTipo() != TipoAssento.PCD || a.getStatus() != StatusAssento.BLOQUEADO) // Exemplo simples de filtro para assentos "vendáveis"
-                .allMatch(a -> a.getStatus() == StatusAssento.OCUPADO_FINAL);
+        // Vendáveis = todos menos os PCD bloqueados (exemplo simples de filtro para assentos "vendáveis")
+        int assentosVendaveis = this.assentos.size() - this.assentosPcdBloqueados;
+        boolean todosVendaveisOcupados = this.contagemPorStatus[StatusAssento.OCUPADO_FINAL.ordinal()] == assentosVendaveis;
 
         if (todosVendaveisOcupados) {
             if (this.status != StatusSessao.LOTADA) {
                 this.status = StatusSessao.LOTADA;
                 System.out.println("INFO DOMINIO: Sessão " + this.id + " marcada como LOTADA.");
-                // Gerar evento de domínio: SessaoLotadaEvent(this.id)
+                registrarEvento(new SessaoLotada(this.id, LocalDateTime.now()));
             }
         } else {
             if (this.status == StatusSessao.LOTADA) { // Se estava lotada e agora não está mais
@@ -273,7 +489,7 @@ public class Sessao {
             }
         });
         System.out.println("INFO DOMINIO: Sessão " + this.id + " ("+ statusAnterior + ") foi CANCELADA e assentos liberados.");
-        // Gerar evento de domínio: SessaoCanceladaEvent(this.id)
+        registrarEvento(new SessaoCancelada(this.id, statusAnterior, LocalDateTime.now()));
     }
 
     /**
@@ -296,12 +512,12 @@ public class Sessao {
      * Promoções mais complexas (horário, etc.) seriam tratadas por um Application Service
      * que consulta entidades Promocao.
      */
-    public BigDecimal calcularPrecoParaCliente(Cliente cliente) {
+    public Dinheiro calcularPrecoParaCliente(Cliente cliente) {
         Objects.requireNonNull(cliente, "Cliente não pode ser nulo para cálculo de preço.");
         if (cliente.elegivelParaMeiaEntrada()) { // F5 [cite: 16]
-            return this.precoIngressoBase.multiply(new BigDecimal("0.5")).setScale(2, RoundingMode.HALF_UP);
+            return this.precoBase.multiplicar(Percentual.METADE);
         }
-        return this.precoIngressoBase;
+        return this.precoBase;
     }
 
 
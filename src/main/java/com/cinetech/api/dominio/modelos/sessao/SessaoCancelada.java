@@ -0,0 +1,8 @@
+package com.cinetech.api.dominio.modelos.sessao;
+
+import com.cinetech.api.dominio.enums.StatusSessao;
+import com.cinetech.api.dominio.eventos.EventoDominio;
+
+import java.time.LocalDateTime;
+
+public record SessaoCancelada(SessaoId sessaoId, StatusSessao statusAnterior, LocalDateTime ocorridoEm) implements EventoDominio {}
@@ -1,12 +1,14 @@
 package com.cinetech.api.dominio.modelos.sessao;
 
+import com.cinetech.api.dominio.modelos.comum.UuidOrdenadoPorTempo;
+
 import java.util.Objects;
 import java.util.UUID;
 
 public final class SessaoId {
     private final UUID valor;
     private SessaoId(UUID valor) { this.valor = Objects.requireNonNull(valor, "Valor do ID da Sessao não pode ser nulo."); }
-    public static SessaoId novo() { return new SessaoId(UUID.randomUUID()); }
+    public static SessaoId novo() { return new SessaoId(UuidOrdenadoPorTempo.novo()); }
     public static SessaoId de(String valorStr) {
         Objects.requireNonNull(valorStr, "String de ID da Sessao não pode ser nula.");
         try { return new SessaoId(UUID.fromString(valorStr)); }
@@ -0,0 +1,7 @@
+package com.cinetech.api.dominio.modelos.sessao;
+
+import com.cinetech.api.dominio.eventos.EventoDominio;
+
+import java.time.LocalDateTime;
+
+public record SessaoLotada(SessaoId sessaoId, LocalDateTime ocorridoEm) implements EventoDominio {}
@@ -0,0 +1,37 @@
+package com.cinetech.api.dominio.modelos.sessao;
+
+import com.cinetech.api.dominio.enums.StatusSessao;
+import com.cinetech.api.dominio.enums.TipoExibicao;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Visão de leitura de uma sessão para listagens: só o cabeçalho e a contagem de assentos livres,
+ * sem filme, sala ou mapa de assentos. Não é um agregado e não pode ser alterada nem salva.
+ */
+public record SessaoResumo(
+        SessaoId id,
+        LocalDateTime dataHoraInicio,
+        LocalDateTime dataHoraFim,
+        String nomeSala,
+        TipoExibicao tipoExibicao,
+        BigDecimal precoIngressoBase,
+        StatusSessao status,
+        int assentosDisponiveis
+) {
+
+    public SessaoResumo {
+        Objects.requireNonNull(id, "ID da sessão não pode ser nulo.");
+        Objects.requireNonNull(dataHoraInicio, "Data/hora de início não pode ser nula.");
+        Objects.requireNonNull(status, "Status da sessão não pode ser nulo.");
+    }
+
+    // Usado pela expressão construtora da consulta JPQL, que devolve a chave primitiva
+    public SessaoResumo(UUID id, LocalDateTime dataHoraInicio, LocalDateTime dataHoraFim, String nomeSala,
+                        TipoExibicao tipoExibicao, BigDecimal precoIngressoBase, StatusSessao status, int assentosDisponiveis) {
+        this(SessaoId.de(id), dataHoraInicio, dataHoraFim, nomeSala, tipoExibicao, precoIngressoBase, status, assentosDisponiveis);
+    }
+}
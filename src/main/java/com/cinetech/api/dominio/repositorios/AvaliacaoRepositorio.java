@@ -63,5 +63,13 @@ public interface AvaliacaoRepositorio {
      */
     List<Avaliacao> buscarTodas();
 
+    /**
+     * Busca a página de avaliações seguinte ao ID informado, em ordem crescente de ID (paginação por chave, sem OFFSET).
+     * @param aposId Opcional: ID do último item da página anterior; vazio para a primeira página.
+     * @param tamanhoPagina Quantidade máxima de avaliações na página.
+     * @return Até tamanhoPagina avaliações; uma lista menor indica a última página.
+     */
+    List<Avaliacao> buscarPaginaAposId(Optional<AvaliacaoId> aposId, int tamanhoPagina);
+
     // void deletarPorId(AvaliacaoId avaliacaoId);
 }
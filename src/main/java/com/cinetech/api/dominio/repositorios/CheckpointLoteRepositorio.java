@@ -0,0 +1,21 @@
+package com.cinetech.api.dominio.repositorios;
+
+import com.cinetech.api.dominio.modelos.lote.CheckpointLote;
+
+import java.util.Optional;
+
+public interface CheckpointLoteRepositorio {
+
+    /**
+     * Busca o checkpoint da rotina.
+     * @param rotina O nome da rotina.
+     * @return Um Optional com o checkpoint, ou Optional.empty() se a rotina nunca rodou.
+     */
+    Optional<CheckpointLote> buscarPorRotina(String rotina);
+
+    /**
+     * Grava (insere ou substitui) o checkpoint da rotina, em transação própria se não houver uma ativa.
+     * @param checkpoint O checkpoint a gravar.
+     */
+    void salvar(CheckpointLote checkpoint);
+}
@@ -3,8 +3,11 @@ package com.cinetech.api.dominio.repositorios;
 
 import com.cinetech.api.dominio.modelos.cliente.Cliente;
 import com.cinetech.api.dominio.modelos.cliente.ClienteId;
+import com.cinetech.api.dominio.modelos.credito.CreditoCompensacao;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -46,6 +49,40 @@ public interface ClienteRepositorio {
      */
     List<Cliente> buscarTodos();
 
+    /**
+     * Busca a página de clientes seguinte ao ID informado, em ordem crescente de ID (paginação por chave, sem OFFSET).
+     * @param aposId Opcional: ID do último item da página anterior; vazio para a primeira página.
+     * @param tamanhoPagina Quantidade máxima de clientes na página.
+     * @return Até tamanhoPagina clientes; uma lista menor indica a última página.
+     */
+    List<Cliente> buscarPaginaAposId(Optional<ClienteId> aposId, int tamanhoPagina);
+
+    /**
+     * Busca, em ordem crescente e após o cursor, só os IDs dos clientes que têm algum lote de pontos
+     * de fidelidade que não está mais válido (vencido ou totalmente utilizado) na data de referência.
+     * @param aposId Opcional: último ID já lido; vazio para começar do início.
+     * @param dataReferencia A data de referência da validade.
+     * @param quantidade Quantidade máxima de IDs.
+     * @return Os IDs encontrados; uma lista menor que a quantidade indica o fim.
+     */
+    List<ClienteId> buscarIdsComPontosFidelidadeObsoletos(Optional<ClienteId> aposId, LocalDate dataReferencia, int quantidade);
+
+    /**
+     * Busca os clientes informados, com pontos e créditos. IDs inexistentes são ignorados.
+     * @param clienteIds Os IDs dos clientes.
+     * @return Os clientes encontrados, em qualquer ordem.
+     */
+    List<Cliente> buscarPorIds(Collection<ClienteId> clienteIds);
+
+    /**
+     * Grava créditos de compensação novos direto na coleção de créditos de seus clientes, em inserts agrupados,
+     * sem carregar nem gravar os agregados Cliente. Clientes já carregados não enxergam os créditos até serem relidos.
+     * @param creditos Os créditos recém-criados (de qualquer cliente).
+     * @return Quantidade de créditos gravados.
+     * @throws org.springframework.dao.DataIntegrityViolationException Se já houver crédito da mesma sessão para o mesmo ingresso.
+     */
+    int adicionarCreditosCompensacao(List<CreditoCompensacao> creditos);
+
     @Transactional(readOnly = true)
     boolean existePorIdValorPrimitivo(UUID idPrimitivo);
 
@@ -0,0 +1,38 @@
+package com.cinetech.api.dominio.repositorios;
+
+import com.cinetech.api.dominio.modelos.outbox.EventoOutbox;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface EventoOutboxRepositorio {
+
+    /**
+     * Grava um evento novo ou atualizado. Chamado dentro da transação da mudança de origem,
+     * o evento só existe se a mudança for confirmada.
+     * @param evento O evento a gravar.
+     */
+    void salvar(EventoOutbox evento);
+
+    /**
+     * Busca um evento pelo ID.
+     * @param id O ID do evento.
+     * @return Um Optional com o evento, ou Optional.empty() se não existir.
+     */
+    Optional<EventoOutbox> buscarPorId(UUID id);
+
+    /**
+     * Busca os eventos pendentes já disponíveis para entrega, dos mais antigos para os mais novos.
+     * @param agora Referência para a disponibilidade (eventos com nova tentativa agendada para depois ficam de fora).
+     * @param limite Quantidade máxima de eventos.
+     * @return Lista de eventos pendentes, vazia se não houver.
+     */
+    List<EventoOutbox> buscarPendentesDisponiveis(LocalDateTime agora, int limite);
+
+    /**
+     * Conta os eventos ainda não entregues, disponíveis ou aguardando nova tentativa.
+     */
+    long contarPendentes();
+}
@@ -37,6 +37,14 @@ public interface FilmeRepositorio {
      */
     List<Filme> buscarTodos();
 
+    /**
+     * Busca a página de filmes seguinte ao ID informado, em ordem crescente de ID (paginação por chave, sem OFFSET).
+     * @param aposId Opcional: ID do último item da página anterior; vazio para a primeira página.
+     * @param tamanhoPagina Quantidade máxima de filmes na página.
+     * @return Até tamanhoPagina filmes; uma lista menor indica a última página.
+     */
+    List<Filme> buscarPaginaAposId(Optional<FilmeId> aposId, int tamanhoPagina);
+
     /**
      * Lista todos os filmes que estão atualmente em período de exibição
      * (dataReferencia >= dataInicioExibicao E dataReferencia <= dataFimExibicao)
@@ -3,6 +3,7 @@ package com.cinetech.api.dominio.repositorios;
 import com.cinetech.api.dominio.modelos.cliente.ClienteId;
 import com.cinetech.api.dominio.modelos.ingresso.Ingresso;
 import com.cinetech.api.dominio.modelos.ingresso.IngressoId;
+import com.cinetech.api.dominio.modelos.ingresso.ValorPagoIngresso;
 import com.cinetech.api.dominio.modelos.sessao.SessaoId;
 
 import java.util.List;
@@ -38,6 +39,14 @@ public interface IngressoRepositorio {
      */
     List<Ingresso> buscarPorSessaoId(SessaoId sessaoId);
 
+    /**
+     * Lista, numa única consulta e sem carregar agregados, cliente e valor pago de cada ingresso da sessão
+     * que ainda não recebeu crédito de compensação por ela.
+     * @param sessaoId O ID da sessão.
+     * @return Os valores pagos pendentes de crédito, em ordem de ID do ingresso.
+     */
+    List<ValorPagoIngresso> buscarValoresPagosSemCreditoDaSessao(SessaoId sessaoId);
+
     /**
      * Lista todos os ingressos comprados por um determinado cliente.
      * @param clienteId O ID do cliente.
@@ -51,6 +60,14 @@ public interface IngressoRepositorio {
      */
     List<Ingresso> buscarTodos();
 
+    /**
+     * Busca a página de ingressos seguinte ao ID informado, em ordem crescente de ID (paginação por chave, sem OFFSET).
+     * @param aposId Opcional: ID do último item da página anterior; vazio para a primeira página.
+     * @param tamanhoPagina Quantidade máxima de ingressos na página.
+     * @return Até tamanhoPagina ingressos; uma lista menor indica a última página.
+     */
+    List<Ingresso> buscarPaginaAposId(Optional<IngressoId> aposId, int tamanhoPagina);
+
     // Outros métodos podem ser úteis, ex: buscar ingressos por período de compra, etc.
     // void deletarPorId(IngressoId ingressoId); // Geralmente ingressos não são deletados, mas cancelados/invalidados
 }
@@ -58,4 +58,12 @@ public interface PagamentoRepositorio {
      * @return Uma lista de todos os pagamentos.
      */
     List<Pagamento> buscarTodos();
+
+    /**
+     * Busca a página de pagamentos seguinte ao ID informado, em ordem crescente de ID (paginação por chave, sem OFFSET).
+     * @param aposId Opcional: ID do último item da página anterior; vazio para a primeira página.
+     * @param tamanhoPagina Quantidade máxima de pagamentos na página.
+     * @return Até tamanhoPagina pagamentos; uma lista menor indica a última página.
+     */
+    List<Pagamento> buscarPaginaAposId(Optional<PagamentoId> aposId, int tamanhoPagina);
 }
@@ -0,0 +1,90 @@
+package com.cinetech.api.dominio.repositorios;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Percorre um repositório página por página, usando o ID do último item lido como cursor da próxima página
+ * (paginação por chave: cada página é um "WHERE id > cursor ORDER BY id LIMIT n", sem OFFSET).
+ * Só uma página fica em memória por vez. Passe a busca do repositório injetado (ex: clienteRepositorio::buscarPaginaAposId),
+ * para que cada página rode na transação de leitura do adaptador; consumido fora de uma transação,
+ * o contexto de persistência também não acumula os itens já lidos.
+ */
+public final class PaginacaoPorCursor {
+
+    private PaginacaoPorCursor() {
+    }
+
+    /**
+     * @param buscarPagina Busca a página seguinte ao ID informado (vazio para a primeira), com no máximo o tamanho informado.
+     * @param extrairId Extrai o ID de um item, usado como cursor.
+     * @param tamanhoPagina Quantidade de itens por página.
+     * @return Um stream sequencial e preguiçoso, em ordem crescente de ID.
+     */
+    public static <T, I> Stream<T> percorrer(BiFunction<Optional<I>, Integer, List<T>> buscarPagina,
+                                             Function<T, I> extrairId, int tamanhoPagina) {
+        Objects.requireNonNull(buscarPagina, "Busca de página não pode ser nula.");
+        Objects.requireNonNull(extrairId, "Extração de ID não pode ser nula.");
+        validarTamanhoPagina(tamanhoPagina);
+        Iterator<T> iterador = new IteradorPaginado<>(buscarPagina, extrairId, tamanhoPagina);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterador,
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT), false);
+    }
+
+    public static void validarTamanhoPagina(int tamanhoPagina) {
+        if (tamanhoPagina <= 0) {
+            throw new IllegalArgumentException("Tamanho da página deve ser positivo.");
+        }
+    }
+
+    private static final class IteradorPaginado<T, I> implements Iterator<T> {
+        private final BiFunction<Optional<I>, Integer, List<T>> buscarPagina;
+        private final Function<T, I> extrairId;
+        private final int tamanhoPagina;
+        private List<T> pagina = List.of();
+        private int posicao;
+        private Optional<I> cursor = Optional.empty();
+        private boolean ultimaPaginaLida;
+
+        private IteradorPaginado(BiFunction<Optional<I>, Integer, List<T>> buscarPagina, Function<T, I> extrairId, int tamanhoPagina) {
+            this.buscarPagina = buscarPagina;
+            this.extrairId = extrairId;
+            this.tamanhoPagina = tamanhoPagina;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (posicao < pagina.size()) {
+                return true;
+            }
+            if (ultimaPaginaLida) {
+                return false;
+            }
+            pagina = buscarPagina.apply(cursor, tamanhoPagina);
+            posicao = 0;
+            // Página incompleta: não há mais itens, evita uma consulta vazia no fim
+            ultimaPaginaLida = pagina.size() < tamanhoPagina;
+            if (!pagina.isEmpty()) {
+                cursor = Optional.of(extrairId.apply(pagina.get(pagina.size() - 1)));
+            }
+            return !pagina.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return pagina.get(posicao++);
+        }
+    }
+}
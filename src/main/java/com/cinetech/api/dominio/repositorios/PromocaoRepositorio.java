@@ -37,6 +37,14 @@ public interface PromocaoRepositorio {
      */
     List<Promocao> buscarTodas();
 
+    /**
+     * Busca a página de promoções seguinte ao ID informado, em ordem crescente de ID (paginação por chave, sem OFFSET).
+     * @param aposId Opcional: ID do último item da página anterior; vazio para a primeira página.
+     * @param tamanhoPagina Quantidade máxima de promoções na página.
+     * @return Até tamanhoPagina promoções; uma lista menor indica a última página.
+     */
+    List<Promocao> buscarPaginaAposId(Optional<PromocaoId> aposId, int tamanhoPagina);
+
     /**
      * Lista todas as promoções que estão ativas e vigentes em uma determinada data.
      * Uma promoção é vigente se:
@@ -4,9 +4,11 @@ import com.cinetech.api.dominio.enums.StatusReservaEvento;
 import com.cinetech.api.dominio.modelos.cliente.ClienteId;
 import com.cinetech.api.dominio.modelos.reservaevento.ReservaEvento;
 import com.cinetech.api.dominio.modelos.reservaevento.ReservaEventoId;
+import com.cinetech.api.dominio.modelos.sala.PeriodoOcupacaoSala;
 import com.cinetech.api.dominio.modelos.sala.SalaId;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,6 +34,14 @@ public interface ReservaEventoRepositorio {
      */
     List<ReservaEvento> buscarTodas();
 
+    /**
+     * Busca a página de reservas de evento seguinte ao ID informado, em ordem crescente de ID (paginação por chave, sem OFFSET).
+     * @param aposId Opcional: ID do último item da página anterior; vazio para a primeira página.
+     * @param tamanhoPagina Quantidade máxima de reservas de evento na página.
+     * @return Até tamanhoPagina reservas de evento; uma lista menor indica a última página.
+     */
+    List<ReservaEvento> buscarPaginaAposId(Optional<ReservaEventoId> aposId, int tamanhoPagina);
+
     /**
      * Busca todas as reservas de evento para uma determinada SalaId.
      * @param salaId O ID da sala.
@@ -64,6 +74,20 @@ public interface ReservaEventoRepositorio {
             Optional<ReservaEventoId> reservaEventoIdParaExcluir
     );
 
+    /**
+     * Lista os períodos das reservas de evento (não canceladas) das salas informadas que cruzam a janela,
+     * sem carregar as reservas.
+     * @param salaIds As salas.
+     * @param inicioJanela O início da janela.
+     * @param fimJanela O fim da janela.
+     * @return Os períodos ocupados por reservas de evento, em qualquer ordem.
+     */
+    List<PeriodoOcupacaoSala> buscarPeriodosOcupadosPorSalas(
+            Collection<SalaId> salaIds,
+            LocalDateTime inicioJanela,
+            LocalDateTime fimJanela
+    );
+
     /**
      * Busca reservas de evento por status.
      * @param status O status da reserva a ser buscado.
@@ -3,6 +3,7 @@ package com.cinetech.api.dominio.repositorios;
 import com.cinetech.api.dominio.modelos.sala.Sala;
 import com.cinetech.api.dominio.modelos.sala.SalaId;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,11 +37,28 @@ public interface SalaRepositorio {
      */
     List<Sala> buscarTodas();
 
+    /**
+     * Busca a página de salas seguinte ao ID informado, em ordem crescente de ID (paginação por chave, sem OFFSET).
+     * @param aposId Opcional: ID do último item da página anterior; vazio para a primeira página.
+     * @param tamanhoPagina Quantidade máxima de salas na página.
+     * @return Até tamanhoPagina salas; uma lista menor indica a última página.
+     */
+    List<Sala> buscarPaginaAposId(Optional<SalaId> aposId, int tamanhoPagina);
+
     /**
      * Lista todas as salas que estão disponíveis para reserva de eventos.
      * @return Uma lista de salas disponíveis para eventos.
      */
     List<Sala> buscarSalasDisponiveisParaEventos();
 
+    /**
+     * Lista, numa única consulta, as salas disponíveis para eventos sem sessão nem reserva de evento
+     * (não canceladas) que cruze o período: (StartA < EndB) AND (EndA > StartB).
+     * @param inicioPeriodo O início do período.
+     * @param fimPeriodo O fim do período.
+     * @return As salas para eventos livres no período inteiro.
+     */
+    List<Sala> buscarSalasParaEventosLivresNoPeriodo(LocalDateTime inicioPeriodo, LocalDateTime fimPeriodo);
+
     // void deletarPorId(SalaId salaId);
 }
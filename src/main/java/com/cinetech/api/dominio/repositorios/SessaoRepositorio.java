@@ -1,12 +1,19 @@
 package com.cinetech.api.dominio.repositorios;
 
+import com.cinetech.api.dominio.enums.StatusAssento;
 import com.cinetech.api.dominio.enums.StatusSessao;
+import com.cinetech.api.dominio.modelos.assento.Assento;
+import com.cinetech.api.dominio.modelos.assento.ReservaTemporariaAssento;
 import com.cinetech.api.dominio.modelos.filme.FilmeId;
+import com.cinetech.api.dominio.modelos.sala.PeriodoOcupacaoSala;
 import com.cinetech.api.dominio.modelos.sala.SalaId;
+import com.cinetech.api.dominio.modelos.sessao.ContagemAssentos;
 import com.cinetech.api.dominio.modelos.sessao.Sessao;
 import com.cinetech.api.dominio.modelos.sessao.SessaoId;
+import com.cinetech.api.dominio.modelos.sessao.SessaoResumo;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +26,15 @@ public interface SessaoRepositorio {
      */
     Sessao salvar(Sessao sessao);
 
+    /**
+     * Grava de uma vez várias sessões novas (nunca salvas) com todos os seus assentos, em inserts agrupados.
+     * Não devolve os agregados: para alterar uma delas depois, busque-a novamente.
+     * @param sessoes As sessões recém-criadas.
+     * @return Quantidade de sessões gravadas.
+     * @throws IllegalArgumentException Se alguma sessão já tiver sido gravada.
+     */
+    int salvarNovas(List<Sessao> sessoes);
+
     /**
      * Busca uma sessão pelo seu ID.
      * @param sessaoId O ID da sessão a ser buscada.
@@ -26,6 +42,52 @@ public interface SessaoRepositorio {
      */
     Optional<Sessao> buscarPorId(SessaoId sessaoId);
 
+    /**
+     * Busca uma sessão carregando apenas o assento informado (F1).
+     * Usado pelo fluxo de reserva de um único assento, que não precisa do mapa completo.
+     * ATENÇÃO: a Sessao retornada é parcial e NÃO deve ser passada para salvar(...),
+     * pois os demais assentos seriam tratados como removidos. Grave o assento com salvarEstadoAssentoSeInalterado.
+     * @param sessaoId O ID da sessão.
+     * @param identificadorPosicao A posição do assento (ex: "A1").
+     * @return Um Optional com a Sessao contendo somente aquele assento (ou nenhum, se a posição não existir).
+     */
+    Optional<Sessao> buscarPorIdComAssento(SessaoId sessaoId, String identificadorPosicao);
+
+    /**
+     * Grava o estado atual de um assento somente se, no banco, ele ainda estiver
+     * no status e com a expiração lidos antes da alteração (compare-and-set).
+     * @param assento O assento já alterado pela regra de domínio.
+     * @param statusEsperado O status do assento antes da alteração.
+     * @param expiracaoEsperada A expiração de reserva antes da alteração (pode ser null).
+     * @return true se gravou; false se outro fluxo alterou o assento antes (assento tomado).
+     */
+    boolean salvarEstadoAssentoSeInalterado(Assento assento, StatusAssento statusEsperado, LocalDateTime expiracaoEsperada);
+
+    /**
+     * Lista todos os assentos em RESERVADO_TEMP com seus prazos de expiração, sem carregar as sessões. (F1)
+     * Usado para reconstruir o agendamento de expirações na inicialização.
+     * @return Uma lista com as reservas temporárias pendentes.
+     */
+    List<ReservaTemporariaAssento> buscarReservasTemporariasPendentes();
+
+    /**
+     * Libera em lote os assentos informados de uma sessão cuja reserva temporária já expirou em 'agora'.
+     * Aplica a mesma regra de Assento.liberarSeReservaTemporariaExpirada: assentos que foram
+     * confirmados, liberados ou reservados de novo nesse meio tempo não são afetados.
+     * @param sessaoId O ID da sessão.
+     * @param identificadoresPosicao As posições candidatas à liberação.
+     * @param agora Instante de referência para a expiração.
+     * @return Quantidade de assentos efetivamente liberados.
+     */
+    int liberarReservasTemporariasExpiradas(SessaoId sessaoId, Collection<String> identificadoresPosicao, LocalDateTime agora);
+
+    /**
+     * Lê os totais de assentos por status de uma sessão, sem carregar os assentos. (F1, F2)
+     * @param sessaoId O ID da sessão.
+     * @return Um Optional com a contagem, ou Optional.empty() se a sessão não existir.
+     */
+    Optional<ContagemAssentos> buscarContagemAssentos(SessaoId sessaoId);
+
     /**
      * Lista todas as sessões cadastradas.
      * (Pode precisar de paginação em um sistema real).
@@ -33,6 +95,14 @@ public interface SessaoRepositorio {
      */
     List<Sessao> buscarTodas();
 
+    /**
+     * Busca a página de sessões seguinte ao ID informado, em ordem crescente de ID (paginação por chave, sem OFFSET).
+     * @param aposId Opcional: ID do último item da página anterior; vazio para a primeira página.
+     * @param tamanhoPagina Quantidade máxima de sessões na página.
+     * @return Até tamanhoPagina sessões; uma lista menor indica a última página.
+     */
+    List<Sessao> buscarPaginaAposId(Optional<SessaoId> aposId, int tamanhoPagina);
+
     /**
      * Busca todas as sessões associadas a uma determinada SalaId.
      * @param salaId O ID da sala.
@@ -47,6 +117,21 @@ public interface SessaoRepositorio {
      */
     List<Sessao> buscarSessoesAtivasPorFilmeId(FilmeId filmeId);
 
+    /**
+     * Lista as sessões ativas (PROGRAMADA ou ABERTA) e futuras de um filme como resumos de leitura,
+     * em uma única consulta e sem carregar assentos. Ordenadas pelo início.
+     * @param filmeId O ID do filme.
+     * @return Os resumos das sessões ativas do filme.
+     */
+    List<SessaoResumo> buscarResumosSessoesAtivasPorFilmeId(FilmeId filmeId);
+
+    /**
+     * Conta as sessões ativas (PROGRAMADA ou ABERTA) e futuras de um filme, sem carregá-las.
+     * @param filmeId O ID do filme.
+     * @return A quantidade de sessões ativas do filme.
+     */
+    long contarSessoesAtivasPorFilmeId(FilmeId filmeId);
+
 
     /**
      * Busca sessões em uma determinada sala que ocorrem (total ou parcialmente)
@@ -55,7 +140,7 @@ public interface SessaoRepositorio {
      *
      * A lógica de "conflito" é:
      * (inicioSessaoExistente < fimProposto) AND (fimSessaoExistente > inicioProposto)
-     * onde fimSessaoExistente = inicioSessaoExistente + duracaoFilme.
+     * onde fimSessaoExistente = inicioSessaoExistente + duracaoFilme (Sessao.getDataHoraFim).
      *
      * @param salaId O ID da sala.
      * @param inicioPeriodo O início do período de verificação.
@@ -70,6 +155,36 @@ public interface SessaoRepositorio {
             Optional<SessaoId> sessaoIdParaExcluir
     );
 
+    /**
+     * Verifica, sem carregar sessões, se alguma sessão da sala conflita com o período
+     * (mesma lógica de buscarSessoesConflitantesPorSalaEPeriodo).
+     * @param salaId O ID da sala.
+     * @param inicioPeriodo O início do período de verificação.
+     * @param fimPeriodo O fim do período de verificação.
+     * @param sessaoIdParaExcluir Opcional: ID de uma sessão a ser ignorada na verificação.
+     * @return true se houver ao menos uma sessão conflitante.
+     */
+    boolean existeConflitoPorSalaEPeriodo(
+            SalaId salaId,
+            LocalDateTime inicioPeriodo,
+            LocalDateTime fimPeriodo,
+            Optional<SessaoId> sessaoIdParaExcluir
+    );
+
+    /**
+     * Lista os períodos das sessões (não canceladas) das salas informadas que cruzam a janela,
+     * sem carregar as sessões. Usado para validar um agendamento em lote numa única consulta.
+     * @param salaIds As salas.
+     * @param inicioJanela O início da janela.
+     * @param fimJanela O fim da janela.
+     * @return Os períodos ocupados por sessões, em qualquer ordem.
+     */
+    List<PeriodoOcupacaoSala> buscarPeriodosOcupadosPorSalas(
+            Collection<SalaId> salaIds,
+            LocalDateTime inicioJanela,
+            LocalDateTime fimJanela
+    );
+
     /**
      * Busca sessoes por status.
      * @param status O status da sessão a ser buscado.
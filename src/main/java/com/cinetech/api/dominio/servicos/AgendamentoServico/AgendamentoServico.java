@@ -1,10 +1,16 @@
 package com.cinetech.api.dominio.servicos.AgendamentoServico;
 
 import com.cinetech.api.dominio.modelos.reservaevento.ReservaEventoId;
+import com.cinetech.api.dominio.modelos.sala.PeriodoLivreSala;
+import com.cinetech.api.dominio.modelos.sala.PeriodoOcupacaoSala;
 import com.cinetech.api.dominio.modelos.sala.SalaId;
 import com.cinetech.api.dominio.modelos.sessao.SessaoId;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface AgendamentoServico {
@@ -15,4 +21,33 @@ public interface AgendamentoServico {
             Optional<SessaoId> sessaoIdExcluida, // Para ignorar a própria sessão ao editar
             Optional<ReservaEventoId> reservaEventoIdExcluida // Para ignorar a própria reserva ao editar
     );
+
+    /**
+     * Verifica de uma vez um lote de períodos propostos (ex: a grade da semana) contra a agenda gravada e entre si.
+     * Um período proposto que cruza uma sessão ou reserva gravada é recusado; entre os propostos de uma mesma sala,
+     * em ordem de início, é recusado o que cruza um proposto anterior ainda aceito.
+     * @param periodosPropostos Os períodos propostos, na ordem do lote.
+     * @return Índice (na lista) de cada período recusado -> motivo, em ordem de índice; vazio se não houver conflito.
+     */
+    Map<Integer, String> verificarConflitosEmLote(List<PeriodoOcupacaoSala> periodosPropostos);
+
+    /**
+     * Janelas livres (sem sessão nem reserva de evento) de cada sala dentro de uma faixa de datas.
+     * @param salaIds As salas.
+     * @param inicioFaixa O início da faixa.
+     * @param fimFaixa O fim da faixa.
+     * @param duracaoMinima Janelas mais curtas são descartadas.
+     * @return As janelas livres, agrupadas por sala na ordem de salaIds e, em cada sala, em ordem de início.
+     */
+    List<PeriodoLivreSala> buscarPeriodosLivres(Collection<SalaId> salaIds, LocalDateTime inicioFaixa,
+                                                LocalDateTime fimFaixa, Duration duracaoMinima);
+
+    /**
+     * As primeiras janelas livres, entre todas as salas, com a duração mínima e dentro do horário diário da consulta.
+     * Usa os calendários de slots de 15 minutos (CalendarioSlotsSala): as janelas são alinhadas aos slots.
+     * @param salaIds As salas.
+     * @param consulta Faixa, duração, horário diário e quantidade de janelas.
+     * @return Até consulta.quantidade() janelas, em ordem de início (empates na ordem de salaIds).
+     */
+    List<PeriodoLivreSala> buscarPrimeirasJanelasLivres(Collection<SalaId> salaIds, ConsultaJanelasLivres consulta);
 }
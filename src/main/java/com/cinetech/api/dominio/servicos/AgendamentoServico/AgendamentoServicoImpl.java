@@ -2,26 +2,43 @@ package com.cinetech.api.dominio.servicos.AgendamentoServico;
 
 import com.cinetech.api.dominio.modelos.reservaevento.ReservaEvento;
 import com.cinetech.api.dominio.modelos.reservaevento.ReservaEventoId;
+import com.cinetech.api.dominio.modelos.sala.PeriodoLivreSala;
+import com.cinetech.api.dominio.modelos.sala.PeriodoOcupacaoSala;
 import com.cinetech.api.dominio.modelos.sala.SalaId;
-import com.cinetech.api.dominio.modelos.sessao.Sessao;
 import com.cinetech.api.dominio.modelos.sessao.SessaoId;
 import com.cinetech.api.dominio.repositorios.ReservaEventoRepositorio;
 import com.cinetech.api.dominio.repositorios.SessaoRepositorio;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
 
 public class AgendamentoServicoImpl implements AgendamentoServico {
 
     private final SessaoRepositorio sessaoRepository;
     private final ReservaEventoRepositorio reservaEventoRepository;
+    private final IndiceAgendaSalas indiceAgendaSalas; // Opcional: sem ele, toda verificação vai ao banco
 
     // Construtor para injetar dependências dos repositórios do domínio
     public AgendamentoServicoImpl(SessaoRepositorio sessaoRepository, ReservaEventoRepositorio reservaEventoRepository) {
+        this(sessaoRepository, reservaEventoRepository, null);
+    }
+
+    public AgendamentoServicoImpl(SessaoRepositorio sessaoRepository, ReservaEventoRepositorio reservaEventoRepository,
+                                  IndiceAgendaSalas indiceAgendaSalas) {
         this.sessaoRepository = Objects.requireNonNull(sessaoRepository);
         this.reservaEventoRepository = Objects.requireNonNull(reservaEventoRepository);
+        this.indiceAgendaSalas = indiceAgendaSalas;
     }
 
     @Override
@@ -36,11 +53,17 @@ public class AgendamentoServicoImpl implements AgendamentoServico {
             throw new IllegalArgumentException("Fim proposto deve ser após o início proposto.");
         }
 
+        // 0. Índice em memória, quando disponível: responde sem I/O
+        if (indiceAgendaSalas != null) {
+            Optional<Boolean> respostaIndice = indiceAgendaSalas.verificarConflito(
+                    salaId, inicioProposto, fimProposto, sessaoIdExcluida, reservaEventoIdExcluida);
+            if (respostaIndice.isPresent()) {
+                return respostaIndice.get();
+            }
+        }
+
         // 1. Verificar conflitos com outras Sessões
-        List<Sessao> sessoesConflitantes = sessaoRepository.buscarSessoesConflitantesPorSalaEPeriodo(
-                salaId, inicioProposto, fimProposto, sessaoIdExcluida
-        );
-        if (!sessoesConflitantes.isEmpty()) {
+        if (sessaoRepository.existeConflitoPorSalaEPeriodo(salaId, inicioProposto, fimProposto, sessaoIdExcluida)) {
             return true; // Há conflito com sessões
         }
 
@@ -54,4 +77,178 @@ public class AgendamentoServicoImpl implements AgendamentoServico {
 
         return false; // Sem conflitos encontrados
     }
+
+    @Override
+    public Map<Integer, String> verificarConflitosEmLote(List<PeriodoOcupacaoSala> periodosPropostos) {
+        Objects.requireNonNull(periodosPropostos, "Lista de períodos propostos não pode ser nula.");
+        if (periodosPropostos.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        LocalDateTime inicioJanela = null;
+        LocalDateTime fimJanela = null;
+        Map<SalaId, List<Integer>> propostosPorSala = new HashMap<>();
+        for (int i = 0; i < periodosPropostos.size(); i++) {
+            PeriodoOcupacaoSala proposto = Objects.requireNonNull(periodosPropostos.get(i), "Período proposto não pode ser nulo.");
+            if (!proposto.dataHoraFim().isAfter(proposto.dataHoraInicio())) {
+                throw new IllegalArgumentException("Fim proposto deve ser após o início proposto.");
+            }
+            inicioJanela = inicioJanela == null || proposto.dataHoraInicio().isBefore(inicioJanela) ? proposto.dataHoraInicio() : inicioJanela;
+            fimJanela = fimJanela == null || proposto.dataHoraFim().isAfter(fimJanela) ? proposto.dataHoraFim() : fimJanela;
+            propostosPorSala.computeIfAbsent(proposto.salaId(), sala -> new ArrayList<>()).add(i);
+        }
+
+        // Agenda gravada de todas as salas do lote, na janela do lote: duas consultas, independente do tamanho do lote
+        Map<SalaId, List<PeriodoOcupacaoSala>> gravadosPorSala = new HashMap<>();
+        List<PeriodoOcupacaoSala> gravados = new ArrayList<>(
+                sessaoRepository.buscarPeriodosOcupadosPorSalas(propostosPorSala.keySet(), inicioJanela, fimJanela));
+        gravados.addAll(reservaEventoRepository.buscarPeriodosOcupadosPorSalas(propostosPorSala.keySet(), inicioJanela, fimJanela));
+        for (PeriodoOcupacaoSala gravado : gravados) {
+            gravadosPorSala.computeIfAbsent(gravado.salaId(), sala -> new ArrayList<>()).add(gravado);
+        }
+
+        Map<Integer, String> conflitos = new TreeMap<>();
+        propostosPorSala.forEach((salaId, indices) -> varrerSala(periodosPropostos, indices,
+                gravadosPorSala.getOrDefault(salaId, Collections.emptyList()), conflitos));
+        return conflitos;
+    }
+
+    // Linha de varredura de uma sala, em ordem de início: primeiro contra a agenda gravada, depois entre os propostos
+    private static void varrerSala(List<PeriodoOcupacaoSala> periodosPropostos, List<Integer> indices,
+                                   List<PeriodoOcupacaoSala> gravados, Map<Integer, String> conflitos) {
+        List<PeriodoOcupacaoSala> gravadosOrdenados = new ArrayList<>(gravados);
+        gravadosOrdenados.sort(Comparator.comparing(PeriodoOcupacaoSala::dataHoraInicio));
+        // maiorFim[k] = gravado de maior fim entre os k+1 primeiros (em ordem de início)
+        PeriodoOcupacaoSala[] maiorFim = new PeriodoOcupacaoSala[gravadosOrdenados.size()];
+        for (int k = 0; k < maiorFim.length; k++) {
+            PeriodoOcupacaoSala gravado = gravadosOrdenados.get(k);
+            maiorFim[k] = k > 0 && !maiorFim[k - 1].dataHoraFim().isBefore(gravado.dataHoraFim()) ? maiorFim[k - 1] : gravado;
+        }
+
+        List<Integer> ordenados = new ArrayList<>(indices);
+        ordenados.sort(Comparator.comparing((Integer i) -> periodosPropostos.get(i).dataHoraInicio()).thenComparing(i -> i));
+        Integer ultimoAceito = null; // Proposto aceito de maior fim até aqui
+        for (int indice : ordenados) {
+            PeriodoOcupacaoSala proposto = periodosPropostos.get(indice);
+            // Gravados que começam antes do fim do proposto; o de maior fim entre eles decide se há sobreposição
+            int quantidade = contarIniciadosAntesDe(gravadosOrdenados, proposto.dataHoraFim());
+            if (quantidade > 0 && maiorFim[quantidade - 1].dataHoraFim().isAfter(proposto.dataHoraInicio())) {
+                PeriodoOcupacaoSala gravado = maiorFim[quantidade - 1];
+                conflitos.put(indice, "Conflito com sessão ou reserva de evento já agendada de "
+                        + gravado.dataHoraInicio() + " a " + gravado.dataHoraFim() + ".");
+                continue;
+            }
+            if (ultimoAceito != null && periodosPropostos.get(ultimoAceito).dataHoraFim().isAfter(proposto.dataHoraInicio())) {
+                PeriodoOcupacaoSala aceito = periodosPropostos.get(ultimoAceito);
+                conflitos.put(indice, "Conflito com outro período proposto no lote, de "
+                        + aceito.dataHoraInicio() + " a " + aceito.dataHoraFim() + ".");
+                continue;
+            }
+            if (ultimoAceito == null || proposto.dataHoraFim().isAfter(periodosPropostos.get(ultimoAceito).dataHoraFim())) {
+                ultimoAceito = indice;
+            }
+        }
+    }
+
+    // Busca binária: quantos gravados (ordenados por início) começam antes do instante
+    private static int contarIniciadosAntesDe(List<PeriodoOcupacaoSala> gravadosOrdenados, LocalDateTime instante) {
+        int inferior = 0;
+        int superior = gravadosOrdenados.size();
+        while (inferior < superior) {
+            int meio = (inferior + superior) >>> 1;
+            if (gravadosOrdenados.get(meio).dataHoraInicio().isBefore(instante)) {
+                inferior = meio + 1;
+            } else {
+                superior = meio;
+            }
+        }
+        return inferior;
+    }
+
+    @Override
+    public List<PeriodoLivreSala> buscarPeriodosLivres(Collection<SalaId> salaIds, LocalDateTime inicioFaixa,
+                                                       LocalDateTime fimFaixa, Duration duracaoMinima) {
+        Objects.requireNonNull(salaIds, "Lista de salas não pode ser nula.");
+        Objects.requireNonNull(inicioFaixa, "Início da faixa não pode ser nulo.");
+        Objects.requireNonNull(fimFaixa, "Fim da faixa não pode ser nulo.");
+        Objects.requireNonNull(duracaoMinima, "Duração mínima não pode ser nula.");
+        if (!fimFaixa.isAfter(inicioFaixa)) {
+            throw new IllegalArgumentException("Fim da faixa deve ser após o início da faixa.");
+        }
+        if (duracaoMinima.isNegative() || duracaoMinima.isZero()) {
+            throw new IllegalArgumentException("Duração mínima deve ser positiva.");
+        }
+        if (salaIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Ocupação de todas as salas na faixa: duas consultas, independente do número de salas
+        Map<SalaId, List<PeriodoOcupacaoSala>> ocupadosPorSala = new HashMap<>();
+        List<PeriodoOcupacaoSala> ocupados = new ArrayList<>(sessaoRepository.buscarPeriodosOcupadosPorSalas(salaIds, inicioFaixa, fimFaixa));
+        ocupados.addAll(reservaEventoRepository.buscarPeriodosOcupadosPorSalas(salaIds, inicioFaixa, fimFaixa));
+        for (PeriodoOcupacaoSala ocupado : ocupados) {
+            ocupadosPorSala.computeIfAbsent(ocupado.salaId(), sala -> new ArrayList<>()).add(ocupado);
+        }
+
+        List<PeriodoLivreSala> livres = new ArrayList<>();
+        for (SalaId salaId : new LinkedHashSet<>(salaIds)) {
+            List<PeriodoOcupacaoSala> daSala = ocupadosPorSala.getOrDefault(salaId, new ArrayList<>());
+            daSala.sort(Comparator.comparing(PeriodoOcupacaoSala::dataHoraInicio));
+            // Varre em ordem de início: o livre vai do fim ocupado mais tardio até o próximo início
+            LocalDateTime livreDesde = inicioFaixa;
+            for (PeriodoOcupacaoSala ocupado : daSala) {
+                adicionarSeLongo(livres, salaId, livreDesde, ocupado.dataHoraInicio(), duracaoMinima);
+                if (ocupado.dataHoraFim().isAfter(livreDesde)) {
+                    livreDesde = ocupado.dataHoraFim();
+                }
+            }
+            adicionarSeLongo(livres, salaId, livreDesde, fimFaixa, duracaoMinima);
+        }
+        return livres;
+    }
+
+    private static void adicionarSeLongo(List<PeriodoLivreSala> livres, SalaId salaId, LocalDateTime inicio,
+                                         LocalDateTime fim, Duration duracaoMinima) {
+        if (Duration.between(inicio, fim).compareTo(duracaoMinima) >= 0) {
+            livres.add(new PeriodoLivreSala(salaId, inicio, fim));
+        }
+    }
+
+    @Override
+    public List<PeriodoLivreSala> buscarPrimeirasJanelasLivres(Collection<SalaId> salaIds, ConsultaJanelasLivres consulta) {
+        Objects.requireNonNull(salaIds, "Lista de salas não pode ser nula.");
+        Objects.requireNonNull(consulta, "Consulta não pode ser nula.");
+        if (salaIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // Calendários do índice em memória, quando disponíveis; senão, montados da agenda gravada na faixa
+        Map<SalaId, CalendarioSlotsSala> calendarios = indiceAgendaSalas == null ? null
+                : indiceAgendaSalas.buscarCalendarios(salaIds, consulta.inicioFaixa(), consulta.fimFaixa()).orElse(null);
+        if (calendarios == null) {
+            calendarios = montarCalendarios(salaIds, consulta.inicioFaixa(), consulta.fimFaixa());
+        }
+
+        // Cada sala contribui com no máximo 'quantidade' janelas; as primeiras entre todas vencem
+        List<PeriodoLivreSala> janelas = new ArrayList<>();
+        for (SalaId salaId : new LinkedHashSet<>(salaIds)) {
+            janelas.addAll(calendarios.get(salaId).buscarJanelasLivres(salaId, consulta, consulta.quantidade()));
+        }
+        janelas.sort(Comparator.comparing(PeriodoLivreSala::dataHoraInicio)); // Estável: empates na ordem das salas
+        return new ArrayList<>(janelas.subList(0, Math.min(consulta.quantidade(), janelas.size())));
+    }
+
+    private Map<SalaId, CalendarioSlotsSala> montarCalendarios(Collection<SalaId> salaIds, LocalDateTime inicio, LocalDateTime fim) {
+        LocalDateTime base = CalendarioSlotsSala.alinharAoSlotAnterior(inicio);
+        long segundos = Duration.between(base, fim).getSeconds();
+        int quantidadeSlots = (int) -Math.floorDiv(-segundos, CalendarioSlotsSala.MINUTOS_POR_SLOT * 60L);
+        Map<SalaId, CalendarioSlotsSala> calendarios = new HashMap<>();
+        for (SalaId salaId : salaIds) {
+            calendarios.put(salaId, new CalendarioSlotsSala(base, quantidadeSlots));
+        }
+        List<PeriodoOcupacaoSala> ocupados = new ArrayList<>(sessaoRepository.buscarPeriodosOcupadosPorSalas(salaIds, inicio, fim));
+        ocupados.addAll(reservaEventoRepository.buscarPeriodosOcupadosPorSalas(salaIds, inicio, fim));
+        for (PeriodoOcupacaoSala ocupado : ocupados) {
+            calendarios.get(ocupado.salaId()).marcarOcupado(ocupado.dataHoraInicio(), ocupado.dataHoraFim());
+        }
+        return calendarios;
+    }
 }
@@ -0,0 +1,179 @@
+package com.cinetech.api.dominio.servicos.AgendamentoServico;
+
+import com.cinetech.api.dominio.modelos.sala.PeriodoLivreSala;
+import com.cinetech.api.dominio.modelos.sala.SalaId;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Calendário de ocupação de uma sala em slots de 15 minutos: um bit por slot (1 = ocupado), a partir de uma base.
+ * Um slot está ocupado se qualquer sessão ou reserva de evento cruzar parte dele, então as janelas livres
+ * encontradas são alinhadas aos slots. A busca monta o bitmap de slots livres e aceitos (~ocupados AND horário diário)
+ * e percorre as corridas de bits com numberOfTrailingZeros, palavra a palavra.
+ * Acesso sincronizado no próprio calendário.
+ */
+public final class CalendarioSlotsSala {
+
+    public static final int MINUTOS_POR_SLOT = 15;
+    public static final int SLOTS_POR_DIA = 24 * 60 / MINUTOS_POR_SLOT;
+    private static final long SEGUNDOS_POR_SLOT = MINUTOS_POR_SLOT * 60L;
+
+    private final LocalDateTime base; // Início do slot 0
+    private final int quantidadeSlots;
+    private final long[] ocupados;
+
+    /**
+     * @param base Início do slot 0, alinhado a 15 minutos.
+     * @param quantidadeSlots Extensão do calendário, em slots.
+     */
+    public CalendarioSlotsSala(LocalDateTime base, int quantidadeSlots) {
+        if (!base.equals(alinharAoSlotAnterior(base))) {
+            throw new IllegalArgumentException("Base do calendário deve estar alinhada a " + MINUTOS_POR_SLOT + " minutos.");
+        }
+        if (quantidadeSlots <= 0) {
+            throw new IllegalArgumentException("Quantidade de slots deve ser positiva.");
+        }
+        this.base = base;
+        this.quantidadeSlots = quantidadeSlots;
+        this.ocupados = new long[(quantidadeSlots + 63) >>> 6];
+    }
+
+    public LocalDateTime getBase() { return base; }
+    public LocalDateTime getFim() { return base.plusMinutes((long) quantidadeSlots * MINUTOS_POR_SLOT); }
+
+    /**
+     * O calendário cobre o período inteiro?
+     */
+    public boolean cobre(LocalDateTime inicio, LocalDateTime fim) {
+        return !inicio.isBefore(base) && !fim.isAfter(getFim());
+    }
+
+    public static LocalDateTime alinharAoSlotAnterior(LocalDateTime dataHora) {
+        return dataHora.withSecond(0).withNano(0).minusMinutes(dataHora.getMinute() % MINUTOS_POR_SLOT);
+    }
+
+    /**
+     * Marca como ocupados os slots que o período cruza (a parte fora do calendário é ignorada).
+     */
+    public synchronized void marcarOcupado(LocalDateTime inicio, LocalDateTime fim) {
+        alterar(slotAnterior(inicio), slotSeguinte(fim), true);
+    }
+
+    /**
+     * Libera os slots que o período cruza. Outro período que ainda ocupe parte desses slots precisa ser marcado de novo.
+     */
+    public synchronized void liberar(LocalDateTime inicio, LocalDateTime fim) {
+        alterar(slotAnterior(inicio), slotSeguinte(fim), false);
+    }
+
+    /**
+     * Janelas livres (corridas maximais de slots livres e dentro do horário diário) com a duração mínima,
+     * em ordem de início.
+     * @param limite Máximo de janelas retornadas.
+     * @throws IllegalArgumentException Se a faixa da consulta sair do calendário.
+     */
+    public synchronized List<PeriodoLivreSala> buscarJanelasLivres(SalaId salaId, ConsultaJanelasLivres consulta, int limite) {
+        if (!cobre(consulta.inicioFaixa(), consulta.fimFaixa())) {
+            throw new IllegalArgumentException("Faixa de " + consulta.inicioFaixa() + " a " + consulta.fimFaixa()
+                    + " fora do calendário (" + base + " a " + getFim() + ").");
+        }
+        int inicio = slotSeguinte(consulta.inicioFaixa()); // Só slots inteiros dentro da faixa
+        int fim = slotAnterior(consulta.fimFaixa());
+        long segundosMinimos = consulta.duracaoMinima().getSeconds() + (consulta.duracaoMinima().getNano() > 0 ? 1 : 0);
+        long slotsMinimos = -Math.floorDiv(-segundosMinimos, SEGUNDOS_POR_SLOT);
+        List<PeriodoLivreSala> janelas = new ArrayList<>();
+        if (fim - inicio < slotsMinimos) {
+            return janelas;
+        }
+
+        // livres = ~ocupados AND faixa AND horário diário
+        long[] livres = new long[ocupados.length];
+        for (int palavra = inicio >>> 6; palavra <= (fim - 1) >>> 6; palavra++) {
+            livres[palavra] = ~ocupados[palavra];
+        }
+        livres[inicio >>> 6] &= -1L << inicio;
+        if ((fim & 63) != 0) {
+            livres[(fim - 1) >>> 6] &= -1L >>> (64 - (fim & 63));
+        }
+        if (consulta.inicioDiario() != null) {
+            aplicarHorarioDiario(livres, inicio, fim, consulta.inicioDiario(), consulta.fimDiario());
+        }
+
+        int corrida = proximoBit(livres, inicio, fim, true);
+        while (corrida < fim && janelas.size() < limite) {
+            int fimCorrida = proximoBit(livres, corrida, fim, false);
+            if (fimCorrida - corrida >= slotsMinimos) {
+                janelas.add(new PeriodoLivreSala(salaId, inicioDoSlot(corrida), inicioDoSlot(fimCorrida)));
+            }
+            corrida = proximoBit(livres, fimCorrida, fim, true);
+        }
+        return janelas;
+    }
+
+    // Zera os slots fora do horário diário [inicioDiario, fimDiario); fimDiario <= inicioDiario atravessa a meia-noite
+    private void aplicarHorarioDiario(long[] livres, int inicio, int fim, LocalTime inicioDiario, LocalTime fimDiario) {
+        int primeiroDoDia = (inicioDiario.toSecondOfDay() + (int) SEGUNDOS_POR_SLOT - 1) / (int) SEGUNDOS_POR_SLOT;
+        int ultimoDoDia = fimDiario.toSecondOfDay() / (int) SEGUNDOS_POR_SLOT;
+        boolean atravessaMeiaNoite = !fimDiario.isAfter(inicioDiario);
+        boolean[] aceitoNoDia = new boolean[SLOTS_POR_DIA];
+        for (int s = 0; s < SLOTS_POR_DIA; s++) {
+            aceitoNoDia[s] = atravessaMeiaNoite ? (s >= primeiroDoDia || s < ultimoDoDia) : (s >= primeiroDoDia && s < ultimoDoDia);
+        }
+        int slotDoDiaDaBase = base.toLocalTime().toSecondOfDay() / (int) SEGUNDOS_POR_SLOT;
+        for (int slot = inicio; slot < fim; slot++) {
+            if (!aceitoNoDia[(slotDoDiaDaBase + slot) % SLOTS_POR_DIA]) {
+                livres[slot >>> 6] &= ~(1L << slot);
+            }
+        }
+    }
+
+    private void alterar(int inicio, int fim, boolean ocupar) {
+        inicio = Math.max(inicio, 0);
+        fim = Math.min(fim, quantidadeSlots);
+        for (int slot = inicio; slot < fim; ) {
+            int palavra = slot >>> 6;
+            int fimNaPalavra = Math.min(fim, (palavra + 1) << 6);
+            long mascara = (-1L << slot) & (fimNaPalavra - (palavra << 6) == 64 ? -1L : ~(-1L << fimNaPalavra));
+            ocupados[palavra] = ocupar ? ocupados[palavra] | mascara : ocupados[palavra] & ~mascara;
+            slot = fimNaPalavra;
+        }
+    }
+
+    // Slot que contém o instante (pode ser negativo ou além do fim)
+    private int slotAnterior(LocalDateTime dataHora) {
+        long segundos = Duration.between(base, dataHora).getSeconds();
+        return (int) Math.max(Integer.MIN_VALUE / 2, Math.min(Integer.MAX_VALUE / 2, Math.floorDiv(segundos, SEGUNDOS_POR_SLOT)));
+    }
+
+    // Primeiro slot que começa no instante ou depois dele
+    private int slotSeguinte(LocalDateTime dataHora) {
+        long segundos = Duration.between(base, dataHora).getSeconds() + (dataHora.getNano() > 0 ? 1 : 0);
+        return (int) Math.max(Integer.MIN_VALUE / 2, Math.min(Integer.MAX_VALUE / 2, -Math.floorDiv(-segundos, SEGUNDOS_POR_SLOT)));
+    }
+
+    private LocalDateTime inicioDoSlot(int slot) {
+        return base.plusMinutes((long) slot * MINUTOS_POR_SLOT);
+    }
+
+    // Primeiro slot >= inicio cujo bit vale 'valor' (ou 'limite' se não houver)
+    private static int proximoBit(long[] bits, int inicio, int limite, boolean valor) {
+        int palavra = inicio >>> 6;
+        if (inicio >= limite || palavra >= bits.length) {
+            return limite;
+        }
+        long atual = (valor ? bits[palavra] : ~bits[palavra]) & (-1L << inicio);
+        while (true) {
+            if (atual != 0) {
+                return Math.min(limite, (palavra << 6) + Long.numberOfTrailingZeros(atual));
+            }
+            if (++palavra >= bits.length || (palavra << 6) >= limite) {
+                return limite;
+            }
+            atual = valor ? bits[palavra] : ~bits[palavra];
+        }
+    }
+}
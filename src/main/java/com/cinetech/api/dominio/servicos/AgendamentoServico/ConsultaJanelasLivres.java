@@ -0,0 +1,37 @@
+package com.cinetech.api.dominio.servicos.AgendamentoServico;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Objects;
+
+/**
+ * Parâmetros da busca das primeiras janelas livres entre as salas (F7, ex: "4 horas livres numa noite do próximo mês").
+ * @param inicioFaixa Início da faixa de datas.
+ * @param fimFaixa Fim da faixa de datas.
+ * @param duracaoMinima Duração mínima da janela.
+ * @param inicioDiario Início do horário aceito em cada dia (null = dia inteiro).
+ * @param fimDiario Fim do horário aceito em cada dia (null = dia inteiro); antes do início, atravessa a meia-noite.
+ * @param quantidade Máximo de janelas retornadas (as de início mais cedo).
+ */
+public record ConsultaJanelasLivres(LocalDateTime inicioFaixa, LocalDateTime fimFaixa, Duration duracaoMinima,
+                                    LocalTime inicioDiario, LocalTime fimDiario, int quantidade) {
+
+    public ConsultaJanelasLivres {
+        Objects.requireNonNull(inicioFaixa, "Início da faixa não pode ser nulo.");
+        Objects.requireNonNull(fimFaixa, "Fim da faixa não pode ser nulo.");
+        Objects.requireNonNull(duracaoMinima, "Duração mínima não pode ser nula.");
+        if (!fimFaixa.isAfter(inicioFaixa)) {
+            throw new IllegalArgumentException("Fim da faixa deve ser após o início da faixa.");
+        }
+        if (duracaoMinima.isNegative() || duracaoMinima.isZero()) {
+            throw new IllegalArgumentException("Duração mínima deve ser positiva.");
+        }
+        if ((inicioDiario == null) != (fimDiario == null)) {
+            throw new IllegalArgumentException("Informe o início e o fim do horário diário, ou nenhum dos dois.");
+        }
+        if (quantidade <= 0) {
+            throw new IllegalArgumentException("Quantidade de janelas deve ser positiva.");
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.cinetech.api.dominio.servicos.AgendamentoServico;
+
+import com.cinetech.api.dominio.modelos.reservaevento.ReservaEventoId;
+import com.cinetech.api.dominio.modelos.sala.SalaId;
+import com.cinetech.api.dominio.modelos.sessao.SessaoId;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Índice da ocupação das salas (sessões e reservas de evento que não foram canceladas),
+ * consultado pelo AgendamentoServico antes de ir ao banco.
+ */
+public interface IndiceAgendaSalas {
+
+    /**
+     * Verifica se algum período ocupado da sala cruza o proposto: (StartA < EndB) AND (EndA > StartB).
+     * @param sessaoIdExcluida Sessão ignorada na verificação (a própria sessão, ao editar).
+     * @param reservaEventoIdExcluida Reserva ignorada na verificação (a própria reserva, ao editar).
+     * @return true/false com a resposta; vazio se o índice não puder responder (ainda não carregado ou em recarga),
+     *         caso em que a verificação deve ser feita nos repositórios.
+     */
+    Optional<Boolean> verificarConflito(
+            SalaId salaId,
+            LocalDateTime inicioProposto,
+            LocalDateTime fimProposto,
+            Optional<SessaoId> sessaoIdExcluida,
+            Optional<ReservaEventoId> reservaEventoIdExcluida
+    );
+
+    /**
+     * Calendários de slots das salas, mantidos junto com o índice. São os próprios calendários do índice:
+     * use-os apenas para leitura (buscarJanelasLivres).
+     * @return Um calendário por sala (vazio para sala sem ocupação), cobrindo o período;
+     *         vazio se o índice não puder responder (não carregado, ou período fora do horizonte dos calendários).
+     */
+    Optional<Map<SalaId, CalendarioSlotsSala>> buscarCalendarios(Collection<SalaId> salaIds, LocalDateTime inicio, LocalDateTime fim);
+}
@@ -1,9 +1,9 @@
 package com.cinetech.api.dominio.servicos.GestaoPontosFidelidadeServico;
 
 import com.cinetech.api.dominio.modelos.cliente.Cliente;
+import com.cinetech.api.dominio.modelos.comum.Dinheiro;
 import com.cinetech.api.dominio.modelos.ingresso.IngressoId;
 
-import java.math.BigDecimal; // Para o valor do ingresso
 import java.time.LocalDate;
 
 public interface GestaoPontosFidelidadeServico {
@@ -17,7 +17,7 @@ public interface GestaoPontosFidelidadeServico {
      * @param valorPagoNoIngresso O valor efetivamente pago pelo ingresso que originou os pontos.
      * @param ingressoOrigemId O ID do ingresso que originou os pontos (para rastreabilidade).
      */
-    void concederPontosPorCompra(Cliente cliente, BigDecimal valorPagoNoIngresso, IngressoId ingressoOrigemId);
+    void concederPontosPorCompra(Cliente cliente, Dinheiro valorPagoNoIngresso, IngressoId ingressoOrigemId);
 
     /**
      * Processa a expiração de pontos para um cliente específico, baseado na data de referência.
@@ -1,10 +1,9 @@
 package com.cinetech.api.dominio.servicos.GestaoPontosFidelidadeServico;
 
 import com.cinetech.api.dominio.modelos.cliente.Cliente;
+import com.cinetech.api.dominio.modelos.comum.Dinheiro;
 import com.cinetech.api.dominio.modelos.ingresso.IngressoId;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.Objects;
 
@@ -12,7 +11,7 @@ public class GestaoPontosFidelidadeServicoImpl implements GestaoPontosFidelidade
 
     // Regra de negócio: 1 ponto a cada R$10 gastos.
     // Poderia ser configurável ou mais complexa.
-    private static final BigDecimal FATOR_CONVERSAO_VALOR_PARA_PONTO = new BigDecimal("10.00");
+    private static final Dinheiro FATOR_CONVERSAO_VALOR_PARA_PONTO = Dinheiro.deCentavos(1_000);
 
     public GestaoPontosFidelidadeServicoImpl() {
         // Este serviço é stateless e opera sobre a entidade Cliente.
@@ -21,15 +20,14 @@ public class GestaoPontosFidelidadeServicoImpl implements GestaoPontosFidelidade
     }
 
     @Override
-    public void concederPontosPorCompra(Cliente cliente, BigDecimal valorPagoNoIngresso, IngressoId ingressoOrigemId) {
+    public void concederPontosPorCompra(Cliente cliente, Dinheiro valorPagoNoIngresso, IngressoId ingressoOrigemId) {
         Objects.requireNonNull(cliente, "Cliente não pode ser nulo para concessão de pontos.");
         Objects.requireNonNull(valorPagoNoIngresso, "Valor pago no ingresso não pode ser nulo.");
         // ingressoOrigemId pode ser nulo
 
-        if (valorPagoNoIngresso.compareTo(BigDecimal.ZERO) > 0) {
-            int pontosGanhos = valorPagoNoIngresso
-                    .divide(FATOR_CONVERSAO_VALOR_PARA_PONTO, 0, RoundingMode.FLOOR)
-                    .intValue();
+        if (valorPagoNoIngresso.ehPositivo()) {
+            // Divisão inteira de centavos positivos: arredonda para baixo (FLOOR)
+            int pontosGanhos = Math.toIntExact(valorPagoNoIngresso.centavos() / FATOR_CONVERSAO_VALOR_PARA_PONTO.centavos());
 
             if (pontosGanhos > 0) {
                 // CORREÇÃO AQUI: Chamando o novo método em Cliente
@@ -2,10 +2,10 @@ package com.cinetech.api.dominio.servicos.PrecificacaoServico;
 
 
 import com.cinetech.api.dominio.modelos.cliente.Cliente;
+import com.cinetech.api.dominio.modelos.comum.Dinheiro;
 import com.cinetech.api.dominio.modelos.promocao.Promocao;
 import com.cinetech.api.dominio.modelos.sessao.Sessao;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects; // Importado para uso no Record
@@ -15,12 +15,12 @@ public interface PrecificacaoServico {
 
     /**
      * Representa o resultado do cálculo de precificação.
-     * É um record para simplicidade e imutabilidade.
+     * É um record para simplicidade e imutabilidade; os valores são convertidos para BigDecimal só nos DTOs e no pagamento.
      */
     record ResultadoPrecificacao(
-            BigDecimal precoOriginal,
-            BigDecimal descontoAplicado,
-            BigDecimal precoFinal,
+            Dinheiro precoOriginal,
+            Dinheiro descontoAplicado,
+            Dinheiro precoFinal,
             Promocao promocaoAplicada // Pode ser null se o desconto principal não veio de uma entidade Promocao (ex: meia-entrada legal direta)
     ) {
         public ResultadoPrecificacao { // Construtor compacto para validação
@@ -35,10 +35,25 @@ public interface PrecificacaoServico {
         }
     }
 
+    /**
+     * Compila as promoções informadas e calcula o preço; para uso frequente, prefira a sobrecarga com as regras
+     * já compiladas.
+     */
     ResultadoPrecificacao calcularPrecoFinalIngresso(
             Cliente cliente,
             Sessao sessao,
             List<Promocao> promocoesVigentes,
             LocalDateTime dataHoraCompra
     );
+
+    /**
+     * Calcula o preço consultando as regras de promoção já compiladas para a data da compra.
+     * @throws IllegalArgumentException Se as regras foram compiladas para outra data.
+     */
+    ResultadoPrecificacao calcularPrecoFinalIngresso(
+            Cliente cliente,
+            Sessao sessao,
+            RegrasPromocaoCompiladas regrasPromocao,
+            LocalDateTime dataHoraCompra
+    );
 }
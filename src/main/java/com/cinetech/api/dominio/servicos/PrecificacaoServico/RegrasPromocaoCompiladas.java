@@ -0,0 +1,211 @@
+package com.cinetech.api.dominio.servicos.PrecificacaoServico;
+
+import com.cinetech.api.dominio.enums.PerfilCliente;
+import com.cinetech.api.dominio.enums.TipoPromocao;
+import com.cinetech.api.dominio.modelos.cliente.Cliente;
+import com.cinetech.api.dominio.modelos.comum.Dinheiro;
+import com.cinetech.api.dominio.modelos.promocao.Promocao;
+import com.cinetech.api.dominio.modelos.sessao.Sessao;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Promoções vigentes em uma data, pré-indexadas para a precificação: as de perfil por PerfilCliente e as de horário
+ * por dia da semana e hora do dia da sessão. Em cada posição do índice ficam só as candidatas que podem vencer
+ * (o maior percentual e o maior valor fixo), então uma consulta compara no máximo quatro descontos,
+ * qualquer que seja a quantidade de promoções cadastradas.
+ * Dentro de uma hora, as promoções que começam ou terminam no meio dela dividem a hora em faixas;
+ * o horário da sessão é comparado com o início de cada faixa (normalmente uma só).
+ * Imutável: compilada uma vez por alteração de promoção e compartilhada entre threads.
+ * Em empate de desconto vence a candidata que vem primeiro na lista compilada, como na avaliação linear;
+ * só não é detectado o empate, por arredondamento ou pelo teto do preço base, com uma promoção de menor valor nominal.
+ */
+public final class RegrasPromocaoCompiladas {
+
+    private static final long NANOS_POR_HORA = 3_600_000_000_000L;
+    private static final long NANOS_POR_DIA = 24 * NANOS_POR_HORA;
+    private static final Comparator<Candidata> MELHOR_PRIMEIRO =
+            Comparator.comparing(Candidata::valor).reversed().thenComparingInt(Candidata::ordem);
+
+    /** Promoção que venceu a consulta (nula se nenhuma se aplica) e o desconto que ela dá sobre o preço base. */
+    public record MelhorPromocao(Promocao promocao, Dinheiro desconto) {
+        public static final MelhorPromocao NENHUMA = new MelhorPromocao(null, Dinheiro.ZERO);
+    }
+
+    private record Candidata(Promocao promocao, int ordem, BigDecimal valor) {}
+
+    /** Melhores candidatas de uma posição do índice (cada uma pode ser nula). */
+    private record Candidatas(Candidata percentual, Candidata fixa) {
+        private static final Candidatas NENHUMA = new Candidatas(null, null);
+    }
+
+    /** Trecho de uma hora, do início informado até o início da faixa seguinte. */
+    private record Faixa(long inicioNanosDoDia, Candidatas candidatas) {}
+
+    private final LocalDate dataReferencia;
+    private final int promocoesIndexadas;
+    private final Map<PerfilCliente, Candidatas> porPerfil = new EnumMap<>(PerfilCliente.class);
+    private final Map<PerfilCliente, Promocao> primeiraPorPerfil = new EnumMap<>(PerfilCliente.class);
+    private final Faixa[][][] porDiaEHora = new Faixa[7][24][]; // [DayOfWeek - 1][hora] -> faixas em ordem de início
+    private int faixasIndexadas;
+
+    private RegrasPromocaoCompiladas(LocalDate dataReferencia, List<Promocao> promocoes) {
+        this.dataReferencia = dataReferencia;
+        List<Candidata> deHorario = new ArrayList<>();
+        Map<PerfilCliente, List<Candidata>> dePerfil = new EnumMap<>(PerfilCliente.class);
+        int indexadas = 0;
+        for (int ordem = 0; ordem < promocoes.size(); ordem++) {
+            Promocao promocao = promocoes.get(ordem);
+            if (!promocao.estaVigente(dataReferencia)) {
+                continue;
+            }
+            Candidata candidata = new Candidata(promocao, ordem, promocao.getPercentualDesconto() != null
+                    ? promocao.getPercentualDesconto() : promocao.getValorDescontoFixo());
+            if (promocao.getTipoPromocao() == TipoPromocao.MEIA_ENTRADA_PERFIL) {
+                promocao.getPerfisAplicaveis().forEach(perfil -> dePerfil.computeIfAbsent(perfil, p -> new ArrayList<>()).add(candidata));
+                indexadas++;
+            } else if (promocao.getTipoPromocao() == TipoPromocao.HORARIO_BAIXA_DEMANDA) {
+                deHorario.add(candidata);
+                indexadas++;
+            }
+            // Demais tipos (COMBO_ESPECIAL, NENHUMA) nunca são aplicáveis a um ingresso
+        }
+        this.promocoesIndexadas = indexadas;
+        dePerfil.forEach((perfil, candidatas) -> {
+            porPerfil.put(perfil, melhores(candidatas));
+            primeiraPorPerfil.put(perfil, candidatas.get(0).promocao());
+        });
+        for (DayOfWeek dia : DayOfWeek.values()) {
+            indexarDia(dia, deHorario.stream()
+                    .filter(c -> c.promocao().getDiasDaSemanaAplicaveis().isEmpty()
+                            || c.promocao().getDiasDaSemanaAplicaveis().contains(dia))
+                    .toList());
+        }
+    }
+
+    /**
+     * Compila as promoções informadas (ex: as de buscarPromocoesVigentes) para consultas na data de referência.
+     * Promoções inativas ou fora da vigência nessa data são ignoradas.
+     */
+    public static RegrasPromocaoCompiladas compilar(List<Promocao> promocoes, LocalDate dataReferencia) {
+        Objects.requireNonNull(promocoes, "Lista de promoções não pode ser nula.");
+        Objects.requireNonNull(dataReferencia, "Data de referência não pode ser nula.");
+        return new RegrasPromocaoCompiladas(dataReferencia, promocoes);
+    }
+
+    /**
+     * Varre o dia da sessão em ordem de horário: cada início ou fim de janela de promoção (e cada hora cheia)
+     * abre uma faixa, com as melhores candidatas ativas naquele trecho.
+     */
+    private void indexarDia(DayOfWeek dia, List<Candidata> candidatasDoDia) {
+        TreeMap<Long, List<Candidata>> entradas = new TreeMap<>();
+        TreeMap<Long, List<Candidata>> saidas = new TreeMap<>();
+        for (Candidata candidata : candidatasDoDia) {
+            LocalTime inicio = candidata.promocao().getHorarioInicioAplicavel();
+            LocalTime fim = candidata.promocao().getHorarioFimAplicavel();
+            entradas.computeIfAbsent(inicio == null ? 0 : inicio.toNanoOfDay(), n -> new ArrayList<>()).add(candidata);
+            if (fim != null && fim.toNanoOfDay() + 1 < NANOS_POR_DIA) { // O horário final é inclusivo
+                saidas.computeIfAbsent(fim.toNanoOfDay() + 1, n -> new ArrayList<>()).add(candidata);
+            }
+        }
+        TreeSet<Long> limites = new TreeSet<>(entradas.keySet());
+        limites.addAll(saidas.keySet());
+        for (int hora = 0; hora < 24; hora++) {
+            limites.add(hora * NANOS_POR_HORA);
+        }
+
+        TreeSet<Candidata> percentuais = new TreeSet<>(MELHOR_PRIMEIRO);
+        TreeSet<Candidata> fixas = new TreeSet<>(MELHOR_PRIMEIRO);
+        List<List<Faixa>> porHora = new ArrayList<>(24);
+        for (int hora = 0; hora < 24; hora++) {
+            porHora.add(new ArrayList<>(1));
+        }
+        for (long limite : limites) {
+            saidas.getOrDefault(limite, List.of()).forEach(c -> (c.promocao().getPercentualDesconto() != null ? percentuais : fixas).remove(c));
+            entradas.getOrDefault(limite, List.of()).forEach(c -> (c.promocao().getPercentualDesconto() != null ? percentuais : fixas).add(c));
+            Candidatas candidatas = percentuais.isEmpty() && fixas.isEmpty() ? Candidatas.NENHUMA
+                    : new Candidatas(percentuais.isEmpty() ? null : percentuais.first(), fixas.isEmpty() ? null : fixas.first());
+            porHora.get((int) (limite / NANOS_POR_HORA)).add(new Faixa(limite, candidatas));
+        }
+        for (int hora = 0; hora < 24; hora++) {
+            porDiaEHora[dia.getValue() - 1][hora] = porHora.get(hora).toArray(Faixa[]::new);
+            faixasIndexadas += porHora.get(hora).size();
+        }
+    }
+
+    private static Candidatas melhores(List<Candidata> candidatas) {
+        Candidata percentual = null;
+        Candidata fixa = null;
+        for (Candidata candidata : candidatas) {
+            if (candidata.promocao().getPercentualDesconto() != null) {
+                percentual = percentual == null || MELHOR_PRIMEIRO.compare(candidata, percentual) < 0 ? candidata : percentual;
+            } else {
+                fixa = fixa == null || MELHOR_PRIMEIRO.compare(candidata, fixa) < 0 ? candidata : fixa;
+            }
+        }
+        return new Candidatas(percentual, fixa);
+    }
+
+    /**
+     * Melhor promoção aplicável ao cliente e à sessão: de perfil (cliente elegível à meia-entrada)
+     * ou de horário (pelo dia e horário de início da sessão).
+     * @return MelhorPromocao.NENHUMA se nenhuma promoção se aplica.
+     */
+    public MelhorPromocao buscarMelhorPromocao(Cliente cliente, Sessao sessao, Dinheiro precoBase) {
+        Objects.requireNonNull(cliente, "Cliente não pode ser nulo.");
+        Objects.requireNonNull(sessao, "Sessão não pode ser nula.");
+        Objects.requireNonNull(precoBase, "Preço base não pode ser nulo.");
+        Candidatas dePerfil = cliente.elegivelParaMeiaEntrada() ? porPerfil.get(cliente.getPerfil()) : null;
+        LocalDateTime inicioSessao = sessao.getDataHoraInicio();
+        Faixa[] faixasDaHora = porDiaEHora[inicioSessao.getDayOfWeek().getValue() - 1][inicioSessao.getHour()];
+        long nanosDoDia = inicioSessao.toLocalTime().toNanoOfDay();
+        int faixa = faixasDaHora.length - 1;
+        while (faixasDaHora[faixa].inicioNanosDoDia() > nanosDoDia) { // A primeira faixa começa na hora cheia
+            faixa--;
+        }
+        Candidatas deHorario = faixasDaHora[faixa].candidatas();
+
+        // Percentual e fixa de perfil, depois percentual e fixa de horário: quatro descontos em centavos, sem alocar
+        Candidata melhor = null;
+        Dinheiro melhorDesconto = Dinheiro.ZERO;
+        for (int i = 0; i < 4; i++) {
+            Candidatas candidatas = i < 2 ? dePerfil : deHorario;
+            Candidata candidata = candidatas == null ? null : (i % 2 == 0 ? candidatas.percentual() : candidatas.fixa());
+            if (candidata == null) {
+                continue;
+            }
+            Dinheiro desconto = candidata.promocao().calcularDesconto(precoBase);
+            int comparacao = desconto.compareTo(melhorDesconto);
+            if (comparacao > 0 || (comparacao == 0 && melhor != null && candidata.ordem() < melhor.ordem())) {
+                melhor = candidata;
+                melhorDesconto = desconto;
+            }
+        }
+        return melhor == null ? MelhorPromocao.NENHUMA : new MelhorPromocao(melhor.promocao(), melhorDesconto);
+    }
+
+    /**
+     * Primeira promoção de perfil (na ordem da lista compilada) aplicável a um cliente deste perfil:
+     * é a que identifica a meia-entrada no ingresso.
+     */
+    public Optional<Promocao> buscarPrimeiraPromocaoDePerfil(PerfilCliente perfil) {
+        return Optional.ofNullable(primeiraPorPerfil.get(perfil));
+    }
+
+    public LocalDate getDataReferencia() { return dataReferencia; }
+    public int getPromocoesIndexadas() { return promocoesIndexadas; }
+    public int getFaixasIndexadas() { return faixasIndexadas; }
+}
@@ -4,6 +4,7 @@ import com.cinetech.api.dominio.repositorios.ReservaEventoRepositorio;
 import com.cinetech.api.dominio.repositorios.SessaoRepositorio;
 import com.cinetech.api.dominio.servicos.AgendamentoServico.AgendamentoServico;
 import com.cinetech.api.dominio.servicos.AgendamentoServico.AgendamentoServicoImpl;
+import com.cinetech.api.dominio.servicos.AgendamentoServico.IndiceAgendaSalas;
 import com.cinetech.api.dominio.servicos.FiltroConteudoServico.FiltroConteudoServico;
 import com.cinetech.api.dominio.servicos.FiltroConteudoServico.FiltroConteudoServicoImpl;
 import com.cinetech.api.dominio.servicos.GestaoPontosFidelidadeServico.GestaoPontosFidelidadeServico;
@@ -19,8 +20,9 @@ public class ConfiguracaoServicosDeDominio {
     @Bean
     public AgendamentoServico agendamentoService(
             SessaoRepositorio sessaoRepositorio, // Spring injetará SessaoRepositorioJpa aqui
-            ReservaEventoRepositorio reservaEventoRepositorio) { // Spring injetará ReservaEventoRepositorioJpa aqui
-        return new AgendamentoServicoImpl(sessaoRepositorio, reservaEventoRepositorio);
+            ReservaEventoRepositorio reservaEventoRepositorio, // Spring injetará ReservaEventoRepositorioJpa aqui
+            IndiceAgendaSalas indiceAgendaSalas) { // Spring injetará IndiceAgendaSalasEmMemoria aqui
+        return new AgendamentoServicoImpl(sessaoRepositorio, reservaEventoRepositorio, indiceAgendaSalas);
     }
 
     @Bean
@@ -0,0 +1,134 @@
+package com.cinetech.api.infraestrutura.eventos;
+
+import com.cinetech.api.dominio.eventos.EventoDominio;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Buffer circular de capacidade fixa com um escritor por vez e vários leitores. Cada leitor tem o seu cursor
+ * e vê todos os eventos, em ordem de publicação; uma posição só é reaproveitada depois que o leitor mais lento passou por ela.
+ * Sequências crescem sem voltar a zero; a posição no array é a sequência módulo a capacidade.
+ */
+final class AnelEventos {
+
+    private final EventoDominio[] posicoes;
+    private final int mascara;
+    private final long[] cursores; // Última sequência lida por leitor
+    private long ultimaPublicada = -1;
+    private boolean encerrado;
+    private final ReentrantLock trava = new ReentrantLock();
+    private final Condition haEspaco = trava.newCondition();
+    private final Condition haEventos = trava.newCondition();
+
+    AnelEventos(int capacidade, int leitores) {
+        if (capacidade <= 0 || Integer.bitCount(capacidade) != 1) {
+            throw new IllegalArgumentException("Capacidade do anel deve ser uma potência de 2. Recebido: " + capacidade);
+        }
+        this.posicoes = new EventoDominio[capacidade];
+        this.mascara = capacidade - 1;
+        this.cursores = new long[leitores];
+        Arrays.fill(cursores, -1);
+    }
+
+    /**
+     * Publica o evento, esperando até o prazo se o anel estiver cheio.
+     * @return false se o anel continuou cheio (leitor lento) ou foi encerrado; o evento não foi publicado.
+     */
+    boolean publicar(EventoDominio evento, long esperaMaximaMillis) throws InterruptedException {
+        long esperaRestanteNanos = TimeUnit.MILLISECONDS.toNanos(esperaMaximaMillis);
+        trava.lock();
+        try {
+            while (!encerrado && ultimaPublicada - cursorMaisLento() >= posicoes.length) {
+                if (esperaRestanteNanos <= 0) {
+                    return false;
+                }
+                esperaRestanteNanos = haEspaco.awaitNanos(esperaRestanteNanos);
+            }
+            if (encerrado) {
+                return false;
+            }
+            posicoes[(int) ((ultimaPublicada + 1) & mascara)] = evento;
+            ultimaPublicada++;
+            haEventos.signalAll();
+            return true;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Espera e devolve os próximos eventos do leitor (até o máximo informado), sem avançar o seu cursor.
+     * @return Lista vazia se o anel foi encerrado.
+     */
+    List<EventoDominio> aguardarProximos(int leitor, int maximo) throws InterruptedException {
+        trava.lock();
+        try {
+            while (!encerrado && cursores[leitor] == ultimaPublicada) {
+                haEventos.await();
+            }
+            long ate = Math.min(ultimaPublicada, cursores[leitor] + maximo);
+            List<EventoDominio> eventos = new ArrayList<>((int) (ate - cursores[leitor]));
+            for (long sequencia = cursores[leitor] + 1; sequencia <= ate; sequencia++) {
+                eventos.add(posicoes[(int) (sequencia & mascara)]);
+            }
+            return eventos;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Avança o cursor do leitor depois de tratar os eventos lidos, liberando as posições para o escritor.
+     */
+    void confirmarLeitura(int leitor, int quantidade) {
+        trava.lock();
+        try {
+            cursores[leitor] += quantidade;
+            haEspaco.signalAll();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    long pendentes(int leitor) {
+        trava.lock();
+        try {
+            return ultimaPublicada - cursores[leitor];
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    long pendentesLeitorMaisLento() {
+        trava.lock();
+        try {
+            return ultimaPublicada - cursorMaisLento();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    void encerrar() {
+        trava.lock();
+        try {
+            encerrado = true;
+            haEventos.signalAll();
+            haEspaco.signalAll();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    private long cursorMaisLento() {
+        long minimo = ultimaPublicada;
+        for (long cursor : cursores) {
+            minimo = Math.min(minimo, cursor);
+        }
+        return minimo;
+    }
+}
@@ -0,0 +1,204 @@
+package com.cinetech.api.infraestrutura.eventos;
+
+import com.cinetech.api.dominio.eventos.EventoDominio;
+import com.cinetech.api.dominio.eventos.ManipuladorEventoDominio;
+import com.cinetech.api.dominio.eventos.PublicadorEventosDominio;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Barramento de eventos de domínio em memória. Os repositórios publicam os eventos retirados dos agregados;
+ * o barramento os segura até o commit da transação e então chama os manipuladores síncronos na própria thread
+ * e coloca os eventos no anel, de onde cada manipulador assíncrono os lê na sua thread, em ordem.
+ * Com o anel cheio (manipulador assíncrono atrasado) a publicação espera até ESPERA_ANEL_CHEIO_MILLIS
+ * e depois descarta o evento, contado nas métricas: a requisição não fica presa a um manipulador lento.
+ */
+@Component
+public class BarramentoEventosDominio implements PublicadorEventosDominio {
+
+    public static final int CAPACIDADE_ANEL = 4_096;       // Configuração (potência de 2)
+    public static final int EVENTOS_POR_LEITURA = 64;
+    public static final long ESPERA_ANEL_CHEIO_MILLIS = 100;
+
+    /**
+     * Métricas do barramento desde a inicialização.
+     * @param eventosPublicados Eventos confirmados entregues ao barramento.
+     * @param eventosDescartados Eventos descartados com o anel cheio.
+     * @param profundidadeFila Eventos no anel ainda não lidos pelo manipulador assíncrono mais atrasado.
+     * @param manipuladores Métricas por manipulador.
+     */
+    public record MetricasBarramento(long eventosPublicados, long eventosDescartados, long profundidadeFila,
+                                     List<MetricasManipulador> manipuladores) {}
+
+    /**
+     * @param profundidadeFila Eventos no anel ainda não lidos por este manipulador (0 para síncronos).
+     * @param latenciaMediaMicros Tempo médio de tratamento de um evento.
+     */
+    public record MetricasManipulador(String nome, boolean assincrono, long eventosTratados, long falhas,
+                                      long profundidadeFila, long latenciaMediaMicros, long latenciaMaximaMicros) {}
+
+    private final ObjectProvider<ManipuladorEventoDominio<?>> provedorManipuladores;
+    private final AtomicLong eventosPublicados = new AtomicLong();
+    private final AtomicLong eventosDescartados = new AtomicLong();
+    // Resolvidos no primeiro uso: os manipuladores dependem de serviços que dependem dos repositórios, que dependem deste barramento
+    private volatile Consumidores consumidores;
+
+    public BarramentoEventosDominio(ObjectProvider<ManipuladorEventoDominio<?>> provedorManipuladores) {
+        this.provedorManipuladores = provedorManipuladores;
+    }
+
+    @Override
+    public void publicarAposCommit(List<EventoDominio> eventos) {
+        if (eventos == null || eventos.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            despachar(eventos);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                despachar(eventos);
+            }
+        });
+    }
+
+    private void despachar(List<EventoDominio> eventos) {
+        Consumidores atuais = consumidores();
+        for (EventoDominio evento : eventos) {
+            eventosPublicados.incrementAndGet();
+            for (Consumidor consumidor : atuais.sincronos) {
+                consumidor.tratarSeAplicavel(evento);
+            }
+            if (atuais.anel != null && !publicarNoAnel(atuais.anel, evento)) {
+                eventosDescartados.incrementAndGet();
+                System.out.println("WARN APP: Anel de eventos cheio; evento " + evento + " descartado para os manipuladores assíncronos.");
+            }
+        }
+    }
+
+    private static boolean publicarNoAnel(AnelEventos anel, EventoDominio evento) {
+        try {
+            return anel.publicar(evento, ESPERA_ANEL_CHEIO_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public MetricasBarramento obterMetricas() {
+        Consumidores atuais = consumidores();
+        List<MetricasManipulador> porManipulador = new ArrayList<>();
+        atuais.sincronos.forEach(c -> porManipulador.add(c.metricas(0)));
+        for (int leitor = 0; leitor < atuais.assincronos.size(); leitor++) {
+            porManipulador.add(atuais.assincronos.get(leitor).metricas(atuais.anel.pendentes(leitor)));
+        }
+        return new MetricasBarramento(eventosPublicados.get(), eventosDescartados.get(),
+                atuais.anel == null ? 0 : atuais.anel.pendentesLeitorMaisLento(), porManipulador);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        Consumidores atuais = consumidores;
+        if (atuais != null && atuais.anel != null) {
+            atuais.anel.encerrar();
+        }
+    }
+
+    private Consumidores consumidores() {
+        Consumidores atuais = consumidores;
+        if (atuais == null) {
+            synchronized (this) {
+                atuais = consumidores;
+                if (atuais == null) {
+                    atuais = new Consumidores(provedorManipuladores.orderedStream().collect(Collectors.toList()));
+                    consumidores = atuais;
+                }
+            }
+        }
+        return atuais;
+    }
+
+    private static final class Consumidores {
+        private final List<Consumidor> sincronos = new ArrayList<>();
+        private final List<Consumidor> assincronos = new ArrayList<>();
+        private final AnelEventos anel;
+
+        private Consumidores(List<ManipuladorEventoDominio<?>> manipuladores) {
+            for (ManipuladorEventoDominio<?> manipulador : manipuladores) {
+                (manipulador.assincrono() ? assincronos : sincronos).add(new Consumidor(manipulador));
+            }
+            this.anel = assincronos.isEmpty() ? null : new AnelEventos(CAPACIDADE_ANEL, assincronos.size());
+            for (int leitor = 0; leitor < assincronos.size(); leitor++) {
+                int indice = leitor;
+                Consumidor consumidor = assincronos.get(leitor);
+                Thread thread = new Thread(() -> consumidor.lerDoAnel(anel, indice), "eventos-" + consumidor.nome);
+                thread.setDaemon(true);
+                thread.start();
+            }
+        }
+    }
+
+    private static final class Consumidor {
+        private final ManipuladorEventoDominio<?> manipulador;
+        private final String nome;
+        private final AtomicLong eventosTratados = new AtomicLong();
+        private final AtomicLong falhas = new AtomicLong();
+        private final AtomicLong nanosTotais = new AtomicLong();
+        private final AtomicLong nanosMaximo = new AtomicLong();
+
+        private Consumidor(ManipuladorEventoDominio<?> manipulador) {
+            this.manipulador = manipulador;
+            this.nome = manipulador.getClass().getSimpleName();
+        }
+
+        private void lerDoAnel(AnelEventos anel, int leitor) {
+            try {
+                while (true) {
+                    List<EventoDominio> eventos = anel.aguardarProximos(leitor, EVENTOS_POR_LEITURA);
+                    if (eventos.isEmpty()) {
+                        return; // Anel encerrado
+                    }
+                    eventos.forEach(this::tratarSeAplicavel);
+                    anel.confirmarLeitura(leitor, eventos.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private void tratarSeAplicavel(EventoDominio evento) {
+            if (!manipulador.tipoEvento().isInstance(evento)) {
+                return;
+            }
+            long inicio = System.nanoTime();
+            try {
+                ((ManipuladorEventoDominio) manipulador).tratar(evento);
+            } catch (RuntimeException e) {
+                // Não interrompe os demais manipuladores nem a leitura do anel
+                falhas.incrementAndGet();
+                System.out.println("ERRO APP: Manipulador " + nome + " falhou ao tratar " + evento + ": " + e.getMessage());
+            }
+            long nanos = System.nanoTime() - inicio;
+            eventosTratados.incrementAndGet();
+            nanosTotais.addAndGet(nanos);
+            nanosMaximo.accumulateAndGet(nanos, Math::max);
+        }
+
+        private MetricasManipulador metricas(long profundidadeFila) {
+            long tratados = eventosTratados.get();
+            return new MetricasManipulador(nome, manipulador.assincrono(), tratados, falhas.get(), profundidadeFila,
+                    tratados == 0 ? 0 : nanosTotais.get() / tratados / 1_000, nanosMaximo.get() / 1_000);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.cinetech.api.infraestrutura.persistencia.agenda;
+
+import java.util.UUID;
+
+/**
+ * Árvore de intervalos aumentada dos períodos ocupados de uma sala.
+ * AVL ordenada por (início, ID); cada nó guarda o maior fim da sua subárvore, o que permite descartar
+ * subárvores inteiras na busca por sobreposição: O(log n) para inserir, remover e verificar conflito.
+ * Instantes em segundos (LocalDateTime em UTC). Acesso sincronizado na própria árvore.
+ */
+final class ArvoreIntervalos {
+
+    @FunctionalInterface
+    interface VisitanteIntervalo {
+        void visitar(long inicio, long fim);
+    }
+
+    private static final class No {
+        final UUID id;
+        final long inicio;
+        final long fim;
+        long fimMaximo;
+        int altura = 1;
+        No esquerda;
+        No direita;
+
+        No(UUID id, long inicio, long fim) {
+            this.id = id;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.fimMaximo = fim;
+        }
+    }
+
+    private No raiz;
+    private int tamanho;
+
+    synchronized void inserir(UUID id, long inicio, long fim) {
+        raiz = inserir(raiz, new No(id, inicio, fim));
+        tamanho++;
+    }
+
+    /**
+     * @param inicio Início com que o intervalo foi inserido (parte da chave).
+     * @return false se o intervalo não estava na árvore.
+     */
+    synchronized boolean remover(UUID id, long inicio) {
+        int antes = tamanho;
+        raiz = remover(raiz, id, inicio);
+        return tamanho < antes;
+    }
+
+    /**
+     * Algum intervalo cruza [inicio, fim)? Os IDs excluídos (podem ser null) são ignorados.
+     */
+    synchronized boolean existeSobreposicao(long inicio, long fim, UUID excluidoA, UUID excluidoB) {
+        return existeSobreposicao(raiz, inicio, fim, excluidoA, excluidoB);
+    }
+
+    /**
+     * Chama o visitante com (início, fim) de cada intervalo que cruza [inicio, fim), em ordem de início.
+     */
+    synchronized void visitarSobrepostos(long inicio, long fim, VisitanteIntervalo visitante) {
+        visitarSobrepostos(raiz, inicio, fim, visitante);
+    }
+
+    synchronized int tamanho() {
+        return tamanho;
+    }
+
+    private static boolean existeSobreposicao(No no, long inicio, long fim, UUID excluidoA, UUID excluidoB) {
+        while (no != null && no.fimMaximo > inicio) {
+            if (existeSobreposicao(no.esquerda, inicio, fim, excluidoA, excluidoB)) {
+                return true;
+            }
+            if (no.inicio >= fim) {
+                return false; // Este nó e toda a subárvore direita começam depois do período
+            }
+            if (no.fim > inicio && !no.id.equals(excluidoA) && !no.id.equals(excluidoB)) {
+                return true;
+            }
+            no = no.direita;
+        }
+        return false;
+    }
+
+    private static void visitarSobrepostos(No no, long inicio, long fim, VisitanteIntervalo visitante) {
+        if (no == null || no.fimMaximo <= inicio) {
+            return;
+        }
+        visitarSobrepostos(no.esquerda, inicio, fim, visitante);
+        if (no.inicio >= fim) {
+            return;
+        }
+        if (no.fim > inicio) {
+            visitante.visitar(no.inicio, no.fim);
+        }
+        visitarSobrepostos(no.direita, inicio, fim, visitante);
+    }
+
+    private static int comparar(long inicio, UUID id, No no) {
+        int porInicio = Long.compare(inicio, no.inicio);
+        return porInicio != 0 ? porInicio : id.compareTo(no.id);
+    }
+
+    private No inserir(No no, No novo) {
+        if (no == null) {
+            return novo;
+        }
+        int comparacao = comparar(novo.inicio, novo.id, no);
+        if (comparacao == 0) {
+            tamanho--; // Já presente com a mesma chave: substitui
+            novo.esquerda = no.esquerda;
+            novo.direita = no.direita;
+            return balancear(novo);
+        }
+        if (comparacao < 0) {
+            no.esquerda = inserir(no.esquerda, novo);
+        } else {
+            no.direita = inserir(no.direita, novo);
+        }
+        return balancear(no);
+    }
+
+    private No remover(No no, UUID id, long inicio) {
+        if (no == null) {
+            return null;
+        }
+        int comparacao = comparar(inicio, id, no);
+        if (comparacao < 0) {
+            no.esquerda = remover(no.esquerda, id, inicio);
+        } else if (comparacao > 0) {
+            no.direita = remover(no.direita, id, inicio);
+        } else {
+            tamanho--;
+            if (no.esquerda == null || no.direita == null) {
+                return no.esquerda != null ? no.esquerda : no.direita;
+            }
+            // Dois filhos: o sucessor (menor da direita) assume o lugar do nó removido
+            No sucessor = no.direita;
+            while (sucessor.esquerda != null) {
+                sucessor = sucessor.esquerda;
+            }
+            sucessor.direita = removerMenor(no.direita);
+            sucessor.esquerda = no.esquerda;
+            return balancear(sucessor);
+        }
+        return balancear(no);
+    }
+
+    private static No removerMenor(No no) {
+        if (no.esquerda == null) {
+            return no.direita;
+        }
+        no.esquerda = removerMenor(no.esquerda);
+        return balancear(no);
+    }
+
+    private static int altura(No no) {
+        return no == null ? 0 : no.altura;
+    }
+
+    private static void atualizar(No no) {
+        no.altura = 1 + Math.max(altura(no.esquerda), altura(no.direita));
+        long fimMaximo = no.fim;
+        if (no.esquerda != null) {
+            fimMaximo = Math.max(fimMaximo, no.esquerda.fimMaximo);
+        }
+        if (no.direita != null) {
+            fimMaximo = Math.max(fimMaximo, no.direita.fimMaximo);
+        }
+        no.fimMaximo = fimMaximo;
+    }
+
+    private static No balancear(No no) {
+        atualizar(no);
+        int fator = altura(no.esquerda) - altura(no.direita);
+        if (fator > 1) {
+            if (altura(no.esquerda.esquerda) < altura(no.esquerda.direita)) {
+                no.esquerda = rotacionarEsquerda(no.esquerda);
+            }
+            return rotacionarDireita(no);
+        }
+        if (fator < -1) {
+            if (altura(no.direita.direita) < altura(no.direita.esquerda)) {
+                no.direita = rotacionarDireita(no.direita);
+            }
+            return rotacionarEsquerda(no);
+        }
+        return no;
+    }
+
+    private static No rotacionarDireita(No no) {
+        No novaRaiz = no.esquerda;
+        no.esquerda = novaRaiz.direita;
+        novaRaiz.direita = no;
+        atualizar(no);
+        atualizar(novaRaiz);
+        return novaRaiz;
+    }
+
+    private static No rotacionarEsquerda(No no) {
+        No novaRaiz = no.direita;
+        no.direita = novaRaiz.esquerda;
+        novaRaiz.esquerda = no;
+        atualizar(no);
+        atualizar(novaRaiz);
+        return novaRaiz;
+    }
+}
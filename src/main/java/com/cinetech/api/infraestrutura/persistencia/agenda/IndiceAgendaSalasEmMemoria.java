@@ -0,0 +1,314 @@
+package com.cinetech.api.infraestrutura.persistencia.agenda;
+
+import com.cinetech.api.dominio.modelos.reservaevento.ReservaEventoId;
+import com.cinetech.api.dominio.modelos.sala.SalaId;
+import com.cinetech.api.dominio.modelos.sessao.SessaoId;
+import com.cinetech.api.dominio.servicos.AgendamentoServico.CalendarioSlotsSala;
+import com.cinetech.api.dominio.servicos.AgendamentoServico.IndiceAgendaSalas;
+import com.cinetech.api.infraestrutura.persistencia.jpa.IntervaloSalaView;
+import com.cinetech.api.infraestrutura.persistencia.jpa.ReservaEventoJpaRepository;
+import com.cinetech.api.infraestrutura.persistencia.jpa.SessaoJpaRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Agenda em memória da ocupação de cada sala: uma ArvoreIntervalos por SalaId com as sessões e as
+ * reservas de evento não canceladas. Responde às verificações de conflito do AgendamentoServico sem I/O.
+ * Junto com cada árvore mantém um CalendarioSlotsSala (um bit por slot de 15 minutos, de hoje até o horizonte),
+ * usado na busca de janelas livres; o horizonte avança à meia-noite.
+ * Carregada ao subir a aplicação e mantida pelos repositórios (SessaoRepositorioJpa, ReservaEventoRepositorioJpa),
+ * que registram cada gravação após o commit. Enquanto não está carregada (ou se a carga falhar) não responde,
+ * e o AgendamentoServico consulta o banco.
+ * Gravações feitas fora desta instância (outro nó, SQL direto) não são vistas: a verificação de consistência
+ * periódica compara a agenda com o banco e a recarrega quando divergem.
+ */
+@Component
+public class IndiceAgendaSalasEmMemoria implements IndiceAgendaSalas {
+
+    public static final long INTERVALO_VERIFICACAO_MILLIS = 10 * 60 * 1_000; // Configuração
+    public static final int HORIZONTE_CALENDARIO_DIAS = 120;                 // Configuração
+    private static final long SEGUNDOS_POR_SLOT = CalendarioSlotsSala.MINUTOS_POR_SLOT * 60L;
+
+    /**
+     * Métricas da agenda em memória.
+     * @param carregada Se a agenda está respondendo às verificações.
+     * @param salas Salas com ao menos um período ocupado.
+     * @param periodos Sessões e reservas de evento indexadas.
+     * @param verificacoesRespondidas Verificações de conflito respondidas sem ir ao banco.
+     * @param recargas Cargas completas a partir do banco (inicial e após divergência).
+     * @param divergencias Diferenças encontradas pelas verificações de consistência.
+     */
+    public record MetricasIndiceAgendaSalas(boolean carregada, int salas, int periodos, long verificacoesRespondidas,
+                                            long recargas, long divergencias) {}
+
+    // Período ocupado de uma sala, em segundos (UTC)
+    private record Periodo(UUID salaId, long inicio, long fim) {}
+
+    // Alteração registrada após o commit: periodo null = o ID deixou de ocupar sala
+    private record Alteracao(UUID id, Periodo periodo) {}
+
+    // Árvores e calendários por sala + período atual de cada ID; trocado por inteiro numa recarga
+    private record Agenda(Map<UUID, ArvoreIntervalos> arvoresPorSala, Map<UUID, Periodo> periodosPorId,
+                          LocalDateTime baseCalendarios, Map<UUID, CalendarioSlotsSala> calendariosPorSala) {
+
+        CalendarioSlotsSala calendarioVazio() {
+            return new CalendarioSlotsSala(baseCalendarios, HORIZONTE_CALENDARIO_DIAS * CalendarioSlotsSala.SLOTS_POR_DIA);
+        }
+    }
+
+    private final SessaoJpaRepository sessaoJpaRepository;
+    private final ReservaEventoJpaRepository reservaEventoJpaRepository;
+    private final AtomicLong verificacoesRespondidas = new AtomicLong();
+    private final AtomicLong recargas = new AtomicLong();
+    private final AtomicLong divergencias = new AtomicLong();
+
+    private volatile Agenda agenda; // null = não carregada
+    private List<Alteracao> alteracoesDuranteCarga; // Não nulo durante uma carga; protegido por 'this'
+
+    public IndiceAgendaSalasEmMemoria(SessaoJpaRepository sessaoJpaRepository,
+                                      ReservaEventoJpaRepository reservaEventoJpaRepository) {
+        this.sessaoJpaRepository = sessaoJpaRepository;
+        this.reservaEventoJpaRepository = reservaEventoJpaRepository;
+    }
+
+    @Override
+    public Optional<Boolean> verificarConflito(SalaId salaId, LocalDateTime inicioProposto, LocalDateTime fimProposto,
+                                               Optional<SessaoId> sessaoIdExcluida,
+                                               Optional<ReservaEventoId> reservaEventoIdExcluida) {
+        Agenda atual = agenda;
+        if (atual == null) {
+            return Optional.empty();
+        }
+        verificacoesRespondidas.incrementAndGet();
+        ArvoreIntervalos arvore = atual.arvoresPorSala().get(salaId.getValor());
+        if (arvore == null) {
+            return Optional.of(false);
+        }
+        return Optional.of(arvore.existeSobreposicao(
+                paraSegundos(inicioProposto),
+                paraSegundos(fimProposto),
+                sessaoIdExcluida.map(SessaoId::getValor).orElse(null),
+                reservaEventoIdExcluida.map(ReservaEventoId::getValor).orElse(null)));
+    }
+
+    @Override
+    public Optional<Map<SalaId, CalendarioSlotsSala>> buscarCalendarios(Collection<SalaId> salaIds,
+                                                                       LocalDateTime inicio, LocalDateTime fim) {
+        Agenda atual = agenda;
+        if (atual == null) {
+            return Optional.empty();
+        }
+        CalendarioSlotsSala vazio = atual.calendarioVazio();
+        if (!vazio.cobre(inicio, fim)) {
+            return Optional.empty();
+        }
+        Map<SalaId, CalendarioSlotsSala> calendarios = new HashMap<>();
+        for (SalaId salaId : salaIds) {
+            calendarios.put(salaId, atual.calendariosPorSala().getOrDefault(salaId.getValor(), vazio));
+        }
+        return Optional.of(calendarios);
+    }
+
+    /**
+     * Registra o período de uma sessão ou reserva de evento gravada, aplicado após o commit da transação corrente
+     * (ou de imediato, sem transação). Substitui o período anterior do mesmo ID.
+     * @param ocupaSala false para sessões/reservas canceladas, que deixam a agenda.
+     */
+    public void registrarAposCommit(UUID id, UUID salaId, LocalDateTime inicio, LocalDateTime fim, boolean ocupaSala) {
+        Objects.requireNonNull(id, "ID não pode ser nulo.");
+        Alteracao alteracao = ocupaSala
+                ? new Alteracao(id, new Periodo(Objects.requireNonNull(salaId, "ID da Sala não pode ser nulo."),
+                        paraSegundos(inicio), paraSegundos(fim)))
+                : new Alteracao(id, null);
+        aposCommit(List.of(alteracao));
+    }
+
+    private void aposCommit(List<Alteracao> alteracoes) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            aplicar(alteracoes);
+            return;
+        }
+        // Rollback descarta a alteração: a agenda só reflete o que foi de fato gravado
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                aplicar(alteracoes);
+            }
+        });
+    }
+
+    private synchronized void aplicar(List<Alteracao> alteracoes) {
+        if (alteracoesDuranteCarga != null) {
+            alteracoesDuranteCarga.addAll(alteracoes); // Reaplicadas sobre a carga, que pode ter lido o banco antes delas
+        }
+        Agenda atual = agenda;
+        if (atual != null) {
+            alteracoes.forEach(alteracao -> aplicar(atual, alteracao));
+        }
+    }
+
+    private static void aplicar(Agenda agenda, Alteracao alteracao) {
+        Periodo novo = alteracao.periodo();
+        if (Objects.equals(agenda.periodosPorId().get(alteracao.id()), novo)) {
+            return; // Ex: sessão regravada só por mudança de assentos
+        }
+        Periodo anterior = agenda.periodosPorId().remove(alteracao.id());
+        if (anterior != null) {
+            ArvoreIntervalos arvore = agenda.arvoresPorSala().get(anterior.salaId());
+            if (arvore != null) {
+                arvore.remover(alteracao.id(), anterior.inicio());
+                CalendarioSlotsSala calendario = agenda.calendariosPorSala().get(anterior.salaId());
+                if (calendario != null) {
+                    // Libera os slots do período e remarca quem ainda ocupa parte deles (slots compartilhados)
+                    long inicioSlots = Math.floorDiv(anterior.inicio(), SEGUNDOS_POR_SLOT) * SEGUNDOS_POR_SLOT;
+                    long fimSlots = -Math.floorDiv(-anterior.fim(), SEGUNDOS_POR_SLOT) * SEGUNDOS_POR_SLOT;
+                    calendario.liberar(paraDataHora(inicioSlots), paraDataHora(fimSlots));
+                    arvore.visitarSobrepostos(inicioSlots, fimSlots,
+                            (inicio, fim) -> calendario.marcarOcupado(paraDataHora(inicio), paraDataHora(fim)));
+                }
+            }
+        }
+        if (novo != null) {
+            agenda.periodosPorId().put(alteracao.id(), novo);
+            agenda.arvoresPorSala().computeIfAbsent(novo.salaId(), sala -> new ArvoreIntervalos())
+                    .inserir(alteracao.id(), novo.inicio(), novo.fim());
+            agenda.calendariosPorSala().computeIfAbsent(novo.salaId(), sala -> agenda.calendarioVazio())
+                    .marcarOcupado(paraDataHora(novo.inicio()), paraDataHora(novo.fim()));
+        }
+    }
+
+    /**
+     * Avança o horizonte dos calendários de slots: à meia-noite, o calendário passa a começar no novo dia.
+     * Os calendários são remontados a partir dos períodos já em memória, sem ir ao banco.
+     */
+    @Scheduled(cron = "0 0 0 * * *")
+    public synchronized void avancarHorizonteCalendarios() {
+        Agenda atual = agenda;
+        if (atual != null && alteracoesDuranteCarga == null) {
+            Map<UUID, Periodo> periodos = new HashMap<>(atual.periodosPorId());
+            agenda = montarAgenda(periodos);
+        }
+    }
+
+    /**
+     * Monta a agenda a partir do banco ao subir a aplicação. Até terminar, as verificações vão ao banco.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        synchronized (this) {
+            if (alteracoesDuranteCarga != null) {
+                return; // Carga já em andamento
+            }
+            alteracoesDuranteCarga = new ArrayList<>();
+        }
+        Agenda nova = null;
+        try {
+            long inicio = System.nanoTime();
+            nova = montarAgenda(lerPeriodosGravados());
+            recargas.incrementAndGet();
+            System.out.println("INFO APP: Agenda de salas carregada em memória: " + nova.periodosPorId().size()
+                    + " períodos em " + nova.arvoresPorSala().size() + " salas ("
+                    + (System.nanoTime() - inicio) / 1_000_000 + " ms).");
+        } catch (RuntimeException e) {
+            // Sem agenda, as verificações de conflito continuam indo ao banco
+            System.out.println("ERRO APP: Falha ao carregar a agenda de salas em memória: " + e.getMessage());
+        } finally {
+            synchronized (this) {
+                if (nova != null) {
+                    Agenda carregada = nova;
+                    alteracoesDuranteCarga.forEach(alteracao -> aplicar(carregada, alteracao));
+                    agenda = carregada;
+                }
+                alteracoesDuranteCarga = null;
+            }
+        }
+    }
+
+    /**
+     * Verificação de consistência: compara a agenda com os períodos gravados no banco e,
+     * se divergirem (gravação de outra instância, alteração direta no banco), recarrega.
+     * @return Quantidade de IDs divergentes (0 se consistente ou se a agenda não estiver carregada).
+     */
+    @Scheduled(initialDelay = INTERVALO_VERIFICACAO_MILLIS, fixedDelay = INTERVALO_VERIFICACAO_MILLIS)
+    public int verificarConsistencia() {
+        Agenda atual = agenda;
+        if (atual == null) {
+            return 0;
+        }
+        Map<UUID, Periodo> gravados = lerPeriodosGravados();
+        Map<UUID, Periodo> emMemoria;
+        synchronized (this) {
+            emMemoria = new HashMap<>(atual.periodosPorId());
+        }
+        int divergentes = 0;
+        for (Map.Entry<UUID, Periodo> gravado : gravados.entrySet()) {
+            if (!gravado.getValue().equals(emMemoria.remove(gravado.getKey()))) {
+                divergentes++;
+            }
+        }
+        divergentes += emMemoria.size(); // Na agenda, mas não mais no banco
+        if (divergentes > 0) {
+            // Uma gravação desta instância entre a leitura e o commit também aparece aqui; a recarga é inofensiva
+            divergencias.addAndGet(divergentes);
+            System.out.println("WARN APP: Agenda de salas em memória divergente do banco em " + divergentes
+                    + " períodos; recarregando.");
+            carregar();
+        }
+        return divergentes;
+    }
+
+    public MetricasIndiceAgendaSalas obterMetricas() {
+        Agenda atual = agenda;
+        return new MetricasIndiceAgendaSalas(
+                atual != null,
+                atual == null ? 0 : atual.arvoresPorSala().size(),
+                atual == null ? 0 : atual.periodosPorId().size(),
+                verificacoesRespondidas.get(),
+                recargas.get(),
+                divergencias.get());
+    }
+
+    private Map<UUID, Periodo> lerPeriodosGravados() {
+        Map<UUID, Periodo> periodos = new HashMap<>();
+        List<IntervaloSalaView> gravados = new ArrayList<>(sessaoJpaRepository.findIntervalosOcupacaoSala());
+        gravados.addAll(reservaEventoJpaRepository.findIntervalosOcupacaoSala());
+        for (IntervaloSalaView intervalo : gravados) {
+            periodos.put(intervalo.getId(), new Periodo(intervalo.getSalaId(),
+                    paraSegundos(intervalo.getDataHoraInicio()), paraSegundos(intervalo.getDataHoraFim())));
+        }
+        return periodos;
+    }
+
+    private static Agenda montarAgenda(Map<UUID, Periodo> periodos) {
+        Agenda agenda = new Agenda(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(),
+                LocalDate.now().atStartOfDay(), new ConcurrentHashMap<>());
+        periodos.forEach((id, periodo) -> aplicar(agenda, new Alteracao(id, periodo)));
+        return agenda;
+    }
+
+    private static LocalDateTime paraDataHora(long segundos) {
+        return LocalDateTime.ofEpochSecond(segundos, 0, ZoneOffset.UTC);
+    }
+
+    private static long paraSegundos(LocalDateTime dataHora) {
+        return dataHora.toEpochSecond(ZoneOffset.UTC); // Só a ordem importa: o fuso é indiferente
+    }
+}
@@ -0,0 +1,57 @@
+package com.cinetech.api.infraestrutura.persistencia.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Expõe os acertos e faltas de cada região do cache de segundo nível (dados de referência e consultas).
+ */
+@Component
+public class CacheSegundoNivel {
+
+    /**
+     * @param acertos Leituras atendidas pelo cache.
+     * @param faltas Leituras que foram ao banco.
+     * @param gravacoes Entradas colocadas no cache.
+     */
+    public record MetricasRegiao(String regiao, long acertos, long faltas, long gravacoes) {
+        public double taxaAcerto() {
+            long leituras = acertos + faltas;
+            return leituras == 0 ? 0 : (double) acertos / leituras;
+        }
+    }
+
+    private final Statistics estatisticas;
+
+    public CacheSegundoNivel(EntityManagerFactory entityManagerFactory) {
+        this.estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public List<MetricasRegiao> obterMetricas() {
+        List<MetricasRegiao> metricas = new ArrayList<>();
+        RegioesCache.ENTIDADES_E_COLECOES.forEach(regiao -> metricas.add(paraMetricas(regiao, estatisticas.getDomainDataRegionStatistics(regiao))));
+        RegioesCache.CONSULTAS.forEach(regiao -> metricas.add(paraMetricas(regiao, estatisticas.getQueryRegionStatistics(regiao))));
+        return metricas;
+    }
+
+    public MetricasRegiao obterMetricas(String regiao) {
+        return obterMetricas().stream()
+                .filter(m -> m.regiao().equals(regiao))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Região de cache desconhecida: " + regiao));
+    }
+
+    private static MetricasRegiao paraMetricas(String regiao, CacheRegionStatistics estatisticasRegiao) {
+        if (estatisticasRegiao == null) { // Região ainda não usada (consultas são criadas no primeiro uso)
+            return new MetricasRegiao(regiao, 0, 0, 0);
+        }
+        return new MetricasRegiao(regiao, estatisticasRegiao.getHitCount(), estatisticasRegiao.getMissCount(),
+                estatisticasRegiao.getPutCount());
+    }
+}
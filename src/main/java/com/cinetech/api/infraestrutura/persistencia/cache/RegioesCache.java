@@ -0,0 +1,23 @@
+package com.cinetech.api.infraestrutura.persistencia.cache;
+
+import java.util.List;
+
+/**
+ * Regiões do cache de segundo nível do Hibernate. Cada uma tem tamanho máximo e expiração próprios
+ * em cache-segundo-nivel.conf; uma região sem configuração ali impede a aplicação de subir.
+ */
+public final class RegioesCache {
+
+    public static final String FILME = "filme";
+    public static final String SALA = "sala";
+    public static final String PROMOCAO = "promocao";
+    public static final String PROMOCAO_DIAS_SEMANA = "promocao-dias-semana";
+    public static final String PROMOCAO_PERFIS_CLIENTE = "promocao-perfis-cliente";
+    public static final String CONSULTA_PROMOCOES_VIGENTES = "consulta-promocoes-vigentes";
+
+    public static final List<String> ENTIDADES_E_COLECOES = List.of(FILME, SALA, PROMOCAO, PROMOCAO_DIAS_SEMANA, PROMOCAO_PERFIS_CLIENTE);
+    public static final List<String> CONSULTAS = List.of(CONSULTA_PROMOCOES_VIGENTES);
+
+    private RegioesCache() {
+    }
+}
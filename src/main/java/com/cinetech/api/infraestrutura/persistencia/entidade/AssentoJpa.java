@@ -36,6 +36,10 @@ public class AssentoJpa {
 
     private LocalDateTime timestampExpiracaoReserva;
 
+    // Controle de concorrência otimista: gravações concorrentes do mesmo registro falham em vez de se sobrescreverem
+    @Version
+    private Long versao;
+
     public AssentoJpa() {
     }
 
@@ -54,6 +58,8 @@ public class AssentoJpa {
     public void setClienteIdReservaTemporaria(UUID clienteIdReservaTemporaria) { this.clienteIdReservaTemporaria = clienteIdReservaTemporaria; }
     public LocalDateTime getTimestampExpiracaoReserva() { return timestampExpiracaoReserva; }
     public void setTimestampExpiracaoReserva(LocalDateTime timestampExpiracaoReserva) { this.timestampExpiracaoReserva = timestampExpiracaoReserva; }
+    public Long getVersao() { return versao; }
+    public void setVersao(Long versao) { this.versao = versao; }
 
     @Override
     public boolean equals(Object o) {
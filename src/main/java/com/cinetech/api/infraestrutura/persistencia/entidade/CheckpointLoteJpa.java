@@ -0,0 +1,51 @@
+package com.cinetech.api.infraestrutura.persistencia.entidade;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "checkpoint_lote")
+public class CheckpointLoteJpa {
+
+    @Id
+    @Column(length = 100)
+    private String rotina;
+
+    @Column(name = "ultimo_id_concluido")
+    private UUID ultimoIdConcluido;
+
+    @Column(nullable = false)
+    private long itensProcessados;
+
+    @Column(nullable = false)
+    private long itensAlterados;
+
+    @Column(nullable = false)
+    private boolean concluida;
+
+    @Column(nullable = false)
+    private LocalDateTime iniciadaEm;
+
+    @Column(nullable = false)
+    private LocalDateTime atualizadaEm;
+
+    public CheckpointLoteJpa() {
+    }
+
+    // Getters e Setters
+    public String getRotina() { return rotina; }
+    public void setRotina(String rotina) { this.rotina = rotina; }
+    public UUID getUltimoIdConcluido() { return ultimoIdConcluido; }
+    public void setUltimoIdConcluido(UUID ultimoIdConcluido) { this.ultimoIdConcluido = ultimoIdConcluido; }
+    public long getItensProcessados() { return itensProcessados; }
+    public void setItensProcessados(long itensProcessados) { this.itensProcessados = itensProcessados; }
+    public long getItensAlterados() { return itensAlterados; }
+    public void setItensAlterados(long itensAlterados) { this.itensAlterados = itensAlterados; }
+    public boolean isConcluida() { return concluida; }
+    public void setConcluida(boolean concluida) { this.concluida = concluida; }
+    public LocalDateTime getIniciadaEm() { return iniciadaEm; }
+    public void setIniciadaEm(LocalDateTime iniciadaEm) { this.iniciadaEm = iniciadaEm; }
+    public LocalDateTime getAtualizadaEm() { return atualizadaEm; }
+    public void setAtualizadaEm(LocalDateTime atualizadaEm) { this.atualizadaEm = atualizadaEm; }
+}
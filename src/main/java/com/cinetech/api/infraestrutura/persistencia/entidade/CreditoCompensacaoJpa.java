@@ -7,7 +7,10 @@ import java.util.Objects;
 import java.util.UUID;
 
 @Entity
-@Table(name = "credito_compensacao")
+@Table(name = "credito_compensacao", uniqueConstraints = {
+        // Um crédito por ingresso de uma sessão cancelada: a emissão em lote pode ser repetida sem duplicar
+        @UniqueConstraint(name = "uk_credito_sessao_ingresso", columnNames = {"sessao_origem_id", "ingresso_origem_id"})
+})
 public class CreditoCompensacaoJpa {
 
     @Id
@@ -32,6 +35,8 @@ public class CreditoCompensacaoJpa {
     private String motivo;
     @Column(name = "sessao_origem_id")
     private UUID sessaoOrigemId;
+    @Column(name = "ingresso_origem_id")
+    private UUID ingressoOrigemId;
 
 
     public CreditoCompensacaoJpa() {
@@ -56,6 +61,8 @@ public class CreditoCompensacaoJpa {
     public void setMotivo(String motivo) { this.motivo = motivo; }
     public UUID getSessaoOrigemId() { return sessaoOrigemId; }
     public void setSessaoOrigemId(UUID sessaoOrigemId) { this.sessaoOrigemId = sessaoOrigemId; }
+    public UUID getIngressoOrigemId() { return ingressoOrigemId; }
+    public void setIngressoOrigemId(UUID ingressoOrigemId) { this.ingressoOrigemId = ingressoOrigemId; }
 
 
     // O método getClienteId() que você tinha aqui é desnecessário se o mapper cuidar da conversão
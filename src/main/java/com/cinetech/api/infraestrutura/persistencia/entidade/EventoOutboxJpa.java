@@ -0,0 +1,60 @@
+package com.cinetech.api.infraestrutura.persistencia.entidade;
+
+import com.cinetech.api.dominio.enums.TipoEventoOutbox;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "evento_outbox", indexes = {
+        // Busca do relay: pendentes disponíveis, em ordem de disponibilidade
+        @Index(name = "idx_evento_outbox_pendentes", columnList = "processado_em, disponivel_em")
+})
+public class EventoOutboxJpa {
+
+    @Id
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private TipoEventoOutbox tipo;
+
+    @Column(name = "agregado_id", nullable = false)
+    private UUID agregadoId;
+
+    @Column(nullable = false)
+    private LocalDateTime registradoEm;
+
+    @Column(nullable = false)
+    private int tentativas;
+
+    @Column(name = "disponivel_em", nullable = false)
+    private LocalDateTime disponivelEm;
+
+    @Column(name = "processado_em")
+    private LocalDateTime processadoEm;
+
+    @Column(length = 1000)
+    private String ultimoErro;
+
+    public EventoOutboxJpa() {
+    }
+
+    // Getters e Setters
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+    public TipoEventoOutbox getTipo() { return tipo; }
+    public void setTipo(TipoEventoOutbox tipo) { this.tipo = tipo; }
+    public UUID getAgregadoId() { return agregadoId; }
+    public void setAgregadoId(UUID agregadoId) { this.agregadoId = agregadoId; }
+    public LocalDateTime getRegistradoEm() { return registradoEm; }
+    public void setRegistradoEm(LocalDateTime registradoEm) { this.registradoEm = registradoEm; }
+    public int getTentativas() { return tentativas; }
+    public void setTentativas(int tentativas) { this.tentativas = tentativas; }
+    public LocalDateTime getDisponivelEm() { return disponivelEm; }
+    public void setDisponivelEm(LocalDateTime disponivelEm) { this.disponivelEm = disponivelEm; }
+    public LocalDateTime getProcessadoEm() { return processadoEm; }
+    public void setProcessadoEm(LocalDateTime processadoEm) { this.processadoEm = processadoEm; }
+    public String getUltimoErro() { return ultimoErro; }
+    public void setUltimoErro(String ultimoErro) { this.ultimoErro = ultimoErro; }
+}
@@ -1,11 +1,16 @@
 package com.cinetech.api.infraestrutura.persistencia.entidade;
 
+import com.cinetech.api.infraestrutura.persistencia.cache.RegioesCache;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDate;
 import java.util.Objects;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = RegioesCache.FILME) // Dado de referência: lido a cada compra, raramente alterado
 @Table(name = "filme")
 public class FilmeJpa {
 
@@ -2,7 +2,10 @@ package com.cinetech.api.infraestrutura.persistencia.entidade;
 
 import com.cinetech.api.dominio.enums.PerfilCliente;
 import com.cinetech.api.dominio.enums.TipoPromocao;
+import com.cinetech.api.infraestrutura.persistencia.cache.RegioesCache;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
@@ -13,6 +16,8 @@ import java.util.Set;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = RegioesCache.PROMOCAO) // Dado de referência: lido a cada compra, raramente alterado
 @Table(name = "promocao")
 public class PromocaoJpa {
 
@@ -33,6 +38,7 @@ public class PromocaoJpa {
     private BigDecimal valorDescontoFixo;
 
     @ElementCollection(targetClass = DayOfWeek.class, fetch = FetchType.EAGER) // EAGER pode ser ok para poucos elementos
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = RegioesCache.PROMOCAO_DIAS_SEMANA)
     @CollectionTable(name = "promocao_dias_semana", joinColumns = @JoinColumn(name = "promocao_id"))
     @Enumerated(EnumType.STRING)
     @Column(name = "dia_semana", nullable = false)
@@ -42,6 +48,7 @@ public class PromocaoJpa {
     private LocalTime horarioFimAplicavel;
 
     @ElementCollection(targetClass = PerfilCliente.class, fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = RegioesCache.PROMOCAO_PERFIS_CLIENTE)
     @CollectionTable(name = "promocao_perfis_cliente", joinColumns = @JoinColumn(name = "promocao_id"))
     @Enumerated(EnumType.STRING)
     @Column(name = "perfil_cliente", nullable = false)
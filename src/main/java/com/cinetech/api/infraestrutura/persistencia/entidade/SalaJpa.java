@@ -1,11 +1,17 @@
 package com.cinetech.api.infraestrutura.persistencia.entidade;
 
 import com.cinetech.api.dominio.enums.TipoSala;
+import com.cinetech.api.dominio.modelos.sala.LayoutSala;
+import com.cinetech.api.infraestrutura.persistencia.cache.RegioesCache;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.Objects;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = RegioesCache.SALA) // Dado de referência: lido a cada compra, raramente alterado
 @Table(name = "sala")
 public class SalaJpa {
 
@@ -25,6 +31,14 @@ public class SalaJpa {
     @Column(nullable = false)
     private boolean disponivelParaEventos;
 
+    // Planta de assentos (LayoutSala): dimensões e um byte por célula (0 = sem assento, 1 + TipoAssento.ordinal())
+    private Integer layoutFileiras;
+
+    private Integer layoutColunas;
+
+    @Column(length = LayoutSala.MAXIMO_FILEIRAS * LayoutSala.MAXIMO_COLUNAS)
+    private byte[] layoutCelulas;
+
     public SalaJpa() {
     }
 
@@ -39,6 +53,12 @@ public class SalaJpa {
     public void setTipo(TipoSala tipo) { this.tipo = tipo; }
     public boolean isDisponivelParaEventos() { return disponivelParaEventos; }
     public void setDisponivelParaEventos(boolean disponivelParaEventos) { this.disponivelParaEventos = disponivelParaEventos; }
+    public Integer getLayoutFileiras() { return layoutFileiras; }
+    public void setLayoutFileiras(Integer layoutFileiras) { this.layoutFileiras = layoutFileiras; }
+    public Integer getLayoutColunas() { return layoutColunas; }
+    public void setLayoutColunas(Integer layoutColunas) { this.layoutColunas = layoutColunas; }
+    public byte[] getLayoutCelulas() { return layoutCelulas; }
+    public void setLayoutCelulas(byte[] layoutCelulas) { this.layoutCelulas = layoutCelulas; }
 
     @Override
     public boolean equals(Object o) {
@@ -2,6 +2,7 @@ package com.cinetech.api.infraestrutura.persistencia.entidade;
 
 import com.cinetech.api.dominio.enums.StatusSessao;
 import com.cinetech.api.dominio.enums.TipoExibicao;
+import com.cinetech.api.dominio.modelos.sala.LayoutSala;
 import jakarta.persistence.*; // JPA de Jakarta EE / Spring Boot 3+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -10,9 +11,21 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "sessao")
+@Table(name = "sessao", indexes = {
+        // Verificação de conflito de horário da sala: sala + faixa de início, com o fim coberto pelo índice
+        @Index(name = "idx_sessao_sala_periodo", columnList = "sala_id, data_hora_inicio, data_hora_fim")
+})
+// Formas de carga usadas pelo SessaoRepositorioJpa (uma única consulta com JOIN em vez de 1 + 3N):
+// agregado completo (reconstrução da Sessao com assentos) e só o cabeçalho (leituras parciais).
+@NamedEntityGraph(name = SessaoJpa.GRAFO_AGREGADO, attributeNodes = {
+        @NamedAttributeNode("filme"), @NamedAttributeNode("sala"), @NamedAttributeNode("assentos")})
+@NamedEntityGraph(name = SessaoJpa.GRAFO_CABECALHO, attributeNodes = {
+        @NamedAttributeNode("filme"), @NamedAttributeNode("sala")})
 public class SessaoJpa {
 
+    public static final String GRAFO_AGREGADO = "SessaoJpa.agregado";
+    public static final String GRAFO_CABECALHO = "SessaoJpa.cabecalho";
+
     @Id
     private UUID id; // Chave primária
 
@@ -27,6 +40,10 @@ public class SessaoJpa {
     @Column(nullable = false)
     private LocalDateTime dataHoraInicio;
 
+    // Início + duração do filme, gravado para que o conflito de horário seja resolvido no banco
+    @Column(nullable = false)
+    private LocalDateTime dataHoraFim;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 50)
     private TipoExibicao tipoExibicao;
@@ -38,6 +55,32 @@ public class SessaoJpa {
     @Column(nullable = false, length = 50)
     private StatusSessao status;
 
+    // Totais por status dos assentos, mantidos pelo agregado Sessao (consulta de disponibilidade sem ler assentos)
+    @Column(nullable = false)
+    private int assentosDisponiveis;
+
+    @Column(nullable = false)
+    private int assentosReservados;
+
+    @Column(nullable = false)
+    private int assentosOcupados;
+
+    @Column(nullable = false)
+    private int assentosBloqueados;
+
+    // Planta da sala copiada no agendamento (mesmo formato de SalaJpa). Presente = sessão esparsa: a tabela
+    // 'assento' só tem linhas dos assentos que já mudaram de estado. Nula = sessão com todos os assentos gravados.
+    private Integer plantaFileiras;
+
+    private Integer plantaColunas;
+
+    @Column(length = LayoutSala.MAXIMO_FILEIRAS * LayoutSala.MAXIMO_COLUNAS)
+    private byte[] plantaCelulas;
+
+    // Controle de concorrência otimista: gravações concorrentes do mesmo registro falham em vez de se sobrescreverem
+    @Version
+    private Long versao;
+
     // Uma sessão tem muitos assentos.
     // CascadeType.ALL e orphanRemoval=true significam que os AssentoJpa
     // são gerenciados pelo ciclo de vida da SessaoJpa.
@@ -81,6 +124,14 @@ public class SessaoJpa {
         this.dataHoraInicio = dataHoraInicio;
     }
 
+    public LocalDateTime getDataHoraFim() {
+        return dataHoraFim;
+    }
+
+    public void setDataHoraFim(LocalDateTime dataHoraFim) {
+        this.dataHoraFim = dataHoraFim;
+    }
+
     public TipoExibicao getTipoExibicao() {
         return tipoExibicao;
     }
@@ -105,6 +156,70 @@ public class SessaoJpa {
         this.status = status;
     }
 
+    public int getAssentosDisponiveis() {
+        return assentosDisponiveis;
+    }
+
+    public void setAssentosDisponiveis(int assentosDisponiveis) {
+        this.assentosDisponiveis = assentosDisponiveis;
+    }
+
+    public int getAssentosReservados() {
+        return assentosReservados;
+    }
+
+    public void setAssentosReservados(int assentosReservados) {
+        this.assentosReservados = assentosReservados;
+    }
+
+    public int getAssentosOcupados() {
+        return assentosOcupados;
+    }
+
+    public void setAssentosOcupados(int assentosOcupados) {
+        this.assentosOcupados = assentosOcupados;
+    }
+
+    public int getAssentosBloqueados() {
+        return assentosBloqueados;
+    }
+
+    public void setAssentosBloqueados(int assentosBloqueados) {
+        this.assentosBloqueados = assentosBloqueados;
+    }
+
+    public Integer getPlantaFileiras() {
+        return plantaFileiras;
+    }
+
+    public void setPlantaFileiras(Integer plantaFileiras) {
+        this.plantaFileiras = plantaFileiras;
+    }
+
+    public Integer getPlantaColunas() {
+        return plantaColunas;
+    }
+
+    public void setPlantaColunas(Integer plantaColunas) {
+        this.plantaColunas = plantaColunas;
+    }
+
+    public byte[] getPlantaCelulas() {
+        return plantaCelulas;
+    }
+
+    public void setPlantaCelulas(byte[] plantaCelulas) {
+        this.plantaCelulas = plantaCelulas;
+    }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
     public List<AssentoJpa> getAssentos() {
         return assentos;
     }
@@ -0,0 +1,83 @@
+package com.cinetech.api.infraestrutura.persistencia.jpa;
+
+import com.cinetech.api.dominio.enums.StatusAssento;
+import com.cinetech.api.infraestrutura.persistencia.entidade.AssentoJpa;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface AssentoJpaRepository extends JpaRepository<AssentoJpa, UUID> {
+
+    /**
+     * Projeção com o mínimo necessário para agendar a expiração de uma reserva temporária.
+     */
+    interface ReservaPendenteView {
+        UUID getSessaoId();
+        String getIdentificadorPosicao();
+        LocalDateTime getTimestampExpiracaoReserva();
+    }
+
+    /**
+     * Busca um único assento de uma sessão pela sua posição, sem carregar os demais assentos.
+     * A comparação ignora maiúsculas/minúsculas, como em Sessao.buscarAssentoPorIdentificador.
+     */
+    Optional<AssentoJpa> findBySessao_IdAndIdentificadorPosicaoIgnoreCase(UUID sessaoId, String identificadorPosicao);
+
+    /**
+     * Compare-and-set do estado de um assento, chaveado por (sessao_id, identificador_posicao).
+     * Só altera a linha se o status e a expiração ainda forem os lidos antes da regra de domínio
+     * ser aplicada; caso outra requisição tenha mudado o assento, nenhuma linha é afetada.
+     * A versão é incrementada, invalidando cópias do agregado lidas antes desta gravação.
+     *
+     * @return Número de linhas atualizadas (0 se o assento foi alterado por outro fluxo, 1 caso contrário).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE AssentoJpa a SET a.status = :novoStatus, " +
+            "a.clienteIdReservaTemporaria = :clienteIdReserva, " +
+            "a.timestampExpiracaoReserva = :novaExpiracao, " +
+            "a.versao = a.versao + 1 " +
+            "WHERE a.sessao.id = :sessaoId AND a.identificadorPosicao = :identificadorPosicao " +
+            "AND a.status = :statusEsperado " +
+            "AND (a.timestampExpiracaoReserva = :expiracaoEsperada " +
+            "OR (a.timestampExpiracaoReserva IS NULL AND :expiracaoEsperada IS NULL))")
+    int atualizarEstadoSeInalterado(
+            @Param("sessaoId") UUID sessaoId,
+            @Param("identificadorPosicao") String identificadorPosicao,
+            @Param("statusEsperado") StatusAssento statusEsperado,
+            @Param("expiracaoEsperada") LocalDateTime expiracaoEsperada,
+            @Param("novoStatus") StatusAssento novoStatus,
+            @Param("clienteIdReserva") UUID clienteIdReserva,
+            @Param("novaExpiracao") LocalDateTime novaExpiracao
+    );
+
+    @Query("SELECT a.sessao.id AS sessaoId, a.identificadorPosicao AS identificadorPosicao, " +
+            "a.timestampExpiracaoReserva AS timestampExpiracaoReserva " +
+            "FROM AssentoJpa a WHERE a.status = :status AND a.timestampExpiracaoReserva IS NOT NULL")
+    List<ReservaPendenteView> findReservasPendentesPorStatus(@Param("status") StatusAssento status);
+
+    /**
+     * Libera em lote as reservas temporárias expiradas das posições informadas de uma sessão.
+     * O filtro por status e expiração impede liberar um assento confirmado ou reservado de novo.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE AssentoJpa a SET a.status = :statusLiberado, " +
+            "a.clienteIdReservaTemporaria = NULL, a.timestampExpiracaoReserva = NULL, a.versao = a.versao + 1 " +
+            "WHERE a.sessao.id = :sessaoId AND a.identificadorPosicao IN :posicoes " +
+            "AND a.status = :statusReservado AND a.timestampExpiracaoReserva < :agora")
+    int liberarReservasExpiradas(
+            @Param("sessaoId") UUID sessaoId,
+            @Param("posicoes") Collection<String> posicoes,
+            @Param("agora") LocalDateTime agora,
+            @Param("statusReservado") StatusAssento statusReservado,
+            @Param("statusLiberado") StatusAssento statusLiberado
+    );
+}
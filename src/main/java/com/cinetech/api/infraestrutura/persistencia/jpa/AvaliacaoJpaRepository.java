@@ -10,7 +10,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface AvaliacaoJpaRepository extends JpaRepository<AvaliacaoJpa, UUID> {
+public interface AvaliacaoJpaRepository extends JpaRepository<AvaliacaoJpa, UUID>, ConsultaPaginadaPorId<AvaliacaoJpa> {
 
     // Busca todas as avaliações para um determinado filme, usando o campo filmeId (UUID) da AvaliacaoJpa
     List<AvaliacaoJpa> findByFilmeId(UUID filmeId); // CORREÇÃO: de findByFilme_Id para findByFilmeId
@@ -0,0 +1,9 @@
+package com.cinetech.api.infraestrutura.persistencia.jpa;
+
+import com.cinetech.api.infraestrutura.persistencia.entidade.CheckpointLoteJpa;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CheckpointLoteJpaRepository extends JpaRepository<CheckpointLoteJpa, String> {
+}
@@ -1,15 +1,45 @@
 package com.cinetech.api.infraestrutura.persistencia.jpa;
 
 import com.cinetech.api.infraestrutura.persistencia.entidade.ClienteJpa;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface ClienteJpaRepository extends JpaRepository<ClienteJpa, UUID> {
+public interface ClienteJpaRepository extends JpaRepository<ClienteJpa, UUID>, ConsultaPaginadaPorId<ClienteJpa> {
     Optional<ClienteJpa> findByCpf(String cpf);
     Optional<ClienteJpa> findByEmail(String email);
     // O método existsById(ID id) já é fornecido pelo JpaRepository
+
+    // Cliente com algum lote de pontos vencido ou zerado (negação de PontoFidelidade.estaValido)
+    String PONTOS_OBSOLETOS = "SELECT 1 FROM PontoFidelidadeJpa p WHERE p.cliente = c " +
+            "AND (p.dataExpiracao < :dataReferencia OR p.quantidadeUtilizada >= p.quantidadeOriginal)";
+
+    // Só as chaves, em ordem, dos clientes com pontos obsoletos.
+    // Primeira página e páginas seguintes em consultas separadas (como em ConsultaPaginadaPorId): um
+    // "(:aposId IS NULL OR c.id > :aposId)" impede a busca por faixa no índice da chave primária.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c.id FROM ClienteJpa c WHERE EXISTS (" + PONTOS_OBSOLETOS + ") ORDER BY c.id")
+    List<UUID> findIdsComPontosObsoletos(
+            @Param("dataReferencia") LocalDate dataReferencia,
+            Limit limite
+    );
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c.id FROM ClienteJpa c WHERE c.id > :aposId AND EXISTS (" + PONTOS_OBSOLETOS + ") ORDER BY c.id")
+    List<UUID> findIdsComPontosObsoletosAposId(
+            @Param("aposId") UUID aposId,
+            @Param("dataReferencia") LocalDate dataReferencia,
+            Limit limite
+    );
 }
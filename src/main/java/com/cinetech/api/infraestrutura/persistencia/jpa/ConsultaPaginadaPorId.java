@@ -0,0 +1,26 @@
+package com.cinetech.api.infraestrutura.persistencia.jpa;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Paginação por chave (keyset) sobre a chave primária UUID: "WHERE id > :cursor ORDER BY id LIMIT n".
+ * Cada página custa uma busca no índice da chave primária, qualquer que seja a sua posição na tabela.
+ */
+@NoRepositoryBean
+public interface ConsultaPaginadaPorId<T> {
+
+    List<T> findByOrderByIdAsc(Limit limite);
+
+    List<T> findByIdGreaterThanOrderByIdAsc(UUID aposId, Limit limite);
+
+    default List<T> buscarPaginaAposId(Optional<UUID> aposId, int tamanhoPagina) {
+        Limit limite = Limit.of(tamanhoPagina);
+        return aposId.map(id -> findByIdGreaterThanOrderByIdAsc(id, limite))
+                .orElseGet(() -> findByOrderByIdAsc(limite));
+    }
+}
@@ -0,0 +1,19 @@
+package com.cinetech.api.infraestrutura.persistencia.jpa;
+
+import com.cinetech.api.infraestrutura.persistencia.entidade.EventoOutboxJpa;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface EventoOutboxJpaRepository extends JpaRepository<EventoOutboxJpa, UUID> {
+
+    List<EventoOutboxJpa> findByProcessadoEmIsNullAndDisponivelEmLessThanEqualOrderByDisponivelEmAscIdAsc(
+            LocalDateTime agora, Limit limite);
+
+    long countByProcessadoEmIsNull();
+}
@@ -12,7 +12,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface FilmeJpaRepository extends JpaRepository<FilmeJpa, UUID> {
+public interface FilmeJpaRepository extends JpaRepository<FilmeJpa, UUID>, ConsultaPaginadaPorId<FilmeJpa> {
     Optional<FilmeJpa> findByTitulo(String titulo);
     boolean existsByTitulo(String titulo);
 
@@ -1,7 +1,10 @@
 package com.cinetech.api.infraestrutura.persistencia.jpa;
 
+import com.cinetech.api.dominio.modelos.ingresso.ValorPagoIngresso;
 import com.cinetech.api.infraestrutura.persistencia.entidade.IngressoJpa;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,8 +12,15 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface IngressoJpaRepository extends JpaRepository<IngressoJpa, UUID> {
+public interface IngressoJpaRepository extends JpaRepository<IngressoJpa, UUID>, ConsultaPaginadaPorId<IngressoJpa> {
     Optional<IngressoJpa> findByCodigoValidacao(String codigoValidacao);
     List<IngressoJpa> findBySessao_Id(UUID sessaoId); // Busca por ID da SessaoJpa associada
     List<IngressoJpa> findByCliente_Id(UUID clienteId); // Busca por ID da ClienteJpa associada
+
+    // Só (ingresso, cliente, valor) dos ingressos da sessão que ainda não têm crédito de compensação dela
+    @Query("SELECT new com.cinetech.api.dominio.modelos.ingresso.ValorPagoIngresso(i.id, i.cliente.id, i.valorPago) " +
+            "FROM IngressoJpa i WHERE i.sessao.id = :sessaoId AND NOT EXISTS (" +
+            "SELECT 1 FROM CreditoCompensacaoJpa c WHERE c.sessaoOrigemId = :sessaoId AND c.ingressoOrigemId = i.id) " +
+            "ORDER BY i.id")
+    List<ValorPagoIngresso> findValoresPagosSemCreditoDaSessao(@Param("sessaoId") UUID sessaoId);
 }
@@ -0,0 +1,15 @@
+package com.cinetech.api.infraestrutura.persistencia.jpa;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projeção com o mínimo necessário para montar a agenda de ocupação das salas:
+ * o período de uma sessão ou reserva de evento, sem carregar a entidade.
+ */
+public interface IntervaloSalaView {
+    UUID getId();
+    UUID getSalaId();
+    LocalDateTime getDataHoraInicio();
+    LocalDateTime getDataHoraFim();
+}
@@ -10,7 +10,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface PagamentoJpaRepository extends JpaRepository<PagamentoJpa, UUID> {
+public interface PagamentoJpaRepository extends JpaRepository<PagamentoJpa, UUID>, ConsultaPaginadaPorId<PagamentoJpa> {
 
     /**
      * Busca um pagamento pelo UUID do IngressoId associado.
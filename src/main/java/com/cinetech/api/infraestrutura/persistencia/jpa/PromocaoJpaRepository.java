@@ -1,9 +1,13 @@
 package com.cinetech.api.infraestrutura.persistencia.jpa;
 
 import com.cinetech.api.dominio.enums.TipoPromocao;
+import com.cinetech.api.infraestrutura.persistencia.cache.RegioesCache;
 import com.cinetech.api.infraestrutura.persistencia.entidade.PromocaoJpa;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -13,13 +17,18 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface PromocaoJpaRepository extends JpaRepository<PromocaoJpa, UUID> {
+public interface PromocaoJpaRepository extends JpaRepository<PromocaoJpa, UUID>, ConsultaPaginadaPorId<PromocaoJpa> {
 
     Optional<PromocaoJpa> findByNomeDescritivo(String nomeDescritivo);
 
     List<PromocaoJpa> findByTipoPromocao(TipoPromocao tipoPromocao);
 
     // Query para buscar promoções ativas e dentro do período de vigência
+    // Resultado (IDs) no cache de consultas por data; invalidado pelo Hibernate a cada gravação na tabela promocao
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = RegioesCache.CONSULTA_PROMOCOES_VIGENTES)
+    })
     @Query("SELECT p FROM PromocaoJpa p WHERE p.ativa = true " +
             "AND (p.dataInicioVigencia IS NULL OR p.dataInicioVigencia <= :dataReferencia) " +
             "AND (p.dataFimVigencia IS NULL OR p.dataFimVigencia >= :dataReferencia)")
@@ -8,11 +8,12 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository // Boa prática anotar, embora o Spring Data JPA as detecte
-public interface ReservaEventoJpaRepository extends JpaRepository<ReservaEventoJpa, UUID> {
+public interface ReservaEventoJpaRepository extends JpaRepository<ReservaEventoJpa, UUID>, ConsultaPaginadaPorId<ReservaEventoJpa> {
 
     /**
      * Busca todas as reservas de evento para uma determinada SalaJpa, usando o ID da sala.
@@ -40,7 +41,7 @@ public interface ReservaEventoJpaRepository extends JpaRepository<ReservaEventoJ
      * Query para buscar reservas de evento em uma determinada sala que conflitam
      * com um período especificado, opcionalmente excluindo uma ReservaEventoId específica.
      * Este método é usado pelo AgendamentoService.
-     * A lógica de conflito é (StartA < EndB) AND (EndA > StartB).
+     * A lógica de conflito é (StartA < EndB) AND (EndA > StartB). Reservas canceladas não ocupam a sala.
      *
      * @param salaId UUID da SalaJpa.
      * @param inicioPeriodo Início do período proposto.
@@ -49,6 +50,8 @@ public interface ReservaEventoJpaRepository extends JpaRepository<ReservaEventoJ
      * @return Lista de ReservaEventoJpa conflitantes.
      */
     @Query("SELECT r FROM ReservaEventoJpa r WHERE r.sala.id = :salaId " +
+            "AND r.status NOT IN (com.cinetech.api.dominio.enums.StatusReservaEvento.CANCELADA_PELO_CLIENTE, " +
+            "com.cinetech.api.dominio.enums.StatusReservaEvento.CANCELADA_PELO_SISTEMA) " +
             "AND (:reservaIdParaExcluir IS NULL OR r.id <> :reservaIdParaExcluir) " +
             "AND (r.dataHoraInicio < :fimPeriodo AND r.dataHoraFim > :inicioPeriodo)")
     List<ReservaEventoJpa> findReservasConflitantes(
@@ -57,4 +60,32 @@ public interface ReservaEventoJpaRepository extends JpaRepository<ReservaEventoJ
             @Param("fimPeriodo") LocalDateTime fimPeriodo,
             @Param("reservaIdParaExcluir") UUID reservaIdParaExcluir
     );
+
+    /**
+     * Períodos de todas as reservas de evento que ocupam sala (não canceladas), para a agenda em memória.
+     * @return Projeções com ID, sala, início e fim.
+     */
+    @Query("SELECT r.id AS id, r.sala.id AS salaId, r.dataHoraInicio AS dataHoraInicio, r.dataHoraFim AS dataHoraFim " +
+            "FROM ReservaEventoJpa r WHERE r.status NOT IN (" +
+            "com.cinetech.api.dominio.enums.StatusReservaEvento.CANCELADA_PELO_CLIENTE, " +
+            "com.cinetech.api.dominio.enums.StatusReservaEvento.CANCELADA_PELO_SISTEMA)")
+    List<IntervaloSalaView> findIntervalosOcupacaoSala();
+
+    /**
+     * Períodos das reservas de evento (não canceladas) das salas informadas que cruzam a janela.
+     * @param salaIds UUIDs das SalaJpa.
+     * @param inicioJanela Início da janela.
+     * @param fimJanela Fim da janela.
+     * @return Projeções com ID, sala, início e fim.
+     */
+    @Query("SELECT r.id AS id, r.sala.id AS salaId, r.dataHoraInicio AS dataHoraInicio, r.dataHoraFim AS dataHoraFim " +
+            "FROM ReservaEventoJpa r WHERE r.sala.id IN :salaIds " +
+            "AND r.status NOT IN (com.cinetech.api.dominio.enums.StatusReservaEvento.CANCELADA_PELO_CLIENTE, " +
+            "com.cinetech.api.dominio.enums.StatusReservaEvento.CANCELADA_PELO_SISTEMA) " +
+            "AND r.dataHoraInicio < :fimJanela AND r.dataHoraFim > :inicioJanela")
+    List<IntervaloSalaView> findIntervalosOcupacaoPorSalas(
+            @Param("salaIds") Collection<UUID> salaIds,
+            @Param("inicioJanela") LocalDateTime inicioJanela,
+            @Param("fimJanela") LocalDateTime fimJanela
+    );
 }
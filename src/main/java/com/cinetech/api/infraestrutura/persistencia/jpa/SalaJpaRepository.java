@@ -2,14 +2,31 @@ package com.cinetech.api.infraestrutura.persistencia.jpa;
 
 import com.cinetech.api.infraestrutura.persistencia.entidade.SalaJpa;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface SalaJpaRepository extends JpaRepository<SalaJpa, UUID> {
+public interface SalaJpaRepository extends JpaRepository<SalaJpa, UUID>, ConsultaPaginadaPorId<SalaJpa> {
     Optional<SalaJpa> findByNome(String nome);
     List<SalaJpa> findByDisponivelParaEventosTrue();
+
+    // Salas para eventos sem sessão nem reserva de evento (não canceladas) que cruze o período, numa consulta
+    @Query("SELECT sa FROM SalaJpa sa WHERE sa.disponivelParaEventos = true " +
+            "AND NOT EXISTS (SELECT 1 FROM SessaoJpa s WHERE s.sala = sa " +
+            "AND s.status <> com.cinetech.api.dominio.enums.StatusSessao.CANCELADA " +
+            "AND s.dataHoraInicio < :fimPeriodo AND s.dataHoraFim > :inicioPeriodo) " +
+            "AND NOT EXISTS (SELECT 1 FROM ReservaEventoJpa r WHERE r.sala = sa " +
+            "AND r.status NOT IN (com.cinetech.api.dominio.enums.StatusReservaEvento.CANCELADA_PELO_CLIENTE, " +
+            "com.cinetech.api.dominio.enums.StatusReservaEvento.CANCELADA_PELO_SISTEMA) " +
+            "AND r.dataHoraInicio < :fimPeriodo AND r.dataHoraFim > :inicioPeriodo)")
+    List<SalaJpa> findSalasParaEventosLivresNoPeriodo(
+            @Param("inicioPeriodo") LocalDateTime inicioPeriodo,
+            @Param("fimPeriodo") LocalDateTime fimPeriodo
+    );
 }
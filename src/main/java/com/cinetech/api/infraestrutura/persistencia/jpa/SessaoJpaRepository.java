@@ -1,25 +1,149 @@
 package com.cinetech.api.infraestrutura.persistencia.jpa;
 
 import com.cinetech.api.dominio.enums.StatusSessao;
+import com.cinetech.api.dominio.modelos.sessao.ContagemAssentos;
+import com.cinetech.api.dominio.modelos.sessao.SessaoResumo;
 import com.cinetech.api.infraestrutura.persistencia.entidade.SessaoJpa;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime; // Necessário para o método que ficou
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface SessaoJpaRepository extends JpaRepository<SessaoJpa, UUID> {
 
+    // Agregado completo (filme, sala e assentos) em uma consulta
+    @EntityGraph(SessaoJpa.GRAFO_AGREGADO)
+    Optional<SessaoJpa> findAgregadoById(UUID id);
+
+    // Só o cabeçalho (filme e sala), sem assentos: leitura parcial de um assento
+    @EntityGraph(SessaoJpa.GRAFO_CABECALHO)
+    Optional<SessaoJpa> findCabecalhoById(UUID id);
+
+    @EntityGraph(SessaoJpa.GRAFO_AGREGADO)
+    @Query("SELECT s FROM SessaoJpa s")
+    List<SessaoJpa> findAllAgregados();
+
+    // Paginação por chave em duas etapas: primeiro a página de IDs (LIMIT no banco), depois os agregados dessa página.
+    // O LIMIT não pode ir na consulta com o fetch dos assentos, senão o Hibernate pagina em memória.
+    @Query("SELECT s.id FROM SessaoJpa s ORDER BY s.id")
+    List<UUID> findIds(Limit limite);
+
+    @Query("SELECT s.id FROM SessaoJpa s WHERE s.id > :aposId ORDER BY s.id")
+    List<UUID> findIdsAposId(@Param("aposId") UUID aposId, Limit limite);
+
+    @EntityGraph(SessaoJpa.GRAFO_AGREGADO)
+    List<SessaoJpa> findAgregadosByIdIn(Collection<UUID> ids);
+
     // Busca todas as sessões para uma determinada sala.
-    // A filtragem de conflito e exclusão será feita em Java.
+    @EntityGraph(SessaoJpa.GRAFO_AGREGADO)
     List<SessaoJpa> findBySala_Id(UUID salaId);
 
     // Outros métodos que já tínhamos:
+    @EntityGraph(SessaoJpa.GRAFO_AGREGADO)
     List<SessaoJpa> findByFilme_IdAndStatusInAndDataHoraInicioAfter(
             UUID filmeId, List<StatusSessao> status, LocalDateTime dataReferencia
     );
 
+    @EntityGraph(SessaoJpa.GRAFO_AGREGADO)
     List<SessaoJpa> findByStatus(StatusSessao status);
+
+    // Listagem sem montar agregados: só o cabeçalho e o nome da sala, numa consulta e sem tocar nos assentos
+    @Query("SELECT new com.cinetech.api.dominio.modelos.sessao.SessaoResumo(" +
+            "s.id, s.dataHoraInicio, s.dataHoraFim, s.sala.nome, s.tipoExibicao, s.precoIngressoBase, s.status, s.assentosDisponiveis) " +
+            "FROM SessaoJpa s WHERE s.filme.id = :filmeId AND s.status IN :status AND s.dataHoraInicio > :dataReferencia " +
+            "ORDER BY s.dataHoraInicio, s.id")
+    List<SessaoResumo> findResumosPorFilme(
+            @Param("filmeId") UUID filmeId,
+            @Param("status") Collection<StatusSessao> status,
+            @Param("dataReferencia") LocalDateTime dataReferencia
+    );
+
+    // Só a quantidade, para rotinas que apenas decidem se ainda há sessões
+    long countByFilme_IdAndStatusInAndDataHoraInicioAfter(UUID filmeId, Collection<StatusSessao> status, LocalDateTime dataReferencia);
+
+    /**
+     * Sessões da sala cujo período cruza o informado, opcionalmente excluindo uma sessão.
+     * A lógica de conflito é (StartA < EndB) AND (EndA > StartB), sobre o dataHoraFim gravado.
+     * Sessões canceladas não ocupam a sala.
+     */
+    @EntityGraph(SessaoJpa.GRAFO_AGREGADO)
+    @Query("SELECT s FROM SessaoJpa s WHERE s.sala.id = :salaId " +
+            "AND s.status <> com.cinetech.api.dominio.enums.StatusSessao.CANCELADA " +
+            "AND (:sessaoIdParaExcluir IS NULL OR s.id <> :sessaoIdParaExcluir) " +
+            "AND (s.dataHoraInicio < :fimPeriodo AND s.dataHoraFim > :inicioPeriodo)")
+    List<SessaoJpa> findSessoesConflitantes(
+            @Param("salaId") UUID salaId,
+            @Param("inicioPeriodo") LocalDateTime inicioPeriodo,
+            @Param("fimPeriodo") LocalDateTime fimPeriodo,
+            @Param("sessaoIdParaExcluir") UUID sessaoIdParaExcluir
+    );
+
+    // Consultas de existência (param na primeira sessão encontrada, via índice sala/início/fim); use existsConflito
+    boolean existsBySala_IdAndStatusNotAndDataHoraInicioBeforeAndDataHoraFimAfter(
+            UUID salaId, StatusSessao statusIgnorado, LocalDateTime fimPeriodo, LocalDateTime inicioPeriodo);
+
+    boolean existsBySala_IdAndStatusNotAndDataHoraInicioBeforeAndDataHoraFimAfterAndIdNot(
+            UUID salaId, StatusSessao statusIgnorado, LocalDateTime fimPeriodo, LocalDateTime inicioPeriodo, UUID sessaoIdParaExcluir);
+
+    /**
+     * Há sessão (não cancelada) na sala cujo período cruza o informado? Resolvido no banco, sem carregar sessões.
+     * @param sessaoIdParaExcluir Sessão ignorada na verificação (pode ser null).
+     */
+    default boolean existsConflito(UUID salaId, LocalDateTime inicioPeriodo, LocalDateTime fimPeriodo, UUID sessaoIdParaExcluir) {
+        return sessaoIdParaExcluir == null
+                ? existsBySala_IdAndStatusNotAndDataHoraInicioBeforeAndDataHoraFimAfter(
+                        salaId, StatusSessao.CANCELADA, fimPeriodo, inicioPeriodo)
+                : existsBySala_IdAndStatusNotAndDataHoraInicioBeforeAndDataHoraFimAfterAndIdNot(
+                        salaId, StatusSessao.CANCELADA, fimPeriodo, inicioPeriodo, sessaoIdParaExcluir);
+    }
+
+    // Períodos de todas as sessões que ocupam sala (não canceladas), para a agenda em memória
+    @Query("SELECT s.id AS id, s.sala.id AS salaId, s.dataHoraInicio AS dataHoraInicio, s.dataHoraFim AS dataHoraFim " +
+            "FROM SessaoJpa s WHERE s.status <> com.cinetech.api.dominio.enums.StatusSessao.CANCELADA")
+    List<IntervaloSalaView> findIntervalosOcupacaoSala();
+
+    // Períodos das sessões (não canceladas) de várias salas que cruzam a janela, sem carregar as sessões
+    @Query("SELECT s.id AS id, s.sala.id AS salaId, s.dataHoraInicio AS dataHoraInicio, s.dataHoraFim AS dataHoraFim " +
+            "FROM SessaoJpa s WHERE s.sala.id IN :salaIds " +
+            "AND s.status <> com.cinetech.api.dominio.enums.StatusSessao.CANCELADA " +
+            "AND s.dataHoraInicio < :fimJanela AND s.dataHoraFim > :inicioJanela")
+    List<IntervaloSalaView> findIntervalosOcupacaoPorSalas(
+            @Param("salaIds") Collection<UUID> salaIds,
+            @Param("inicioJanela") LocalDateTime inicioJanela,
+            @Param("fimJanela") LocalDateTime fimJanela
+    );
+
+    // Lê só as colunas de contagem do cabeçalho, sem tocar na tabela de assentos
+    @Query("SELECT new com.cinetech.api.dominio.modelos.sessao.ContagemAssentos(" +
+            "s.assentosDisponiveis, s.assentosReservados, s.assentosOcupados, s.assentosBloqueados) " +
+            "FROM SessaoJpa s WHERE s.id = :sessaoId")
+    Optional<ContagemAssentos> findContagemAssentosById(@Param("sessaoId") UUID sessaoId);
+
+    // Ajuste relativo das contagens, usado quando um único assento é gravado fora do agregado completo.
+    // Incrementa a versão para que um salvar concorrente do agregado (com contagens antigas) falhe por conflito.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE SessaoJpa s SET " +
+            "s.assentosDisponiveis = s.assentosDisponiveis + :deltaDisponiveis, " +
+            "s.assentosReservados = s.assentosReservados + :deltaReservados, " +
+            "s.assentosOcupados = s.assentosOcupados + :deltaOcupados, " +
+            "s.assentosBloqueados = s.assentosBloqueados + :deltaBloqueados, " +
+            "s.versao = s.versao + 1 " +
+            "WHERE s.id = :sessaoId")
+    int ajustarContagemAssentos(
+            @Param("sessaoId") UUID sessaoId,
+            @Param("deltaDisponiveis") int deltaDisponiveis,
+            @Param("deltaReservados") int deltaReservados,
+            @Param("deltaOcupados") int deltaOcupados,
+            @Param("deltaBloqueados") int deltaBloqueados
+    );
 }
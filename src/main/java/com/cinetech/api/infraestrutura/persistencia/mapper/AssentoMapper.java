@@ -48,6 +48,7 @@ public class AssentoMapper {
             jpaEntity.setClienteIdReservaTemporaria(null);
         }
         jpaEntity.setTimestampExpiracaoReserva(domainEntity.getTimestampExpiracaoReserva());
+        jpaEntity.setVersao(domainEntity.getVersao()); // null = assento novo (insert); senão o merge confere a versão
 
         // Seta a referência para SessaoJpa (apenas com ID)
         if (domainEntity.getSessao() != null && domainEntity.getSessao().getId() != null) {
@@ -80,7 +81,8 @@ public class AssentoMapper {
                 jpaEntity.getTipo(),
                 jpaEntity.getStatus(),
                 clienteIdReserva,
-                jpaEntity.getTimestampExpiracaoReserva()
+                jpaEntity.getTimestampExpiracaoReserva(),
+                jpaEntity.getVersao()
         );
     }
 
@@ -0,0 +1,35 @@
+package com.cinetech.api.infraestrutura.persistencia.mapper;
+
+import com.cinetech.api.dominio.modelos.lote.CheckpointLote;
+import com.cinetech.api.infraestrutura.persistencia.entidade.CheckpointLoteJpa;
+
+public class CheckpointLoteMapper {
+
+    private CheckpointLoteMapper() {}
+
+    public static CheckpointLoteJpa toJpaEntity(CheckpointLote domainEntity) {
+        if (domainEntity == null) return null;
+        CheckpointLoteJpa jpaEntity = new CheckpointLoteJpa();
+        jpaEntity.setRotina(domainEntity.rotina());
+        jpaEntity.setUltimoIdConcluido(domainEntity.ultimoIdConcluido());
+        jpaEntity.setItensProcessados(domainEntity.itensProcessados());
+        jpaEntity.setItensAlterados(domainEntity.itensAlterados());
+        jpaEntity.setConcluida(domainEntity.concluida());
+        jpaEntity.setIniciadaEm(domainEntity.iniciadaEm());
+        jpaEntity.setAtualizadaEm(domainEntity.atualizadaEm());
+        return jpaEntity;
+    }
+
+    public static CheckpointLote toDomainEntity(CheckpointLoteJpa jpaEntity) {
+        if (jpaEntity == null) return null;
+        return new CheckpointLote(
+                jpaEntity.getRotina(),
+                jpaEntity.getUltimoIdConcluido(),
+                jpaEntity.getItensProcessados(),
+                jpaEntity.getItensAlterados(),
+                jpaEntity.isConcluida(),
+                jpaEntity.getIniciadaEm(),
+                jpaEntity.getAtualizadaEm()
+        );
+    }
+}
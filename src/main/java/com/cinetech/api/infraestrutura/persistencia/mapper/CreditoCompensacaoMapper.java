@@ -3,6 +3,7 @@ package com.cinetech.api.infraestrutura.persistencia.mapper;
 import com.cinetech.api.dominio.modelos.credito.CreditoCompensacao;
 import com.cinetech.api.dominio.modelos.credito.CreditoId;
 import com.cinetech.api.dominio.modelos.cliente.ClienteId; // VO do domínio
+import com.cinetech.api.dominio.modelos.ingresso.IngressoId;
 import com.cinetech.api.dominio.modelos.sessao.SessaoId;   // VO do domínio
 import com.cinetech.api.infraestrutura.persistencia.entidade.CreditoCompensacaoJpa;
 import com.cinetech.api.infraestrutura.persistencia.entidade.ClienteJpa; // Para criar referência em toJpaEntity
@@ -43,6 +44,9 @@ public class CreditoCompensacaoMapper {
         if (domainEntity.getSessaoOrigemId() != null) {
             jpaEntity.setSessaoOrigemId(domainEntity.getSessaoOrigemId().getValor());
         }
+        if (domainEntity.getIngressoOrigemId() != null) {
+            jpaEntity.setIngressoOrigemId(domainEntity.getIngressoOrigemId().getValor());
+        }
         return jpaEntity;
     }
 
@@ -71,7 +75,8 @@ public class CreditoCompensacaoMapper {
                 jpaEntity.getDataValidade(),
                 jpaEntity.isAtivo(),
                 jpaEntity.getMotivo(),
-                sessaoIdDominio
+                sessaoIdDominio,
+                jpaEntity.getIngressoOrigemId() == null ? null : IngressoId.de(jpaEntity.getIngressoOrigemId())
         );
     }
 
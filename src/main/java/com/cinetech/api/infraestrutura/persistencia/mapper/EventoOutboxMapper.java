@@ -0,0 +1,40 @@
+package com.cinetech.api.infraestrutura.persistencia.mapper;
+
+import com.cinetech.api.dominio.modelos.outbox.EventoOutbox;
+import com.cinetech.api.infraestrutura.persistencia.entidade.EventoOutboxJpa;
+
+public class EventoOutboxMapper {
+
+    private static final int TAMANHO_MAXIMO_ERRO = 1000;
+
+    private EventoOutboxMapper() {}
+
+    public static EventoOutboxJpa toJpaEntity(EventoOutbox domainEntity) {
+        if (domainEntity == null) return null;
+        EventoOutboxJpa jpaEntity = new EventoOutboxJpa();
+        jpaEntity.setId(domainEntity.id());
+        jpaEntity.setTipo(domainEntity.tipo());
+        jpaEntity.setAgregadoId(domainEntity.agregadoId());
+        jpaEntity.setRegistradoEm(domainEntity.registradoEm());
+        jpaEntity.setTentativas(domainEntity.tentativas());
+        jpaEntity.setDisponivelEm(domainEntity.disponivelEm());
+        jpaEntity.setProcessadoEm(domainEntity.processadoEm());
+        String erro = domainEntity.ultimoErro();
+        jpaEntity.setUltimoErro(erro != null && erro.length() > TAMANHO_MAXIMO_ERRO ? erro.substring(0, TAMANHO_MAXIMO_ERRO) : erro);
+        return jpaEntity;
+    }
+
+    public static EventoOutbox toDomainEntity(EventoOutboxJpa jpaEntity) {
+        if (jpaEntity == null) return null;
+        return new EventoOutbox(
+                jpaEntity.getId(),
+                jpaEntity.getTipo(),
+                jpaEntity.getAgregadoId(),
+                jpaEntity.getRegistradoEm(),
+                jpaEntity.getTentativas(),
+                jpaEntity.getDisponivelEm(),
+                jpaEntity.getProcessadoEm(),
+                jpaEntity.getUltimoErro()
+        );
+    }
+}
@@ -1,5 +1,6 @@
 package com.cinetech.api.infraestrutura.persistencia.mapper;
 
+import com.cinetech.api.dominio.modelos.sala.LayoutSala;
 import com.cinetech.api.dominio.modelos.sala.Sala;
 import com.cinetech.api.dominio.modelos.sala.SalaId;
 import com.cinetech.api.infraestrutura.persistencia.entidade.SalaJpa;
@@ -31,11 +32,25 @@ public class SalaMapper {
         jpaEntity.setCapacidadeTotal(domainEntity.getCapacidadeTotal());
         jpaEntity.setTipo(domainEntity.getTipo());
         jpaEntity.setDisponivelParaEventos(domainEntity.isDisponivelParaEventos());
+        LayoutSala layout = domainEntity.getLayout();
+        jpaEntity.setLayoutFileiras(layout.getFileiras());
+        jpaEntity.setLayoutColunas(layout.getColunas());
+        jpaEntity.setLayoutCelulas(layout.getCelulasCompactadas());
         return jpaEntity;
     }
 
     public static Sala toDomainEntity(SalaJpa jpaEntity) {
         if (jpaEntity == null) return null;
+        if (jpaEntity.getLayoutCelulas() != null) {
+            return new Sala(
+                    uuidToSalaId(jpaEntity.getId()),
+                    jpaEntity.getNome(),
+                    jpaEntity.getTipo(),
+                    jpaEntity.isDisponivelParaEventos(),
+                    LayoutSala.de(jpaEntity.getLayoutFileiras(), jpaEntity.getLayoutColunas(), jpaEntity.getLayoutCelulas())
+            );
+        }
+        // Sala gravada sem planta: usa a planta padrão para a capacidade
         return new Sala(
                 uuidToSalaId(jpaEntity.getId()), // Usa o helper
                 jpaEntity.getNome(),
@@ -1,5 +1,9 @@
 package com.cinetech.api.infraestrutura.persistencia.mapper;
 
+import com.cinetech.api.dominio.enums.StatusAssento;
+import com.cinetech.api.dominio.modelos.assento.Assento;
+import com.cinetech.api.dominio.modelos.sala.LayoutSala;
+import com.cinetech.api.dominio.modelos.sessao.ContagemAssentos;
 import com.cinetech.api.dominio.modelos.sessao.Sessao;
 import com.cinetech.api.dominio.modelos.sessao.SessaoId;
 import com.cinetech.api.dominio.modelos.filme.Filme; // Para o construtor de Sessao
@@ -53,12 +57,28 @@ public class SessaoMapper {
         }
 
         jpaEntity.setDataHoraInicio(domainEntity.getDataHoraInicio());
+        jpaEntity.setDataHoraFim(domainEntity.getDataHoraFim());
         jpaEntity.setTipoExibicao(domainEntity.getTipoExibicao());
         jpaEntity.setPrecoIngressoBase(domainEntity.getPrecoIngressoBase());
         jpaEntity.setStatus(domainEntity.getStatus());
+        jpaEntity.setVersao(domainEntity.getVersao()); // null = sessão nova (persist); senão o merge confere a versão
+
+        ContagemAssentos contagem = domainEntity.getContagemAssentos();
+        jpaEntity.setAssentosDisponiveis(contagem.disponiveis());
+        jpaEntity.setAssentosReservados(contagem.reservados());
+        jpaEntity.setAssentosOcupados(contagem.ocupados());
+        jpaEntity.setAssentosBloqueados(contagem.bloqueados());
+
+        LayoutSala planta = domainEntity.getPlantaAssentos();
+        if (planta != null) {
+            jpaEntity.setPlantaFileiras(planta.getFileiras());
+            jpaEntity.setPlantaColunas(planta.getColunas());
+            jpaEntity.setPlantaCelulas(planta.getCelulasCompactadas());
+        }
 
         if (domainEntity.getAssentos() != null) {
             List<AssentoJpa> assentosJpa = domainEntity.getAssentos().stream()
+                    .filter(assentoDominio -> possuiRegistro(domainEntity, assentoDominio))
                     .map(assentoDominio -> {
                         AssentoJpa assentoJpa = AssentoMapper.toJpaEntity(assentoDominio);
                         if (assentoJpa != null) assentoJpa.setSessao(jpaEntity); // Mantém referência bidirecional
@@ -72,6 +92,16 @@ public class SessaoMapper {
         return jpaEntity;
     }
 
+    // Sessão esparsa: assento nunca gravado e ainda no estado padrão da planta não vira linha em 'assento'.
+    // Uma vez gravado, o registro permanece (mesmo que volte a DISPONIVEL), preservando a versão.
+    private static boolean possuiRegistro(Sessao sessao, Assento assento) {
+        return sessao.getPlantaAssentos() == null
+                || assento.getVersao() != null
+                || assento.getStatus() != StatusAssento.DISPONIVEL
+                || assento.getClienteIdReservaTemporaria() != null
+                || assento.getTimestampExpiracaoReserva() != null;
+    }
+
     // Usado pelo SessaoRepositorioJpa para reconstruir o agregado
     public static Sessao toDomainEntity(SessaoJpa jpaEntity) {
         if (jpaEntity == null) return null;
@@ -87,6 +117,14 @@ public class SessaoMapper {
             salaDominio = SalaMapper.toDomainEntity(jpaEntity.getSala());
         }
 
+        LayoutSala planta = null;
+        if (jpaEntity.getPlantaCelulas() != null) {
+            planta = LayoutSala.de(jpaEntity.getPlantaFileiras(), jpaEntity.getPlantaColunas(), jpaEntity.getPlantaCelulas());
+            if (salaDominio != null && planta.equals(salaDominio.getLayout())) {
+                planta = salaDominio.getLayout(); // Planta inalterada desde o agendamento: reaproveita o modelo já calculado
+            }
+        }
+
         // Cria a Sessao de domínio (cabeçalho). A lista de assentos é inicializada vazia.
         Sessao sessaoDominio = new Sessao(
                 uuidToSessaoId(jpaEntity.getId()),
@@ -95,13 +133,15 @@ public class SessaoMapper {
                 jpaEntity.getDataHoraInicio(),
                 jpaEntity.getTipoExibicao(),
                 jpaEntity.getPrecoIngressoBase(),
-                jpaEntity.getStatus()
+                jpaEntity.getStatus(),
+                jpaEntity.getVersao(),
+                planta
                 // O construtor de Sessao que usamos aqui inicializa 'assentos' como new ArrayList<>()
         );
 
         // Os Assentos de domínio são populados pelo SessaoRepositorioJpa
         // usando AssentoMapper.toDomainEntity(AssentoJpa, Sessao sessaoPaiDominio)
-        // e depois sessaoDominio.adicionarAssento().
+        // e depois sessaoDominio.reconstituirAssentos() (que completa os assentos sem registro a partir da planta).
         // Se quiséssemos fazer aqui (menos ideal para a referência pai correta no Assento):
         /*
         if (jpaEntity.getAssentos() != null) {
@@ -5,6 +5,7 @@ import com.cinetech.api.dominio.modelos.avaliacao.AvaliacaoId;
 import com.cinetech.api.dominio.modelos.filme.FilmeId;
 import com.cinetech.api.dominio.modelos.cliente.ClienteId;
 import com.cinetech.api.dominio.enums.StatusAvaliacao;
+import com.cinetech.api.dominio.eventos.PublicadorEventosDominio;
 import com.cinetech.api.dominio.repositorios.AvaliacaoRepositorio;
 import com.cinetech.api.infraestrutura.persistencia.jpa.AvaliacaoJpaRepository;
 import com.cinetech.api.infraestrutura.persistencia.entidade.AvaliacaoJpa;
@@ -12,6 +13,7 @@ import com.cinetech.api.infraestrutura.persistencia.entidade.AvaliacaoJpa;
 import com.cinetech.api.infraestrutura.persistencia.mapper.AvaliacaoMapper;
 import com.cinetech.api.infraestrutura.persistencia.mapper.FilmeMapper;   // Para toPrimitiveId de FilmeId
 import com.cinetech.api.infraestrutura.persistencia.mapper.ClienteMapper; // Para toPrimitiveId de ClienteId
+import com.cinetech.api.dominio.repositorios.PaginacaoPorCursor;
 
 
 import org.springframework.stereotype.Repository;
@@ -33,9 +35,11 @@ public class AvaliacaoRepositorioJpa implements AvaliacaoRepositorio {
     // private final ClienteMapper clienteMapper;
 
 
-    // Construtor agora só injeta o JpaRepository
-    public AvaliacaoRepositorioJpa(AvaliacaoJpaRepository jpaRepositoryInternal) {
+    private final PublicadorEventosDominio publicadorEventos; // Mudanças de visibilidade, após o commit
+
+    public AvaliacaoRepositorioJpa(AvaliacaoJpaRepository jpaRepositoryInternal, PublicadorEventosDominio publicadorEventos) {
         this.jpaRepositoryInternal = jpaRepositoryInternal;
+        this.publicadorEventos = publicadorEventos;
         // MAPPERS NÃO SÃO MAIS INJETADOS
     }
 
@@ -44,6 +48,7 @@ public class AvaliacaoRepositorioJpa implements AvaliacaoRepositorio {
     public Avaliacao salvar(Avaliacao avaliacaoDominio) {
         AvaliacaoJpa avaliacaoJpa = AvaliacaoMapper.toJpaEntity(avaliacaoDominio); // Chamada estática
         AvaliacaoJpa salvaJpa = jpaRepositoryInternal.save(avaliacaoJpa);
+        publicadorEventos.publicarAposCommit(avaliacaoDominio.retirarEventos());
         return AvaliacaoMapper.toDomainEntity(salvaJpa); // Chamada estática
     }
 
@@ -101,4 +106,13 @@ public class AvaliacaoRepositorioJpa implements AvaliacaoRepositorio {
                 .map(AvaliacaoMapper::toDomainEntity)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Avaliacao> buscarPaginaAposId(Optional<AvaliacaoId> aposId, int tamanhoPagina) {
+        PaginacaoPorCursor.validarTamanhoPagina(tamanhoPagina);
+        return jpaRepositoryInternal.buscarPaginaAposId(aposId.map(AvaliacaoMapper::toPrimitiveId), tamanhoPagina).stream()
+                .map(AvaliacaoMapper::toDomainEntity)
+                .collect(Collectors.toList());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.cinetech.api.infraestrutura.persistencia.repositorio;
+
+import com.cinetech.api.dominio.modelos.lote.CheckpointLote;
+import com.cinetech.api.dominio.repositorios.CheckpointLoteRepositorio;
+import com.cinetech.api.infraestrutura.persistencia.jpa.CheckpointLoteJpaRepository;
+import com.cinetech.api.infraestrutura.persistencia.mapper.CheckpointLoteMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public class CheckpointLoteRepositorioJpa implements CheckpointLoteRepositorio {
+
+    private final CheckpointLoteJpaRepository jpaRepositoryInternal;
+
+    public CheckpointLoteRepositorioJpa(CheckpointLoteJpaRepository jpaRepositoryInternal) {
+        this.jpaRepositoryInternal = jpaRepositoryInternal;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<CheckpointLote> buscarPorRotina(String rotina) {
+        return jpaRepositoryInternal.findById(rotina).map(CheckpointLoteMapper::toDomainEntity);
+    }
+
+    @Override
+    @Transactional
+    public void salvar(CheckpointLote checkpoint) {
+        jpaRepositoryInternal.save(CheckpointLoteMapper.toJpaEntity(checkpoint));
+    }
+}
@@ -2,15 +2,23 @@ package com.cinetech.api.infraestrutura.persistencia.repositorio;
 
 import com.cinetech.api.dominio.modelos.cliente.Cliente;
 import com.cinetech.api.dominio.modelos.cliente.ClienteId;
+import com.cinetech.api.dominio.modelos.credito.CreditoCompensacao;
 import com.cinetech.api.dominio.repositorios.ClienteRepositorio;
 import com.cinetech.api.infraestrutura.persistencia.jpa.ClienteJpaRepository;
 // Importe as CLASSES dos mappers para chamadas estáticas
 import com.cinetech.api.infraestrutura.persistencia.mapper.ClienteMapper;
+import com.cinetech.api.infraestrutura.persistencia.mapper.CreditoCompensacaoMapper;
+import com.cinetech.api.infraestrutura.persistencia.entidade.CreditoCompensacaoJpa;
+import com.cinetech.api.dominio.repositorios.PaginacaoPorCursor;
 // CreditoCompensacaoMapper e PontoFidelidadeMapper são usados DENTRO do ClienteMapper estaticamente
 
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,10 +28,12 @@ import java.util.stream.Collectors;
 public class ClienteRepositorioJpa implements ClienteRepositorio {
 
     private final ClienteJpaRepository jpaRepositoryInternal;
+    private final EntityManager entityManager; // Inserts agrupados de créditos, sem passar pelo agregado
     // MAPPERS NÃO SÃO MAIS INJETADOS
 
-    public ClienteRepositorioJpa(ClienteJpaRepository jpaRepositoryInternal) {
+    public ClienteRepositorioJpa(ClienteJpaRepository jpaRepositoryInternal, EntityManager entityManager) {
         this.jpaRepositoryInternal = jpaRepositoryInternal;
+        this.entityManager = entityManager;
     }
 
     // Método auxiliar reconstruirAgregadoCliente não precisa mais de 'this' para os mappers
@@ -81,6 +91,50 @@ public class ClienteRepositorioJpa implements ClienteRepositorio {
         return reconstruirListaAgregadosCliente(jpaRepositoryInternal.findAll());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Cliente> buscarPaginaAposId(Optional<ClienteId> aposId, int tamanhoPagina) {
+        PaginacaoPorCursor.validarTamanhoPagina(tamanhoPagina);
+        return reconstruirListaAgregadosCliente(jpaRepositoryInternal.buscarPaginaAposId(aposId.map(ClienteMapper::toPrimitiveId), tamanhoPagina));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ClienteId> buscarIdsComPontosFidelidadeObsoletos(Optional<ClienteId> aposId, LocalDate dataReferencia, int quantidade) {
+        PaginacaoPorCursor.validarTamanhoPagina(quantidade);
+        Limit limite = Limit.of(quantidade);
+        List<UUID> ids = aposId
+                .map(id -> jpaRepositoryInternal.findIdsComPontosObsoletosAposId(ClienteMapper.toPrimitiveId(id), dataReferencia, limite))
+                .orElseGet(() -> jpaRepositoryInternal.findIdsComPontosObsoletos(dataReferencia, limite));
+        return ids.stream()
+                .map(ClienteId::de)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Cliente> buscarPorIds(Collection<ClienteId> clienteIds) {
+        if (clienteIds.isEmpty()) {
+            return List.of();
+        }
+        return reconstruirListaAgregadosCliente(jpaRepositoryInternal.findAllById(
+                clienteIds.stream().map(ClienteMapper::toPrimitiveId).collect(Collectors.toList())));
+    }
+
+    @Override
+    @Transactional
+    public int adicionarCreditosCompensacao(List<CreditoCompensacao> creditos) {
+        for (CreditoCompensacao credito : creditos) {
+            CreditoCompensacaoJpa creditoJpa = CreditoCompensacaoMapper.toJpaEntity(credito);
+            // Referência ao cliente sem SELECT; persist (e não merge) para não ler cada crédito antes de inserir
+            creditoJpa.setCliente(jpaRepositoryInternal.getReferenceById(ClienteMapper.toPrimitiveId(credito.getClienteId())));
+            entityManager.persist(creditoJpa);
+        }
+        // Os inserts saem agrupados (hibernate.jdbc.batch_size); violação da chave sessão/ingresso aparece aqui
+        entityManager.flush();
+        return creditos.size();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public boolean existePorIdValorPrimitivo(UUID idPrimitivo) {
@@ -0,0 +1,52 @@
+package com.cinetech.api.infraestrutura.persistencia.repositorio;
+
+import com.cinetech.api.dominio.modelos.outbox.EventoOutbox;
+import com.cinetech.api.dominio.repositorios.EventoOutboxRepositorio;
+import com.cinetech.api.infraestrutura.persistencia.jpa.EventoOutboxJpaRepository;
+import com.cinetech.api.infraestrutura.persistencia.mapper.EventoOutboxMapper;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Repository
+public class EventoOutboxRepositorioJpa implements EventoOutboxRepositorio {
+
+    private final EventoOutboxJpaRepository jpaRepositoryInternal;
+
+    public EventoOutboxRepositorioJpa(EventoOutboxJpaRepository jpaRepositoryInternal) {
+        this.jpaRepositoryInternal = jpaRepositoryInternal;
+    }
+
+    @Override
+    @Transactional
+    public void salvar(EventoOutbox evento) {
+        jpaRepositoryInternal.save(EventoOutboxMapper.toJpaEntity(evento));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<EventoOutbox> buscarPorId(UUID id) {
+        return jpaRepositoryInternal.findById(id).map(EventoOutboxMapper::toDomainEntity);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventoOutbox> buscarPendentesDisponiveis(LocalDateTime agora, int limite) {
+        return jpaRepositoryInternal.findByProcessadoEmIsNullAndDisponivelEmLessThanEqualOrderByDisponivelEmAscIdAsc(agora, Limit.of(limite))
+                .stream()
+                .map(EventoOutboxMapper::toDomainEntity)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long contarPendentes() {
+        return jpaRepositoryInternal.countByProcessadoEmIsNull();
+    }
+}
@@ -7,6 +7,7 @@ import com.cinetech.api.infraestrutura.persistencia.jpa.FilmeJpaRepository;
 import com.cinetech.api.infraestrutura.persistencia.entidade.FilmeJpa;
 // Importe a CLASSE do mapper manual
 import com.cinetech.api.infraestrutura.persistencia.mapper.FilmeMapper;
+import com.cinetech.api.dominio.repositorios.PaginacaoPorCursor;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -53,6 +54,14 @@ public class FilmeRepositorioJpa implements FilmeRepositorio {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<Filme> buscarPaginaAposId(Optional<FilmeId> aposId, int tamanhoPagina) {
+        PaginacaoPorCursor.validarTamanhoPagina(tamanhoPagina);
+        return jpaRepositoryInternal.buscarPaginaAposId(aposId.map(FilmeMapper::toPrimitiveId), tamanhoPagina).stream()
+                .map(FilmeMapper::toDomainEntity)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<Filme> buscarFilmesEmExibicao(LocalDate dataReferencia) {
         return jpaRepositoryInternal.findFilmesEmExibicaoNaData(dataReferencia).stream()
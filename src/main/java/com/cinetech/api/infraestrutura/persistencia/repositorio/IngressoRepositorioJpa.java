@@ -2,16 +2,23 @@ package com.cinetech.api.infraestrutura.persistencia.repositorio;
 
 import com.cinetech.api.dominio.modelos.ingresso.Ingresso;
 import com.cinetech.api.dominio.modelos.ingresso.IngressoId;
+import com.cinetech.api.dominio.modelos.ingresso.ValorPagoIngresso;
 import com.cinetech.api.dominio.modelos.sessao.SessaoId;
 import com.cinetech.api.dominio.modelos.cliente.ClienteId;
+import com.cinetech.api.dominio.eventos.PublicadorEventosDominio;
 import com.cinetech.api.dominio.repositorios.IngressoRepositorio;
 import com.cinetech.api.infraestrutura.persistencia.jpa.IngressoJpaRepository; // Interface Spring Data JPA
+import com.cinetech.api.infraestrutura.persistencia.entidade.AssentoJpa;
+import com.cinetech.api.infraestrutura.persistencia.entidade.ClienteJpa;
 import com.cinetech.api.infraestrutura.persistencia.entidade.IngressoJpa; // Entidade JPA
+import com.cinetech.api.infraestrutura.persistencia.entidade.SessaoJpa;
 // Importe as CLASSES dos mappers para chamadas estáticas
 import com.cinetech.api.infraestrutura.persistencia.mapper.IngressoMapper;
 import com.cinetech.api.infraestrutura.persistencia.mapper.SessaoMapper;  // Para converter SessaoId
 import com.cinetech.api.infraestrutura.persistencia.mapper.ClienteMapper; // Para converter ClienteId
+import com.cinetech.api.dominio.repositorios.PaginacaoPorCursor;
 
+import jakarta.persistence.EntityManager;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,19 +31,28 @@ import java.util.stream.Collectors;
 public class IngressoRepositorioJpa implements IngressoRepositorio {
 
     private final IngressoJpaRepository jpaRepositoryInternal;
+    private final EntityManager entityManager; // Referências gerenciadas para cliente, sessão e assento do ingresso
+    private final PublicadorEventosDominio publicadorEventos; // Ingresso emitido, após o commit
     // Mappers não são mais injetados
 
-    public IngressoRepositorioJpa(IngressoJpaRepository jpaRepositoryInternal) {
+    public IngressoRepositorioJpa(IngressoJpaRepository jpaRepositoryInternal, EntityManager entityManager,
+                                  PublicadorEventosDominio publicadorEventos) {
         this.jpaRepositoryInternal = jpaRepositoryInternal;
+        this.entityManager = entityManager;
+        this.publicadorEventos = publicadorEventos;
     }
 
     @Override
     @Transactional
     public Ingresso salvar(Ingresso ingressoDominio) {
         IngressoJpa ingressoJpa = IngressoMapper.toJpaEntity(ingressoDominio); // Chamada estática
-        // Lógica para setar referências de objetos JPA em ingressoJpa (ex: cliente, sessao, assento)
-        // já deve estar dentro de IngressoMapper.toJpaEntity se ele cria os proxies
+        // O mapper só preenche os IDs das associações; sessão e assento são versionados e, soltos,
+        // seriam tratados como transientes. Troca pelas referências gerenciadas, sem SELECT.
+        ingressoJpa.setCliente(entityManager.getReference(ClienteJpa.class, ingressoJpa.getCliente().getId()));
+        ingressoJpa.setSessao(entityManager.getReference(SessaoJpa.class, ingressoJpa.getSessao().getId()));
+        ingressoJpa.setAssento(entityManager.getReference(AssentoJpa.class, ingressoJpa.getAssento().getId()));
         IngressoJpa salvoJpa = jpaRepositoryInternal.save(ingressoJpa);
+        publicadorEventos.publicarAposCommit(ingressoDominio.retirarEventos());
         return IngressoMapper.toDomainEntity(salvoJpa); // Chamada estática
     }
 
@@ -64,6 +80,12 @@ public class IngressoRepositorioJpa implements IngressoRepositorio {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<ValorPagoIngresso> buscarValoresPagosSemCreditoDaSessao(SessaoId sessaoIdDominio) {
+        return jpaRepositoryInternal.findValoresPagosSemCreditoDaSessao(SessaoMapper.toPrimitiveId(sessaoIdDominio));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Ingresso> buscarPorClienteId(ClienteId clienteIdDominio) {
@@ -80,4 +102,13 @@ public class IngressoRepositorioJpa implements IngressoRepositorio {
                 .map(IngressoMapper::toDomainEntity)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Ingresso> buscarPaginaAposId(Optional<IngressoId> aposId, int tamanhoPagina) {
+        PaginacaoPorCursor.validarTamanhoPagina(tamanhoPagina);
+        return jpaRepositoryInternal.buscarPaginaAposId(aposId.map(IngressoMapper::toPrimitiveId), tamanhoPagina).stream()
+                .map(IngressoMapper::toDomainEntity)
+                .collect(Collectors.toList());
+    }
 }
\ No newline at end of file
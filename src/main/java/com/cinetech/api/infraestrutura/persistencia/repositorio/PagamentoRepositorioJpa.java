@@ -12,6 +12,7 @@ import com.cinetech.api.infraestrutura.persistencia.entidade.PagamentoJpa;
 import com.cinetech.api.infraestrutura.persistencia.mapper.PagamentoMapper;
 import com.cinetech.api.infraestrutura.persistencia.mapper.IngressoMapper; // Para toPrimitiveId de IngressoId
 import com.cinetech.api.infraestrutura.persistencia.mapper.ReservaEventoMapper; // Para toPrimitiveId de ReservaEventoId
+import com.cinetech.api.dominio.repositorios.PaginacaoPorCursor;
 
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
@@ -86,4 +87,13 @@ public class PagamentoRepositorioJpa implements PagamentoRepositorio {
                 .map(PagamentoMapper::toDomainEntity)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Pagamento> buscarPaginaAposId(Optional<PagamentoId> aposId, int tamanhoPagina) {
+        PaginacaoPorCursor.validarTamanhoPagina(tamanhoPagina);
+        return jpaRepositoryInternal.buscarPaginaAposId(aposId.map(PagamentoMapper::toPrimitiveId), tamanhoPagina).stream()
+                .map(PagamentoMapper::toDomainEntity)
+                .collect(Collectors.toList());
+    }
 }
\ No newline at end of file
@@ -1,16 +1,20 @@
 package com.cinetech.api.infraestrutura.persistencia.repositorio;
 
 import com.cinetech.api.dominio.enums.TipoPromocao;
+import com.cinetech.api.dominio.eventos.PublicadorEventosDominio;
 import com.cinetech.api.dominio.modelos.promocao.Promocao;
+import com.cinetech.api.dominio.modelos.promocao.PromocaoAlterada;
 import com.cinetech.api.dominio.modelos.promocao.PromocaoId;
 import com.cinetech.api.dominio.repositorios.PromocaoRepositorio;
 import com.cinetech.api.infraestrutura.persistencia.entidade.PromocaoJpa;
 import com.cinetech.api.infraestrutura.persistencia.jpa.PromocaoJpaRepository;
 import com.cinetech.api.infraestrutura.persistencia.mapper.PromocaoMapper;
+import com.cinetech.api.dominio.repositorios.PaginacaoPorCursor;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -21,9 +25,11 @@ import java.util.stream.Collectors;
 public class PromocaoRepositorioJpa implements PromocaoRepositorio {
 
     private final PromocaoJpaRepository jpaRepositoryInternal;
+    private final PublicadorEventosDominio publicadorEventos; // Invalida as regras de preço compiladas, após o commit
 
-    public PromocaoRepositorioJpa(PromocaoJpaRepository jpaRepositoryInternal) {
+    public PromocaoRepositorioJpa(PromocaoJpaRepository jpaRepositoryInternal, PublicadorEventosDominio publicadorEventos) {
         this.jpaRepositoryInternal = jpaRepositoryInternal;
+        this.publicadorEventos = publicadorEventos;
     }
 
     private Promocao mapToDomain(PromocaoJpa jpaEntity) {
@@ -41,6 +47,7 @@ public class PromocaoRepositorioJpa implements PromocaoRepositorio {
     public Promocao salvar(Promocao promocaoDominio) {
         PromocaoJpa promocaoJpa = PromocaoMapper.toJpaEntity(promocaoDominio);
         PromocaoJpa salvaJpa = jpaRepositoryInternal.save(promocaoJpa);
+        publicadorEventos.publicarAposCommit(List.of(new PromocaoAlterada(promocaoDominio.getId(), LocalDateTime.now())));
         return mapToDomain(salvaJpa);
     }
 
@@ -64,6 +71,13 @@ public class PromocaoRepositorioJpa implements PromocaoRepositorio {
         return mapToDomainList(jpaRepositoryInternal.findAll());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Promocao> buscarPaginaAposId(Optional<PromocaoId> aposId, int tamanhoPagina) {
+        PaginacaoPorCursor.validarTamanhoPagina(tamanhoPagina);
+        return mapToDomainList(jpaRepositoryInternal.buscarPaginaAposId(aposId.map(PromocaoMapper::toPrimitiveId), tamanhoPagina));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Promocao> buscarPromocoesVigentes(LocalDate dataReferencia) {
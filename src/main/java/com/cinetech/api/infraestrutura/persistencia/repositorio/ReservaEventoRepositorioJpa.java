@@ -4,8 +4,10 @@ import com.cinetech.api.dominio.enums.StatusReservaEvento;
 import com.cinetech.api.dominio.modelos.cliente.ClienteId;
 import com.cinetech.api.dominio.modelos.reservaevento.ReservaEvento;
 import com.cinetech.api.dominio.modelos.reservaevento.ReservaEventoId;
+import com.cinetech.api.dominio.modelos.sala.PeriodoOcupacaoSala;
 import com.cinetech.api.dominio.modelos.sala.SalaId;
 import com.cinetech.api.dominio.repositorios.ReservaEventoRepositorio;
+import com.cinetech.api.infraestrutura.persistencia.agenda.IndiceAgendaSalasEmMemoria;
 import com.cinetech.api.infraestrutura.persistencia.entidade.ReservaEventoJpa;
 import com.cinetech.api.infraestrutura.persistencia.jpa.ReservaEventoJpaRepository;
 // Importe as CLASSES dos mappers para chamadas estáticas
@@ -13,11 +15,13 @@ import com.cinetech.api.infraestrutura.persistencia.mapper.ClienteMapper;
 import com.cinetech.api.infraestrutura.persistencia.mapper.ReservaEventoMapper;
 import com.cinetech.api.infraestrutura.persistencia.mapper.SalaMapper;
 import com.cinetech.api.infraestrutura.persistencia.mapper.PagamentoMapper; // Para converter PagamentoId
+import com.cinetech.api.dominio.repositorios.PaginacaoPorCursor;
 
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -28,10 +32,13 @@ import java.util.stream.Collectors;
 public class ReservaEventoRepositorioJpa implements ReservaEventoRepositorio {
 
     private final ReservaEventoJpaRepository jpaRepositoryInternal;
+    private final IndiceAgendaSalasEmMemoria indiceAgendaSalas; // Atualizado a cada reserva gravada
     // Mappers não são injetados
 
-    public ReservaEventoRepositorioJpa(ReservaEventoJpaRepository jpaRepositoryInternal) {
+    public ReservaEventoRepositorioJpa(ReservaEventoJpaRepository jpaRepositoryInternal,
+                                       IndiceAgendaSalasEmMemoria indiceAgendaSalas) {
         this.jpaRepositoryInternal = jpaRepositoryInternal;
+        this.indiceAgendaSalas = indiceAgendaSalas;
     }
 
     @Override
@@ -39,6 +46,11 @@ public class ReservaEventoRepositorioJpa implements ReservaEventoRepositorio {
     public ReservaEvento salvar(ReservaEvento reservaEventoDominio) {
         ReservaEventoJpa reservaJpa = ReservaEventoMapper.toJpaEntity(reservaEventoDominio); // Chamada estática
         ReservaEventoJpa salvaJpa = jpaRepositoryInternal.save(reservaJpa);
+        // Reserva cancelada libera a sala; a agenda em memória só muda após o commit
+        indiceAgendaSalas.registrarAposCommit(salvaJpa.getId(), salvaJpa.getSala().getId(),
+                salvaJpa.getDataHoraInicio(), salvaJpa.getDataHoraFim(),
+                salvaJpa.getStatus() != StatusReservaEvento.CANCELADA_PELO_CLIENTE
+                        && salvaJpa.getStatus() != StatusReservaEvento.CANCELADA_PELO_SISTEMA);
         return ReservaEventoMapper.toDomainEntity(salvaJpa); // Chamada estática
     }
 
@@ -58,6 +70,15 @@ public class ReservaEventoRepositorioJpa implements ReservaEventoRepositorio {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReservaEvento> buscarPaginaAposId(Optional<ReservaEventoId> aposId, int tamanhoPagina) {
+        PaginacaoPorCursor.validarTamanhoPagina(tamanhoPagina);
+        return jpaRepositoryInternal.buscarPaginaAposId(aposId.map(ReservaEventoMapper::toPrimitiveId), tamanhoPagina).stream()
+                .map(ReservaEventoMapper::toDomainEntity)
+                .collect(Collectors.toList());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<ReservaEvento> buscarPorSalaId(SalaId salaIdDominio) {
@@ -94,6 +115,20 @@ public class ReservaEventoRepositorioJpa implements ReservaEventoRepositorio {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<PeriodoOcupacaoSala> buscarPeriodosOcupadosPorSalas(Collection<SalaId> salaIds,
+                                                                     LocalDateTime inicioJanela, LocalDateTime fimJanela) {
+        if (salaIds == null || salaIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<UUID> salaUUIDs = salaIds.stream().map(SalaMapper::toPrimitiveId).collect(Collectors.toList()); // Chamada estática
+        return jpaRepositoryInternal.findIntervalosOcupacaoPorSalas(salaUUIDs, inicioJanela, fimJanela).stream()
+                .map(intervalo -> new PeriodoOcupacaoSala(SalaMapper.uuidToSalaId(intervalo.getSalaId()),
+                        intervalo.getDataHoraInicio(), intervalo.getDataHoraFim()))
+                .collect(Collectors.toList());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<ReservaEvento> buscarPorStatus(StatusReservaEvento status) {
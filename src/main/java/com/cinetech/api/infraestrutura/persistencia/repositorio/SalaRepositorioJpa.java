@@ -5,8 +5,10 @@ import com.cinetech.api.dominio.modelos.sala.SalaId;
 import com.cinetech.api.dominio.repositorios.SalaRepositorio;
 import com.cinetech.api.infraestrutura.persistencia.jpa.SalaJpaRepository; // Interface Spring Data JPA
 import com.cinetech.api.infraestrutura.persistencia.mapper.SalaMapper;
+import com.cinetech.api.dominio.repositorios.PaginacaoPorCursor;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -57,6 +59,14 @@ public class SalaRepositorioJpa implements SalaRepositorio {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<Sala> buscarPaginaAposId(Optional<SalaId> aposId, int tamanhoPagina) {
+        PaginacaoPorCursor.validarTamanhoPagina(tamanhoPagina);
+        return jpaRepositoryInternal.buscarPaginaAposId(aposId.map(SalaMapper::toPrimitiveId), tamanhoPagina).stream()
+                .map(SalaMapper::toDomainEntity)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<Sala> buscarSalasDisponiveisParaEventos() {
         return jpaRepositoryInternal.findByDisponivelParaEventosTrue().stream()
@@ -64,4 +74,12 @@ public class SalaRepositorioJpa implements SalaRepositorio {
                 .map(SalaMapper::toDomainEntity)
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    @Override
+    public List<Sala> buscarSalasParaEventosLivresNoPeriodo(LocalDateTime inicioPeriodo, LocalDateTime fimPeriodo) {
+        return jpaRepositoryInternal.findSalasParaEventosLivresNoPeriodo(inicioPeriodo, fimPeriodo).stream()
+                // Usa referência de método estático
+                .map(SalaMapper::toDomainEntity)
+                .collect(Collectors.toList());
+    }
+}
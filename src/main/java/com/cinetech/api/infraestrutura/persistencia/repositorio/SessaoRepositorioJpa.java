@@ -1,14 +1,24 @@
 package com.cinetech.api.infraestrutura.persistencia.repositorio;
 
+import com.cinetech.api.dominio.modelos.sessao.ContagemAssentos;
 import com.cinetech.api.dominio.modelos.sessao.Sessao;
 import com.cinetech.api.dominio.modelos.sessao.SessaoId;
+import com.cinetech.api.dominio.modelos.sessao.SessaoResumo;
+import com.cinetech.api.dominio.modelos.sala.PeriodoOcupacaoSala;
 import com.cinetech.api.dominio.modelos.sala.SalaId;
 import com.cinetech.api.dominio.modelos.filme.FilmeId;
 import com.cinetech.api.dominio.modelos.assento.Assento;
+import com.cinetech.api.dominio.modelos.assento.ReservaTemporariaAssento;
 import com.cinetech.api.dominio.modelos.cliente.ClienteId; // Necessário para o construtor de Assento
+import com.cinetech.api.dominio.enums.StatusAssento;
 import com.cinetech.api.dominio.enums.StatusSessao;
+import com.cinetech.api.dominio.eventos.PublicadorEventosDominio;
 import com.cinetech.api.dominio.repositorios.SessaoRepositorio;
+import com.cinetech.api.infraestrutura.persistencia.agenda.IndiceAgendaSalasEmMemoria;
 import com.cinetech.api.infraestrutura.persistencia.jpa.SessaoJpaRepository; // Interface Spring Data JPA
+import com.cinetech.api.infraestrutura.persistencia.jpa.AssentoJpaRepository;
+import com.cinetech.api.infraestrutura.persistencia.jpa.FilmeJpaRepository;
+import com.cinetech.api.infraestrutura.persistencia.jpa.SalaJpaRepository;
 import com.cinetech.api.infraestrutura.persistencia.entidade.SessaoJpa;
 import com.cinetech.api.infraestrutura.persistencia.entidade.AssentoJpa; // Para iterar
 // Importe as CLASSES dos mappers para chamadas estáticas
@@ -16,7 +26,12 @@ import com.cinetech.api.infraestrutura.persistencia.mapper.SessaoMapper;
 import com.cinetech.api.infraestrutura.persistencia.mapper.AssentoMapper;
 import com.cinetech.api.infraestrutura.persistencia.mapper.FilmeMapper;
 import com.cinetech.api.infraestrutura.persistencia.mapper.SalaMapper;
+import com.cinetech.api.dominio.repositorios.PaginacaoPorCursor;
 
+import jakarta.persistence.EntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,11 +42,31 @@ import java.util.stream.Collectors;
 @Repository
 public class SessaoRepositorioJpa implements SessaoRepositorio {
 
+    // Sessões gravadas por flush/clear em salvarNovas. Com assentos esparsos uma sessão nova é uma única linha
+    // (nenhum assento é gravado antes de mudar de estado): 50 sessões = exatamente um lote JDBC de
+    // hibernate.jdbc.batch_size (50) por ciclo, com o contexto de persistência ainda pequeno.
+    private static final int SESSOES_POR_FLUSH = 50;
+
     private final SessaoJpaRepository jpaRepositoryInternal;
+    private final AssentoJpaRepository assentoJpaRepository; // Para operações em um único assento
+    private final FilmeJpaRepository filmeJpaRepository; // Referências gerenciadas de Filme/Sala ao gravar
+    private final SalaJpaRepository salaJpaRepository;
+    private final EntityManager entityManager; // Gravação em lote de sessões novas (persist + flush/clear)
+    private final IndiceAgendaSalasEmMemoria indiceAgendaSalas; // Atualizado a cada sessão gravada
+    private final PublicadorEventosDominio publicadorEventos; // Eventos da sessão (lotada, cancelada), após o commit
     // Mappers não são mais injetados
 
-    public SessaoRepositorioJpa(SessaoJpaRepository jpaRepositoryInternal) {
+    public SessaoRepositorioJpa(SessaoJpaRepository jpaRepositoryInternal, AssentoJpaRepository assentoJpaRepository,
+                                FilmeJpaRepository filmeJpaRepository, SalaJpaRepository salaJpaRepository,
+                                EntityManager entityManager, IndiceAgendaSalasEmMemoria indiceAgendaSalas,
+                                PublicadorEventosDominio publicadorEventos) {
         this.jpaRepositoryInternal = jpaRepositoryInternal;
+        this.assentoJpaRepository = assentoJpaRepository;
+        this.filmeJpaRepository = filmeJpaRepository;
+        this.salaJpaRepository = salaJpaRepository;
+        this.entityManager = entityManager;
+        this.indiceAgendaSalas = indiceAgendaSalas;
+        this.publicadorEventos = publicadorEventos;
     }
 
     // Método auxiliar para reconstruir o agregado Sessao com seus Assentos, usando chamadas estáticas aos mappers
@@ -44,14 +79,17 @@ public class SessaoRepositorioJpa implements SessaoRepositorio {
         // Este método já deve chamar FilmeMapper e SalaMapper estaticamente para os campos Filme e Sala.
         Sessao sessaoDominio = SessaoMapper.toDomainEntity(sessaoJpa); // Presume que este retorna Sessao sem a lista de Assentos populada
 
-        // 2. Constrói e adiciona os Assentos de domínio
-        if (sessaoJpa.getAssentos() != null && !sessaoJpa.getAssentos().isEmpty() && sessaoDominio != null) {
-            for (AssentoJpa assentoJpa : sessaoJpa.getAssentos()) {
-                // Chama o método estático AssentoMapper.toDomainEntity,
-                // passando a sessaoDominio pai como contexto.
-                Assento assentoDominio = AssentoMapper.toDomainEntity(assentoJpa, sessaoDominio);
-                sessaoDominio.adicionarAssento(assentoDominio); // Método da entidade Sessao
+        // 2. Constrói os Assentos de domínio gravados; em sessão esparsa, a Sessao completa os demais pela planta
+        if (sessaoDominio != null) {
+            List<Assento> assentosGravados = new ArrayList<>();
+            if (sessaoJpa.getAssentos() != null) {
+                for (AssentoJpa assentoJpa : sessaoJpa.getAssentos()) {
+                    // Chama o método estático AssentoMapper.toDomainEntity,
+                    // passando a sessaoDominio pai como contexto.
+                    assentosGravados.add(AssentoMapper.toDomainEntity(assentoJpa, sessaoDominio));
+                }
             }
+            sessaoDominio.reconstituirAssentos(assentosGravados); // Método da entidade Sessao
         }
         return sessaoDominio;
     }
@@ -69,6 +107,59 @@ public class SessaoRepositorioJpa implements SessaoRepositorio {
     @Override
     @Transactional
     public Sessao salvar(Sessao sessaoDominio) {
+        SessaoJpa sessaoJpa = prepararParaGravacao(sessaoDominio);
+        // Flush imediato: o conflito de versão (ObjectOptimisticLockingFailureException) aparece aqui,
+        // e o agregado devolvido já carrega as versões incrementadas para uma nova gravação.
+        SessaoJpa sessaoSalvaJpa;
+        try {
+            sessaoSalvaJpa = jpaRepositoryInternal.saveAndFlush(sessaoJpa);
+        } catch (DataIntegrityViolationException e) {
+            if (sessaoDominio.getVersao() == null) {
+                throw e;
+            }
+            // Sessão esparsa já gravada: um assento alterado pela primeira vez teve o registro criado por outra requisição
+            throw new ObjectOptimisticLockingFailureException("Assento da sessão " + sessaoDominio.getId()
+                    + " gravado por outra requisição.", e);
+        }
+        registrarNaAgenda(sessaoSalvaJpa);
+        publicadorEventos.publicarAposCommit(sessaoDominio.retirarEventos());
+        return reconstruirAgregadoSessao(sessaoSalvaJpa);
+    }
+
+    @Override
+    @Transactional
+    public int salvarNovas(List<Sessao> sessoesDominio) {
+        Objects.requireNonNull(sessoesDominio, "Lista de sessões não pode ser nula.");
+        int gravadas = 0;
+        for (Sessao sessaoDominio : sessoesDominio) {
+            if (sessaoDominio.getVersao() != null) {
+                throw new IllegalArgumentException("Sessão " + sessaoDominio.getId() + " já foi gravada; use salvar.");
+            }
+            // persist direto (IDs já gerados no domínio): nenhum SELECT prévio, e os INSERTs (sessões e os poucos
+            // assentos já alterados) saem agrupados em lotes JDBC (hibernate.jdbc.batch_size / order_inserts)
+            SessaoJpa sessaoJpa = prepararParaGravacao(sessaoDominio);
+            entityManager.persist(sessaoJpa);
+            registrarNaAgenda(sessaoJpa);
+            if (++gravadas % SESSOES_POR_FLUSH == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return gravadas;
+    }
+
+    // Sessão cancelada libera a sala; a agenda em memória só muda após o commit
+    private void registrarNaAgenda(SessaoJpa sessaoJpa) {
+        indiceAgendaSalas.registrarAposCommit(sessaoJpa.getId(), sessaoJpa.getSala().getId(),
+                sessaoJpa.getDataHoraInicio(), sessaoJpa.getDataHoraFim(), sessaoJpa.getStatus() != StatusSessao.CANCELADA);
+    }
+
+    // Mapeia para JPA ligando os assentos à sessão e trocando as referências "só com ID" de Filme/Sala do mapper
+    // por referências gerenciadas: persist (sessão nova, versão nula) não as resolve, e o agregado devolvido
+    // precisa de Filme e Sala completos.
+    private SessaoJpa prepararParaGravacao(Sessao sessaoDominio) {
         SessaoJpa sessaoJpa = SessaoMapper.toJpaEntity(sessaoDominio); // Chamada estática
         // Garante o relacionamento bidirecional para JPA antes de salvar
         if (sessaoJpa.getAssentos() != null) {
@@ -78,15 +169,112 @@ public class SessaoRepositorioJpa implements SessaoRepositorio {
                 }
             });
         }
-        SessaoJpa sessaoSalvaJpa = jpaRepositoryInternal.save(sessaoJpa);
-        return reconstruirAgregadoSessao(sessaoSalvaJpa);
+        sessaoJpa.setFilme(filmeJpaRepository.getReferenceById(sessaoJpa.getFilme().getId()));
+        sessaoJpa.setSala(salaJpaRepository.getReferenceById(sessaoJpa.getSala().getId()));
+        return sessaoJpa;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Optional<Sessao> buscarPorId(SessaoId sessaoIdDominio) {
         UUID idPrimitivo = SessaoMapper.toPrimitiveId(sessaoIdDominio); // Chamada estática
-        return jpaRepositoryInternal.findById(idPrimitivo).map(SessaoRepositorioJpa::reconstruirAgregadoSessao);
+        return jpaRepositoryInternal.findAgregadoById(idPrimitivo).map(SessaoRepositorioJpa::reconstruirAgregadoSessao);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Sessao> buscarPorIdComAssento(SessaoId sessaoIdDominio, String identificadorPosicao) {
+        if (identificadorPosicao == null || identificadorPosicao.trim().isEmpty()) {
+            throw new IllegalArgumentException("Identificador do assento não pode ser vazio.");
+        }
+        UUID idPrimitivo = SessaoMapper.toPrimitiveId(sessaoIdDominio); // Chamada estática
+        return jpaRepositoryInternal.findCabecalhoById(idPrimitivo).map(sessaoJpa -> {
+            // Apenas o cabeçalho (com filme e sala): a coleção LAZY de assentos da SessaoJpa nunca é inicializada aqui.
+            Sessao sessaoDominio = SessaoMapper.toDomainEntity(sessaoJpa);
+            // Sem registro, o assento (se existir na planta) ainda está no estado padrão: é materializado da planta
+            assentoJpaRepository.findBySessao_IdAndIdentificadorPosicaoIgnoreCase(idPrimitivo, identificadorPosicao.trim())
+                    .ifPresentOrElse(
+                            assentoJpa -> sessaoDominio.adicionarAssento(AssentoMapper.toDomainEntity(assentoJpa, sessaoDominio)),
+                            () -> sessaoDominio.materializarAssentoDaPlanta(identificadorPosicao));
+            return sessaoDominio;
+        });
+    }
+
+    @Override
+    @Transactional
+    public boolean salvarEstadoAssentoSeInalterado(Assento assento, StatusAssento statusEsperado, LocalDateTime expiracaoEsperada) {
+        Objects.requireNonNull(assento, "Assento não pode ser nulo.");
+        Objects.requireNonNull(statusEsperado, "Status esperado do assento não pode ser nulo.");
+        AssentoJpa estadoNovo = AssentoMapper.toJpaEntity(assento); // Reaproveita a conversão de ClienteId/timestamps
+        if (assento.getVersao() == null) {
+            // Primeira mudança de um assento de sessão esparsa: cria o registro. Se outra requisição o criou
+            // depois da leitura, o ID (derivado da posição) colide; é um conflito de versão, resolvido pela retentativa.
+            estadoNovo.setSessao(jpaRepositoryInternal.getReferenceById(estadoNovo.getSessao().getId()));
+            try {
+                assentoJpaRepository.saveAndFlush(estadoNovo);
+            } catch (DataIntegrityViolationException e) {
+                throw new ObjectOptimisticLockingFailureException("Registro do assento " + assento.getIdentificadorPosicao()
+                        + " da sessão " + assento.getSessao().getId() + " criado por outra requisição.", e);
+            }
+        } else {
+            int linhasAtualizadas = assentoJpaRepository.atualizarEstadoSeInalterado(
+                    SessaoMapper.toPrimitiveId(assento.getSessao().getId()),
+                    assento.getIdentificadorPosicao(),
+                    statusEsperado,
+                    expiracaoEsperada,
+                    estadoNovo.getStatus(),
+                    estadoNovo.getClienteIdReservaTemporaria(),
+                    estadoNovo.getTimestampExpiracaoReserva()
+            );
+            if (linhasAtualizadas != 1) {
+                return false;
+            }
+        }
+        StatusAssento statusNovo = assento.getStatus();
+        if (statusNovo != statusEsperado) {
+            int[] deltas = new int[StatusAssento.values().length];
+            deltas[statusEsperado.ordinal()]--;
+            deltas[statusNovo.ordinal()]++;
+            jpaRepositoryInternal.ajustarContagemAssentos(
+                    SessaoMapper.toPrimitiveId(assento.getSessao().getId()),
+                    deltas[StatusAssento.DISPONIVEL.ordinal()],
+                    deltas[StatusAssento.RESERVADO_TEMP.ordinal()],
+                    deltas[StatusAssento.OCUPADO_FINAL.ordinal()],
+                    deltas[StatusAssento.BLOQUEADO.ordinal()]);
+        }
+        return true;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReservaTemporariaAssento> buscarReservasTemporariasPendentes() {
+        return assentoJpaRepository.findReservasPendentesPorStatus(StatusAssento.RESERVADO_TEMP).stream()
+                .map(view -> new ReservaTemporariaAssento(
+                        SessaoMapper.uuidToSessaoId(view.getSessaoId()),
+                        view.getIdentificadorPosicao(),
+                        view.getTimestampExpiracaoReserva()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public int liberarReservasTemporariasExpiradas(SessaoId sessaoIdDominio, Collection<String> identificadoresPosicao, LocalDateTime agora) {
+        if (identificadoresPosicao == null || identificadoresPosicao.isEmpty()) {
+            return 0;
+        }
+        UUID sessaoUUID = SessaoMapper.toPrimitiveId(sessaoIdDominio); // Chamada estática
+        int liberados = assentoJpaRepository.liberarReservasExpiradas(
+                sessaoUUID, identificadoresPosicao, agora, StatusAssento.RESERVADO_TEMP, StatusAssento.DISPONIVEL);
+        if (liberados > 0) {
+            jpaRepositoryInternal.ajustarContagemAssentos(sessaoUUID, liberados, -liberados, 0, 0);
+        }
+        return liberados;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ContagemAssentos> buscarContagemAssentos(SessaoId sessaoIdDominio) {
+        return jpaRepositoryInternal.findContagemAssentosById(SessaoMapper.toPrimitiveId(sessaoIdDominio));
     }
 
     @Override
@@ -106,37 +294,56 @@ public class SessaoRepositorioJpa implements SessaoRepositorio {
         UUID sessaoExcluirUUID = sessaoIdParaExcluirOptional
                 .map(SessaoMapper::toPrimitiveId).orElse(null); // Chamada estática
 
-        // Busca apenas os JpaEntities. A lógica de cálculo de fim de sessão e conflito fica aqui.
-        List<SessaoJpa> sessoesNaSalaJpa = jpaRepositoryInternal.findBySala_Id(salaUUID);
-
-        return sessoesNaSalaJpa.stream()
-                .filter(sessaoExistenteJpa -> {
-                    // Exclui a própria sessão da verificação, se um ID foi fornecido
-                    if (sessaoExcluirUUID != null && sessaoExistenteJpa.getId().equals(sessaoExcluirUUID)) {
-                        return false;
-                    }
-                    // Para calcular o fim da sessão, precisamos da duração do filme.
-                    // Isso requer o FilmeJpa associado. Se for LAZY, pode causar N+1.
-                    // Idealmente, FilmeJpa é carregado EAGER ou com JOIN FETCH na query findBySala_Id,
-                    // ou o cálculo do conflito é feito de forma mais inteligente no banco.
-                    // Assumindo que FilmeJpa está acessível:
-                    if (sessaoExistenteJpa.getFilme() == null) return false; // Sessão inválida sem filme
-
-                    LocalDateTime inicioSessaoExistente = sessaoExistenteJpa.getDataHoraInicio();
-                    LocalDateTime fimSessaoExistente = inicioSessaoExistente
-                            .plusMinutes(sessaoExistenteJpa.getFilme().getDuracaoMinutos());
-
-                    return inicioPeriodoProposto.isBefore(fimSessaoExistente) &&
-                            fimPeriodoProposto.isAfter(inicioSessaoExistente);
-                })
-                .map(SessaoRepositorioJpa::reconstruirAgregadoSessao) // Converte para domínio APÓS filtrar
+        // Filtro no banco, sobre o dataHoraFim gravado (índice sala/início/fim)
+        return jpaRepositoryInternal.findSessoesConflitantes(salaUUID, inicioPeriodoProposto, fimPeriodoProposto, sessaoExcluirUUID)
+                .stream()
+                .map(SessaoRepositorioJpa::reconstruirAgregadoSessao)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean existeConflitoPorSalaEPeriodo(SalaId salaId, LocalDateTime inicioPeriodo, LocalDateTime fimPeriodo,
+                                                 Optional<SessaoId> sessaoIdParaExcluir) {
+        return jpaRepositoryInternal.existsConflito(
+                SalaMapper.toPrimitiveId(salaId), // Chamada estática
+                inicioPeriodo,
+                fimPeriodo,
+                sessaoIdParaExcluir.map(SessaoMapper::toPrimitiveId).orElse(null));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PeriodoOcupacaoSala> buscarPeriodosOcupadosPorSalas(Collection<SalaId> salaIds,
+                                                                     LocalDateTime inicioJanela, LocalDateTime fimJanela) {
+        if (salaIds == null || salaIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<UUID> salaUUIDs = salaIds.stream().map(SalaMapper::toPrimitiveId).collect(Collectors.toList()); // Chamada estática
+        return jpaRepositoryInternal.findIntervalosOcupacaoPorSalas(salaUUIDs, inicioJanela, fimJanela).stream()
+                .map(intervalo -> new PeriodoOcupacaoSala(SalaMapper.uuidToSalaId(intervalo.getSalaId()),
+                        intervalo.getDataHoraInicio(), intervalo.getDataHoraFim()))
                 .collect(Collectors.toList());
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Sessao> buscarTodas() {
-        return reconstruirListaAgregadosSessao(jpaRepositoryInternal.findAll());
+        return reconstruirListaAgregadosSessao(jpaRepositoryInternal.findAllAgregados());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Sessao> buscarPaginaAposId(Optional<SessaoId> aposId, int tamanhoPagina) {
+        PaginacaoPorCursor.validarTamanhoPagina(tamanhoPagina);
+        List<UUID> ids = aposId.map(id -> jpaRepositoryInternal.findIdsAposId(SessaoMapper.toPrimitiveId(id), Limit.of(tamanhoPagina)))
+                .orElseGet(() -> jpaRepositoryInternal.findIds(Limit.of(tamanhoPagina)));
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<UUID, SessaoJpa> porId = jpaRepositoryInternal.findAgregadosByIdIn(ids).stream()
+                .collect(Collectors.toMap(SessaoJpa::getId, sessaoJpa -> sessaoJpa));
+        return reconstruirListaAgregadosSessao(ids.stream().map(porId::get).filter(Objects::nonNull).collect(Collectors.toList()));
     }
 
     @Override
@@ -152,6 +359,20 @@ public class SessaoRepositorioJpa implements SessaoRepositorio {
         return reconstruirListaAgregadosSessao(sessoesAtivasJpa);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<SessaoResumo> buscarResumosSessoesAtivasPorFilmeId(FilmeId filmeIdDominio) {
+        return jpaRepositoryInternal.findResumosPorFilme(FilmeMapper.toPrimitiveId(filmeIdDominio),
+                List.of(StatusSessao.PROGRAMADA, StatusSessao.ABERTA), LocalDateTime.now());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long contarSessoesAtivasPorFilmeId(FilmeId filmeIdDominio) {
+        return jpaRepositoryInternal.countByFilme_IdAndStatusInAndDataHoraInicioAfter(FilmeMapper.toPrimitiveId(filmeIdDominio),
+                List.of(StatusSessao.PROGRAMADA, StatusSessao.ABERTA), LocalDateTime.now());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Sessao> buscarPorStatus(StatusSessao status) {
@@ -3,10 +3,12 @@ package com.cinetech.api.infraestrutura.web.controller;
 
 import com.cinetech.api.aplicacao.CompraAplicacao;
 import com.cinetech.api.dominio.modelos.ingresso.Ingresso;
+import com.cinetech.api.infraestrutura.web.dto.compra.BlocoAssentosReservadoResponseDTO;
 import com.cinetech.api.infraestrutura.web.dto.compra.IngressoResponseDTO;
 import com.cinetech.api.infraestrutura.web.dto.compra.IniciarCompraRequestDTO;
 import com.cinetech.api.infraestrutura.web.dto.compra.PrecoCalculadoResponseDTO;
 import com.cinetech.api.infraestrutura.web.dto.compra.ConfirmarPagamentoRequestDTO;
+import com.cinetech.api.infraestrutura.web.dto.compra.ReservarBlocoAssentosRequestDTO;
 // Importar um hipotético IngressoApiMapper para converter Ingresso (domínio) para IngressoResponseDTO
 // import com.cinetech.api.infraestrutura.web.mapper.IngressoApiMapper;
 
@@ -48,6 +50,18 @@ public class CompraController {
         }
     }
 
+    @PostMapping("/reservar-bloco")
+    public ResponseEntity<BlocoAssentosReservadoResponseDTO> reservarBlocoAssentos(
+            @Valid @RequestBody ReservarBlocoAssentosRequestDTO requestDTO) {
+        try {
+            return ResponseEntity.ok(compraAplicacao.reservarBlocoAssentos(requestDTO));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(null); // Ex: não há bloco contíguo livre
+        }
+    }
+
     @PostMapping("/finalizar")
     public ResponseEntity<IngressoResponseDTO> finalizarCompra(
             @Valid @RequestBody ConfirmarPagamentoRequestDTO requestDTO) {
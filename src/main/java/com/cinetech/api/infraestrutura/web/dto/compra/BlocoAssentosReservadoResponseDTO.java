@@ -0,0 +1,18 @@
+package com.cinetech.api.infraestrutura.web.dto.compra;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class BlocoAssentosReservadoResponseDTO {
+    private List<String> identificadoresAssentosReservados; // Da esquerda para a direita na fileira
+    private LocalDateTime expiracaoReserva;
+
+    public BlocoAssentosReservadoResponseDTO(List<String> identificadoresAssentosReservados, LocalDateTime expiracaoReserva) {
+        this.identificadoresAssentosReservados = identificadoresAssentosReservados;
+        this.expiracaoReserva = expiracaoReserva;
+    }
+
+    // Getters
+    public List<String> getIdentificadoresAssentosReservados() { return identificadoresAssentosReservados; }
+    public LocalDateTime getExpiracaoReserva() { return expiracaoReserva; }
+}
@@ -0,0 +1,25 @@
+package com.cinetech.api.infraestrutura.web.dto.compra;
+
+import com.cinetech.api.dominio.enums.TipoAssento;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+public class ReservarBlocoAssentosRequestDTO {
+    @NotBlank(message = "ID do cliente não pode ser vazio.")
+    private String clienteId;
+    @NotBlank(message = "ID da sessão não pode ser vazio.")
+    private String sessaoId;
+    @Min(value = 1, message = "Quantidade de assentos deve ser ao menos 1.")
+    private int quantidade;
+    private TipoAssento tipoAssento; // Opcional: ex "VIP"; se ausente, qualquer tipo exceto PCD
+
+    // Getters e Setters
+    public String getClienteId() { return clienteId; }
+    public void setClienteId(String clienteId) { this.clienteId = clienteId; }
+    public String getSessaoId() { return sessaoId; }
+    public void setSessaoId(String sessaoId) { this.sessaoId = sessaoId; }
+    public int getQuantidade() { return quantidade; }
+    public void setQuantidade(int quantidade) { this.quantidade = quantidade; }
+    public TipoAssento getTipoAssento() { return tipoAssento; }
+    public void setTipoAssento(TipoAssento tipoAssento) { this.tipoAssento = tipoAssento; }
+}
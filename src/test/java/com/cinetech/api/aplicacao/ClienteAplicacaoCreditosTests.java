@@ -0,0 +1,94 @@
+package com.cinetech.api.aplicacao;
+
+import com.cinetech.api.dominio.enums.PerfilCliente;
+import com.cinetech.api.dominio.enums.TipoExibicao;
+import com.cinetech.api.dominio.enums.TipoSala;
+import com.cinetech.api.dominio.modelos.cliente.Cliente;
+import com.cinetech.api.dominio.modelos.credito.CreditoCompensacao;
+import com.cinetech.api.dominio.modelos.filme.Filme;
+import com.cinetech.api.dominio.modelos.ingresso.Ingresso;
+import com.cinetech.api.dominio.modelos.sala.Sala;
+import com.cinetech.api.dominio.modelos.sessao.Sessao;
+import com.cinetech.api.dominio.repositorios.ClienteRepositorio;
+import com.cinetech.api.dominio.repositorios.FilmeRepositorio;
+import com.cinetech.api.dominio.repositorios.IngressoRepositorio;
+import com.cinetech.api.dominio.repositorios.SalaRepositorio;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * O cancelamento de uma sessão emite, pelo outbox, um crédito por ingresso com o valor pago;
+ * a emissão pode ser reprocessada sem duplicar créditos.
+ */
+@SpringBootTest
+class ClienteAplicacaoCreditosTests {
+
+	@Autowired
+	private ClienteAplicacao clienteAplicacao;
+	@Autowired
+	private SessaoAplicacao sessaoAplicacao;
+	@Autowired
+	private FilmeRepositorio filmeRepositorio;
+	@Autowired
+	private SalaRepositorio salaRepositorio;
+	@Autowired
+	private ClienteRepositorio clienteRepositorio;
+	@Autowired
+	private IngressoRepositorio ingressoRepositorio;
+	@Autowired
+	private RelayOutbox relayOutbox;
+
+	@Test
+	void cancelamentoEmiteUmCreditoPorIngressoUmaUnicaVez() {
+		Filme filme = filmeRepositorio.salvar(new Filme("Filme Créditos", "Drama", 100, "Português", "Livre",
+				LocalDate.now().minusDays(1), LocalDate.now().plusDays(30), "Sinopse"));
+		Sala sala = salaRepositorio.salvar(new Sala("Sala Créditos", 40, TipoSala.SALA_2D, false));
+		Sessao sessao = sessaoAplicacao.agendarNovaSessao(filme.getId(), sala.getId(),
+				LocalDateTime.now().plusDays(2).withNano(0), TipoExibicao.D2, new BigDecimal("30.00"));
+		List<Cliente> clientes = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			clientes.add(clienteRepositorio.salvar(new Cliente("Cliente Crédito " + i, "credito" + i + "@cinetech.com",
+					String.format("6660000%04d", i), PerfilCliente.REGULAR)));
+		}
+		// O primeiro cliente comprou dois ingressos: recebe dois créditos
+		comprar(sessao, 0, clientes.get(0), new BigDecimal("30.00"));
+		comprar(sessao, 1, clientes.get(0), new BigDecimal("15.00"));
+		comprar(sessao, 2, clientes.get(1), new BigDecimal("25.50"));
+
+		assertThrows(IllegalStateException.class, () -> clienteAplicacao.emitirCreditosParaSessaoCancelada(sessao.getId()));
+		sessaoAplicacao.cancelarSessaoAdministrativamente(sessao.getId());
+
+		// O relay (sem ciclo agendado nos testes) entrega o evento de cancelamento, que emite os créditos
+		relayOutbox.despacharPendentes();
+		assertEquals(0, clienteAplicacao.emitirCreditosParaSessaoCancelada(sessao.getId()), "Reprocessamento não duplica créditos");
+
+		List<CreditoCompensacao> creditosPrimeiro = clienteRepositorio.buscarPorId(clientes.get(0).getId()).orElseThrow().getCreditosCompensacao();
+		assertEquals(2, creditosPrimeiro.size());
+		assertEquals(0, new BigDecimal("45.00").compareTo(creditosPrimeiro.stream()
+				.map(CreditoCompensacao::getValorOriginal).reduce(BigDecimal.ZERO, BigDecimal::add)));
+		List<CreditoCompensacao> creditosSegundo = clienteRepositorio.buscarPorId(clientes.get(1).getId()).orElseThrow().getCreditosCompensacao();
+		assertEquals(1, creditosSegundo.size());
+		assertEquals(0, new BigDecimal("25.50").compareTo(creditosSegundo.get(0).getValorOriginal()));
+		assertEquals(sessao.getId(), creditosSegundo.get(0).getSessaoOrigemId());
+		assertEquals(0, clienteRepositorio.buscarPorId(clientes.get(2).getId()).orElseThrow().getCreditosCompensacao().size());
+	}
+
+	private void comprar(Sessao sessao, int indiceAssento, Cliente cliente, BigDecimal valorPago) {
+		String posicao = sessao.getAssentos().get(indiceAssento).getIdentificadorPosicao();
+		sessaoAplicacao.tentarReservarAssento(sessao.getId(), posicao, cliente.getId());
+		sessaoAplicacao.confirmarOcupacaoAssentoAposPagamento(sessao.getId(), posicao, cliente.getId());
+		Sessao sessaoAtual = sessaoAplicacao.buscarSessaoPorId(sessao.getId()).orElseThrow();
+		ingressoRepositorio.salvar(new Ingresso(cliente, sessaoAtual, sessaoAtual.buscarAssentoPorIdentificador(posicao).orElseThrow(),
+				valorPago, false, null));
+	}
+}
@@ -0,0 +1,89 @@
+package com.cinetech.api.aplicacao;
+
+import com.cinetech.api.dominio.enums.MetodoPagamento;
+import com.cinetech.api.dominio.enums.PerfilCliente;
+import com.cinetech.api.dominio.enums.StatusAssento;
+import com.cinetech.api.dominio.enums.TipoExibicao;
+import com.cinetech.api.dominio.enums.TipoSala;
+import com.cinetech.api.dominio.modelos.cliente.Cliente;
+import com.cinetech.api.dominio.modelos.filme.Filme;
+import com.cinetech.api.dominio.modelos.ingresso.Ingresso;
+import com.cinetech.api.dominio.modelos.sala.Sala;
+import com.cinetech.api.dominio.modelos.sessao.Sessao;
+import com.cinetech.api.dominio.repositorios.ClienteRepositorio;
+import com.cinetech.api.dominio.repositorios.FilmeRepositorio;
+import com.cinetech.api.dominio.repositorios.IngressoRepositorio;
+import com.cinetech.api.dominio.repositorios.SalaRepositorio;
+import com.cinetech.api.infraestrutura.web.dto.compra.ConfirmarPagamentoRequestDTO;
+import com.cinetech.api.infraestrutura.web.dto.compra.IniciarCompraRequestDTO;
+import com.cinetech.api.infraestrutura.web.dto.compra.PrecoCalculadoResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Fluxo de compra de ponta a ponta: seleção com reserva do assento, pagamento e gravação do ingresso
+ * contra a sessão e o assento versionados.
+ */
+@SpringBootTest
+class CompraAplicacaoTests {
+
+	@Autowired
+	private CompraAplicacao compraAplicacao;
+	@Autowired
+	private SessaoAplicacao sessaoAplicacao;
+	@Autowired
+	private FilmeRepositorio filmeRepositorio;
+	@Autowired
+	private SalaRepositorio salaRepositorio;
+	@Autowired
+	private ClienteRepositorio clienteRepositorio;
+	@Autowired
+	private IngressoRepositorio ingressoRepositorio;
+	@Autowired
+	private ExpiracaoReservasAplicacao expiracaoReservas;
+
+	@Test
+	void finalizarCompraGravaIngressoEOcupaAssento() {
+		Filme filme = filmeRepositorio.salvar(new Filme("Filme Compra", "Drama", 100, "Português", "Livre",
+				LocalDate.now().minusDays(1), LocalDate.now().plusDays(30), "Sinopse"));
+		Sala sala = salaRepositorio.salvar(new Sala("Sala Compra", 20, TipoSala.SALA_2D, false));
+		Cliente cliente = clienteRepositorio.salvar(new Cliente("Cliente Compra", "compra@cinetech.com", "33300000001", PerfilCliente.REGULAR));
+		Sessao sessao = sessaoAplicacao.agendarNovaSessao(filme.getId(), sala.getId(),
+				LocalDateTime.now().plusDays(1).withNano(0), TipoExibicao.D2, new BigDecimal("30.00"));
+		String posicao = sessao.getAssentos().get(0).getIdentificadorPosicao();
+
+		IniciarCompraRequestDTO selecao = new IniciarCompraRequestDTO();
+		selecao.setClienteId(cliente.getId().toString());
+		selecao.setSessaoId(sessao.getId().toString());
+		selecao.setIdentificadorAssento(posicao);
+		PrecoCalculadoResponseDTO preco = compraAplicacao.iniciarSelecaoIngressoECalcularPreco(selecao);
+		assertEquals(0, new BigDecimal("30.00").compareTo(preco.getPrecoFinal()));
+		int reservasPendentesAntesDoPagamento = expiracaoReservas.obterMetricas().reservasPendentes();
+
+		ConfirmarPagamentoRequestDTO pagamento = new ConfirmarPagamentoRequestDTO();
+		pagamento.setClienteId(cliente.getId().toString());
+		pagamento.setSessaoId(sessao.getId().toString());
+		pagamento.setIdentificadorAssento(posicao);
+		pagamento.setMetodoPagamento(MetodoPagamento.PIX);
+		Ingresso ingresso = compraAplicacao.finalizarCompraIngresso(pagamento);
+
+		List<Ingresso> ingressosDaSessao = ingressoRepositorio.buscarPorSessaoId(sessao.getId());
+		assertEquals(1, ingressosDaSessao.size());
+		assertEquals(ingresso.getId(), ingressosDaSessao.get(0).getId());
+		assertEquals(0, new BigDecimal("30.00").compareTo(ingressosDaSessao.get(0).getValorPago()));
+
+		Sessao sessaoGravada = sessaoAplicacao.buscarSessaoPorId(sessao.getId()).orElseThrow();
+		assertEquals(StatusAssento.OCUPADO_FINAL, sessaoGravada.buscarAssentoPorIdentificador(posicao).orElseThrow().getStatus());
+		assertEquals(1, sessaoAplicacao.buscarContagemAssentosDaSessao(sessao.getId()).ocupados());
+		// Assento confirmado sai da roda de expiração
+		assertEquals(reservasPendentesAntesDoPagamento - 1, expiracaoReservas.obterMetricas().reservasPendentes());
+	}
+}
@@ -0,0 +1,158 @@
+package com.cinetech.api.aplicacao;
+
+import com.cinetech.api.dominio.modelos.assento.ReservaTemporariaAssento;
+import com.cinetech.api.dominio.modelos.sessao.SessaoId;
+import com.cinetech.api.dominio.repositorios.SessaoRepositorio;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Agendamento de expirações com relógio controlado e repositório simulado:
+ * reconstrução na inicialização, liberação em lote por sessão, métricas e reagendamento de lotes com falha.
+ */
+class ExpiracaoReservasAplicacaoTests {
+
+	private static final LocalDateTime INICIO = LocalDateTime.of(2025, 1, 10, 20, 0);
+
+	private final RelogioControlado relogio = new RelogioControlado(INICIO.toInstant(ZoneOffset.UTC));
+	private final SessaoRepositorio sessaoRepositorio = mock(SessaoRepositorio.class);
+	private final ExpiracaoReservasAplicacao expiracao = new ExpiracaoReservasAplicacao(sessaoRepositorio, relogio);
+
+	@Test
+	void reconstroiAgendamentosELiberaNoPrazoPorSessao() {
+		SessaoId sessaoA = SessaoId.novo();
+		SessaoId sessaoB = SessaoId.novo();
+		when(sessaoRepositorio.buscarReservasTemporariasPendentes()).thenReturn(List.of(
+				new ReservaTemporariaAssento(sessaoA, "A1", INICIO.plusSeconds(30)),
+				new ReservaTemporariaAssento(sessaoA, "A2", INICIO.plusSeconds(30)),
+				new ReservaTemporariaAssento(sessaoB, "B1", INICIO.plusMinutes(5))));
+		when(sessaoRepositorio.liberarReservasTemporariasExpiradas(any(), anyCollection(), any()))
+				.thenAnswer(invocacao -> invocacao.<List<String>>getArgument(1).size());
+
+		expiracao.reconstruirAgendamentos();
+		assertEquals(3, expiracao.obterMetricas().reservasPendentes());
+
+		relogio.avancar(Duration.ofSeconds(29));
+		expiracao.processarVencimentos();
+		verify(sessaoRepositorio, never()).liberarReservasTemporariasExpiradas(any(), anyCollection(), any());
+
+		relogio.avancar(Duration.ofMillis(2_500)); // 1,5 s depois do prazo
+		expiracao.processarVencimentos();
+		verify(sessaoRepositorio).liberarReservasTemporariasExpiradas(sessaoA, List.of("A1", "A2"), INICIO.plusNanos(31_500_000_000L));
+		verify(sessaoRepositorio, never()).liberarReservasTemporariasExpiradas(eq(sessaoB), anyCollection(), any());
+
+		ExpiracaoReservasAplicacao.MetricasExpiracaoReservas metricas = expiracao.obterMetricas();
+		assertEquals(1, metricas.reservasPendentes());
+		assertEquals(2, metricas.reservasLiberadas());
+		assertEquals(1_500, metricas.atrasoUltimaLiberacaoMillis());
+		assertEquals(1_500, metricas.atrasoMaximoLiberacaoMillis());
+	}
+
+	@Test
+	void reservaConfirmadaAntesDoPrazoNaoELiberada() {
+		SessaoId sessao = SessaoId.novo();
+		expiracao.registrarReservaTemporaria(sessao, "C3", INICIO.plusSeconds(10));
+		expiracao.registrarReservaTemporaria(sessao, "C4", INICIO.plusSeconds(10));
+		expiracao.cancelarReservaTemporaria(sessao, " C3 ");
+		assertEquals(1, expiracao.obterMetricas().reservasPendentes());
+
+		relogio.avancar(Duration.ofSeconds(12));
+		expiracao.processarVencimentos();
+
+		verify(sessaoRepositorio).liberarReservasTemporariasExpiradas(sessao, List.of("C4"), INICIO.plusSeconds(12));
+	}
+
+	@Test
+	void loteComFalhaVoltaParaARodaETentaDeNovo() {
+		SessaoId sessao = SessaoId.novo();
+		expiracao.registrarReservaTemporaria(sessao, "D1", INICIO.plusSeconds(10));
+		expiracao.registrarReservaTemporaria(sessao, "D2", INICIO.plusSeconds(10));
+		when(sessaoRepositorio.liberarReservasTemporariasExpiradas(eq(sessao), anyCollection(), any()))
+				.thenThrow(new IllegalStateException("Banco indisponível"))
+				.thenReturn(2);
+
+		relogio.avancar(Duration.ofSeconds(11));
+		expiracao.processarVencimentos();
+		ExpiracaoReservasAplicacao.MetricasExpiracaoReservas aposFalha = expiracao.obterMetricas();
+		assertEquals(1, aposFalha.lotesComFalha());
+		assertEquals(2, aposFalha.reservasPendentes());
+		assertEquals(0, aposFalha.reservasLiberadas());
+
+		// Antes do atraso de retentativa nada é tentado
+		relogio.avancar(Duration.ofMillis(ExpiracaoReservasAplicacao.ATRASO_RETENTATIVA_LIBERACAO_MILLIS - 1_000));
+		expiracao.processarVencimentos();
+		verify(sessaoRepositorio, times(1)).liberarReservasTemporariasExpiradas(eq(sessao), anyCollection(), any());
+
+		relogio.avancar(Duration.ofSeconds(2));
+		expiracao.processarVencimentos();
+		verify(sessaoRepositorio, times(2)).liberarReservasTemporariasExpiradas(eq(sessao), eq(List.of("D1", "D2")), any());
+		assertEquals(0, expiracao.obterMetricas().reservasPendentes());
+		assertEquals(2, expiracao.obterMetricas().reservasLiberadas());
+	}
+
+	@Test
+	void reservaRefeitaDuranteFalhaMantemPrazoNovo() {
+		SessaoId sessao = SessaoId.novo();
+		expiracao.registrarReservaTemporaria(sessao, "E1", INICIO.plusSeconds(10));
+		when(sessaoRepositorio.liberarReservasTemporariasExpiradas(eq(sessao), anyCollection(), any()))
+				.thenAnswer(invocacao -> {
+					// Outro cliente reserva o assento enquanto o lote falha
+					expiracao.registrarReservaTemporaria(sessao, "E1", INICIO.plusMinutes(10));
+					throw new IllegalStateException("Timeout");
+				});
+
+		relogio.avancar(Duration.ofSeconds(11));
+		expiracao.processarVencimentos();
+
+		relogio.avancar(Duration.ofMillis(ExpiracaoReservasAplicacao.ATRASO_RETENTATIVA_LIBERACAO_MILLIS + 1_000));
+		expiracao.processarVencimentos();
+		verify(sessaoRepositorio, times(1)).liberarReservasTemporariasExpiradas(eq(sessao), anyCollection(), any());
+		assertEquals(1, expiracao.obterMetricas().reservasPendentes());
+	}
+
+	/** Relógio que só anda quando o teste manda. */
+	private static final class RelogioControlado extends Clock {
+
+		private Instant agora;
+
+		private RelogioControlado(Instant inicio) {
+			this.agora = inicio;
+		}
+
+		void avancar(Duration duracao) {
+			agora = agora.plus(duracao);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zona) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Instant instant() {
+			return agora;
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package com.cinetech.api.aplicacao;
+
+import com.cinetech.api.dominio.enums.PerfilCliente;
+import com.cinetech.api.dominio.modelos.cliente.Cliente;
+import com.cinetech.api.dominio.modelos.comum.UuidOrdenadoPorTempo;
+import com.cinetech.api.dominio.modelos.lote.CheckpointLote;
+import com.cinetech.api.dominio.modelos.pontofidelidade.PontoFidelidade;
+import com.cinetech.api.dominio.modelos.pontofidelidade.PontoFidelidadeId;
+import com.cinetech.api.dominio.repositorios.CheckpointLoteRepositorio;
+import com.cinetech.api.dominio.repositorios.ClienteRepositorio;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * O motor de lotes processa cada chave ao menos uma vez, grava o checkpoint sem lacunas e retoma
+ * uma execução interrompida; a expiração de pontos é a primeira rotina a usá-lo.
+ */
+@SpringBootTest
+class MotorLotesTests {
+
+	@Autowired
+	private MotorLotes motorLotes;
+	@Autowired
+	private CheckpointLoteRepositorio checkpointLoteRepositorio;
+	@Autowired
+	private ClienteAplicacao clienteAplicacao;
+	@Autowired
+	private ClienteRepositorio clienteRepositorio;
+
+	@Test
+	void execucaoInterrompidaRetomaDoCheckpoint() {
+		List<UUID> chaves = new ArrayList<>();
+		for (int i = 0; i < 1_000; i++) {
+			chaves.add(UuidOrdenadoPorTempo.novo());
+		}
+		MotorLotes.BuscaChaves busca = (cursor, quantidade) -> {
+			int inicio = cursor.map(c -> chaves.indexOf(c) + 1).orElse(0);
+			return chaves.subList(inicio, Math.min(chaves.size(), inicio + quantidade));
+		};
+		Map<UUID, Integer> vezesProcessada = new ConcurrentHashMap<>();
+		UUID chaveComFalha = chaves.get(555);
+		AtomicBoolean falhar = new AtomicBoolean(true);
+		MotorLotes.ProcessadorChunk processador = lote -> {
+			if (lote.contains(chaveComFalha) && falhar.getAndSet(false)) {
+				throw new IllegalStateException("Falha simulada");
+			}
+			lote.forEach(chave -> vezesProcessada.merge(chave, 1, Integer::sum));
+			return lote.size();
+		};
+		MotorLotes.ConfiguracaoLote configuracao = new MotorLotes.ConfiguracaoLote(50, 4);
+
+		assertThrows(IllegalStateException.class, () -> motorLotes.executar("teste-retomada", configuracao, busca, processador));
+		CheckpointLote interrompido = checkpointLoteRepositorio.buscarPorRotina("teste-retomada").orElseThrow();
+		assertFalse(interrompido.concluida());
+		int posicaoCheckpoint = interrompido.cursor().map(chaves::indexOf).orElse(-1);
+		assertTrue(posicaoCheckpoint < 550, "O checkpoint não passa do chunk que falhou");
+		assertEquals(posicaoCheckpoint + 1, interrompido.itensProcessados());
+
+		MotorLotes.ResultadoLote retomada = motorLotes.executar("teste-retomada", configuracao, busca, processador);
+		assertTrue(retomada.retomada());
+		assertEquals(chaves.size() - posicaoCheckpoint - 1, retomada.itensProcessados());
+		assertEquals(chaves.size(), vezesProcessada.size());
+		for (int i = 0; i <= posicaoCheckpoint; i++) {
+			assertEquals(1, vezesProcessada.get(chaves.get(i)), "Chaves antes do checkpoint não são reprocessadas");
+		}
+		CheckpointLote concluido = checkpointLoteRepositorio.buscarPorRotina("teste-retomada").orElseThrow();
+		assertTrue(concluido.concluida());
+		assertEquals(chaves.get(chaves.size() - 1), concluido.ultimoIdConcluido());
+		assertEquals(chaves.size(), concluido.itensProcessados());
+	}
+
+	@Test
+	void expiracaoDePontosRemoveSoLotesObsoletos() {
+		LocalDate hoje = LocalDate.now();
+		List<Cliente> clientes = new ArrayList<>();
+		for (int i = 0; i < 30; i++) {
+			Cliente cliente = new Cliente("Cliente Lote " + i, "lote" + i + "@cinetech.com",
+					String.format("7770000%04d", i), PerfilCliente.REGULAR);
+			cliente.adicionarPontoFidelidadeExistente(new PontoFidelidade(PontoFidelidadeId.novo(), cliente.getId(), 100, 0,
+					LocalDateTime.now().minusMonths(2), hoje.plusMonths(4), null));
+			if (i % 3 == 0) {
+				cliente.adicionarPontoFidelidadeExistente(new PontoFidelidade(PontoFidelidadeId.novo(), cliente.getId(), 50, 0,
+						LocalDateTime.now().minusMonths(7), hoje.minusDays(1), null));
+			}
+			clientes.add(clienteRepositorio.salvar(cliente));
+		}
+
+		MotorLotes.ResultadoLote resultado = clienteAplicacao.processarExpiracaoPontosFidelidadeDeTodosClientes();
+		assertEquals(10, resultado.itensAlterados());
+		for (Cliente cliente : clientes) {
+			Cliente relido = clienteRepositorio.buscarPorId(cliente.getId()).orElseThrow();
+			assertEquals(1, relido.getPontosFidelidade().size());
+			assertEquals(100, relido.getSaldoTotalPontosFidelidadeValidos(hoje));
+		}
+		assertEquals(0, clienteAplicacao.processarExpiracaoPontosFidelidadeDeTodosClientes().itensProcessados());
+	}
+}
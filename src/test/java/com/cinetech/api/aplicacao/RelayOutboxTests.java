@@ -0,0 +1,120 @@
+package com.cinetech.api.aplicacao;
+
+import com.cinetech.api.dominio.enums.PerfilCliente;
+import com.cinetech.api.dominio.enums.TipoEventoOutbox;
+import com.cinetech.api.dominio.enums.TipoExibicao;
+import com.cinetech.api.dominio.enums.TipoSala;
+import com.cinetech.api.dominio.modelos.cliente.Cliente;
+import com.cinetech.api.dominio.modelos.filme.Filme;
+import com.cinetech.api.dominio.modelos.ingresso.Ingresso;
+import com.cinetech.api.dominio.modelos.outbox.EventoOutbox;
+import com.cinetech.api.dominio.modelos.sala.Sala;
+import com.cinetech.api.dominio.modelos.sessao.Sessao;
+import com.cinetech.api.dominio.repositorios.ClienteRepositorio;
+import com.cinetech.api.dominio.repositorios.EventoOutboxRepositorio;
+import com.cinetech.api.dominio.repositorios.FilmeRepositorio;
+import com.cinetech.api.dominio.repositorios.IngressoRepositorio;
+import com.cinetech.api.dominio.repositorios.SalaRepositorio;
+import com.cinetech.api.infraestrutura.persistencia.jpa.EventoOutboxJpaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * O cancelamento só grava o evento; o relay o entrega depois. Um manipulador que falha reagenda o evento,
+ * e a nova entrega repete todos os manipuladores sem duplicar os créditos já emitidos.
+ */
+@SpringBootTest
+@Import(RelayOutboxTests.ConfiguracaoFalhaUnica.class)
+class RelayOutboxTests {
+
+	@TestConfiguration
+	static class ConfiguracaoFalhaUnica {
+		@Bean
+		ManipuladorFalhaUnica manipuladorFalhaUnica() {
+			return new ManipuladorFalhaUnica();
+		}
+	}
+
+	static class ManipuladorFalhaUnica implements ManipuladorEventoOutbox {
+		private final AtomicBoolean falhar = new AtomicBoolean(true);
+
+		@Override
+		public TipoEventoOutbox tipo() {
+			return TipoEventoOutbox.SESSAO_CANCELADA;
+		}
+
+		@Override
+		public void tratar(EventoOutbox evento) {
+			if (falhar.getAndSet(false)) {
+				throw new IllegalStateException("Notificação indisponível");
+			}
+		}
+	}
+
+	@Autowired
+	private RelayOutbox relayOutbox;
+	@Autowired
+	private SessaoAplicacao sessaoAplicacao;
+	@Autowired
+	private EventoOutboxRepositorio eventoOutboxRepositorio;
+	@Autowired
+	private EventoOutboxJpaRepository eventoOutboxJpaRepository;
+	@Autowired
+	private FilmeRepositorio filmeRepositorio;
+	@Autowired
+	private SalaRepositorio salaRepositorio;
+	@Autowired
+	private ClienteRepositorio clienteRepositorio;
+	@Autowired
+	private IngressoRepositorio ingressoRepositorio;
+
+	@Test
+	void falhaReagendaEReentregaSemDuplicarCreditos() {
+		Filme filme = filmeRepositorio.salvar(new Filme("Filme Outbox", "Drama", 100, "Português", "Livre",
+				LocalDate.now().minusDays(1), LocalDate.now().plusDays(30), "Sinopse"));
+		Sala sala = salaRepositorio.salvar(new Sala("Sala Outbox", 40, TipoSala.SALA_2D, false));
+		Sessao sessao = sessaoAplicacao.agendarNovaSessao(filme.getId(), sala.getId(),
+				LocalDateTime.now().plusDays(2).withNano(0), TipoExibicao.D2, new BigDecimal("30.00"));
+		Cliente cliente = clienteRepositorio.salvar(new Cliente("Cliente Outbox", "outbox@cinetech.com", "55500000001", PerfilCliente.REGULAR));
+		String posicao = sessao.getAssentos().get(0).getIdentificadorPosicao();
+		sessaoAplicacao.tentarReservarAssento(sessao.getId(), posicao, cliente.getId());
+		sessaoAplicacao.confirmarOcupacaoAssentoAposPagamento(sessao.getId(), posicao, cliente.getId());
+		Sessao sessaoAtual = sessaoAplicacao.buscarSessaoPorId(sessao.getId()).orElseThrow();
+		ingressoRepositorio.salvar(new Ingresso(cliente, sessaoAtual, sessaoAtual.buscarAssentoPorIdentificador(posicao).orElseThrow(),
+				new BigDecimal("30.00"), false, null));
+
+		sessaoAplicacao.cancelarSessaoAdministrativamente(sessao.getId());
+		EventoOutbox registrado = eventoOutboxJpaRepository.findAll().stream()
+				.filter(e -> e.getAgregadoId().equals(sessao.getId().getValor()))
+				.map(e -> eventoOutboxRepositorio.buscarPorId(e.getId()).orElseThrow())
+				.findFirst().orElseThrow();
+		assertEquals(TipoEventoOutbox.SESSAO_CANCELADA, registrado.tipo());
+
+		relayOutbox.despacharPendentes();
+		EventoOutbox reagendado = eventoOutboxRepositorio.buscarPorId(registrado.id()).orElseThrow();
+		assertTrue(reagendado.pendente());
+		assertEquals(1, reagendado.tentativas());
+		assertTrue(reagendado.disponivelEm().isAfter(LocalDateTime.now()), "Nova tentativa só depois da espera");
+
+		// Antecipa a nova tentativa em vez de esperar o intervalo de retentativa
+		eventoOutboxRepositorio.salvar(reagendado.registrarFalha(reagendado.ultimoErro(), LocalDateTime.now()));
+		relayOutbox.despacharPendentes();
+		EventoOutbox entregue = eventoOutboxRepositorio.buscarPorId(registrado.id()).orElseThrow();
+		assertFalse(entregue.pendente());
+		assertEquals(1, clienteRepositorio.buscarPorId(cliente.getId()).orElseThrow().getCreditosCompensacao().size());
+		assertTrue(relayOutbox.obterMetricas().falhasEntrega() >= 1);
+	}
+}
@@ -0,0 +1,100 @@
+package com.cinetech.api.aplicacao;
+
+import com.cinetech.api.dominio.enums.TipoExibicao;
+import com.cinetech.api.dominio.enums.TipoSala;
+import com.cinetech.api.dominio.modelos.filme.Filme;
+import com.cinetech.api.dominio.modelos.sala.PeriodoLivreSala;
+import com.cinetech.api.dominio.modelos.sala.Sala;
+import com.cinetech.api.dominio.modelos.sala.SalaId;
+import com.cinetech.api.dominio.modelos.sessao.Sessao;
+import com.cinetech.api.dominio.repositorios.FilmeRepositorio;
+import com.cinetech.api.dominio.repositorios.ReservaEventoRepositorio;
+import com.cinetech.api.dominio.repositorios.SalaRepositorio;
+import com.cinetech.api.dominio.repositorios.SessaoRepositorio;
+import com.cinetech.api.dominio.servicos.AgendamentoServico.AgendamentoServico;
+import com.cinetech.api.dominio.servicos.AgendamentoServico.AgendamentoServicoImpl;
+import com.cinetech.api.dominio.servicos.AgendamentoServico.ConsultaJanelasLivres;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Salas para eventos livres num período, janelas livres por sala numa faixa de datas
+ * e primeiras janelas livres pelos calendários de slots (iguais às montadas a partir do banco).
+ */
+@SpringBootTest
+class ReservaEventoAplicacaoDisponibilidadeTests {
+
+	@Autowired
+	private ReservaEventoAplicacao reservaEventoAplicacao;
+	@Autowired
+	private SessaoAplicacao sessaoAplicacao;
+	@Autowired
+	private FilmeRepositorio filmeRepositorio;
+	@Autowired
+	private SalaRepositorio salaRepositorio;
+	@Autowired
+	private SessaoRepositorio sessaoRepositorio;
+	@Autowired
+	private ReservaEventoRepositorio reservaEventoRepositorio;
+	@Autowired
+	private AgendamentoServico agendamentoServico;
+
+	@Test
+	void salasOcupadasNaoAparecemEJanelasContornamAsSessoes() {
+		Filme filme = filmeRepositorio.salvar(new Filme("Filme Disponibilidade", "Drama", 120, "Português", "Livre",
+				LocalDate.now().minusDays(1), LocalDate.now().plusDays(30), "Sinopse"));
+		Sala ocupada = salaRepositorio.salvar(new Sala("Sala Evento Ocupada", 30, TipoSala.SALA_2D, true));
+		Sala livre = salaRepositorio.salvar(new Sala("Sala Evento Livre", 30, TipoSala.SALA_2D, true));
+		LocalDateTime dia = LocalDateTime.now().plusDays(5).withHour(0).withMinute(0).withSecond(0).withNano(0);
+		sessaoAplicacao.agendarNovaSessao(filme.getId(), ocupada.getId(), dia.plusHours(14), TipoExibicao.D2, new BigDecimal("25.00"));
+
+		List<SalaId> disponiveis = reservaEventoAplicacao.listarSalasDisponiveisParaEvento(dia.plusHours(15), dia.plusHours(18))
+				.stream().map(Sala::getId).toList();
+		assertTrue(disponiveis.contains(livre.getId()));
+		assertFalse(disponiveis.contains(ocupada.getId()));
+
+		List<PeriodoLivreSala> janelas = reservaEventoAplicacao.listarPeriodosLivresParaEvento(dia, dia.plusDays(1), Duration.ofHours(4))
+				.stream().filter(disponibilidade -> disponibilidade.sala().getId().equals(ocupada.getId()))
+				.findFirst().orElseThrow().periodosLivres();
+		assertEquals(List.of(new PeriodoLivreSala(ocupada.getId(), dia, dia.plusHours(14)),
+				new PeriodoLivreSala(ocupada.getId(), dia.plusHours(16), dia.plusDays(1))), janelas);
+	}
+
+	@Test
+	void primeirasJanelasLivresPeloCalendarioDeSlots() {
+		Filme filme = filmeRepositorio.salvar(new Filme("Filme Calendário", "Drama", 110, "Português", "Livre",
+				LocalDate.now().minusDays(1), LocalDate.now().plusDays(30), "Sinopse"));
+		Sala sala = salaRepositorio.salvar(new Sala("Sala Calendário", 30, TipoSala.SALA_2D, true));
+		LocalDateTime dia = LocalDateTime.now().plusDays(6).withHour(0).withMinute(0).withSecond(0).withNano(0);
+		// 13:50 a 15:40: ocupa os slots de 13:45 a 15:45
+		Sessao sessao = sessaoAplicacao.agendarNovaSessao(filme.getId(), sala.getId(), dia.plusHours(13).plusMinutes(50),
+				TipoExibicao.D2, new BigDecimal("25.00"));
+		ConsultaJanelasLivres consulta = new ConsultaJanelasLivres(dia, dia.plusDays(1), Duration.ofHours(4),
+				LocalTime.of(12, 0), LocalTime.of(20, 0), 50);
+		AgendamentoServico semIndice = new AgendamentoServicoImpl(sessaoRepositorio, reservaEventoRepositorio);
+		List<SalaId> salas = List.of(sala.getId());
+
+		assertEquals(List.of(new PeriodoLivreSala(sala.getId(), dia.plusHours(15).plusMinutes(45), dia.plusHours(20))),
+				agendamentoServico.buscarPrimeirasJanelasLivres(salas, consulta));
+		assertEquals(semIndice.buscarPrimeirasJanelasLivres(salas, consulta), agendamentoServico.buscarPrimeirasJanelasLivres(salas, consulta));
+		assertTrue(reservaEventoAplicacao.buscarPrimeirasJanelasLivresParaEvento(dia, dia.plusDays(1), Duration.ofHours(4),
+				LocalTime.of(12, 0), LocalTime.of(20, 0), 1_000).stream()
+				.anyMatch(janela -> janela.sala().getId().equals(sala.getId()) && janela.dataHoraInicio().equals(dia.plusHours(15).plusMinutes(45))));
+
+		sessaoAplicacao.cancelarSessaoAdministrativamente(sessao.getId());
+		assertEquals(List.of(new PeriodoLivreSala(sala.getId(), dia.plusHours(12), dia.plusHours(20))),
+				agendamentoServico.buscarPrimeirasJanelasLivres(salas, consulta));
+	}
+}
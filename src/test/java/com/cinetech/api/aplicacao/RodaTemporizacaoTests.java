@@ -0,0 +1,94 @@
+package com.cinetech.api.aplicacao;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Roda de temporização com tempo controlado: 8 slots de 10 ms (uma volta = 80 ms).
+ */
+class RodaTemporizacaoTests {
+
+	private static final long TICK_MILLIS = 10;
+	private static final int SLOTS = 8;
+
+	@Test
+	void prazoSoVenceDepoisDePassarDoInstante() {
+		RodaTemporizacao<String> roda = new RodaTemporizacao<>(TICK_MILLIS, SLOTS, 0);
+		roda.agendar("A1", 50);
+
+		assertTrue(roda.avancarAte(50).isEmpty()); // Vence estritamente depois do prazo
+		assertEquals(List.of(new RodaTemporizacao.Vencimento<>("A1", 50)), roda.avancarAte(60));
+		assertEquals(0, roda.getQuantidadePendentes());
+	}
+
+	@Test
+	void prazoDeOutraVoltaNaoVenceAoPassarPeloMesmoSlot() {
+		RodaTemporizacao<String> roda = new RodaTemporizacao<>(TICK_MILLIS, SLOTS, 0);
+		roda.agendar("VoltaSeguinte", 75);  // Tick 8: mesmo slot do tick 0
+		roda.agendar("TresVoltas", 250);    // Tick 26: mesmo slot dos ticks 2, 10 e 18
+
+		for (long agora = 0; agora < 80; agora += TICK_MILLIS) {
+			assertTrue(roda.avancarAte(agora).isEmpty(), "Nada vence na primeira volta (t=" + agora + ")");
+		}
+		assertEquals(List.of(new RodaTemporizacao.Vencimento<>("VoltaSeguinte", 75)), roda.avancarAte(80));
+		for (long agora = 90; agora < 260; agora += TICK_MILLIS) {
+			assertTrue(roda.avancarAte(agora).isEmpty(), "Prazo de três voltas ainda não venceu (t=" + agora + ")");
+		}
+		assertEquals(List.of(new RodaTemporizacao.Vencimento<>("TresVoltas", 250)), roda.avancarAte(260));
+	}
+
+	@Test
+	void pausaMaiorQueUmaVoltaEntregaCadaPrazoUmaVez() {
+		RodaTemporizacao<String> roda = new RodaTemporizacao<>(TICK_MILLIS, SLOTS, 0);
+		roda.agendar("A1", 15);
+		roda.agendar("A2", 95);
+		roda.agendar("A3", 500);
+
+		List<RodaTemporizacao.Vencimento<String>> vencidas = roda.avancarAte(1_000);
+
+		assertEquals(List.of("A1", "A2", "A3"), vencidas.stream().map(RodaTemporizacao.Vencimento::chave).sorted().toList());
+		assertTrue(roda.avancarAte(2_000).isEmpty());
+	}
+
+	@Test
+	void cancelarEReagendarSubstituemOPrazo() {
+		RodaTemporizacao<String> roda = new RodaTemporizacao<>(TICK_MILLIS, SLOTS, 0);
+		roda.agendar("Cancelado", 30);
+		roda.agendar("Reagendado", 30);
+		roda.cancelar("Cancelado");
+		roda.agendar("Reagendado", 150); // Entrada antiga fica órfã no slot
+		assertEquals(1, roda.getQuantidadePendentes());
+
+		assertTrue(roda.avancarAte(100).isEmpty());
+		assertEquals(List.of(new RodaTemporizacao.Vencimento<>("Reagendado", 150)), roda.avancarAte(160));
+
+		// Depois de vencer, a chave pode ser agendada de novo
+		roda.agendar("Cancelado", 200);
+		assertEquals(List.of(new RodaTemporizacao.Vencimento<>("Cancelado", 200)), roda.avancarAte(210));
+	}
+
+	@Test
+	void agendarSeAusenteMantemPrazoExistente() {
+		RodaTemporizacao<String> roda = new RodaTemporizacao<>(TICK_MILLIS, SLOTS, 0);
+		roda.agendar("A1", 100);
+
+		assertFalse(roda.agendarSeAusente("A1", 20));
+		assertTrue(roda.agendarSeAusente("A2", 20));
+
+		assertEquals(List.of("A2"), roda.avancarAte(50).stream().map(RodaTemporizacao.Vencimento::chave).toList());
+		assertEquals(List.of("A1"), roda.avancarAte(110).stream().map(RodaTemporizacao.Vencimento::chave).toList());
+	}
+
+	@Test
+	void prazoJaVencidoEntraNoProximoTick() {
+		RodaTemporizacao<String> roda = new RodaTemporizacao<>(TICK_MILLIS, SLOTS, 1_000);
+		roda.agendar("Atrasado", 200);
+
+		assertEquals(List.of(new RodaTemporizacao.Vencimento<>("Atrasado", 200)), roda.avancarAte(1_000));
+	}
+}
@@ -0,0 +1,129 @@
+package com.cinetech.api.aplicacao;
+
+import com.cinetech.api.dominio.enums.PerfilCliente;
+import com.cinetech.api.dominio.enums.StatusAssento;
+import com.cinetech.api.dominio.enums.TipoExibicao;
+import com.cinetech.api.dominio.enums.TipoSala;
+import com.cinetech.api.dominio.modelos.assento.Assento;
+import com.cinetech.api.dominio.modelos.cliente.Cliente;
+import com.cinetech.api.dominio.modelos.filme.Filme;
+import com.cinetech.api.dominio.modelos.sala.Sala;
+import com.cinetech.api.dominio.modelos.sessao.ContagemAssentos;
+import com.cinetech.api.dominio.modelos.sessao.Sessao;
+import com.cinetech.api.dominio.repositorios.ClienteRepositorio;
+import com.cinetech.api.dominio.repositorios.FilmeRepositorio;
+import com.cinetech.api.dominio.repositorios.SalaRepositorio;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 64 compradores concorrentes reservam e confirmam assentos distintos da mesma sessão.
+ * Com as operações serializadas por sessão, todas as compras são gravadas (sem atualização perdida nem conflito),
+ * e as contagens persistidas batem com os assentos. Recusa só por espera esgotada na trava, e o comprador tenta de novo.
+ */
+@SpringBootTest
+class SessaoAplicacaoConcorrenciaTests {
+
+	private static final int COMPRADORES = 64;
+	private static final int MAXIMO_TENTATIVAS = 20;
+
+	@Autowired
+	private SessaoAplicacao sessaoAplicacao;
+	@Autowired
+	private SessaoLockManager sessaoLockManager;
+	@Autowired
+	private FilmeRepositorio filmeRepositorio;
+	@Autowired
+	private SalaRepositorio salaRepositorio;
+	@Autowired
+	private ClienteRepositorio clienteRepositorio;
+
+	@Test
+	void compradoresConcorrentesNaoPerdemConfirmacoes() throws Exception {
+		Filme filme = filmeRepositorio.salvar(new Filme("Filme Concorrência", "Drama", 100, "Português", "Livre",
+				LocalDate.now().minusDays(1), LocalDate.now().plusDays(30), "Sinopse"));
+		Sala sala = salaRepositorio.salvar(new Sala("Sala Concorrência", COMPRADORES + 35, TipoSala.SALA_2D, false));
+		Cliente cliente = clienteRepositorio.salvar(new Cliente("Comprador", "comprador@cinetech.com", "12345678901", PerfilCliente.REGULAR));
+		Sessao sessao = sessaoAplicacao.agendarNovaSessao(filme.getId(), sala.getId(),
+				LocalDateTime.now().plusDays(1).withNano(0), TipoExibicao.D2, new BigDecimal("30.00"));
+
+		long esperasEsgotadasAntes = esperasEsgotadas();
+		ExecutorService executor = Executors.newFixedThreadPool(COMPRADORES);
+		CountDownLatch largada = new CountDownLatch(1);
+		AtomicInteger confirmados = new AtomicInteger();
+		AtomicInteger recusas = new AtomicInteger();
+		try {
+			List<Future<?>> compras = new ArrayList<>();
+			for (int i = 0; i < COMPRADORES; i++) {
+				String posicao = sessao.getAssentos().get(i).getIdentificadorPosicao();
+				compras.add(executor.submit(() -> {
+					largada.await();
+					// Como um cliente real: recusado, tenta de novo a etapa que falhou
+					repetirAteConseguir(() -> sessaoAplicacao.tentarReservarAssento(sessao.getId(), posicao, cliente.getId()), recusas);
+					repetirAteConseguir(() -> sessaoAplicacao.confirmarOcupacaoAssentoAposPagamento(sessao.getId(), posicao, cliente.getId()), recusas);
+					confirmados.incrementAndGet();
+					return null;
+				}));
+			}
+			largada.countDown();
+			for (Future<?> compra : compras) {
+				compra.get(120, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		Sessao sessaoGravada = sessaoAplicacao.buscarSessaoPorId(sessao.getId()).orElseThrow();
+		long ocupados = sessaoGravada.getAssentos().stream()
+				.map(Assento::getStatus)
+				.filter(status -> status == StatusAssento.OCUPADO_FINAL)
+				.count();
+		long reservados = sessaoGravada.getAssentos().stream()
+				.map(Assento::getStatus)
+				.filter(status -> status == StatusAssento.RESERVADO_TEMP)
+				.count();
+		ContagemAssentos contagem = sessaoAplicacao.buscarContagemAssentosDaSessao(sessao.getId());
+
+		assertEquals(COMPRADORES, confirmados.get());
+		// Assentos distintos: a única recusa possível é a espera esgotada pela trava da sessão
+		assertEquals(recusas.get(), esperasEsgotadas() - esperasEsgotadasAntes);
+		assertEquals(COMPRADORES, ocupados);
+		assertEquals(0, reservados);
+		assertEquals(ocupados, contagem.ocupados());
+		assertEquals(reservados, contagem.reservados());
+		assertEquals(sessaoGravada.getAssentos().size(), contagem.total());
+	}
+
+	private static void repetirAteConseguir(Runnable etapa, AtomicInteger recusas) {
+		for (int tentativa = 1; ; tentativa++) {
+			try {
+				etapa.run();
+				return;
+			} catch (IllegalStateException e) {
+				recusas.incrementAndGet();
+				if (tentativa == MAXIMO_TENTATIVAS) {
+					throw e;
+				}
+			}
+		}
+	}
+
+	private long esperasEsgotadas() {
+		return sessaoLockManager.obterMetricas().stream().mapToLong(SessaoLockManager.MetricasFaixaBloqueio::esperasEsgotadas).sum();
+	}
+}
@@ -0,0 +1,92 @@
+package com.cinetech.api.aplicacao;
+
+import com.cinetech.api.dominio.enums.TipoExibicao;
+import com.cinetech.api.dominio.enums.TipoSala;
+import com.cinetech.api.dominio.modelos.filme.Filme;
+import com.cinetech.api.dominio.modelos.filme.FilmeId;
+import com.cinetech.api.dominio.modelos.sala.Sala;
+import com.cinetech.api.dominio.repositorios.FilmeRepositorio;
+import com.cinetech.api.dominio.repositorios.SalaRepositorio;
+import com.cinetech.api.dominio.repositorios.SessaoRepositorio;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A importação da grade recusa de uma vez todas as linhas inválidas ou em conflito e agenda as demais;
+ * o lote tudo ou nada usa a mesma apuração de conflitos e não grava nada no primeiro conflito.
+ */
+@SpringBootTest
+class SessaoAplicacaoGradeTests {
+
+	@Autowired
+	private SessaoAplicacao sessaoAplicacao;
+	@Autowired
+	private SessaoRepositorio sessaoRepositorio;
+	@Autowired
+	private FilmeRepositorio filmeRepositorio;
+	@Autowired
+	private SalaRepositorio salaRepositorio;
+
+	@Test
+	void gradeRecusaConflitosEAgendaAsDemais() {
+		Filme filme = filmeRepositorio.salvar(new Filme("Filme Grade", "Drama", 100, "Português", "Livre",
+				LocalDate.now().minusDays(1), LocalDate.now().plusDays(30), "Sinopse"));
+		Sala salaA = salaRepositorio.salvar(new Sala("Sala Grade A", 30, TipoSala.SALA_2D, false));
+		Sala salaB = salaRepositorio.salvar(new Sala("Sala Grade B", 30, TipoSala.SALA_2D, false));
+		LocalDateTime dia = LocalDateTime.now().plusDays(3).withHour(14).withMinute(0).withSecond(0).withNano(0);
+		BigDecimal preco = new BigDecimal("25.00");
+		sessaoAplicacao.agendarNovaSessao(filme.getId(), salaA.getId(), dia, TipoExibicao.D2, preco);
+
+		SessaoAplicacao.ResultadoAgendamentoGrade resultado = sessaoAplicacao.agendarGrade(List.of(
+				new SessaoAplicacao.NovaSessao(filme.getId(), salaA.getId(), dia.plusMinutes(90), TipoExibicao.D2, preco), // Cruza a gravada
+				new SessaoAplicacao.NovaSessao(filme.getId(), salaA.getId(), dia.plusHours(2), TipoExibicao.D2, preco),
+				new SessaoAplicacao.NovaSessao(filme.getId(), salaB.getId(), dia, TipoExibicao.D2, preco),
+				new SessaoAplicacao.NovaSessao(filme.getId(), salaB.getId(), dia.plusMinutes(30), TipoExibicao.D2, preco), // Cruza a linha 2
+				new SessaoAplicacao.NovaSessao(FilmeId.de(UUID.randomUUID()), salaB.getId(), dia.plusHours(5), TipoExibicao.D2, preco),
+				new SessaoAplicacao.NovaSessao(filme.getId(), salaB.getId(), dia.plusMinutes(100), TipoExibicao.D2, preco),
+				new SessaoAplicacao.NovaSessao(filme.getId(), salaB.getId(), dia.plusHours(6), null, preco),
+				new SessaoAplicacao.NovaSessao(filme.getId(), salaB.getId(), dia.plusHours(8), TipoExibicao.D2, null)));
+
+		assertEquals(3, resultado.sessoesCriadas().size());
+		assertEquals(List.of(0, 3, 4, 6, 7), resultado.rejeicoes().stream().map(SessaoAplicacao.RejeicaoGrade::linha).toList());
+		assertTrue(resultado.rejeicoes().get(0).motivo().contains("já agendada"));
+		assertEquals("Tipo de exibição não pode ser nulo.", resultado.rejeicoes().get(3).motivo());
+		assertEquals("Preço base do ingresso não pode ser nulo.", resultado.rejeicoes().get(4).motivo());
+		assertEquals(2, sessaoRepositorio.buscarPorSalaId(salaA.getId()).size());
+		assertEquals(2, sessaoRepositorio.buscarPorSalaId(salaB.getId()).size());
+	}
+
+	@Test
+	void loteTudoOuNadaRecusaNoPrimeiroConflitoSemGravar() {
+		Filme filme = filmeRepositorio.salvar(new Filme("Filme Lote", "Drama", 100, "Português", "Livre",
+				LocalDate.now().minusDays(1), LocalDate.now().plusDays(30), "Sinopse"));
+		Sala sala = salaRepositorio.salvar(new Sala("Sala Lote", 30, TipoSala.SALA_2D, false));
+		LocalDateTime dia = LocalDateTime.now().plusDays(4).withHour(14).withMinute(0).withSecond(0).withNano(0);
+		BigDecimal preco = new BigDecimal("25.00");
+
+		IllegalStateException erro = assertThrows(IllegalStateException.class, () -> sessaoAplicacao.agendarSessoes(List.of(
+				new SessaoAplicacao.NovaSessao(filme.getId(), sala.getId(), dia, TipoExibicao.D2, preco),
+				new SessaoAplicacao.NovaSessao(filme.getId(), sala.getId(), dia.plusHours(2), TipoExibicao.D2, preco),
+				new SessaoAplicacao.NovaSessao(filme.getId(), sala.getId(), dia.plusMinutes(150), TipoExibicao.D2, preco))));
+		assertTrue(erro.getMessage().contains("sessão 2 do lote"));
+		assertTrue(sessaoRepositorio.buscarPorSalaId(sala.getId()).isEmpty());
+
+		assertEquals(2, sessaoAplicacao.agendarSessoes(List.of(
+				new SessaoAplicacao.NovaSessao(filme.getId(), sala.getId(), dia, TipoExibicao.D2, preco),
+				new SessaoAplicacao.NovaSessao(filme.getId(), sala.getId(), dia.plusHours(2), TipoExibicao.D2, preco))).size());
+		assertThrows(IllegalStateException.class, () -> sessaoAplicacao.agendarSessoes(List.of(
+				new SessaoAplicacao.NovaSessao(filme.getId(), sala.getId(), dia.plusMinutes(30), TipoExibicao.D2, preco))));
+		assertEquals(2, sessaoRepositorio.buscarPorSalaId(sala.getId()).size());
+	}
+}
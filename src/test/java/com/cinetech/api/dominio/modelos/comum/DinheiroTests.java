@@ -0,0 +1,39 @@
+package com.cinetech.api.dominio.modelos.comum;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * A conta em centavos arredonda exatamente como BigDecimal.multiply(...).setScale(2, HALF_UP), que ela substitui.
+ */
+class DinheiroTests {
+
+	@Test
+	void percentualArredondaComoBigDecimalHalfUp() {
+		Random aleatorio = new Random(11);
+		for (int i = 0; i < 100_000; i++) {
+			long centavos = aleatorio.nextInt(2_000_000) - 1_000_000;
+			BigDecimal fracao = BigDecimal.valueOf(aleatorio.nextInt(1_000_001), aleatorio.nextInt(7));
+			BigDecimal esperado = BigDecimal.valueOf(centavos, 2).multiply(fracao).setScale(2, RoundingMode.HALF_UP);
+			assertEquals(esperado, Dinheiro.deCentavos(centavos).multiplicar(Percentual.de(fracao)).paraBigDecimal(),
+					centavos + " centavos x " + fracao);
+		}
+		assertEquals(Dinheiro.deCentavos(1_263), Dinheiro.de(new BigDecimal("25.25")).multiplicar(Percentual.METADE));
+		assertEquals(Dinheiro.deCentavos(-1_263), Dinheiro.de(new BigDecimal("-25.25")).multiplicar(Percentual.METADE));
+	}
+
+	@Test
+	void conversaoNaFronteira() {
+		assertEquals(new BigDecimal("39.90"), Dinheiro.de(new BigDecimal("39.9")).paraBigDecimal());
+		assertEquals(Dinheiro.deCentavos(1_001), Dinheiro.de(new BigDecimal("10.005")));
+		assertEquals(Dinheiro.ZERO, Dinheiro.de(new BigDecimal("0.00")));
+		assertThrows(ArithmeticException.class, () -> Dinheiro.de(new BigDecimal("1E30")));
+		assertThrows(ArithmeticException.class, () -> Dinheiro.deCentavos(Long.MAX_VALUE).somar(Dinheiro.deCentavos(1)));
+	}
+}
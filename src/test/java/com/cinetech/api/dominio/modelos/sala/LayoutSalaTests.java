@@ -0,0 +1,65 @@
+package com.cinetech.api.dominio.modelos.sala;
+
+import com.cinetech.api.dominio.enums.TipoAssento;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Planta de assentos: modelo de geração (identificadores, tipos, células), igualdade da planta
+ * reconstituída e isolamento das células devolvidas.
+ */
+class LayoutSalaTests {
+
+	@Test
+	void plantaReconstituidaEIgualEReaproveitaOModelo() {
+		LayoutSala original = LayoutSala.retangular(3, 7).comCorredorNaColuna(4);
+
+		LayoutSala lida = LayoutSala.de(3, 7, original.getCelulasCompactadas());
+
+		assertEquals(original, lida);
+		assertEquals(original.hashCode(), lida.hashCode());
+		assertNotEquals(original, LayoutSala.retangular(3, 7));
+		// O modelo é montado uma vez por planta e servido nas leituras seguintes
+		assertSame(lida.getIdentificadoresAssentos().get(0), lida.getIdentificadoresAssentos().get(0));
+		assertEquals(original.getIdentificadoresAssentos(), lida.getIdentificadoresAssentos());
+	}
+
+	@Test
+	void alterarCelulasDevolvidasNaoAfetaAPlantaCompartilhada() {
+		LayoutSala planta = LayoutSala.retangular(2, 3);
+		byte[] celulas = planta.getCelulasCompactadas();
+		celulas[0] = 0;
+
+		assertEquals(6, LayoutSala.de(2, 3, planta.getCelulasCompactadas()).getQuantidadeAssentos());
+		assertEquals(5, LayoutSala.de(2, 3, celulas).getQuantidadeAssentos());
+	}
+
+	@Test
+	void modeloSegueFileirasEColunasFisicas() {
+		LayoutSala planta = LayoutSala.retangular(2, 5)
+				.comCorredorNaColuna(3)
+				.comTipoAssento("B5", TipoAssento.PCD);
+
+		assertEquals(8, planta.getQuantidadeAssentos());
+		assertEquals(List.of("A1", "A2", "A4", "A5", "B1", "B2", "B4", "B5"), planta.getIdentificadoresAssentos());
+		assertEquals(TipoAssento.PCD, planta.getTipoAssento(7));
+		assertEquals(-1, planta.indiceAssentoNaCelula(1, 2));
+		assertEquals(6, planta.indiceAssentoNaCelula(1, 3));
+		assertThrows(IllegalArgumentException.class, () -> planta.comTipoAssento("C1", TipoAssento.VIP));
+	}
+
+	@Test
+	void plantaPadraoTemExatamenteACapacidade() {
+		LayoutSala planta = LayoutSala.padraoParaCapacidade(45);
+
+		assertEquals(45, planta.getQuantidadeAssentos());
+		assertEquals(3, planta.getFileiras());
+		assertEquals("C5", planta.getIdentificadoresAssentos().get(44));
+	}
+}
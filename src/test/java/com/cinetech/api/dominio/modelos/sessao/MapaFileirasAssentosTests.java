@@ -0,0 +1,146 @@
+package com.cinetech.api.dominio.modelos.sessao;
+
+import com.cinetech.api.dominio.enums.StatusAssento;
+import com.cinetech.api.dominio.enums.StatusSessao;
+import com.cinetech.api.dominio.enums.TipoAssento;
+import com.cinetech.api.dominio.enums.TipoExibicao;
+import com.cinetech.api.dominio.enums.TipoSala;
+import com.cinetech.api.dominio.modelos.assento.Assento;
+import com.cinetech.api.dominio.modelos.cliente.ClienteId;
+import com.cinetech.api.dominio.modelos.filme.Filme;
+import com.cinetech.api.dominio.modelos.sala.Sala;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Busca do melhor bloco de assentos contíguos: corredores, bordas da fileira, filtro por tipo,
+ * disponibilidade parcial e preferência de fileira/centro.
+ */
+class MapaFileirasAssentosTests {
+
+	@Test
+	void corredorQuebraAContiguidade() {
+		Sessao sessao = sessaoVazia();
+		adicionarFileira(sessao, "A", 1, 4, TipoAssento.COMUM);
+		adicionarFileira(sessao, "A", 7, 10, TipoAssento.COMUM); // A5 e A6 são corredor
+
+		assertEquals(List.of("A1", "A2", "A3", "A4"), posicoes(sessao.buscarMelhorBlocoContiguo(4, null)));
+		assertTrue(sessao.buscarMelhorBlocoContiguo(5, null).isEmpty());
+	}
+
+	@Test
+	void blocoFicaNoCentroDaFileira() {
+		Sessao sessao = sessaoVazia();
+		adicionarFileira(sessao, "A", 1, 10, TipoAssento.COMUM);
+
+		assertEquals(List.of("A5", "A6"), posicoes(sessao.buscarMelhorBlocoContiguo(2, null)));
+		assertEquals(List.of("A4", "A5", "A6"), posicoes(sessao.buscarMelhorBlocoContiguo(3, null)));
+	}
+
+	@Test
+	void disponibilidadeParcialEmpurraOBlocoParaAsBordas() {
+		Sessao sessao = sessaoVazia();
+		adicionarFileira(sessao, "B", 1, 8, TipoAssento.COMUM);
+		ClienteId outroCliente = ClienteId.novo();
+		sessao.reservarAssentoTemporariamente("B4", outroCliente, 10);
+		sessao.reservarAssentoTemporariamente("B5", outroCliente, 10);
+
+		// Sobram B1-B3 e B6-B8, ambos encostados numa borda: empate fica com o primeiro
+		assertEquals(List.of("B1", "B2", "B3"), posicoes(sessao.buscarMelhorBlocoContiguo(3, null)));
+
+		sessao.reservarAssentoTemporariamente("B2", outroCliente, 10);
+		assertEquals(List.of("B6", "B7", "B8"), posicoes(sessao.buscarMelhorBlocoContiguo(3, null)));
+		assertTrue(sessao.buscarMelhorBlocoContiguo(4, null).isEmpty());
+	}
+
+	@Test
+	void filtraPorTipoDeAssento() {
+		Sessao sessao = sessaoVazia();
+		adicionarFileira(sessao, "C", 1, 2, TipoAssento.PCD);
+		adicionarFileira(sessao, "C", 3, 6, TipoAssento.COMUM);
+		adicionarFileira(sessao, "C", 7, 8, TipoAssento.VIP);
+
+		// Sem tipo: PCD fica de fora, COMUM e VIP podem ser combinados
+		assertEquals(List.of("C3", "C4", "C5", "C6", "C7", "C8"), posicoes(sessao.buscarMelhorBlocoContiguo(6, null)));
+		assertTrue(sessao.buscarMelhorBlocoContiguo(7, null).isEmpty());
+		assertEquals(List.of("C1", "C2"), posicoes(sessao.buscarMelhorBlocoContiguo(2, TipoAssento.PCD)));
+		assertEquals(List.of("C7", "C8"), posicoes(sessao.buscarMelhorBlocoContiguo(2, TipoAssento.VIP)));
+		assertTrue(sessao.buscarMelhorBlocoContiguo(3, TipoAssento.VIP).isEmpty());
+	}
+
+	@Test
+	void prefereFileiraADoisTercosDaSala() {
+		Sessao sessao = sessaoVazia();
+		for (String fileira : List.of("A", "B", "C", "D")) {
+			adicionarFileira(sessao, fileira, 1, 4, TipoAssento.COMUM);
+		}
+
+		// 4 fileiras: 2/3 da última (índice 3) fica na fileira C
+		assertEquals(List.of("C1", "C2", "C3", "C4"), posicoes(sessao.buscarMelhorBlocoContiguo(4, null)));
+		sessao.reservarAssentoTemporariamente("C2", ClienteId.novo(), 10);
+		assertEquals(List.of("B1", "B2", "B3", "B4"), posicoes(sessao.buscarMelhorBlocoContiguo(4, null)));
+		// Um bloco menor ainda cabe na fileira preferida
+		assertEquals(List.of("C3", "C4"), posicoes(sessao.buscarMelhorBlocoContiguo(2, null)));
+	}
+
+	@Test
+	void reservaDoBlocoMarcaTodosOsAssentos() {
+		Sessao sessao = sessaoVazia();
+		adicionarFileira(sessao, "A", 1, 7, TipoAssento.COMUM);
+		ClienteId cliente = ClienteId.novo();
+
+		List<Assento> primeiro = sessao.reservarMelhorBlocoContiguo(3, null, cliente, 10);
+		assertEquals(List.of("A3", "A4", "A5"), posicoes(primeiro));
+		assertTrue(primeiro.stream().allMatch(a -> a.getStatus() == StatusAssento.RESERVADO_TEMP && cliente.equals(a.getClienteIdReservaTemporaria())));
+
+		// Sobram A1-A2 e A6-A7: nenhum bloco de 3, e a recusa não reserva nada
+		assertThrows(IllegalStateException.class, () -> sessao.reservarMelhorBlocoContiguo(3, null, cliente, 10));
+		assertEquals(4, sessao.getContagemAssentos().disponiveis());
+		assertEquals(List.of("A1", "A2"), posicoes(sessao.reservarMelhorBlocoContiguo(2, null, cliente, 10)));
+	}
+
+	@Test
+	void mapaUsaEstadoCompactoInformadoEIgnoraPosicoesSemNumero() {
+		Sessao sessao = sessaoVazia();
+		adicionarFileira(sessao, "Assento-", 1, 3, TipoAssento.COMUM);
+		sessao.adicionarAssento(new Assento(sessao, "Camarote", TipoAssento.VIP));
+		// Sem planta correspondente: fileiras e colunas vêm dos identificadores
+		MapaFileirasAssentos mapa = MapaFileirasAssentos.construir(null, Map.of(), sessao.getAssentos());
+
+		byte livre = (byte) ((TipoAssento.COMUM.ordinal() << 4) | StatusAssento.DISPONIVEL.ordinal());
+		byte ocupado = (byte) ((TipoAssento.COMUM.ordinal() << 4) | StatusAssento.OCUPADO_FINAL.ordinal());
+		byte camarote = (byte) ((TipoAssento.VIP.ordinal() << 4) | StatusAssento.DISPONIVEL.ordinal());
+
+		assertEquals(0, mapa.buscarMelhorBloco(new byte[]{livre, livre, ocupado, camarote}, 2, null)[0]);
+		assertNull(mapa.buscarMelhorBloco(new byte[]{livre, ocupado, livre, camarote}, 2, null));
+		assertNull(mapa.buscarMelhorBloco(new byte[]{livre, livre, livre, camarote}, 4, null)); // Camarote fora das fileiras
+	}
+
+	private static Sessao sessaoVazia() {
+		Filme filme = new Filme("Filme", "Drama", 100, "Português", "Livre",
+				LocalDate.now().minusDays(1), LocalDate.now().plusDays(30), "Sinopse");
+		Sala sala = new Sala("Sala Blocos", 40, TipoSala.SALA_2D, false);
+		return new Sessao(SessaoId.novo(), filme, sala, LocalDateTime.now().plusDays(1), TipoExibicao.D2,
+				new BigDecimal("20.00"), StatusSessao.ABERTA);
+	}
+
+	private static void adicionarFileira(Sessao sessao, String fileira, int primeiraColuna, int ultimaColuna, TipoAssento tipo) {
+		for (int coluna = primeiraColuna; coluna <= ultimaColuna; coluna++) {
+			sessao.adicionarAssento(new Assento(sessao, fileira + coluna, tipo));
+		}
+	}
+
+	private static List<String> posicoes(List<Assento> assentos) {
+		return assentos.stream().map(Assento::getIdentificadorPosicao).toList();
+	}
+}
@@ -0,0 +1,102 @@
+package com.cinetech.api.dominio.modelos.sessao;
+
+import com.cinetech.api.dominio.enums.StatusSessao;
+import com.cinetech.api.dominio.enums.TipoAssento;
+import com.cinetech.api.dominio.enums.TipoExibicao;
+import com.cinetech.api.dominio.enums.TipoSala;
+import com.cinetech.api.dominio.modelos.assento.Assento;
+import com.cinetech.api.dominio.modelos.cliente.ClienteId;
+import com.cinetech.api.dominio.modelos.filme.Filme;
+import com.cinetech.api.dominio.modelos.sala.Sala;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Índice de assentos da Sessao por posição normalizada, estado compacto usado na verificação de lotação
+ * e contadores vivos por status.
+ */
+class SessaoTests {
+
+	@Test
+	void buscaAssentoPelaPosicaoNormalizada() {
+		Sessao sessao = novaSessao(5);
+		Assento terceiro = sessao.getAssentos().get(2);
+		String posicao = terceiro.getIdentificadorPosicao();
+
+		assertSame(terceiro, sessao.buscarAssentoPorIdentificador(posicao).orElseThrow());
+		assertSame(terceiro, sessao.buscarAssentoPorIdentificador("  " + posicao.toLowerCase(Locale.ROOT) + " ").orElseThrow());
+		assertTrue(sessao.buscarAssentoPorIdentificador("Z99").isEmpty());
+		assertThrows(IllegalArgumentException.class, () -> sessao.buscarAssentoPorIdentificador("  "));
+	}
+
+	@Test
+	void adicionarAssentoRecusaPosicaoRepetida() {
+		Sessao sessao = novaSessao(3);
+		Assento primeiro = sessao.getAssentos().get(0);
+
+		sessao.adicionarAssento(primeiro); // Mesmo assento: ignorado na reconstituição
+		assertEquals(3, sessao.getAssentos().size());
+
+		Assento outroNaMesmaPosicao = new Assento(sessao, primeiro.getIdentificadorPosicao().toLowerCase(Locale.ROOT), TipoAssento.COMUM);
+		assertThrows(IllegalStateException.class, () -> sessao.adicionarAssento(outroNaMesmaPosicao));
+		assertEquals(3, sessao.getAssentos().size());
+	}
+
+	@Test
+	void lotacaoAcompanhaMudancasDeStatusDosAssentos() {
+		Sessao sessao = novaSessao(3);
+		ClienteId cliente = ClienteId.novo();
+		for (Assento assento : sessao.getAssentos()) {
+			sessao.reservarAssentoTemporariamente(assento.getIdentificadorPosicao(), cliente, 10);
+			assertEquals(StatusSessao.PROGRAMADA, sessao.getStatus());
+			sessao.confirmarOcupacaoAssento(assento.getIdentificadorPosicao(), cliente);
+		}
+		assertEquals(StatusSessao.LOTADA, sessao.getStatus());
+
+		// Mudança feita direto no Assento também precisa chegar ao estado compacto da sessão
+		sessao.getAssentos().get(1).liberar();
+		sessao.verificarEAtualizarStatusLotacao();
+		assertEquals(StatusSessao.ABERTA, sessao.getStatus());
+	}
+
+	@Test
+	void contadoresAcompanhamReservaConfirmacaoLiberacaoECancelamento() {
+		Sessao sessao = novaSessao(4);
+		ClienteId cliente = ClienteId.novo();
+		String primeira = sessao.getAssentos().get(0).getIdentificadorPosicao();
+		String segunda = sessao.getAssentos().get(1).getIdentificadorPosicao();
+		String terceira = sessao.getAssentos().get(2).getIdentificadorPosicao();
+		assertEquals(new ContagemAssentos(4, 0, 0, 0), sessao.getContagemAssentos());
+
+		sessao.reservarAssentoTemporariamente(primeira, cliente, 10);
+		sessao.reservarAssentoTemporariamente(segunda, cliente, 10);
+		assertEquals(new ContagemAssentos(2, 2, 0, 0), sessao.getContagemAssentos());
+
+		sessao.confirmarOcupacaoAssento(primeira, cliente);
+		assertEquals(new ContagemAssentos(2, 1, 1, 0), sessao.getContagemAssentos());
+
+		sessao.liberarAssentoPorCancelamentoOuExpiracao(segunda);
+		sessao.buscarAssentoPorIdentificador(terceira).orElseThrow().bloquearAdministrativamente();
+		assertEquals(new ContagemAssentos(2, 0, 1, 1), sessao.getContagemAssentos());
+
+		sessao.cancelar();
+		assertEquals(new ContagemAssentos(3, 0, 0, 1), sessao.getContagemAssentos());
+		assertEquals(4, sessao.getContagemAssentos().total());
+	}
+
+	private static Sessao novaSessao(int capacidade) {
+		Filme filme = new Filme("Filme", "Drama", 100, "Português", "Livre",
+				LocalDate.now().minusDays(1), LocalDate.now().plusDays(30), "Sinopse");
+		Sala sala = new Sala("Sala " + capacidade, capacidade, TipoSala.SALA_2D, false);
+		return new Sessao(filme, sala, LocalDateTime.now().plusDays(1), TipoExibicao.D2, new BigDecimal("20.00"));
+	}
+}
@@ -0,0 +1,198 @@
+package com.cinetech.api.dominio.servicos.PrecificacaoServico;
+
+import com.cinetech.api.dominio.enums.PerfilCliente;
+import com.cinetech.api.dominio.enums.StatusSessao;
+import com.cinetech.api.dominio.enums.TipoExibicao;
+import com.cinetech.api.dominio.enums.TipoPromocao;
+import com.cinetech.api.dominio.enums.TipoSala;
+import com.cinetech.api.dominio.modelos.cliente.Cliente;
+import com.cinetech.api.dominio.modelos.comum.Dinheiro;
+import com.cinetech.api.dominio.modelos.filme.Filme;
+import com.cinetech.api.dominio.modelos.promocao.Promocao;
+import com.cinetech.api.dominio.modelos.promocao.PromocaoId;
+import com.cinetech.api.dominio.modelos.sala.Sala;
+import com.cinetech.api.dominio.modelos.sessao.Sessao;
+import com.cinetech.api.dominio.modelos.sessao.SessaoId;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * O índice compilado dá o mesmo preço que a avaliação linear de todas as promoções (a implementação anterior,
+ * reproduzida aqui), inclusive nas bordas das janelas de horário.
+ */
+class RegrasPromocaoCompiladasTests {
+
+	private static final LocalDate HOJE = LocalDate.of(2026, 3, 10);
+	private static final BigDecimal FATOR_MEIA = new BigDecimal("0.50");
+	private static final List<BigDecimal> PRECOS = List.of(new BigDecimal("12.00"), new BigDecimal("25.50"), new BigDecimal("39.90"));
+
+	private final PrecificacaoServicoImpl precificacao = new PrecificacaoServicoImpl();
+	private final Filme filme = new Filme("Filme Preço", "Drama", 100, "Português", "Livre",
+			HOJE.minusDays(10), HOJE.plusDays(60), "Sinopse");
+	private final Sala sala = new Sala("Sala Preço", 40, TipoSala.SALA_2D, false);
+
+	@Test
+	void mesmoPrecoQueAvaliacaoLinear() {
+		Random aleatorio = new Random(42);
+		List<Cliente> clientes = clientes();
+		for (int quantidade : new int[]{0, 1, 10, 100, 1_000}) {
+			List<Promocao> promocoes = promocoes(aleatorio, quantidade);
+			RegrasPromocaoCompiladas regras = RegrasPromocaoCompiladas.compilar(promocoes, HOJE);
+			for (int i = 0; i < 2_000; i++) {
+				Cliente cliente = clientes.get(aleatorio.nextInt(clientes.size()));
+				Sessao sessao = sessao(aleatorio);
+				LocalDateTime compra = HOJE.atTime(aleatorio.nextInt(24), aleatorio.nextInt(60));
+
+				ResultadoLinear esperado = calcularLinear(cliente, sessao, promocoes, compra);
+				PrecificacaoServico.ResultadoPrecificacao obtido = precificacao.calcularPrecoFinalIngresso(cliente, sessao, regras, compra);
+				String caso = quantidade + " promoções, " + cliente.getPerfil() + ", sessão " + sessao.getDataHoraInicio();
+				assertEquals(0, esperado.descontoAplicado().compareTo(obtido.descontoAplicado().paraBigDecimal()), caso);
+				assertEquals(0, esperado.precoFinal().compareTo(obtido.precoFinal().paraBigDecimal()), caso);
+				if (esperado.promocaoAplicada() == null || obtido.promocaoAplicada() == null) {
+					assertEquals(esperado.promocaoAplicada(), obtido.promocaoAplicada(), caso);
+				} else if (!esperado.promocaoAplicada().equals(obtido.promocaoAplicada())) {
+					// Só em empate de desconto entre promoções diferentes
+					assertEquals(0, descontoLinear(esperado.promocaoAplicada(), sessao.getPrecoIngressoBase())
+							.compareTo(descontoLinear(obtido.promocaoAplicada(), sessao.getPrecoIngressoBase())), caso);
+				}
+			}
+		}
+	}
+
+	@Test
+	void janelaDeHorarioRespeitaLimitesNoMeioDaHora() {
+		Promocao matine = new Promocao(PromocaoId.novo(), "Matinê", TipoPromocao.HORARIO_BAIXA_DEMANDA, new BigDecimal("0.30"), null,
+				Set.of(DayOfWeek.TUESDAY), LocalTime.of(13, 30), LocalTime.of(15, 15), null, true, null, null);
+		RegrasPromocaoCompiladas regras = RegrasPromocaoCompiladas.compilar(List.of(matine), HOJE); // HOJE é uma terça
+		Cliente regular = new Cliente("Cliente Regular", "regular@cinetech.com", "77700009999", PerfilCliente.REGULAR);
+		LocalDateTime terca = HOJE.atStartOfDay();
+
+		assertEquals(null, promocaoAplicada(regras, regular, terca.withHour(13).withMinute(29)));
+		assertEquals(matine, promocaoAplicada(regras, regular, terca.withHour(13).withMinute(30)));
+		assertEquals(matine, promocaoAplicada(regras, regular, terca.withHour(15).withMinute(15)));
+		assertEquals(null, promocaoAplicada(regras, regular, terca.withHour(15).withMinute(15).withSecond(1)));
+		assertEquals(null, promocaoAplicada(regras, regular, terca.plusDays(1).withHour(14)));
+		assertEquals(Dinheiro.deCentavos(360), regras.buscarMelhorPromocao(regular, sessaoEm(terca.withHour(14)), Dinheiro.de(PRECOS.get(0))).desconto());
+		assertThrows(IllegalArgumentException.class, () -> precificacao.calcularPrecoFinalIngresso(
+				regular, sessaoEm(terca.withHour(14)), regras, terca.plusDays(1)));
+	}
+
+	private static List<Cliente> clientes() {
+		List<Cliente> clientes = new ArrayList<>();
+		int i = 0;
+		for (PerfilCliente perfil : PerfilCliente.values()) {
+			clientes.add(new Cliente("Cliente " + perfil, "preco" + i + "@cinetech.com", String.format("7770000%04d", i++), perfil));
+		}
+		return clientes;
+	}
+
+	private Sessao sessao(Random aleatorio) {
+		LocalDateTime inicio = HOJE.plusDays(aleatorio.nextInt(7)).atTime(aleatorio.nextInt(24), aleatorio.nextInt(60),
+				aleatorio.nextInt(4) == 0 ? aleatorio.nextInt(60) : 0);
+		return new Sessao(SessaoId.novo(), filme, sala, inicio, TipoExibicao.D2,
+				PRECOS.get(aleatorio.nextInt(PRECOS.size())), StatusSessao.PROGRAMADA, (Long) null);
+	}
+
+	private Sessao sessaoEm(LocalDateTime inicio) {
+		return new Sessao(SessaoId.novo(), filme, sala, inicio, TipoExibicao.D2, PRECOS.get(0), StatusSessao.PROGRAMADA, (Long) null);
+	}
+
+	private Promocao promocaoAplicada(RegrasPromocaoCompiladas regras, Cliente cliente, LocalDateTime inicioSessao) {
+		Sessao sessao = sessaoEm(inicioSessao);
+		return regras.buscarMelhorPromocao(cliente, sessao, sessao.getPrecoBase()).promocao();
+	}
+
+	private static List<Promocao> promocoes(Random aleatorio, int quantidade) {
+		List<Promocao> promocoes = new ArrayList<>(quantidade);
+		for (int i = 0; i < quantidade; i++) {
+			boolean percentual = aleatorio.nextBoolean();
+			BigDecimal percentualDesconto = percentual ? BigDecimal.valueOf(5 + aleatorio.nextInt(56), 2) : null;
+			BigDecimal valorFixo = percentual ? null : BigDecimal.valueOf(100 + aleatorio.nextInt(2_900), 2);
+			boolean ativa = aleatorio.nextInt(10) != 0;
+			LocalDate fimVigencia = aleatorio.nextInt(10) == 0 ? HOJE.minusDays(1) : null;
+			if (aleatorio.nextInt(3) == 0) {
+				Set<PerfilCliente> perfis = EnumSet.noneOf(PerfilCliente.class);
+				for (PerfilCliente perfil : PerfilCliente.values()) {
+					if (aleatorio.nextInt(3) == 0) {
+						perfis.add(perfil);
+					}
+				}
+				promocoes.add(new Promocao(PromocaoId.novo(), "Perfil " + i, TipoPromocao.MEIA_ENTRADA_PERFIL,
+						percentualDesconto, valorFixo, null, null, null, perfis, ativa, null, fimVigencia));
+			} else {
+				Set<DayOfWeek> dias = EnumSet.noneOf(DayOfWeek.class);
+				for (DayOfWeek dia : DayOfWeek.values()) {
+					if (aleatorio.nextInt(4) == 0) {
+						dias.add(dia);
+					}
+				}
+				LocalTime inicio = aleatorio.nextInt(5) == 0 ? null : LocalTime.of(aleatorio.nextInt(24), aleatorio.nextInt(4) * 15);
+				LocalTime fim = aleatorio.nextInt(5) == 0 ? null : LocalTime.of(aleatorio.nextInt(24), aleatorio.nextInt(60));
+				if (inicio != null && fim != null && fim.isBefore(inicio)) {
+					LocalTime troca = inicio;
+					inicio = fim;
+					fim = troca;
+				}
+				promocoes.add(new Promocao(PromocaoId.novo(), "Horário " + i, TipoPromocao.HORARIO_BAIXA_DEMANDA,
+						percentualDesconto, valorFixo, dias, inicio, fim, null, ativa, null, fimVigencia));
+			}
+		}
+		return promocoes;
+	}
+
+	private record ResultadoLinear(BigDecimal descontoAplicado, BigDecimal precoFinal, Promocao promocaoAplicada) {}
+
+	private static BigDecimal descontoLinear(Promocao promocao, BigDecimal precoBase) {
+		return promocao.getPercentualDesconto() != null
+				? precoBase.multiply(promocao.getPercentualDesconto()).setScale(2, RoundingMode.HALF_UP)
+				: promocao.getValorDescontoFixo().min(precoBase);
+	}
+
+	/** Avaliação linear em BigDecimal, como o PrecificacaoServicoImpl fazia antes do índice compilado. */
+	private static ResultadoLinear calcularLinear(
+			Cliente cliente, Sessao sessao, List<Promocao> promocoesVigentes, LocalDateTime dataHoraCompra) {
+		BigDecimal precoBase = sessao.getPrecoIngressoBase();
+		BigDecimal melhorDesconto = BigDecimal.ZERO;
+		Promocao selecionada = null;
+		for (Promocao promocao : promocoesVigentes) {
+			if (promocao.estaVigente(dataHoraCompra.toLocalDate()) && promocao.aplicavel(cliente, sessao, dataHoraCompra)) {
+				BigDecimal desconto = descontoLinear(promocao, precoBase);
+				if (desconto.compareTo(melhorDesconto) > 0) {
+					melhorDesconto = desconto;
+					selecionada = promocao;
+				}
+			}
+		}
+		if (cliente.elegivelParaMeiaEntrada()) {
+			BigDecimal descontoMeiaLei = precoBase.multiply(FATOR_MEIA).setScale(2, RoundingMode.HALF_UP);
+			if (descontoMeiaLei.compareTo(melhorDesconto) >= 0) {
+				Promocao dePerfil = promocoesVigentes.stream()
+						.filter(p -> p.getTipoPromocao() == TipoPromocao.MEIA_ENTRADA_PERFIL
+								&& p.estaVigente(dataHoraCompra.toLocalDate()) && p.aplicavel(cliente, sessao, dataHoraCompra))
+						.findFirst().orElse(null);
+				if (descontoMeiaLei.compareTo(melhorDesconto) > 0) {
+					melhorDesconto = descontoMeiaLei;
+					selecionada = dePerfil;
+				} else if (dePerfil != null) {
+					selecionada = dePerfil;
+				}
+			}
+		}
+		BigDecimal precoFinal = precoBase.subtract(melhorDesconto).max(BigDecimal.ZERO);
+		return new ResultadoLinear(melhorDesconto, precoFinal, selecionada);
+	}
+}
@@ -0,0 +1,140 @@
+package com.cinetech.api.infraestrutura.eventos;
+
+import com.cinetech.api.aplicacao.AvaliacaoAplicacao;
+import com.cinetech.api.aplicacao.SessaoAplicacao;
+import com.cinetech.api.dominio.enums.PerfilCliente;
+import com.cinetech.api.dominio.enums.StatusSessao;
+import com.cinetech.api.dominio.enums.TipoExibicao;
+import com.cinetech.api.dominio.enums.TipoSala;
+import com.cinetech.api.dominio.eventos.ManipuladorEventoDominio;
+import com.cinetech.api.dominio.modelos.avaliacao.Avaliacao;
+import com.cinetech.api.dominio.modelos.cliente.Cliente;
+import com.cinetech.api.dominio.modelos.filme.Filme;
+import com.cinetech.api.dominio.modelos.sala.Sala;
+import com.cinetech.api.dominio.modelos.sessao.Sessao;
+import com.cinetech.api.dominio.modelos.sessao.SessaoCancelada;
+import com.cinetech.api.dominio.repositorios.AvaliacaoRepositorio;
+import com.cinetech.api.dominio.repositorios.ClienteRepositorio;
+import com.cinetech.api.dominio.repositorios.FilmeRepositorio;
+import com.cinetech.api.dominio.repositorios.SalaRepositorio;
+import com.cinetech.api.dominio.repositorios.SessaoRepositorio;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Eventos só chegam aos manipuladores depois do commit (nunca de uma transação desfeita); os assíncronos
+ * os recebem pelo anel, e as métricas contam o que cada manipulador tratou.
+ */
+@SpringBootTest
+@Import(BarramentoEventosDominioTests.ConfiguracaoManipuladores.class)
+class BarramentoEventosDominioTests {
+
+	@TestConfiguration
+	static class ConfiguracaoManipuladores {
+		@Bean
+		RegistroSessoesCanceladas registroSessoesCanceladas() {
+			return new RegistroSessoesCanceladas();
+		}
+	}
+
+	static class RegistroSessoesCanceladas implements ManipuladorEventoDominio<SessaoCancelada> {
+		private final List<SessaoCancelada> recebidos = new CopyOnWriteArrayList<>();
+
+		@Override
+		public Class<SessaoCancelada> tipoEvento() {
+			return SessaoCancelada.class;
+		}
+
+		@Override
+		public boolean assincrono() {
+			return false;
+		}
+
+		@Override
+		public void tratar(SessaoCancelada evento) {
+			recebidos.add(evento);
+		}
+	}
+
+	@Autowired
+	private BarramentoEventosDominio barramento;
+	@Autowired
+	private RegistroSessoesCanceladas registroSessoesCanceladas;
+	@Autowired
+	private SessaoAplicacao sessaoAplicacao;
+	@Autowired
+	private AvaliacaoAplicacao avaliacaoAplicacao;
+	@Autowired
+	private SessaoRepositorio sessaoRepositorio;
+	@Autowired
+	private AvaliacaoRepositorio avaliacaoRepositorio;
+	@Autowired
+	private FilmeRepositorio filmeRepositorio;
+	@Autowired
+	private SalaRepositorio salaRepositorio;
+	@Autowired
+	private ClienteRepositorio clienteRepositorio;
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void eventosSoSaoEntreguesAposCommit() {
+		Filme filme = filmeRepositorio.salvar(new Filme("Filme Eventos", "Drama", 100, "Português", "Livre",
+				LocalDate.now().minusDays(1), LocalDate.now().plusDays(30), "Sinopse"));
+		Sala sala = salaRepositorio.salvar(new Sala("Sala Eventos", 40, TipoSala.SALA_2D, false));
+		Sessao sessao = sessaoAplicacao.agendarNovaSessao(filme.getId(), sala.getId(),
+				LocalDateTime.now().plusDays(2).withNano(0), TipoExibicao.D2, new BigDecimal("30.00"));
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			Sessao lida = sessaoRepositorio.buscarPorId(sessao.getId()).orElseThrow();
+			lida.cancelar();
+			sessaoRepositorio.salvar(lida);
+			status.setRollbackOnly();
+		});
+		assertTrue(registroSessoesCanceladas.recebidos.stream().noneMatch(e -> e.sessaoId().equals(sessao.getId())),
+				"Transação desfeita não publica");
+
+		sessaoAplicacao.cancelarSessaoAdministrativamente(sessao.getId());
+		List<SessaoCancelada> daSessao = registroSessoesCanceladas.recebidos.stream()
+				.filter(e -> e.sessaoId().equals(sessao.getId())).toList();
+		assertEquals(1, daSessao.size());
+		assertEquals(StatusSessao.PROGRAMADA, daSessao.get(0).statusAnterior());
+	}
+
+	@Test
+	void moderacaoRecalculaNotaMediaEmSegundoPlano() throws InterruptedException {
+		Filme filme = filmeRepositorio.salvar(new Filme("Filme Avaliado", "Drama", 100, "Português", "Livre",
+				LocalDate.now().minusDays(1), LocalDate.now().plusDays(30), "Sinopse"));
+		Cliente cliente = clienteRepositorio.salvar(new Cliente("Avaliador", "avaliador@cinetech.com", "44400000001", PerfilCliente.REGULAR));
+		Avaliacao pendente = avaliacaoRepositorio.salvar(new Avaliacao(filme.getId(), cliente.getId(), 4, "Bom"));
+
+		avaliacaoAplicacao.aprovarAvaliacaoManualmente(pendente.getId());
+
+		long prazo = System.currentTimeMillis() + 5_000;
+		while (filmeRepositorio.buscarPorId(filme.getId()).orElseThrow().getNotaMediaAvaliacao() != 4.0
+				&& System.currentTimeMillis() < prazo) {
+			Thread.sleep(20);
+		}
+		assertEquals(4.0, filmeRepositorio.buscarPorId(filme.getId()).orElseThrow().getNotaMediaAvaliacao());
+		BarramentoEventosDominio.MetricasManipulador metricas = barramento.obterMetricas().manipuladores().stream()
+				.filter(m -> m.nome().equals("ManipuladorNotaMediaFilme")).findFirst().orElseThrow();
+		assertTrue(metricas.assincrono());
+		assertEquals(1, metricas.eventosTratados());
+		assertEquals(0, metricas.falhas());
+	}
+}
@@ -0,0 +1,104 @@
+package com.cinetech.api.infraestrutura.persistencia.agenda;
+
+import com.cinetech.api.aplicacao.SessaoAplicacao;
+import com.cinetech.api.dominio.enums.TipoExibicao;
+import com.cinetech.api.dominio.enums.TipoSala;
+import com.cinetech.api.dominio.modelos.filme.Filme;
+import com.cinetech.api.dominio.modelos.sala.Sala;
+import com.cinetech.api.dominio.modelos.sessao.Sessao;
+import com.cinetech.api.dominio.repositorios.FilmeRepositorio;
+import com.cinetech.api.dominio.repositorios.SalaRepositorio;
+import com.cinetech.api.dominio.servicos.AgendamentoServico.AgendamentoServico;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A agenda em memória responde às verificações de conflito, acompanha agendamentos e cancelamentos
+ * e continua igual ao banco; a árvore de intervalos concorda com uma busca linear.
+ */
+@SpringBootTest
+class IndiceAgendaSalasEmMemoriaTests {
+
+	@Autowired
+	private IndiceAgendaSalasEmMemoria indiceAgendaSalas;
+	@Autowired
+	private AgendamentoServico agendamentoServico;
+	@Autowired
+	private SessaoAplicacao sessaoAplicacao;
+	@Autowired
+	private FilmeRepositorio filmeRepositorio;
+	@Autowired
+	private SalaRepositorio salaRepositorio;
+
+	@Test
+	void agendaAcompanhaAgendamentoECancelamento() {
+		Filme filme = filmeRepositorio.salvar(new Filme("Filme Agenda", "Drama", 120, "Português", "Livre",
+				LocalDate.now().minusDays(1), LocalDate.now().plusDays(30), "Sinopse"));
+		Sala sala = salaRepositorio.salvar(new Sala("Sala Agenda", 30, TipoSala.SALA_2D, false));
+		LocalDateTime inicio = LocalDateTime.now().plusDays(2).withNano(0);
+		Sessao sessao = sessaoAplicacao.agendarNovaSessao(filme.getId(), sala.getId(), inicio,
+				TipoExibicao.D2, new BigDecimal("25.00"));
+		assertTrue(indiceAgendaSalas.obterMetricas().carregada());
+
+		long respondidas = indiceAgendaSalas.obterMetricas().verificacoesRespondidas();
+		assertTrue(agendamentoServico.verificarConflitoAgendamento(sala.getId(), inicio.plusMinutes(119), inicio.plusHours(3),
+				Optional.empty(), Optional.empty()));
+		assertFalse(agendamentoServico.verificarConflitoAgendamento(sala.getId(), inicio.plusMinutes(120), inicio.plusHours(3),
+				Optional.empty(), Optional.empty()));
+		assertFalse(agendamentoServico.verificarConflitoAgendamento(sala.getId(), inicio, inicio.plusHours(1),
+				Optional.of(sessao.getId()), Optional.empty()));
+		assertEquals(respondidas + 3, indiceAgendaSalas.obterMetricas().verificacoesRespondidas());
+		assertThrows(IllegalStateException.class, () -> sessaoAplicacao.agendarNovaSessao(filme.getId(), sala.getId(),
+				inicio.plusHours(1), TipoExibicao.D2, new BigDecimal("25.00")));
+
+		sessaoAplicacao.cancelarSessaoAdministrativamente(sessao.getId());
+		assertFalse(agendamentoServico.verificarConflitoAgendamento(sala.getId(), inicio, inicio.plusHours(1),
+				Optional.empty(), Optional.empty()));
+		assertEquals(0, indiceAgendaSalas.verificarConsistencia());
+	}
+
+	@Test
+	void arvoreConcordaComBuscaLinear() {
+		Random aleatorio = new Random(42);
+		ArvoreIntervalos arvore = new ArvoreIntervalos();
+		List<long[]> periodos = new ArrayList<>();
+		List<UUID> ids = new ArrayList<>();
+		for (int i = 0; i < 2_000; i++) {
+			if (!ids.isEmpty() && aleatorio.nextInt(4) == 0) {
+				int removido = aleatorio.nextInt(ids.size());
+				assertTrue(arvore.remover(ids.remove(removido), periodos.remove(removido)[0]));
+			} else {
+				long inicio = aleatorio.nextInt(10_000);
+				long[] periodo = {inicio, inicio + 1 + aleatorio.nextInt(300)};
+				UUID id = UUID.randomUUID();
+				arvore.inserir(id, periodo[0], periodo[1]);
+				periodos.add(periodo);
+				ids.add(id);
+			}
+			long inicio = aleatorio.nextInt(10_000);
+			long fim = inicio + 1 + aleatorio.nextInt(300);
+			UUID excluido = ids.isEmpty() ? null : ids.get(aleatorio.nextInt(ids.size()));
+			boolean esperado = false;
+			for (int p = 0; p < periodos.size(); p++) {
+				esperado |= !ids.get(p).equals(excluido) && periodos.get(p)[0] < fim && periodos.get(p)[1] > inicio;
+			}
+			assertEquals(esperado, arvore.existeSobreposicao(inicio, fim, excluido, null));
+		}
+		assertEquals(ids.size(), arvore.tamanho());
+	}
+}
@@ -0,0 +1,85 @@
+package com.cinetech.api.infraestrutura.persistencia.cache;
+
+import com.cinetech.api.dominio.enums.PerfilCliente;
+import com.cinetech.api.dominio.enums.TipoPromocao;
+import com.cinetech.api.dominio.enums.TipoSala;
+import com.cinetech.api.dominio.modelos.filme.Filme;
+import com.cinetech.api.dominio.modelos.promocao.Promocao;
+import com.cinetech.api.dominio.modelos.sala.Sala;
+import com.cinetech.api.dominio.repositorios.FilmeRepositorio;
+import com.cinetech.api.dominio.repositorios.PromocaoRepositorio;
+import com.cinetech.api.dominio.repositorios.SalaRepositorio;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Leituras repetidas de filme, sala e promoções vigentes (como nas duas etapas da compra) são atendidas
+ * pelo cache de segundo nível, e gravações pela aplicação nunca deixam uma leitura desatualizada.
+ * As métricas são acumuladas por região: os testes comparam diferenças.
+ */
+@SpringBootTest
+class CacheSegundoNivelTests {
+
+	@Autowired
+	private CacheSegundoNivel cacheSegundoNivel;
+	@Autowired
+	private FilmeRepositorio filmeRepositorio;
+	@Autowired
+	private SalaRepositorio salaRepositorio;
+	@Autowired
+	private PromocaoRepositorio promocaoRepositorio;
+
+	@Test
+	void filmeESalaRelidosDoCacheEAtualizadosNaGravacao() {
+		Filme filme = filmeRepositorio.salvar(new Filme("Filme Cache", "Drama", 100, "Português", "Livre",
+				LocalDate.now().minusDays(1), LocalDate.now().plusDays(30), "Sinopse"));
+		Sala sala = salaRepositorio.salvar(new Sala("Sala Cache", 40, TipoSala.SALA_2D, false));
+		CacheSegundoNivel.MetricasRegiao filmeAntes = cacheSegundoNivel.obterMetricas(RegioesCache.FILME);
+		CacheSegundoNivel.MetricasRegiao salaAntes = cacheSegundoNivel.obterMetricas(RegioesCache.SALA);
+
+		for (int compra = 0; compra < 2; compra++) {
+			filmeRepositorio.buscarPorId(filme.getId()).orElseThrow();
+			salaRepositorio.buscarPorId(sala.getId()).orElseThrow();
+		}
+		CacheSegundoNivel.MetricasRegiao filmeDepois = cacheSegundoNivel.obterMetricas(RegioesCache.FILME);
+		assertEquals(2, filmeDepois.acertos() - filmeAntes.acertos());
+		assertEquals(0, filmeDepois.faltas() - filmeAntes.faltas());
+		assertEquals(2, cacheSegundoNivel.obterMetricas(RegioesCache.SALA).acertos() - salaAntes.acertos());
+
+		Filme alterado = filmeRepositorio.buscarPorId(filme.getId()).orElseThrow();
+		alterado.setTitulo("Filme Cache (Versão Estendida)");
+		filmeRepositorio.salvar(alterado);
+		assertEquals("Filme Cache (Versão Estendida)", filmeRepositorio.buscarPorId(filme.getId()).orElseThrow().getTitulo());
+	}
+
+	@Test
+	void promocoesVigentesVemDoCacheDeConsultasAteUmaGravacao() {
+		LocalDate hoje = LocalDate.now();
+		promocaoRepositorio.salvar(new Promocao("Meia Cache", TipoPromocao.MEIA_ENTRADA_PERFIL, new BigDecimal("0.5"),
+				Set.of(PerfilCliente.ESTUDANTE), true, hoje.minusDays(1), hoje.plusDays(10)));
+		int vigentes = promocaoRepositorio.buscarPromocoesVigentes(hoje).size();
+		CacheSegundoNivel.MetricasRegiao antes = cacheSegundoNivel.obterMetricas(RegioesCache.CONSULTA_PROMOCOES_VIGENTES);
+
+		assertEquals(vigentes, promocaoRepositorio.buscarPromocoesVigentes(hoje).size());
+		assertEquals(vigentes, promocaoRepositorio.buscarPromocoesVigentes(hoje).size());
+		CacheSegundoNivel.MetricasRegiao depois = cacheSegundoNivel.obterMetricas(RegioesCache.CONSULTA_PROMOCOES_VIGENTES);
+		assertEquals(2, depois.acertos() - antes.acertos());
+		assertTrue(depois.taxaAcerto() > 0);
+
+		// Nova promoção (gravação administrativa): o resultado em cache é invalidado
+		promocaoRepositorio.salvar(new Promocao("Meia Cache Idoso", TipoPromocao.MEIA_ENTRADA_PERFIL, new BigDecimal("0.5"),
+				Set.of(PerfilCliente.IDOSO), true, hoje.minusDays(1), hoje.plusDays(10)));
+		List<Promocao> aposGravacao = promocaoRepositorio.buscarPromocoesVigentes(hoje);
+		assertEquals(vigentes + 1, aposGravacao.size());
+		assertTrue(aposGravacao.stream().anyMatch(p -> p.getNomeDescritivo().equals("Meia Cache Idoso")));
+	}
+}
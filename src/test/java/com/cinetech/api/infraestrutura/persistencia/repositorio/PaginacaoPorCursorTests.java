@@ -0,0 +1,122 @@
+package com.cinetech.api.infraestrutura.persistencia.repositorio;
+
+import com.cinetech.api.aplicacao.SessaoAplicacao;
+import com.cinetech.api.dominio.enums.PerfilCliente;
+import com.cinetech.api.dominio.enums.TipoExibicao;
+import com.cinetech.api.dominio.enums.TipoSala;
+import com.cinetech.api.dominio.modelos.cliente.Cliente;
+import com.cinetech.api.dominio.modelos.cliente.ClienteId;
+import com.cinetech.api.dominio.modelos.comum.UuidOrdenadoPorTempo;
+import com.cinetech.api.dominio.modelos.filme.Filme;
+import com.cinetech.api.dominio.modelos.pontofidelidade.PontoFidelidade;
+import com.cinetech.api.dominio.modelos.pontofidelidade.PontoFidelidadeId;
+import com.cinetech.api.dominio.modelos.sala.Sala;
+import com.cinetech.api.dominio.modelos.sessao.Sessao;
+import com.cinetech.api.dominio.modelos.sessao.SessaoId;
+import com.cinetech.api.dominio.repositorios.ClienteRepositorio;
+import com.cinetech.api.dominio.repositorios.FilmeRepositorio;
+import com.cinetech.api.dominio.repositorios.PaginacaoPorCursor;
+import com.cinetech.api.dominio.repositorios.SalaRepositorio;
+import com.cinetech.api.dominio.repositorios.SessaoRepositorio;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A paginação por chave percorre cada registro uma única vez, na ordem dos IDs, que é a ordem de criação.
+ */
+@SpringBootTest
+class PaginacaoPorCursorTests {
+
+	@Autowired
+	private ClienteRepositorio clienteRepositorio;
+	@Autowired
+	private SessaoRepositorio sessaoRepositorio;
+	@Autowired
+	private SessaoAplicacao sessaoAplicacao;
+	@Autowired
+	private FilmeRepositorio filmeRepositorio;
+	@Autowired
+	private SalaRepositorio salaRepositorio;
+
+	@Test
+	void idsGeradosSaoCrescentes() {
+		UUID anterior = UuidOrdenadoPorTempo.novo();
+		for (int i = 0; i < 10_000; i++) {
+			UUID atual = UuidOrdenadoPorTempo.novo();
+			assertTrue(atual.compareTo(anterior) > 0);
+			assertEquals(7, atual.version());
+			anterior = atual;
+		}
+	}
+
+	@Test
+	void percorreClientesNaOrdemDeCriacao() {
+		List<ClienteId> criados = new ArrayList<>();
+		for (int i = 0; i < 7; i++) {
+			criados.add(clienteRepositorio.salvar(new Cliente("Cliente Pagina " + i, "pagina" + i + "@cinetech.com",
+					String.format("5550000%04d", i), PerfilCliente.REGULAR)).getId());
+		}
+		List<ClienteId> percorridos = PaginacaoPorCursor.percorrer(clienteRepositorio::buscarPaginaAposId, Cliente::getId, 3)
+				.map(Cliente::getId).toList();
+
+		assertEquals(clienteRepositorio.buscarTodos().size(), percorridos.size());
+		assertEquals(percorridos.size(), new HashSet<>(percorridos).size());
+		assertEquals(criados, percorridos.stream().filter(criados::contains).toList());
+	}
+
+	@Test
+	void percorreClientesComPontosObsoletosPelaChave() {
+		LocalDate hoje = LocalDate.now();
+		List<ClienteId> obsoletos = new ArrayList<>();
+		List<ClienteId> validos = new ArrayList<>();
+		for (int i = 0; i < 7; i++) {
+			Cliente cliente = new Cliente("Cliente Pontos " + i, "pontos" + i + "@cinetech.com",
+					String.format("5551000%04d", i), PerfilCliente.REGULAR);
+			boolean obsoleto = i % 2 == 0;
+			cliente.adicionarPontoFidelidadeExistente(new PontoFidelidade(PontoFidelidadeId.novo(), cliente.getId(), 50, 0,
+					LocalDateTime.now().minusMonths(7), obsoleto ? hoje.minusDays(1) : hoje.plusMonths(4), null));
+			(obsoleto ? obsoletos : validos).add(clienteRepositorio.salvar(cliente).getId());
+		}
+
+		// Páginas de 2: a primeira e as seguintes (após o cursor) são consultas distintas
+		List<ClienteId> percorridos = PaginacaoPorCursor.percorrer(
+				(Optional<ClienteId> aposId, Integer quantidade) -> clienteRepositorio.buscarIdsComPontosFidelidadeObsoletos(aposId, hoje, quantidade),
+				(ClienteId id) -> id, 2).toList();
+
+		assertEquals(percorridos.size(), new HashSet<>(percorridos).size());
+		assertEquals(obsoletos, percorridos.stream().filter(obsoletos::contains).toList());
+		assertTrue(percorridos.stream().noneMatch(validos::contains));
+	}
+
+	@Test
+	void percorreSessoesComAgregadoCompleto() {
+		Filme filme = filmeRepositorio.salvar(new Filme("Filme Pagina", "Drama", 90, "Português", "Livre",
+				LocalDate.now().minusDays(1), LocalDate.now().plusDays(30), "Sinopse"));
+		Sala sala = salaRepositorio.salvar(new Sala("Sala Pagina", 20, TipoSala.SALA_2D, false));
+		LocalDateTime inicio = LocalDateTime.now().plusDays(4).withNano(0);
+		for (int i = 0; i < 5; i++) {
+			sessaoAplicacao.agendarNovaSessao(filme.getId(), sala.getId(), inicio.plusHours(2L * i), TipoExibicao.D2,
+					new BigDecimal("20.00"));
+		}
+		List<Sessao> percorridas = PaginacaoPorCursor.percorrer(sessaoRepositorio::buscarPaginaAposId, Sessao::getId, 2).toList();
+		List<SessaoId> ids = percorridas.stream().map(Sessao::getId).toList();
+
+		assertEquals(sessaoRepositorio.buscarTodas().size(), ids.size());
+		assertEquals(ids.size(), new HashSet<>(ids).size());
+		assertTrue(percorridas.stream().filter(s -> s.getSala().getId().equals(sala.getId()))
+				.allMatch(s -> s.getAssentos().size() == 20));
+	}
+}
@@ -0,0 +1,150 @@
+package com.cinetech.api.infraestrutura.persistencia.repositorio;
+
+import com.cinetech.api.aplicacao.SessaoAplicacao;
+import com.cinetech.api.dominio.enums.PerfilCliente;
+import com.cinetech.api.dominio.enums.StatusSessao;
+import com.cinetech.api.dominio.enums.TipoExibicao;
+import com.cinetech.api.dominio.enums.TipoSala;
+import com.cinetech.api.dominio.modelos.cliente.Cliente;
+import com.cinetech.api.dominio.modelos.filme.Filme;
+import com.cinetech.api.dominio.modelos.sala.Sala;
+import com.cinetech.api.dominio.modelos.sessao.Sessao;
+import com.cinetech.api.dominio.repositorios.ClienteRepositorio;
+import com.cinetech.api.dominio.repositorios.FilmeRepositorio;
+import com.cinetech.api.dominio.repositorios.SalaRepositorio;
+import com.cinetech.api.dominio.repositorios.SessaoRepositorio;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cada leitura do SessaoRepositorio deve custar um número fixo de comandos SQL, independente
+ * de quantas sessões retorna (sem 1 + 3N para filme, sala e assentos).
+ */
+@SpringBootTest(properties = {
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SessaoRepositorioJpaConsultasTests {
+
+	private static final int SESSOES = 3;
+
+	@Autowired
+	private SessaoRepositorio sessaoRepositorio;
+	@Autowired
+	private SessaoAplicacao sessaoAplicacao;
+	@Autowired
+	private FilmeRepositorio filmeRepositorio;
+	@Autowired
+	private SalaRepositorio salaRepositorio;
+	@Autowired
+	private ClienteRepositorio clienteRepositorio;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics estatisticas;
+	private Filme filme;
+	private Sala sala;
+	private Sessao primeiraSessao;
+
+	@BeforeAll
+	void prepararSessoes() {
+		estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		filme = filmeRepositorio.salvar(new Filme("Filme Consultas", "Drama", 90, "Português", "Livre",
+				LocalDate.now().minusDays(1), LocalDate.now().plusDays(30), "Sinopse"));
+		sala = salaRepositorio.salvar(new Sala("Sala Consultas", 40, TipoSala.SALA_2D, false));
+		Cliente cliente = clienteRepositorio.salvar(new Cliente("Cliente Consultas", "consultas@cinetech.com",
+				"12345678901", PerfilCliente.REGULAR));
+		LocalDateTime inicio = LocalDateTime.now().plusDays(1).withNano(0);
+		for (int i = 0; i < SESSOES; i++) {
+			Sessao sessao = sessaoAplicacao.agendarNovaSessao(filme.getId(), sala.getId(), inicio.plusHours(3L * i),
+					TipoExibicao.D2, new BigDecimal("25.00"));
+			// Alguns assentos com registro gravado, para que a coleção de assentos seja de fato carregada
+			sessaoAplicacao.tentarReservarAssento(sessao.getId(), "A1", cliente.getId());
+			sessaoAplicacao.tentarReservarAssento(sessao.getId(), "B2", cliente.getId());
+			if (i == 0) {
+				primeiraSessao = sessao;
+			}
+		}
+	}
+
+	@Test
+	void buscarPorIdCarregaAgregadoEmUmaConsulta() {
+		Optional<Sessao> sessao = contarComandos(1, () -> sessaoRepositorio.buscarPorId(primeiraSessao.getId()));
+		assertEquals(40, sessao.orElseThrow().getAssentos().size());
+	}
+
+	@Test
+	void buscarPorIdComAssentoLeCabecalhoEUmAssento() {
+		Optional<Sessao> sessao = contarComandos(2, () -> sessaoRepositorio.buscarPorIdComAssento(primeiraSessao.getId(), "A1"));
+		assertEquals(1, sessao.orElseThrow().getAssentos().size());
+	}
+
+	@Test
+	void buscarTodasCarregaAgregadosEmUmaConsulta() {
+		List<Sessao> sessoes = contarComandos(1, () -> sessaoRepositorio.buscarTodas());
+		assertTrue(sessoes.size() >= SESSOES);
+	}
+
+	@Test
+	void buscarPorSalaIdCarregaAgregadosEmUmaConsulta() {
+		List<Sessao> sessoes = contarComandos(1, () -> sessaoRepositorio.buscarPorSalaId(sala.getId()));
+		assertEquals(SESSOES, sessoes.size());
+	}
+
+	@Test
+	void buscarSessoesAtivasPorFilmeIdCarregaAgregadosEmUmaConsulta() {
+		List<Sessao> sessoes = contarComandos(1, () -> sessaoRepositorio.buscarSessoesAtivasPorFilmeId(filme.getId()));
+		assertEquals(SESSOES, sessoes.size());
+	}
+
+	@Test
+	void buscarPorStatusCarregaAgregadosEmUmaConsulta() {
+		List<Sessao> sessoes = contarComandos(1, () -> sessaoRepositorio.buscarPorStatus(StatusSessao.PROGRAMADA));
+		assertTrue(sessoes.size() >= SESSOES);
+	}
+
+	@Test
+	void buscarSessoesConflitantesCarregaAgregadosEmUmaConsulta() {
+		LocalDateTime inicio = primeiraSessao.getDataHoraInicio();
+		List<Sessao> conflitantes = contarComandos(1, () -> sessaoRepositorio.buscarSessoesConflitantesPorSalaEPeriodo(
+				sala.getId(), inicio, inicio.plusHours(1), Optional.empty()));
+		assertEquals(1, conflitantes.size());
+	}
+
+	@Test
+	void existeConflitoResolveNoBancoEmUmaConsulta() {
+		LocalDateTime inicio = primeiraSessao.getDataHoraInicio();
+		LocalDateTime fim = primeiraSessao.getDataHoraFim();
+		assertTrue(contarComandos(1, () -> sessaoRepositorio.existeConflitoPorSalaEPeriodo(
+				sala.getId(), fim.minusMinutes(1), fim.plusMinutes(30), Optional.empty())));
+		assertFalse(contarComandos(1, () -> sessaoRepositorio.existeConflitoPorSalaEPeriodo(
+				sala.getId(), fim, fim.plusMinutes(30), Optional.empty())));
+		assertFalse(contarComandos(1, () -> sessaoRepositorio.existeConflitoPorSalaEPeriodo(
+				sala.getId(), inicio, fim, Optional.of(primeiraSessao.getId()))));
+	}
+
+	private <T> T contarComandos(long esperados, Supplier<T> consulta) {
+		estatisticas.clear();
+		T resultado = consulta.get();
+		assertEquals(esperados, estatisticas.getPrepareStatementCount(), "Comandos SQL executados");
+		return resultado;
+	}
+}
@@ -0,0 +1,214 @@
+package com.cinetech.api.infraestrutura.persistencia.repositorio;
+
+import com.cinetech.api.aplicacao.SessaoAplicacao;
+import com.cinetech.api.dominio.enums.PerfilCliente;
+import com.cinetech.api.dominio.enums.StatusAssento;
+import com.cinetech.api.dominio.enums.TipoExibicao;
+import com.cinetech.api.dominio.enums.TipoSala;
+import com.cinetech.api.dominio.modelos.assento.Assento;
+import com.cinetech.api.dominio.modelos.assento.AssentoId;
+import com.cinetech.api.dominio.modelos.cliente.Cliente;
+import com.cinetech.api.dominio.modelos.filme.Filme;
+import com.cinetech.api.dominio.modelos.sala.Sala;
+import com.cinetech.api.dominio.modelos.sessao.ContagemAssentos;
+import com.cinetech.api.dominio.modelos.sessao.Sessao;
+import com.cinetech.api.dominio.repositorios.ClienteRepositorio;
+import com.cinetech.api.dominio.repositorios.FilmeRepositorio;
+import com.cinetech.api.dominio.repositorios.SalaRepositorio;
+import com.cinetech.api.dominio.repositorios.SessaoRepositorio;
+import com.cinetech.api.infraestrutura.persistencia.entidade.AssentoJpa;
+import com.cinetech.api.infraestrutura.persistencia.jpa.AssentoJpaRepository;
+import com.cinetech.api.infraestrutura.persistencia.jpa.SessaoJpaRepository;
+import com.cinetech.api.infraestrutura.persistencia.mapper.SessaoMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Gravação de um único assento pelo adaptador JPA: a atualização condicional (compare-and-set)
+ * só grava quando o estado no banco ainda é o que o chamador leu, e as contagens persistidas
+ * no cabeçalho da sessão acompanham cada gravação. Assentos esparsos: o registro do assento só é
+ * criado na primeira mudança, e até lá ele é materializado da planta com ID estável.
+ */
+@SpringBootTest
+class SessaoRepositorioJpaTests {
+
+	@Autowired
+	private SessaoRepositorio sessaoRepositorio;
+	@Autowired
+	private SessaoAplicacao sessaoAplicacao;
+	@Autowired
+	private FilmeRepositorio filmeRepositorio;
+	@Autowired
+	private SalaRepositorio salaRepositorio;
+	@Autowired
+	private ClienteRepositorio clienteRepositorio;
+	@Autowired
+	private SessaoJpaRepository sessaoJpaRepository;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	@Autowired
+	private AssentoJpaRepository assentoJpaRepository;
+
+	@Test
+	void atualizacaoCondicionalRecusaEstadoDesatualizado() {
+		Sessao sessao = agendarSessao("Sala CAS");
+		Cliente primeiro = salvarCliente(1);
+		Cliente segundo = salvarCliente(2);
+		String posicao = sessao.getAssentos().get(0).getIdentificadorPosicao();
+		// Assentos esparsos: o registro só existe depois da primeira mudança, então é criado antes das leituras
+		sessaoAplicacao.tentarReservarAssento(sessao.getId(), posicao, primeiro.getId());
+		sessaoAplicacao.liberarReservaTemporariaAssento(sessao.getId(), posicao);
+
+		// Duas leituras do mesmo assento disponível, como duas requisições concorrentes
+		Assento lidoPeloPrimeiro = lerAssento(sessao, posicao);
+		Assento lidoPeloSegundo = lerAssento(sessao, posicao);
+		assertEquals(StatusAssento.DISPONIVEL, lidoPeloPrimeiro.getStatus());
+
+		lidoPeloPrimeiro.reservarTemporariamente(primeiro.getId(), 10);
+		assertTrue(sessaoRepositorio.salvarEstadoAssentoSeInalterado(lidoPeloPrimeiro, StatusAssento.DISPONIVEL, null));
+
+		// A segunda leitura ainda acha que o assento está DISPONIVEL: o banco recusa (0 linhas atualizadas)
+		lidoPeloSegundo.reservarTemporariamente(segundo.getId(), 10);
+		assertFalse(sessaoRepositorio.salvarEstadoAssentoSeInalterado(lidoPeloSegundo, StatusAssento.DISPONIVEL, null));
+
+		Assento gravado = lerAssento(sessao, posicao);
+		assertEquals(StatusAssento.RESERVADO_TEMP, gravado.getStatus());
+		assertEquals(primeiro.getId(), gravado.getClienteIdReservaTemporaria());
+	}
+
+	@Test
+	void segundaReservaDoMesmoAssentoERecusada() {
+		Sessao sessao = agendarSessao("Sala CAS Aplicação");
+		Cliente primeiro = salvarCliente(3);
+		Cliente segundo = salvarCliente(4);
+		String posicao = sessao.getAssentos().get(0).getIdentificadorPosicao();
+
+		sessaoAplicacao.tentarReservarAssento(sessao.getId(), posicao, primeiro.getId());
+
+		assertThrows(IllegalStateException.class,
+				() -> sessaoAplicacao.tentarReservarAssento(sessao.getId(), posicao, segundo.getId()));
+		assertEquals(primeiro.getId(), lerAssento(sessao, posicao).getClienteIdReservaTemporaria());
+	}
+
+	@Test
+	void contagensPersistidasAcompanhamReservaConfirmacaoLiberacaoECancelamento() {
+		Sessao sessao = agendarSessao("Sala Contagens");
+		Cliente cliente = salvarCliente(5);
+		String primeira = sessao.getAssentos().get(0).getIdentificadorPosicao();
+		String segunda = sessao.getAssentos().get(1).getIdentificadorPosicao();
+		assertEquals(new ContagemAssentos(20, 0, 0, 0), sessaoAplicacao.buscarContagemAssentosDaSessao(sessao.getId()));
+
+		sessaoAplicacao.tentarReservarAssento(sessao.getId(), primeira, cliente.getId());
+		sessaoAplicacao.tentarReservarAssento(sessao.getId(), segunda, cliente.getId());
+		assertEquals(new ContagemAssentos(18, 2, 0, 0), sessaoAplicacao.buscarContagemAssentosDaSessao(sessao.getId()));
+
+		sessaoAplicacao.confirmarOcupacaoAssentoAposPagamento(sessao.getId(), primeira, cliente.getId());
+		sessaoAplicacao.liberarReservaTemporariaAssento(sessao.getId(), segunda);
+		assertEquals(new ContagemAssentos(19, 0, 1, 0), sessaoAplicacao.buscarContagemAssentosDaSessao(sessao.getId()));
+
+		sessaoAplicacao.cancelarSessaoAdministrativamente(sessao.getId());
+		assertEquals(new ContagemAssentos(20, 0, 0, 0), sessaoAplicacao.buscarContagemAssentosDaSessao(sessao.getId()));
+	}
+
+	@Test
+	void ajusteRelativoDasContagensSomaOsDeltas() {
+		Sessao sessao = agendarSessao("Sala Ajuste");
+
+		Integer linhas = transactionTemplate.execute(status ->
+				sessaoJpaRepository.ajustarContagemAssentos(SessaoMapper.toPrimitiveId(sessao.getId()), -3, 1, 1, 1));
+
+		assertEquals(1, linhas);
+		assertEquals(new ContagemAssentos(17, 1, 1, 1), sessaoAplicacao.buscarContagemAssentosDaSessao(sessao.getId()));
+	}
+
+	@Test
+	void primeiraMudancaCriaORegistroDoAssento() {
+		Sessao sessao = agendarSessao("Sala Esparsa");
+		Cliente cliente = salvarCliente(6);
+		String posicao = sessao.getAssentos().get(3).getIdentificadorPosicao();
+		assertTrue(registroDoAssento(sessao, posicao).isEmpty());
+
+		sessaoAplicacao.tentarReservarAssento(sessao.getId(), posicao, cliente.getId());
+
+		assertEquals(StatusAssento.RESERVADO_TEMP, registroDoAssento(sessao, posicao).orElseThrow().getStatus());
+		assertTrue(registroDoAssento(sessao, sessao.getAssentos().get(4).getIdentificadorPosicao()).isEmpty());
+		assertEquals(20, sessaoAplicacao.buscarSessaoPorId(sessao.getId()).orElseThrow().getAssentos().size());
+	}
+
+	@Test
+	void criacaoConcorrenteDoRegistroViraConflitoDeVersao() {
+		Sessao sessao = agendarSessao("Sala Esparsa Corrida");
+		Cliente primeiro = salvarCliente(7);
+		Cliente segundo = salvarCliente(8);
+		String posicao = sessao.getAssentos().get(0).getIdentificadorPosicao();
+
+		// Duas leituras antes de existir registro: ambas tentam criá-lo
+		Assento lidoPeloPrimeiro = lerAssento(sessao, posicao);
+		Assento lidoPeloSegundo = lerAssento(sessao, posicao);
+		lidoPeloPrimeiro.reservarTemporariamente(primeiro.getId(), 10);
+		lidoPeloSegundo.reservarTemporariamente(segundo.getId(), 10);
+
+		assertTrue(sessaoRepositorio.salvarEstadoAssentoSeInalterado(lidoPeloPrimeiro, StatusAssento.DISPONIVEL, null));
+		assertThrows(OptimisticLockingFailureException.class,
+				() -> sessaoRepositorio.salvarEstadoAssentoSeInalterado(lidoPeloSegundo, StatusAssento.DISPONIVEL, null));
+
+		assertEquals(primeiro.getId(), lerAssento(sessao, posicao).getClienteIdReservaTemporaria());
+		assertEquals(new ContagemAssentos(19, 1, 0, 0), sessaoAplicacao.buscarContagemAssentosDaSessao(sessao.getId()));
+	}
+
+	@Test
+	void assentoSemRegistroTemIdEstavelDaPosicao() {
+		Sessao sessao = agendarSessao("Sala Esparsa Id");
+		Cliente cliente = salvarCliente(9);
+		String posicao = sessao.getAssentos().get(5).getIdentificadorPosicao();
+		AssentoId idEsperado = AssentoId.daPosicao(sessao.getId(), posicao);
+
+		assertEquals(idEsperado, sessao.getAssentos().get(5).getId());
+		assertEquals(idEsperado, lerAssento(sessao, posicao).getId());
+		assertEquals(idEsperado, sessaoAplicacao.buscarSessaoPorId(sessao.getId()).orElseThrow()
+				.buscarAssentoPorIdentificador(posicao).orElseThrow().getId());
+		assertEquals(idEsperado, lerAssento(sessao, posicao.toLowerCase(Locale.ROOT)).getId());
+
+		// O registro criado depois usa o mesmo ID
+		sessaoAplicacao.tentarReservarAssento(sessao.getId(), posicao, cliente.getId());
+		assertEquals(idEsperado.getValor(), registroDoAssento(sessao, posicao).orElseThrow().getId());
+		assertEquals(idEsperado, lerAssento(sessao, posicao).getId());
+	}
+
+	private Optional<AssentoJpa> registroDoAssento(Sessao sessao, String posicao) {
+		return assentoJpaRepository.findBySessao_IdAndIdentificadorPosicaoIgnoreCase(SessaoMapper.toPrimitiveId(sessao.getId()), posicao);
+	}
+
+	private Sessao agendarSessao(String nomeSala) {
+		Filme filme = filmeRepositorio.salvar(new Filme("Filme " + nomeSala, "Drama", 100, "Português", "Livre",
+				LocalDate.now().minusDays(1), LocalDate.now().plusDays(30), "Sinopse"));
+		Sala sala = salaRepositorio.salvar(new Sala(nomeSala, 20, TipoSala.SALA_2D, false));
+		return sessaoAplicacao.agendarNovaSessao(filme.getId(), sala.getId(),
+				LocalDateTime.now().plusDays(1).withNano(0), TipoExibicao.D2, new BigDecimal("25.00"));
+	}
+
+	private Cliente salvarCliente(int numero) {
+		return clienteRepositorio.salvar(new Cliente("Cliente CAS " + numero, "cas" + numero + "@cinetech.com",
+				String.format("8880000%04d", numero), PerfilCliente.REGULAR));
+	}
+
+	private Assento lerAssento(Sessao sessao, String posicao) {
+		return sessaoRepositorio.buscarPorIdComAssento(sessao.getId(), posicao)
+				.flatMap(sessaoLida -> sessaoLida.buscarAssentoPorIdentificador(posicao))
+				.orElseThrow();
+	}
+}
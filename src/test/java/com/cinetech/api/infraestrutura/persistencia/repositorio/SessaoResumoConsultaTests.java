@@ -0,0 +1,86 @@
+package com.cinetech.api.infraestrutura.persistencia.repositorio;
+
+import com.cinetech.api.aplicacao.SessaoAplicacao;
+import com.cinetech.api.dominio.enums.TipoExibicao;
+import com.cinetech.api.dominio.enums.TipoSala;
+import com.cinetech.api.dominio.modelos.filme.Filme;
+import com.cinetech.api.dominio.modelos.sala.Sala;
+import com.cinetech.api.dominio.modelos.sessao.Sessao;
+import com.cinetech.api.dominio.modelos.sessao.SessaoResumo;
+import com.cinetech.api.dominio.repositorios.FilmeRepositorio;
+import com.cinetech.api.dominio.repositorios.SalaRepositorio;
+import com.cinetech.api.dominio.repositorios.SessaoRepositorio;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A listagem pelo resumo de leitura devolve as mesmas sessões ativas que a listagem por agregados,
+ * em ordem de início, com um único comando SQL e sem carregar entidades.
+ * Contexto próprio: as estatísticas do Hibernate são globais.
+ */
+@SpringBootTest(properties = {
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class SessaoResumoConsultaTests {
+
+	private static final int SALAS = 3;
+	private static final int SESSOES_POR_SALA = 4;
+
+	@Autowired
+	private SessaoAplicacao sessaoAplicacao;
+	@Autowired
+	private SessaoRepositorio sessaoRepositorio;
+	@Autowired
+	private FilmeRepositorio filmeRepositorio;
+	@Autowired
+	private SalaRepositorio salaRepositorio;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void resumoListaSessoesAtivasEmUmaConsultaSemEntidades() {
+		Filme filme = filmeRepositorio.salvar(new Filme("Filme Resumo", "Drama", 100, "Português", "Livre",
+				LocalDate.now().minusDays(1), LocalDate.now().plusDays(60), "Sinopse"));
+		LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(0);
+		List<SessaoAplicacao.NovaSessao> grade = new ArrayList<>();
+		for (int s = 0; s < SALAS; s++) {
+			Sala sala = salaRepositorio.salvar(new Sala("Sala Resumo " + s, 40, TipoSala.SALA_2D, false));
+			for (int i = 0; i < SESSOES_POR_SALA; i++) {
+				grade.add(new SessaoAplicacao.NovaSessao(filme.getId(), sala.getId(), base.plusHours(2L * i),
+						TipoExibicao.D2, new BigDecimal("25.00")));
+			}
+		}
+		assertEquals(SALAS * SESSOES_POR_SALA, sessaoAplicacao.agendarGrade(grade).sessoesCriadas().size());
+
+		List<Sessao> agregados = sessaoRepositorio.buscarSessoesAtivasPorFilmeId(filme.getId());
+		Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		estatisticas.clear();
+		List<SessaoResumo> resumos = sessaoAplicacao.listarSessoesAtivasParaFilme(filme.getId());
+
+		assertEquals(agregados.stream().map(Sessao::getId).collect(Collectors.toSet()),
+				resumos.stream().map(SessaoResumo::id).collect(Collectors.toSet()));
+		assertEquals(SALAS * SESSOES_POR_SALA, resumos.size());
+		assertEquals(1, estatisticas.getPrepareStatementCount(), "Só a consulta de resumos: o filme vem do cache de segundo nível");
+		assertEquals(0, estatisticas.getEntityLoadCount(), "Nenhuma entidade carregada do banco");
+		assertEquals(1, estatisticas.getSecondLevelCacheHitCount(), "O filme");
+		assertTrue(resumos.stream().allMatch(r -> r.assentosDisponiveis() == 40 && r.nomeSala().startsWith("Sala Resumo")));
+		for (int i = 1; i < resumos.size(); i++) {
+			assertTrue(!resumos.get(i).dataHoraInicio().isBefore(resumos.get(i - 1).dataHoraInicio()));
+		}
+	}
+}